@@ -188,6 +188,24 @@ public final class NativeDisplayAccess
 		NativeDisplayAccess.__panel().repaint(__x, __y, __w, __h);
 	}
 	
+	/**
+	 * Specifies that the given area of the framebuffer was drawn on while
+	 * the display was being painted.
+	 *
+	 * @param __id The display ID.
+	 * @param __x The X coordinate.
+	 * @param __y The Y coordinate.
+	 * @param __w The width.
+	 * @param __h The height.
+	 * @since 2019/09/22
+	 */
+	public static final void framebufferDirty(int __id,
+		int __x, int __y, int __w, int __h)
+	{
+		// Swing clears the area being painted in its back buffer, so the
+		// entire painted area is always copied from the image
+	}
+	
 	/**
 	 * Returns the object representing the framebuffer data.
 	 *
@@ -719,9 +737,12 @@ public final class NativeDisplayAccess
 			if (cbx != null)
 				cbx.paintDisplay(0, rect.x, rect.y, rect.width, rect.height);
 			
-			// Draw the backed buffered image
-			__g.drawImage(image, 0, 0, xw, xh,
-				0, 0, xw, xh, null);
+			// Draw the backed buffered image, but only the area being painted
+			// since the image can be quite large
+			int ex = rect.x + rect.width,
+				ey = rect.y + rect.height;
+			__g.drawImage(image, rect.x, rect.y, ex, ey,
+				rect.x, rect.y, ex, ey, null);
 		}
 		
 		/**
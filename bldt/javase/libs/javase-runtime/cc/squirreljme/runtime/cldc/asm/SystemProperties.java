@@ -111,6 +111,10 @@ public final class SystemProperties
 	@Api(ApiLevel.LEVEL_SQUIRRELJME_0_2_0_20181225)
 	public static final String implementationClass(String __n)
 	{
+		// Record stores are kept in files
+		if ("cc.squirreljme.runtime.rms.VinylRecord".equals(__n))
+			return "cc.squirreljme.runtime.javase.rms.FileVinylRecord";
+		
 		return null;
 	}
 	
@@ -150,6 +150,21 @@ public final class TaskAccess
 		return (int)__t.getId();
 	}
 	
+	/**
+	 * Returns the amount of time that the given task has spent executing,
+	 * this excludes time spent sleeping or waiting.
+	 *
+	 * @param __tid The task to get the execution time of.
+	 * @return The execution time in nanoseconds, or a negative value if it
+	 * is not known.
+	 * @since 2019/09/20
+	 */
+	@Api(ApiLevel.LEVEL_SQUIRRELJME_0_3_0_DEV)
+	public static final long taskCpuTime(int __tid)
+	{
+		return -1;
+	}
+	
 	/**
 	 * Returns the status of the target task.
 	 *
@@ -162,5 +177,24 @@ public final class TaskAccess
 	{
 		return -1;
 	}
+	
+	/**
+	 * Waits for the status of the given task to change, such as when the
+	 * task terminates. This blocks until the status is no longer the old
+	 * status.
+	 *
+	 * @param __tid The task to wait on.
+	 * @param __old The status the task is known to be in.
+	 * @param __ms The number of milliseconds to wait for, zero waits
+	 * forever.
+	 * @return The current status of the task, if the wait expired or was
+	 * interrupted then this will be the old status.
+	 * @since 2019/09/20
+	 */
+	@Api(ApiLevel.LEVEL_SQUIRRELJME_0_3_0_DEV)
+	public static final int taskStatusWait(int __tid, int __old, long __ms)
+	{
+		return -1;
+	}
 }
 
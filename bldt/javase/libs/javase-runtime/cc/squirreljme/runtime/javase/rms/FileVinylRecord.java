@@ -0,0 +1,578 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.javase.rms;
+
+import cc.squirreljme.runtime.rms.BasicVinylLock;
+import cc.squirreljme.runtime.rms.VinylLock;
+import cc.squirreljme.runtime.rms.VinylRecord;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * This is a vinyl record which stores each volume within its own file so
+ * that records persist after the program exits.
+ *
+ * Every change is appended to the file of the volume and is forced to be
+ * written before the change is visible. Only the location of each page is
+ * kept in memory, the data is read from the file which is mapped into
+ * memory. When a volume contains too much data which is no longer used it
+ * is compacted in the background.
+ *
+ * @since 2019/09/19
+ */
+public final class FileVinylRecord
+	implements VinylRecord
+{
+	/**
+	 * {@squirreljme.property cc.squirreljme.runtime.javase.rms.path=path
+	 * The directory where record stores are kept.}
+	 */
+	public static final String PATH_PROPERTY =
+		"cc.squirreljme.runtime.javase.rms.path";
+	
+	/** The extension used for volume files. */
+	public static final String EXTENSION =
+		".rms";
+	
+	/** The lock for this record. */
+	protected final BasicVinylLock lock =
+		new BasicVinylLock();
+	
+	/** The directory where volumes are stored. */
+	protected final Path path;
+	
+	/** Volumes which are available. */
+	private final Map<Integer, __Volume__> _volumes =
+		new LinkedHashMap<>();
+	
+	/** Next ID for storage. */
+	private volatile int _nextvid =
+		1;
+	
+	/**
+	 * Initializes the record using the default path.
+	 *
+	 * @throws RuntimeException If the volumes could not be opened.
+	 * @since 2019/09/19
+	 */
+	public FileVinylRecord()
+		throws RuntimeException
+	{
+		this(FileVinylRecord.__defaultPath());
+	}
+	
+	/**
+	 * Initializes the record which uses the given directory.
+	 *
+	 * @param __p The directory where volumes are stored.
+	 * @throws NullPointerException On null arguments.
+	 * @throws RuntimeException If the volumes could not be opened.
+	 * @since 2019/09/19
+	 */
+	public FileVinylRecord(Path __p)
+		throws NullPointerException, RuntimeException
+	{
+		if (__p == null)
+			throw new NullPointerException("NARG");
+		
+		this.path = __p;
+		
+		// Find all the volumes, these are sorted by ID so they are always
+		// listed in the same order
+		Map<Integer, Path> found = new TreeMap<>();
+		try
+		{
+			Files.createDirectories(__p);
+			
+			try (DirectoryStream<Path> ds = Files.newDirectoryStream(__p,
+				"*" + FileVinylRecord.EXTENSION))
+			{
+				for (Path file : ds)
+				{
+					String fn = file.getFileName().toString();
+					try
+					{
+						found.put(Integer.parseInt(fn.substring(0,
+							fn.length() - FileVinylRecord.EXTENSION.length())),
+							file);
+					}
+					
+					// Not a volume file
+					catch (NumberFormatException e)
+					{
+					}
+				}
+			}
+		}
+		
+		// {@squirreljme.error AF0h Could not read the record store
+		// directory. (The path)}
+		catch (IOException e)
+		{
+			throw new RuntimeException("AF0h " + __p, e);
+		}
+		
+		// Open every volume
+		Map<Integer, __Volume__> volumes = this._volumes;
+		int nextvid = 1;
+		for (Map.Entry<Integer, Path> e : found.entrySet())
+		{
+			int vid = e.getKey();
+			if (vid <= 0)
+				continue;
+			
+			// A broken volume is skipped, but the file is kept in the event
+			// it can be recovered
+			try
+			{
+				volumes.put(vid, __Volume__.open(e.getValue(), vid));
+			}
+			catch (IOException x)
+			{
+				todo.DEBUG.note("Could not open volume %s: %s", e.getValue(),
+					x);
+			}
+			
+			// Never reuse the ID of a file that exists
+			if (vid >= nextvid)
+				nextvid = vid + 1;
+		}
+		this._nextvid = nextvid;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final VinylLock lock()
+	{
+		return this.lock.lock();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int pageAdd(int __vid, byte[] __b, int __o, int __l,
+		int __tag)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Locate the volume
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return ERROR_NO_VOLUME;
+		
+		// Store into a new page
+		int pid = vol._nextpid;
+		try
+		{
+			vol.put(pid, __b, __o, __l, __tag);
+		}
+		catch (IOException e)
+		{
+			return ERROR_NO_MEMORY;
+		}
+		
+		return pid;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int pageDelete(int __vid, int __pid)
+	{
+		// Locate the volume
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return ERROR_NO_VOLUME;
+		
+		// Delete the page
+		try
+		{
+			if (!vol.delete(__pid))
+				return ERROR_NO_PAGE;
+		}
+		catch (IOException e)
+		{
+			return ERROR_NO_MEMORY;
+		}
+		
+		// Deletion leaves old data behind
+		this.__compactLater(vol);
+		
+		return __pid;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int[] pageList(int __vid)
+	{
+		// Locate the volume
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return new int[]{ERROR_NO_VOLUME};
+		
+		// Get page IDs
+		Set<Integer> keys = vol._pages.keySet();
+		int n = keys.size(),
+			i = 0;
+		int[] rv = new int[n];
+		for (Integer v : keys)
+			rv[i++] = v;
+		
+		return rv;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int pageNextId(int __vid)
+	{
+		// Locate the volume
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return ERROR_NO_VOLUME;
+		
+		return vol._nextpid;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int pageRead(int __vid, int __pid, byte[] __b, int __o,
+		int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Locate the volume
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return ERROR_NO_VOLUME;
+		
+		// Locate the page
+		__Page__ page = vol._pages.get(__pid);
+		if (page == null)
+			return ERROR_NO_PAGE;
+		
+		// Determine read limit
+		if (__l > page.length)
+			__l = page.length;
+		
+		// Read directly from the file
+		try
+		{
+			vol.read(page, __b, __o, __l);
+		}
+		catch (IOException e)
+		{
+			return ERROR_NO_MEMORY;
+		}
+		
+		return __l;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int pageSet(int __vid, int __pid, byte[] __b, int __o,
+		int __l, int __tag)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Locate the volume
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return ERROR_NO_VOLUME;
+		
+		// Locate the page
+		if (!vol._pages.containsKey(__pid))
+			return ERROR_NO_PAGE;
+		
+		// Replace the page
+		try
+		{
+			vol.put(__pid, __b, __o, __l, __tag);
+		}
+		catch (IOException e)
+		{
+			return ERROR_NO_MEMORY;
+		}
+		
+		// The old data is no longer used
+		this.__compactLater(vol);
+		
+		return __pid;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int pageSize(int __vid, int __pid)
+	{
+		// Locate the volume
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return ERROR_NO_VOLUME;
+		
+		// Locate the page
+		__Page__ page = vol._pages.get(__pid);
+		if (page == null)
+			return ERROR_NO_PAGE;
+		
+		return page.length;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int pageTag(int __vid, int __pid)
+	{
+		// Locate the volume
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return ERROR_NO_VOLUME;
+		
+		// Locate the page
+		__Page__ page = vol._pages.get(__pid);
+		if (page == null)
+			return ERROR_NO_PAGE;
+		
+		return page.tag;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int vinylSizeAvailable()
+	{
+		// This is limited by the space on the disk
+		try
+		{
+			return (int)Math.min(Integer.MAX_VALUE,
+				Files.getFileStore(this.path).getUsableSpace());
+		}
+		catch (IOException e)
+		{
+			return 0;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int volumeCreate(long __sid, String __n, boolean __wo)
+		throws NullPointerException
+	{
+		if (__n == null)
+			throw new NullPointerException("NARG");
+		
+		// Claim next ID
+		int rv = this._nextvid++;
+		
+		// Create the file for the volume
+		try
+		{
+			this._volumes.put(rv, __Volume__.create(
+				this.path.resolve(rv + FileVinylRecord.EXTENSION), rv,
+				__sid, __n, __wo));
+		}
+		catch (IOException e)
+		{
+			return ERROR_NO_MEMORY;
+		}
+		
+		return rv;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int[] volumeList()
+	{
+		Set<Integer> keys = this._volumes.keySet();
+		
+		// Setup basic integer array
+		int n = keys.size();
+		int[] rv = new int[n];
+		
+		// Fill in keys
+		int at = 0;
+		for (int v : keys)
+			rv[at++] = v;
+		
+		return rv;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int volumeModCount(int __vid)
+	{
+		// Locate the volume
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return ERROR_NO_VOLUME;
+		
+		return vol._modcount;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final int volumeModTime(int __vid, long[] __time)
+		throws NullPointerException
+	{
+		if (__time == null)
+			throw new NullPointerException("NARG");
+		
+		// Locate the volume
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return ERROR_NO_VOLUME;
+		
+		if (__time.length > 0)
+			__time[0] = vol._modtime;
+		return 0;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final String volumeName(int __vid)
+	{
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return null;
+		return vol.name;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final boolean volumeOtherWritable(int __vid)
+	{
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return false;
+		return vol.writeother;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final long volumeSuiteIdentifier(int __vid)
+	{
+		__Volume__ vol = this._volumes.get(__vid);
+		if (vol == null)
+			return 0L;
+		return vol.sid;
+	}
+	
+	/**
+	 * Compacts the given volume in the background if it needs compaction.
+	 *
+	 * @param __v The volume to check.
+	 * @since 2019/09/19
+	 */
+	private void __compactLater(__Volume__ __v)
+	{
+		// Not needed or it is already being compacted
+		if (__v._compacting || !__v.needsCompaction())
+			return;
+		__v._compacting = true;
+		
+		// Compaction waits for the lock, so it starts once this action
+		// has finished
+		Thread thread = new Thread(new __Compactor__(this, __v),
+			"SquirrelJME-RMS-Compactor");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	/**
+	 * Returns the default directory for record stores.
+	 *
+	 * @return The default directory.
+	 * @since 2019/09/19
+	 */
+	private static Path __defaultPath()
+	{
+		// Explicit path
+		String prop = System.getProperty(FileVinylRecord.PATH_PROPERTY);
+		if (prop != null)
+			return Paths.get(prop);
+		
+		// Use the data directory if one was specified
+		prop = System.getProperty("cc.squirreljme.path.data");
+		if (prop != null)
+			return Paths.get(prop, "rms");
+		
+		// Use the standard data location
+		String xdg = System.getenv("XDG_DATA_HOME");
+		if (xdg != null)
+			return Paths.get(xdg, "squirreljme", "rms");
+		return Paths.get(System.getProperty("user.home"), ".local", "share",
+			"squirreljme", "rms");
+	}
+}
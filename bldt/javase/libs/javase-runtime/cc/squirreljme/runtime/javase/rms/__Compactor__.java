@@ -0,0 +1,78 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.javase.rms;
+
+import cc.squirreljme.runtime.rms.VinylLock;
+import java.io.IOException;
+
+/**
+ * This compacts a single volume in the background, so that programs which
+ * write records do not have to wait for compaction to finish.
+ *
+ * @since 2019/09/19
+ */
+final class __Compactor__
+	implements Runnable
+{
+	/** The vinyl which owns the volume. */
+	protected final FileVinylRecord vinyl;
+	
+	/** The volume to compact. */
+	protected final __Volume__ volume;
+	
+	/**
+	 * Initializes the compactor.
+	 *
+	 * @param __vr The owning vinyl.
+	 * @param __v The volume to compact.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/19
+	 */
+	__Compactor__(FileVinylRecord __vr, __Volume__ __v)
+		throws NullPointerException
+	{
+		if (__vr == null || __v == null)
+			throw new NullPointerException("NARG");
+		
+		this.vinyl = __vr;
+		this.volume = __v;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final void run()
+	{
+		__Volume__ volume = this.volume;
+		try (VinylLock lock = this.vinyl.lock())
+		{
+			// Changes may have been made since this was started
+			if (volume.needsCompaction())
+				volume.compact();
+		}
+		
+		// If compaction failed the old file is still used, so this is not
+		// fatal and will be tried again on a later change
+		catch (IOException e)
+		{
+			todo.DEBUG.note("Could not compact volume %s: %s", volume.path, e);
+		}
+		
+		// Can be compacted again
+		finally
+		{
+			volume._compacting = false;
+		}
+	}
+}
+
@@ -0,0 +1,61 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.javase.rms;
+
+/**
+ * This is an index entry for a single page, it only describes where the
+ * data for the page is located within the volume file.
+ *
+ * @since 2019/09/19
+ */
+final class __Page__
+{
+	/** The page ID. */
+	final int pid;
+	
+	/** The position of the page data in the file. */
+	final long position;
+	
+	/** The length of the page data. */
+	final int length;
+	
+	/** The tag of the page. */
+	final int tag;
+	
+	/**
+	 * Initializes the page.
+	 *
+	 * @param __pid The page ID.
+	 * @param __pos The position of the data in the file.
+	 * @param __len The length of the data.
+	 * @param __tag The page tag.
+	 * @since 2019/09/19
+	 */
+	__Page__(int __pid, long __pos, int __len, int __tag)
+	{
+		this.pid = __pid;
+		this.position = __pos;
+		this.length = __len;
+		this.tag = __tag;
+	}
+	
+	/**
+	 * Returns the number of bytes the record for this page uses in the file.
+	 *
+	 * @return The size of the record.
+	 * @since 2019/09/19
+	 */
+	final long recordSize()
+	{
+		return __Volume__.RECORD_OVERHEAD + this.length;
+	}
+}
+
@@ -0,0 +1,703 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.javase.rms;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * This represents a single volume which is stored within a log structured
+ * file.
+ *
+ * The file starts with a header which describes the volume, this is then
+ * followed by records which are only ever appended to the end of the file.
+ * Each record contains the state of the volume after the change was made
+ * along with a checksum, so if a record was only partially written then
+ * it and anything following it is ignored. The location of the data for
+ * every page is kept in an index in memory, so that pages can be read
+ * directly from the file which is mapped into memory.
+ *
+ * Since records which replace or delete pages leave old data in the file,
+ * volumes are compacted by writing only the current pages to a new file
+ * which then replaces the old one.
+ *
+ * This class is not thread safe, it is protected by the lock of the vinyl.
+ *
+ * @since 2019/09/19
+ */
+final class __Volume__
+	implements Closeable
+{
+	/** The magic number for volume files. */
+	static final int MAGIC_NUMBER =
+		0x534A4D52;
+	
+	/** The version of the volume format. */
+	static final int VERSION =
+		1;
+	
+	/** A page was added or set. */
+	static final byte RECORD_PUT =
+		1;
+	
+	/** A page was deleted. */
+	static final byte RECORD_DELETE =
+		2;
+	
+	/** Only the state of the volume is recorded. */
+	static final byte RECORD_STAMP =
+		3;
+	
+	/** The size of the volume header, not including the name. */
+	static final int HEADER_SIZE =
+		19;
+	
+	/** The size of the record header, before the data. */
+	static final int RECORD_HEADER =
+		29;
+	
+	/** The number of bytes used in a record besides the data. */
+	static final int RECORD_OVERHEAD =
+		__Volume__.RECORD_HEADER + 4;
+	
+	/** The number of unused bytes before compaction is considered. */
+	static final long COMPACT_THRESHOLD =
+		65536;
+	
+	/** The volume ID. */
+	final int vid;
+	
+	/** The suite identifier. */
+	final long sid;
+	
+	/** The name of the volume. */
+	final String name;
+	
+	/** Allow write by others? */
+	final boolean writeother;
+	
+	/** The path to the volume file. */
+	final Path path;
+	
+	/** The size of the header. */
+	final int headersize;
+	
+	/** The pages in the volume. */
+	final Map<Integer, __Page__> _pages =
+		new LinkedHashMap<>();
+	
+	/** The next page ID. */
+	int _nextpid =
+		1;
+	
+	/** Modification count. */
+	int _modcount;
+	
+	/** Modification time. */
+	long _modtime =
+		System.currentTimeMillis();
+	
+	/** The number of bytes in the file which are no longer used. */
+	long _deadbytes;
+	
+	/** Is this volume to be compacted? */
+	volatile boolean _compacting;
+	
+	/** The channel used to access the file. */
+	private FileChannel _channel;
+	
+	/** The file mapped into memory, may be shorter than the file. */
+	private MappedByteBuffer _map;
+	
+	/** The end of the file where records are appended. */
+	private long _end;
+	
+	/**
+	 * Initializes the volume.
+	 *
+	 * @param __p The path to the file.
+	 * @param __vid The volume ID.
+	 * @param __sid The suite identifier.
+	 * @param __name The volume name.
+	 * @param __wo Allow write by others?
+	 * @param __hs The size of the header.
+	 * @param __fc The channel to the file.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/19
+	 */
+	private __Volume__(Path __p, int __vid, long __sid, String __name,
+		boolean __wo, int __hs, FileChannel __fc)
+		throws NullPointerException
+	{
+		if (__p == null || __name == null || __fc == null)
+			throw new NullPointerException("NARG");
+		
+		this.path = __p;
+		this.vid = __vid;
+		this.sid = __sid;
+		this.name = __name;
+		this.writeother = __wo;
+		this.headersize = __hs;
+		this._channel = __fc;
+		this._end = __hs;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/19
+	 */
+	@Override
+	public final void close()
+		throws IOException
+	{
+		this._map = null;
+		this._channel.close();
+	}
+	
+	/**
+	 * Compacts the volume so that it only contains the current pages.
+	 *
+	 * @throws IOException If the volume could not be compacted, in which
+	 * case the volume is left as it was.
+	 * @since 2019/09/19
+	 */
+	final void compact()
+		throws IOException
+	{
+		Path path = this.path,
+			temp = path.resolveSibling(path.getFileName() + ".tmp");
+		
+		// Write all of the current pages to a new file
+		Map<Integer, __Page__> pages = this._pages,
+			moved = new LinkedHashMap<>();
+		long end;
+		try (FileChannel out = FileChannel.open(temp,
+			StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+			StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			ByteBuffer header = __Volume__.__header(this.sid, this.name,
+				this.writeother);
+			__Volume__.__write(out, header, 0);
+			end = header.limit();
+			
+			for (__Page__ page : pages.values())
+			{
+				int len = page.length;
+				byte[] data = new byte[len];
+				this.read(page, data, 0, len);
+				
+				ByteBuffer rec = __Volume__.__record(RECORD_PUT, page.pid,
+					page.tag, this._nextpid, this._modcount, this._modtime,
+					data, 0, len);
+				__Volume__.__write(out, rec, end);
+				
+				moved.put(page.pid, new __Page__(page.pid,
+					end + RECORD_HEADER, len, page.tag));
+				end += rec.limit();
+			}
+			
+			// Record the state in the event there are no pages
+			ByteBuffer stamp = __Volume__.__record(RECORD_STAMP, 0, 0,
+				this._nextpid, this._modcount, this._modtime, null, 0, 0);
+			__Volume__.__write(out, stamp, end);
+			end += stamp.limit();
+			
+			out.force(true);
+		}
+		
+		// Remove the partially written file
+		catch (IOException e)
+		{
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		
+		// Replace the old file with the new one
+		this.close();
+		try
+		{
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException e)
+		{
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+		
+		// Open it again, if the move failed this is still the old file
+		finally
+		{
+			this._channel = FileChannel.open(path, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		}
+		
+		// Use the new locations
+		pages.clear();
+		pages.putAll(moved);
+		this._end = end;
+		this._deadbytes = 0;
+	}
+	
+	/**
+	 * Deletes the given page.
+	 *
+	 * @param __pid The page to delete.
+	 * @return If the page was deleted.
+	 * @throws IOException If the deletion could not be written.
+	 * @since 2019/09/19
+	 */
+	final boolean delete(int __pid)
+		throws IOException
+	{
+		Map<Integer, __Page__> pages = this._pages;
+		__Page__ old = pages.get(__pid);
+		if (old == null)
+			return false;
+		
+		// Record deletion
+		int modcount = this._modcount + 1;
+		long modtime = System.currentTimeMillis();
+		this.__append(RECORD_DELETE, __pid, 0, this._nextpid, modcount,
+			modtime, null, 0, 0);
+		
+		// Only remove when it was recorded
+		pages.remove(__pid);
+		this._modcount = modcount;
+		this._modtime = modtime;
+		this._deadbytes += old.recordSize() + RECORD_OVERHEAD;
+		
+		return true;
+	}
+	
+	/**
+	 * Returns whether enough of the file is unused so that the volume should
+	 * be compacted.
+	 *
+	 * @return If the volume should be compacted.
+	 * @since 2019/09/19
+	 */
+	final boolean needsCompaction()
+	{
+		long dead = this._deadbytes;
+		return dead >= COMPACT_THRESHOLD &&
+			dead > (this._end - this.headersize - dead);
+	}
+	
+	/**
+	 * Stores data for the given page.
+	 *
+	 * @param __pid The page ID, if this is the next page ID then the page
+	 * is added.
+	 * @param __b The data.
+	 * @param __o The offset.
+	 * @param __l The length.
+	 * @param __tag The page tag.
+	 * @throws IOException If the data could not be written.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/19
+	 */
+	final void put(int __pid, byte[] __b, int __o, int __l, int __tag)
+		throws IOException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		// Adding pages claims the ID
+		int nextpid = this._nextpid;
+		if (__pid >= nextpid)
+			nextpid = __pid + 1;
+		
+		// Record the data
+		int modcount = this._modcount + 1;
+		long modtime = System.currentTimeMillis();
+		long pos = this.__append(RECORD_PUT, __pid, __tag, nextpid,
+			modcount, modtime, __b, __o, __l);
+		
+		// Only replace when it was recorded
+		__Page__ old = this._pages.put(__pid,
+			new __Page__(__pid, pos, __l, __tag));
+		if (old != null)
+			this._deadbytes += old.recordSize();
+		
+		this._nextpid = nextpid;
+		this._modcount = modcount;
+		this._modtime = modtime;
+	}
+	
+	/**
+	 * Reads data from the given page.
+	 *
+	 * @param __p The page to read.
+	 * @param __b The output buffer.
+	 * @param __o The offset.
+	 * @param __l The number of bytes to read, must not exceed the page
+	 * length.
+	 * @throws IOException If the file could not be mapped.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/19
+	 */
+	final void read(__Page__ __p, byte[] __b, int __o, int __l)
+		throws IOException, NullPointerException
+	{
+		if (__p == null || __b == null)
+			throw new NullPointerException("NARG");
+		
+		// The mapping is only grown when data beyond it is read
+		MappedByteBuffer map = this._map;
+		if (map == null || __p.position + __l > map.capacity())
+		{
+			// {@squirreljme.error AF0d Volume is too large to be mapped.
+			// (The volume path)}
+			long end = this._end;
+			if (end > Integer.MAX_VALUE)
+				throw new IOException("AF0d " + this.path);
+			
+			this._map = (map = this._channel.map(
+				FileChannel.MapMode.READ_ONLY, 0, end));
+		}
+		
+		// Copy from the mapping without changing its position
+		ByteBuffer dup = map.duplicate();
+		dup.position((int)__p.position);
+		dup.get(__b, __o, __l);
+	}
+	
+	/**
+	 * Appends a record to the end of the file and forces it to be written.
+	 *
+	 * @param __type The record type.
+	 * @param __pid The page ID.
+	 * @param __tag The page tag.
+	 * @param __npid The next page ID.
+	 * @param __mc The modification count.
+	 * @param __mt The modification time.
+	 * @param __b The data, may be {@code null} if there is none.
+	 * @param __o The offset.
+	 * @param __l The length.
+	 * @return The position of the data in the file.
+	 * @throws IOException If it could not be written.
+	 * @since 2019/09/19
+	 */
+	private long __append(byte __type, int __pid, int __tag, int __npid,
+		int __mc, long __mt, byte[] __b, int __o, int __l)
+		throws IOException
+	{
+		ByteBuffer rec = __Volume__.__record(__type, __pid, __tag, __npid, __mc,
+			__mt, __b, __o, __l);
+		
+		// Write at the end and make sure it is stored
+		FileChannel channel = this._channel;
+		long at = this._end;
+		__Volume__.__write(channel, rec, at);
+		channel.force(false);
+		
+		this._end = at + rec.limit();
+		return at + RECORD_HEADER;
+	}
+	
+	/**
+	 * Builds a record.
+	 *
+	 * @param __type The record type.
+	 * @param __pid The page ID.
+	 * @param __tag The page tag.
+	 * @param __npid The next page ID.
+	 * @param __mc The modification count.
+	 * @param __mt The modification time.
+	 * @param __b The data, may be {@code null} if there is none.
+	 * @param __o The offset.
+	 * @param __l The length.
+	 * @return The record, ready to be written.
+	 * @since 2019/09/19
+	 */
+	private static ByteBuffer __record(byte __type, int __pid, int __tag,
+		int __npid, int __mc, long __mt, byte[] __b, int __o, int __l)
+	{
+		ByteBuffer rv = ByteBuffer.allocate(RECORD_OVERHEAD + __l);
+		rv.put(__type);
+		rv.putInt(__pid);
+		rv.putInt(__tag);
+		rv.putInt(__npid);
+		rv.putInt(__mc);
+		rv.putLong(__mt);
+		rv.putInt(__l);
+		if (__b != null)
+			rv.put(__b, __o, __l);
+		
+		// The checksum covers everything before it
+		CRC32 crc = new CRC32();
+		crc.update(rv.array(), 0, RECORD_HEADER + __l);
+		rv.putInt((int)crc.getValue());
+		
+		rv.flip();
+		return rv;
+	}
+	
+	/**
+	 * Creates a new volume.
+	 *
+	 * @param __p The path to the file.
+	 * @param __vid The volume ID.
+	 * @param __sid The suite identifier.
+	 * @param __name The volume name.
+	 * @param __wo Allow write by others?
+	 * @return The volume.
+	 * @throws IOException If the volume could not be created.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/19
+	 */
+	static __Volume__ create(Path __p, int __vid, long __sid, String __name,
+		boolean __wo)
+		throws IOException, NullPointerException
+	{
+		if (__p == null || __name == null)
+			throw new NullPointerException("NARG");
+		
+		FileChannel fc = FileChannel.open(__p, StandardOpenOption.CREATE_NEW,
+			StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try
+		{
+			ByteBuffer header = __Volume__.__header(__sid, __name, __wo);
+			__Volume__.__write(fc, header, 0);
+			fc.force(true);
+			
+			return new __Volume__(__p, __vid, __sid, __name, __wo,
+				header.limit(), fc);
+		}
+		
+		// Do not leave a broken volume around
+		catch (IOException|RuntimeException e)
+		{
+			fc.close();
+			Files.deleteIfExists(__p);
+			throw e;
+		}
+	}
+	
+	/**
+	 * Opens an existing volume.
+	 *
+	 * @param __p The path to the file.
+	 * @param __vid The volume ID.
+	 * @return The volume.
+	 * @throws IOException If the volume could not be read or is not valid.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/19
+	 */
+	static __Volume__ open(Path __p, int __vid)
+		throws IOException, NullPointerException
+	{
+		if (__p == null)
+			throw new NullPointerException("NARG");
+		
+		FileChannel fc = FileChannel.open(__p, StandardOpenOption.READ,
+			StandardOpenOption.WRITE);
+		try
+		{
+			// {@squirreljme.error AF0e Volume file is too large. (The path)}
+			long size = fc.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("AF0e " + __p);
+			
+			MappedByteBuffer map = fc.map(FileChannel.MapMode.READ_ONLY, 0,
+				size);
+			
+			// {@squirreljme.error AF0f Not a volume file or it is of an
+			// unsupported version. (The path)}
+			if (size < HEADER_SIZE || map.getInt(0) != MAGIC_NUMBER ||
+				map.getInt(4) != VERSION)
+				throw new IOException("AF0f " + __p);
+			
+			// Read the volume information
+			long sid = map.getLong(8);
+			boolean wo = (map.get(16) != 0);
+			int namelen = map.getShort(17) & 0xFFFF,
+				hs = HEADER_SIZE + namelen;
+			if (hs > size)
+				throw new IOException("AF0f " + __p);
+			byte[] rawname = new byte[namelen];
+			ByteBuffer dup = map.duplicate();
+			dup.position(HEADER_SIZE);
+			dup.get(rawname);
+			
+			__Volume__ rv = new __Volume__(__p, __vid, sid,
+				new String(rawname, "utf-8"), wo, hs, fc);
+			
+			// Replay the log to build the index
+			long at = rv.__replay(map, hs, size);
+			
+			// A record was partially written, so remove it so that future
+			// records are not placed after it
+			if (at != size)
+			{
+				map = null;
+				fc.truncate(at);
+			}
+			else
+				rv._map = map;
+			
+			rv._end = at;
+			return rv;
+		}
+		
+		// Do not leak the file
+		catch (IOException|RuntimeException e)
+		{
+			fc.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Replays the records in the file to build the index.
+	 *
+	 * @param __map The mapped file.
+	 * @param __at The position of the first record.
+	 * @param __end The end of the file.
+	 * @return The position after the last valid record.
+	 * @since 2019/09/19
+	 */
+	private long __replay(MappedByteBuffer __map, long __at, long __end)
+	{
+		Map<Integer, __Page__> pages = this._pages;
+		CRC32 crc = new CRC32();
+		
+		while (__end - __at >= RECORD_OVERHEAD)
+		{
+			// Stop if the record cannot fit
+			int at = (int)__at,
+				len = __map.getInt(at + RECORD_HEADER - 4);
+			if (len < 0 || len > __end - __at - RECORD_OVERHEAD)
+				break;
+			
+			// Check that the record was completely written
+			byte[] raw = new byte[RECORD_HEADER + len];
+			ByteBuffer dup = __map.duplicate();
+			dup.position(at);
+			dup.get(raw);
+			crc.reset();
+			crc.update(raw, 0, raw.length);
+			if ((int)crc.getValue() != dup.getInt())
+				break;
+			
+			// Only valid records are used
+			byte type = raw[0];
+			if (type != RECORD_PUT && type != RECORD_DELETE &&
+				type != RECORD_STAMP)
+				break;
+			
+			ByteBuffer rec = ByteBuffer.wrap(raw);
+			int pid = rec.getInt(1),
+				tag = rec.getInt(5);
+			
+			// Handle the change
+			__Page__ old;
+			switch (type)
+			{
+					// Set or add page
+				case RECORD_PUT:
+					old = pages.put(pid, new __Page__(pid,
+						__at + RECORD_HEADER, len, tag));
+					break;
+					
+					// Remove page
+				case RECORD_DELETE:
+					old = pages.remove(pid);
+					this._deadbytes += RECORD_OVERHEAD + len;
+					break;
+					
+					// Only the state
+				default:
+					old = null;
+					this._deadbytes += RECORD_OVERHEAD + len;
+					break;
+			}
+			
+			// The old data is no longer used
+			if (old != null)
+				this._deadbytes += old.recordSize();
+			
+			// The state always follows the last record
+			this._nextpid = rec.getInt(9);
+			this._modcount = rec.getInt(13);
+			this._modtime = rec.getLong(17);
+			
+			__at += RECORD_OVERHEAD + len;
+		}
+		
+		return __at;
+	}
+	
+	/**
+	 * Builds the header of a volume file.
+	 *
+	 * @param __sid The suite identifier.
+	 * @param __name The volume name.
+	 * @param __wo Allow write by others?
+	 * @return The header, ready to be written.
+	 * @throws IOException If the header could not be built.
+	 * @since 2019/09/19
+	 */
+	private static ByteBuffer __header(long __sid, String __name,
+		boolean __wo)
+		throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (DataOutputStream dos = new DataOutputStream(baos))
+		{
+			dos.writeInt(MAGIC_NUMBER);
+			dos.writeInt(VERSION);
+			dos.writeLong(__sid);
+			dos.writeBoolean(__wo);
+			
+			// The name is stored as UTF-8 rather than modified UTF-8
+			byte[] rawname = __name.getBytes("utf-8");
+			
+			// {@squirreljme.error AF0g Volume name is too long. (The name)}
+			if (rawname.length > 0xFFFF)
+				throw new IOException("AF0g " + __name);
+			
+			dos.writeShort(rawname.length);
+			dos.write(rawname);
+		}
+		
+		return ByteBuffer.wrap(baos.toByteArray());
+	}
+	
+	/**
+	 * Writes the entire buffer to the given position in the channel.
+	 *
+	 * @param __fc The channel to write to.
+	 * @param __b The buffer to write.
+	 * @param __at The position to write at.
+	 * @throws IOException If it could not be written.
+	 * @since 2019/09/19
+	 */
+	private static void __write(FileChannel __fc, ByteBuffer __b, long __at)
+		throws IOException
+	{
+		for (int base = __b.position(); __b.hasRemaining();)
+			__fc.write(__b, __at + (__b.position() - base));
+	}
+}
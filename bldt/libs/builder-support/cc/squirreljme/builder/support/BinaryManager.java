@@ -38,6 +38,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -50,6 +51,9 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import net.multiphasicapps.collections.CloseableList;
 import net.multiphasicapps.collections.SortedTreeMap;
 import net.multiphasicapps.collections.UnmodifiableCollection;
@@ -82,6 +86,17 @@ import net.multiphasicapps.zip.streamwriter.ZipStreamWriter;
 public final class BinaryManager
 	implements Iterable<Binary>
 {
+	/**
+	 * {@squirreljme.property cc.squirreljme.builder.jobs=(count)
+	 * The number of projects which may be compiled at the same time, the
+	 * default is the number of processors.}
+	 */
+	private static final String _JOBS_PROPERTY =
+		"cc.squirreljme.builder.jobs";
+	
+	/** The pool used for compilation. */
+	private static ForkJoinPool _POOL;
+	
 	/** The output directory where built binaries are to be placed. */
 	protected final Path output;
 	
@@ -92,6 +107,14 @@ public final class BinaryManager
 	private final Map<SourceName, Binary> _binaries =
 		new SortedTreeMap<>();
 	
+	/** Compilation tasks for binaries. */
+	private final Map<Binary, __CompileTask__> _tasks =
+		new HashMap<>();
+	
+	/** API hashes of binaries. */
+	private final Map<Binary, String> _apihashes =
+		new ConcurrentHashMap<>();
+	
 	/**
 	 * Initializes the binary manager.
 	 *
@@ -176,6 +199,9 @@ public final class BinaryManager
 	/**
 	 * Compiles the specified binary and all of their dependencies.
 	 *
+	 * Dependencies which do not depend on each other are compiled at the
+	 * same time.
+	 *
 	 * @param __b The binary to compile.
 	 * @return The binaries which were compiled and are part of the class
 	 * path.
@@ -190,41 +216,335 @@ public final class BinaryManager
 		if (__b == null)
 			throw new NullPointerException("NARG");
 		
+		return this.compileAll(__b);
+	}
+	
+	/**
+	 * Compiles all of the specified binaries and all of their dependencies,
+	 * binaries which do not depend on each other are compiled at the same
+	 * time.
+	 *
+	 * @param __b The binaries to compile.
+	 * @return The binaries which were compiled and are part of the class
+	 * path of every binary.
+	 * @throws InvalidBinaryException If a binary is not valid because it
+	 * could not be compiled or one of its dependencies could not be compiled.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	public final Binary[] compileAll(Binary... __b)
+		throws InvalidBinaryException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		// Start compiling everything at once
+		int n = __b.length;
+		__CompileTask__[] tasks = new __CompileTask__[n];
+		for (int i = 0; i < n; i++)
+		{
+			Binary b = __b[i];
+			if (b == null)
+				throw new NullPointerException("NARG");
+			
+			tasks[i] = this.__task(b);
+		}
+		
+		// Wait for all of them to finish
+		Set<Binary> rv = new LinkedHashSet<>();
+		for (__CompileTask__ task : tasks)
+			for (Binary c : task.join())
+				rv.add(c);
+		
+		return rv.<Binary>toArray(new Binary[rv.size()]);
+	}
+	
+	/**
+	 * Obtains the binary which uses the given source name.
+	 *
+	 * @param __n The name of the project to get.
+	 * @return The binary for the given name.
+	 * @throws NoSuchBinaryException If no binary with the given name exists.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2017/11/17
+	 */
+	public final Binary get(String __n)
+		throws NoSuchBinaryException, NullPointerException
+	{
+		if (__n == null)
+			throw new NullPointerException("NARG");
+		
+		return this.get(new SourceName(__n));
+	}
+	
+	/**
+	 * Obtains the binary which uses the given source name.
+	 *
+	 * @param __n The name of the project to get.
+	 * @return The binary for the given name.
+	 * @throws NoSuchBinaryException If no binary with the given name exists.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2017/10/31
+	 */
+	public final Binary get(SourceName __n)
+		throws NoSuchBinaryException, NullPointerException
+	{
+		if (__n == null)
+			throw new NullPointerException("NARG");
+		
+		// Locate
+		Binary rv = this._binaries.get(__n);
+		
+		// {@squirreljme.error AU0a The specified binary does not exist.
+		// (The name of the binary)}
+		if (rv == null)
+			throw new NoSuchBinaryException(String.format("AU0a %s", __n));
+		return rv;
+	}
+	
+	/**
+	 * Creates a virtual binary which is sourced from the given JAR file and
+	 * where it has no backing in source code.
+	 *
+	 * @param __p The path to JAR to be opened as a binary.
+	 * @return The binary for the given path.
+	 * @throws NoSuchBinaryException If no such binary exists.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2017/10/31
+	 */
+	public final Binary getVirtual(Path __p)
+		throws NoSuchBinaryException, NullPointerException
+	{
+		if (__p == null)
+			throw new NullPointerException("NARG");
+		
+		// {@squirreljme.error AU0b Cannot open the specified path as a project
+		// because it does not exist. (The path to open as a binary)}
+		if (!Files.exists(__p))
+			throw new NoSuchBinaryException(String.format("AU0b %s", __p));
+		
+		// Just create the binary
+		return new Binary(SourceName.ofBinaryPath(__p), null, __p);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2017/11/25
+	 */
+	@Override
+	public final Iterator<Binary> iterator()
+	{
+		return UnmodifiableCollection.<Binary>of(this._binaries.values()).
+			iterator();
+	}
+	
+	/**
+	 * Returns the binaries which statisfy the given set.
+	 *
+	 * @param __set The set of dependencies to get.
+	 * @param __opt If {@code true} include optional dependencies.
+	 * @return Binaries which statisfy the given dependencies.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2017/11/17
+	 */
+	public final Binary[] matchDependencies(DependencyInfo __set,
+		boolean __opt)
+		throws NullPointerException
+	{
+		if (__set == null)
+			throw new NullPointerException("NARG");
+		
+		// Clear all optionals if they are not included
+		if (!__opt)
+			__set = __set.noOptionals();
+		
+		// No dependencies to search for
+		if (__set.isEmpty())
+			return new Binary[0];
+		
+		// Remember the original set for recursive dependency checks
+		DependencyInfo original = __set;
+		
+		// The returning set
+		Set<Binary> rv = new LinkedHashSet<>();
+		
+		// Go through all binaries and attempt to match
+		for (Binary bin : this)
+		{
+			// Only consider matches
+			MatchResult result = bin.matchedDependencies(__set);
+			if (!result.hasMatches())
+				continue;
+			
+			// Use this as a dependency
+			rv.add(bin);
+			
+			// Recursively go down
+			for (Binary sub : this.matchDependencies(
+				bin.suiteInfo().dependencies(), false))
+				rv.add(sub);
+			
+			// Use remaining unmatched set
+			__set = result.unmatched();
+			
+			// If the set was emptied then it will never have any more matches
+			if (__set.isEmpty())
+				break;
+		}
+		
+		// {@squirreljme.error AU0c Could not locate the binary which
+		// statifies the given dependency. (The dependency to look for)}
+		if (rv.isEmpty())
+			throw new InvalidBinaryException(
+				String.format("AU0c %s", __set));
+		
+		return rv.<Binary>toArray(new Binary[rv.size()]);
+	}
+	
+	/**
+	 * Compiles the given binary, this is called by the compilation task.
+	 *
+	 * @param __b The binary to compile.
+	 * @return The binaries which were compiled and are part of the class
+	 * path.
+	 * @throws InvalidBinaryException If the binary is not valid because it
+	 * could not be compiled or one of its dependencies could not be compiled.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	final Binary[] __compile(Binary __b)
+		throws InvalidBinaryException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		// Start compiling all of the dependencies, since they are all
+		// started before any is waited on they will compile in parallel
+		Binary[] deps = this.matchDependencies(
+			__b.suiteInfo().dependencies(), false);
+		int numdeps = deps.length;
+		__CompileTask__[] tasks = new __CompileTask__[numdeps];
+		for (int i = 0; i < numdeps; i++)
+			tasks[i] = this.__task(deps[i]);
+		
 		// Return value to use run-time
 		Set<Binary> rv = new LinkedHashSet<>();
 		
 		// Make sure all dependencies are compiled, this will result in the
 		// entire class path being determined aslso for compilation
-		for (Binary dep : this.matchDependencies(
-			__b.suiteInfo().dependencies(), false))
+		for (int i = 0; i < numdeps; i++)
 			try
 			{
-				for (Binary c : this.compile(dep))
+				for (Binary c : tasks[i].join())
 					rv.add(c);
 			}
 			catch (NoSourceAvailableException e)
 			{
 				// For no source, just add the class path for the binary
-				for (Binary c : this.classPath(dep))
+				for (Binary c : this.classPath(deps[i]))
 					rv.add(c);
 			}
 		
-		// Always recompile if the source is newer, but go through all
-		// dependencies and recompile if any dependency is newer than this
-		// binary
-		boolean docompile = __b.isSourceNewer();
-		if (!docompile)
+		// Binaries without source can only use modification times
+		Source src = __b.source();
+		if (src == null)
 		{
-			// Get the date for this binary
-			long mydate = __b.lastModifiedTime();
+			// Always recompile if the source is newer, but go through all
+			// dependencies and recompile if any dependency is newer than
+			// this binary
+			boolean docompile = __b.isSourceNewer();
+			if (!docompile)
+			{
+				// Get the date for this binary
+				long mydate = __b.lastModifiedTime();
+				
+				// If any dependency has a newer binary than this one
+				for (Binary dep : rv)
+					if (dep.isSourceNewer() || dep.lastModifiedTime() > mydate)
+					{
+						docompile = true;
+						break;
+					}
+			}
 			
-			// If any dependency has a newer binary than this one, compile
+			// {@squirreljme.error AU07 Cannot compile the specified project
+			// because it has no source code. (The name of the project)}
+			if (docompile)
+				throw new NoSourceAvailableException(
+					String.format("AU07 %s", __b.name()));
+			
+			// Include this in the run-time
+			rv.add(__b);
+			return rv.<Binary>toArray(new Binary[rv.size()]);
+		}
+		
+		// The binary only needs to be compiled if the source code has
+		// changed or the API of any dependency has changed
+		String srchash;
+		Map<String, String> dephashes = new TreeMap<>();
+		boolean docompile;
+		try
+		{
+			srchash = __BinaryState__.sourceHash(src);
 			for (Binary dep : rv)
-				if (dep.isSourceNewer() || dep.lastModifiedTime() > mydate)
+				dephashes.put(dep.name().toString(), this.__apiHash(dep));
+			
+			// Always compile if it does not exist
+			__BinaryState__ state = __BinaryState__.read(__b);
+			if (!Files.exists(__b.path()))
+				docompile = true;
+			
+			// There is no state, so this was built before states existed
+			// and only the modification times can be used
+			else if (state == null)
+			{
+				docompile = __b.isSourceNewer();
+				if (!docompile)
 				{
-					docompile = true;
-					break;
+					long mydate = __b.lastModifiedTime();
+					for (Binary dep : rv)
+						if (dep.lastModifiedTime() > mydate)
+						{
+							docompile = true;
+							break;
+						}
+				}
+			}
+			
+			// Otherwise compare against what it was built with
+			else
+				docompile = !srchash.equals(state._source) ||
+					!dephashes.equals(state._depends);
+			
+			// If the binary is up to date, the source files may still have
+			// been touched. The binary is touched as well since otherwise
+			// the binary would always be seen as out of date.
+			if (!docompile)
+			{
+				if (__b.isSourceNewer())
+					Files.setLastModifiedTime(__b.path(), FileTime.fromMillis(
+						Math.max(System.currentTimeMillis(),
+						src.lastModifiedTime() + 1)));
+				
+				// Record state so that it is available next time
+				long apitime = __b.lastModifiedTime();
+				if (state == null || state._apitime != apitime)
+				{
+					String api = (state != null ? state._api :
+						__BinaryState__.apiHash(__b));
+					new __BinaryState__(srchash, api, apitime, dephashes).
+						write(__b);
+					this._apihashes.put(__b, api);
 				}
+			}
+		}
+		
+		// {@squirreljme.error AU1n Could not determine if the specified
+		// project needs to be compiled. (The project)}
+		catch (IOException e)
+		{
+			throw new InvalidBinaryException(
+				String.format("AU1n %s", __b.name()), e);
 		}
 		
 		// Compilation needs to be performed
@@ -233,20 +553,13 @@ public final class BinaryManager
 			// Temporary output file to be cleaned
 			Path temp = null;
 			
-			// {@squirreljme.error AU07 Cannot compile the specified project
-			// because it has no source code. (The name of the project)}
-			Source src = __b.source();
-			if (src == null)
-				throw new NoSourceAvailableException(
-					String.format("AU07 %s", __b.name()));
-			
 			// Need to close everything that is opened
 			try (CloseableList<Closeable> closing = new CloseableList<>())
 			{
 				// {@squirreljme.error AU08 Compiling the given project.
 				// (The project name)}
 				System.err.printf("AU08 %s%n", __b.name());
-			
+				
 				// Setup compiler instance
 				Compiler javac = DefaultCompiler.createInstance();
 				
@@ -375,151 +688,114 @@ public final class BinaryManager
 			}
 		}
 		
+		// Record what this was built from
+		if (docompile)
+			try
+			{
+				String api = __BinaryState__.apiHash(__b);
+				new __BinaryState__(srchash, api, __b.lastModifiedTime(),
+					dephashes).write(__b);
+				this._apihashes.put(__b, api);
+			}
+			
+			// {@squirreljme.error AU1o Could not record the state of the
+			// compiled project. (The project)}
+			catch (IOException e)
+			{
+				throw new InvalidBinaryException(
+					String.format("AU1o %s", __b.name()), e);
+			}
+		
 		// Include this in the run-time
 		rv.add(__b);
 		return rv.<Binary>toArray(new Binary[rv.size()]);
 	}
 	
 	/**
-	 * Obtains the binary which uses the given source name.
+	 * Returns the API hash of the given binary.
 	 *
-	 * @param __n The name of the project to get.
-	 * @return The binary for the given name.
-	 * @throws NoSuchBinaryException If no binary with the given name exists.
+	 * @param __b The binary to get the API hash of.
+	 * @return The API hash.
+	 * @throws IOException On read errors.
 	 * @throws NullPointerException On null arguments.
-	 * @since 2017/11/17
+	 * @since 2019/09/21
 	 */
-	public final Binary get(String __n)
-		throws NoSuchBinaryException, NullPointerException
+	private String __apiHash(Binary __b)
+		throws IOException, NullPointerException
 	{
-		if (__n == null)
+		if (__b == null)
 			throw new NullPointerException("NARG");
 		
-		return this.get(new SourceName(__n));
-	}
-	
-	/**
-	 * Obtains the binary which uses the given source name.
-	 *
-	 * @param __n The name of the project to get.
-	 * @return The binary for the given name.
-	 * @throws NoSuchBinaryException If no binary with the given name exists.
-	 * @throws NullPointerException On null arguments.
-	 * @since 2017/10/31
-	 */
-	public final Binary get(SourceName __n)
-		throws NoSuchBinaryException, NullPointerException
-	{
-		if (__n == null)
-			throw new NullPointerException("NARG");
+		// Already been hashed?
+		Map<Binary, String> apihashes = this._apihashes;
+		String rv = apihashes.get(__b);
+		if (rv != null)
+			return rv;
 		
-		// Locate
-		Binary rv = this._binaries.get(__n);
+		// The recorded state may be used if it is for this same binary
+		__BinaryState__ state = __BinaryState__.read(__b);
+		if (state != null && state._apitime == __b.lastModifiedTime())
+			rv = state._api;
+		else
+			rv = __BinaryState__.apiHash(__b);
 		
-		// {@squirreljme.error AU0a The specified binary does not exist.
-		// (The name of the binary)}
-		if (rv == null)
-			throw new NoSuchBinaryException(String.format("AU0a %s", __n));
+		apihashes.put(__b, rv);
 		return rv;
 	}
 	
 	/**
-	 * Creates a virtual binary which is sourced from the given JAR file and
-	 * where it has no backing in source code.
+	 * Returns the task which compiles the given binary, if it does not
+	 * exist then it is created and started.
 	 *
-	 * @param __p The path to JAR to be opened as a binary.
-	 * @return The binary for the given path.
-	 * @throws NoSuchBinaryException If no such binary exists.
+	 * @param __b The binary to get the task for.
+	 * @return The task for the binary.
 	 * @throws NullPointerException On null arguments.
-	 * @since 2017/10/31
+	 * @since 2019/09/21
 	 */
-	public final Binary getVirtual(Path __p)
-		throws NoSuchBinaryException, NullPointerException
+	private __CompileTask__ __task(Binary __b)
+		throws NullPointerException
 	{
-		if (__p == null)
+		if (__b == null)
 			throw new NullPointerException("NARG");
 		
-		// {@squirreljme.error AU0b Cannot open the specified path as a project
-		// because it does not exist. (The path to open as a binary)}
-		if (!Files.exists(__p))
-			throw new NoSuchBinaryException(String.format("AU0b %s", __p));
+		// There is only ever a single task for a binary
+		__CompileTask__ rv;
+		Map<Binary, __CompileTask__> tasks = this._tasks;
+		synchronized (tasks)
+		{
+			rv = tasks.get(__b);
+			if (rv != null)
+				return rv;
+			
+			tasks.put(__b, (rv = new __CompileTask__(this, __b)));
+		}
 		
-		// Just create the binary
-		return new Binary(SourceName.ofBinaryPath(__p), null, __p);
-	}
-	
-	/**
-	 * {@inheritDoc}
-	 * @since 2017/11/25
-	 */
-	@Override
-	public final Iterator<Binary> iterator()
-	{
-		return UnmodifiableCollection.<Binary>of(this._binaries.values()).
-			iterator();
+		// Start it
+		BinaryManager.__pool().execute(rv);
+		return rv;
 	}
 	
 	/**
-	 * Returns the binaries which statisfy the given set.
+	 * Returns the pool used to compile binaries.
 	 *
-	 * @param __set The set of dependencies to get.
-	 * @param __opt If {@code true} include optional dependencies.
-	 * @return Binaries which statisfy the given dependencies.
-	 * @throws NullPointerException On null arguments.
-	 * @since 2017/11/17
+	 * @return The compilation pool.
+	 * @since 2019/09/21
 	 */
-	public final Binary[] matchDependencies(DependencyInfo __set,
-		boolean __opt)
-		throws NullPointerException
+	private static ForkJoinPool __pool()
 	{
-		if (__set == null)
-			throw new NullPointerException("NARG");
-		
-		// Clear all optionals if they are not included
-		if (!__opt)
-			__set = __set.noOptionals();
-		
-		// No dependencies to search for
-		if (__set.isEmpty())
-			return new Binary[0];
-		
-		// Remember the original set for recursive dependency checks
-		DependencyInfo original = __set;
-		
-		// The returning set
-		Set<Binary> rv = new LinkedHashSet<>();
-		
-		// Go through all binaries and attempt to match
-		for (Binary bin : this)
+		synchronized (BinaryManager.class)
 		{
-			// Only consider matches
-			MatchResult result = bin.matchedDependencies(__set);
-			if (!result.hasMatches())
-				continue;
-			
-			// Use this as a dependency
-			rv.add(bin);
-			
-			// Recursively go down
-			for (Binary sub : this.matchDependencies(
-				bin.suiteInfo().dependencies(), false))
-				rv.add(sub);
-			
-			// Use remaining unmatched set
-			__set = result.unmatched();
+			ForkJoinPool rv = BinaryManager._POOL;
+			if (rv == null)
+			{
+				int jobs = Integer.getInteger(_JOBS_PROPERTY,
+					Runtime.getRuntime().availableProcessors());
+				BinaryManager._POOL = (rv = new ForkJoinPool(
+					Math.max(1, jobs)));
+			}
 			
-			// If the set was emptied then it will never have any more matches
-			if (__set.isEmpty())
-				break;
+			return rv;
 		}
-		
-		// {@squirreljme.error AU0c Could not locate the binary which
-		// statifies the given dependency. (The dependency to look for)}
-		if (rv.isEmpty())
-			throw new InvalidBinaryException(
-				String.format("AU0c %s", __set));
-		
-		return rv.<Binary>toArray(new Binary[rv.size()]);
 	}
 	
 	/**
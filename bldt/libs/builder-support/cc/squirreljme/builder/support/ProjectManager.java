@@ -175,9 +175,8 @@ public final class ProjectManager
 		
 		// Compile all of the project and return required class path for
 		// it to operate
-		for (Binary i : bins)
-			for (Binary b : bm.compile(i))
-				rv.add(b);
+		for (Binary b : bm.compileAll(bins))
+			rv.add(b);
 		
 		// Return the completed set
 		return rv.<Binary>toArray(new Binary[rv.size()]);
@@ -198,9 +197,12 @@ public final class ProjectManager
 		{
 			// Build everything
 			BinaryManager bm = this.binaryManager(__t);
+			Set<Binary> all = new LinkedHashSet<>();
 			for (Binary b : bm)
-				for (Binary x : bm.compile(b))
-					bin.add(x);
+				all.add(b);
+			for (Binary x : bm.compileAll(
+				all.<Binary>toArray(new Binary[all.size()])))
+				bin.add(x);
 		}
 		catch (IOException e)
 		{
@@ -287,7 +289,7 @@ public final class ProjectManager
 		if (__fn == null)
 			throw new NullPointerException("NARG");
 		
-		// Handle slashes and 
+		// Handle slashes and
 		Path sourceroot = this.sourceroot,
 			open = sourceroot;
 		for (String s : StringUtils.basicSplit('/', __fn))
@@ -458,7 +460,7 @@ public final class ProjectManager
 				case "B":
 					deftimespace = TimeSpaceType.BUILD;
 					break;
-				
+					
 					// {@squirreljme.error AU0v Unknown project argument.
 					// Usage: [-s path] [-o path] [-r path] [-j path]
 					// [-b path];
@@ -0,0 +1,632 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.builder.support;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import net.multiphasicapps.javac.CompilerInput;
+import net.multiphasicapps.javac.CompilerPathSet;
+import net.multiphasicapps.zip.blockreader.FileChannelBlockAccessor;
+import net.multiphasicapps.zip.blockreader.ZipBlockEntry;
+import net.multiphasicapps.zip.blockreader.ZipBlockReader;
+
+/**
+ * This is the state which is recorded next to a binary when it is built, it
+ * is used to determine if a binary actually needs to be built again.
+ *
+ * The state contains a hash of the source code the binary was built from
+ * and a hash of the public API of every dependency it was compiled against.
+ * If the source code is the same and no dependency changed its API, then
+ * there is no need to compile the binary again.
+ *
+ * @since 2019/09/21
+ */
+final class __BinaryState__
+{
+	/** The extension used for state files. */
+	private static final String _EXTENSION =
+		".state";
+	
+	/** The key for the source hash. */
+	private static final String _SOURCE_KEY =
+		"source";
+	
+	/** The key for the API hash. */
+	private static final String _API_KEY =
+		"api";
+	
+	/** The key for the time of the binary the API hash is for. */
+	private static final String _API_TIME_KEY =
+		"api-time";
+	
+	/** The prefix for dependency keys. */
+	private static final String _DEPENDENCY_PREFIX =
+		"depends.";
+	
+	/** The access flag for private members. */
+	private static final int _ACC_PRIVATE =
+		0x0002;
+	
+	/** The access flag for synthetic members. */
+	private static final int _ACC_SYNTHETIC =
+		0x1000;
+	
+	/** The hash of the source code. */
+	final String _source;
+	
+	/** The hash of the API of the binary. */
+	final String _api;
+	
+	/** The modification time of the binary when the API was hashed. */
+	final long _apitime;
+	
+	/** The API hashes of the dependencies. */
+	final Map<String, String> _depends;
+	
+	/**
+	 * Initializes the state.
+	 *
+	 * @param __src The source hash.
+	 * @param __api The API hash.
+	 * @param __at The time of the binary the API hash is for.
+	 * @param __deps The API hashes of dependencies.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	__BinaryState__(String __src, String __api, long __at,
+		Map<String, String> __deps)
+		throws NullPointerException
+	{
+		if (__src == null || __api == null || __deps == null)
+			throw new NullPointerException("NARG");
+		
+		this._source = __src;
+		this._api = __api;
+		this._apitime = __at;
+		this._depends = Collections.<String, String>unmodifiableMap(
+			new TreeMap<>(__deps));
+	}
+	
+	/**
+	 * Writes the state for the given binary.
+	 *
+	 * @param __b The binary to write the state for.
+	 * @throws IOException On write errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	final void write(Binary __b)
+		throws IOException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		// Store properties
+		Properties props = new Properties();
+		props.setProperty(_SOURCE_KEY, this._source);
+		props.setProperty(_API_KEY, this._api);
+		props.setProperty(_API_TIME_KEY, Long.toString(this._apitime));
+		for (Map.Entry<String, String> e : this._depends.entrySet())
+			props.setProperty(_DEPENDENCY_PREFIX + e.getKey(), e.getValue());
+		
+		// Write to a temporary file first so that a partially written
+		// state is never seen
+		Path path = __BinaryState__.__path(__b),
+			temp = Files.createTempFile("squirreljme-", ".st_");
+		try
+		{
+			try (OutputStream os = Files.newOutputStream(temp,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING))
+			{
+				props.store(os, null);
+			}
+			
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			Files.deleteIfExists(temp);
+		}
+	}
+	
+	/**
+	 * Calculates the hash of the API of the given binary.
+	 *
+	 * Only the parts of classes which may be referenced by other projects
+	 * are considered, along with the manifest. Changes to method bodies and
+	 * private members do not change the API hash.
+	 *
+	 * @param __b The binary to hash.
+	 * @return The API hash.
+	 * @throws IOException On read errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	static final String apiHash(Binary __b)
+		throws IOException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		// Entries are sorted so that the order in the ZIP does not matter
+		Map<String, String> entries = new TreeMap<>();
+		try (ZipBlockReader zip = new ZipBlockReader(
+			new FileChannelBlockAccessor(__b.path())))
+		{
+			for (ZipBlockEntry e : zip)
+			{
+				String name = e.name();
+				
+				// Only classes and the manifest affect dependents
+				boolean isclass = name.endsWith(".class");
+				if (!isclass && !name.equals("META-INF/MANIFEST.MF"))
+					continue;
+				
+				try (InputStream in = e.open())
+				{
+					entries.put(name, (isclass ?
+						__BinaryState__.__classApi(in) :
+						__BinaryState__.__hash(in)));
+				}
+			}
+		}
+		
+		// Hash everything together
+		MessageDigest digest = __BinaryState__.__digest();
+		for (Map.Entry<String, String> e : entries.entrySet())
+			__BinaryState__.__update(digest,
+				e.getKey() + "=" + e.getValue());
+		return __BinaryState__.__hex(digest.digest());
+	}
+	
+	/**
+	 * Reads the state for the given binary.
+	 *
+	 * @param __b The binary to read the state for.
+	 * @return The state or {@code null} if there is none or it is not
+	 * valid.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	static final __BinaryState__ read(Binary __b)
+		throws NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		// Load properties
+		Properties props = new Properties();
+		try (InputStream in = Files.newInputStream(
+			__BinaryState__.__path(__b)))
+		{
+			props.load(in);
+		}
+		
+		// No state or it could not be read, so treat it as missing
+		catch (IOException|IllegalArgumentException e)
+		{
+			return null;
+		}
+		
+		// All of these are required
+		String source = props.getProperty(_SOURCE_KEY),
+			api = props.getProperty(_API_KEY),
+			apitime = props.getProperty(_API_TIME_KEY);
+		if (source == null || api == null || apitime == null)
+			return null;
+		
+		// Dependencies
+		Map<String, String> depends = new TreeMap<>();
+		for (String k : props.stringPropertyNames())
+			if (k.startsWith(_DEPENDENCY_PREFIX))
+				depends.put(k.substring(_DEPENDENCY_PREFIX.length()),
+					props.getProperty(k));
+		
+		try
+		{
+			return new __BinaryState__(source, api, Long.parseLong(apitime),
+				depends);
+		}
+		catch (NumberFormatException e)
+		{
+			return null;
+		}
+	}
+	
+	/**
+	 * Calculates the hash of the given source code.
+	 *
+	 * @param __s The source to hash.
+	 * @return The hash of the source code.
+	 * @throws IOException On read errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	static final String sourceHash(Source __s)
+		throws IOException, NullPointerException
+	{
+		if (__s == null)
+			throw new NullPointerException("NARG");
+		
+		// Hash every input, sorted by name so the order does not matter
+		Map<String, String> entries = new TreeMap<>();
+		try (CompilerPathSet ps = __s.pathSet(SourcePathSetType.COMPILED))
+		{
+			for (CompilerInput i : ps)
+				try (InputStream in = i.open())
+				{
+					entries.put(i.fileName(), __BinaryState__.__hash(in));
+				}
+		}
+		
+		// Then hash all of those together
+		MessageDigest digest = __BinaryState__.__digest();
+		for (Map.Entry<String, String> e : entries.entrySet())
+			__BinaryState__.__update(digest,
+				e.getKey() + "=" + e.getValue());
+		return __BinaryState__.__hex(digest.digest());
+	}
+	
+	/**
+	 * Calculates the API of a single class.
+	 *
+	 * @param __in The class file data.
+	 * @return The hash of the class API.
+	 * @throws IOException On read errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	private static String __classApi(InputStream __in)
+		throws IOException, NullPointerException
+	{
+		if (__in == null)
+			throw new NullPointerException("NARG");
+		
+		DataInputStream in = new DataInputStream(__in);
+		
+		// {@squirreljme.error AU1j Not a class file.}
+		if (in.readInt() != 0xCAFEBABE)
+			throw new IOException("AU1j");
+		
+		// Version
+		int minor = in.readUnsignedShort(),
+			major = in.readUnsignedShort();
+		
+		// Read the constant pool, only values which are needed to describe
+		// the API are kept
+		int poolsize = in.readUnsignedShort();
+		Object[] pool = new Object[poolsize];
+		for (int i = 1; i < poolsize; i++)
+		{
+			int tag = in.readUnsignedByte();
+			switch (tag)
+			{
+					// UTF
+				case 1:
+					pool[i] = in.readUTF();
+					break;
+					
+					// Integer
+				case 3:
+					pool[i] = in.readInt();
+					break;
+					
+					// Float
+				case 4:
+					pool[i] = in.readFloat();
+					break;
+					
+					// Long
+				case 5:
+					pool[i++] = in.readLong();
+					break;
+					
+					// Double
+				case 6:
+					pool[i++] = in.readDouble();
+					break;
+					
+					// Class and string, refer to UTF
+				case 7:
+				case 8:
+					pool[i] = new int[]{in.readUnsignedShort()};
+					break;
+					
+					// References and name and type
+				case 9:
+				case 10:
+				case 11:
+				case 12:
+				case 17:
+				case 18:
+					in.readInt();
+					break;
+					
+					// Method handle
+				case 15:
+					in.readUnsignedByte();
+					in.readUnsignedShort();
+					break;
+					
+					// Method type, module, and package
+				case 16:
+				case 19:
+				case 20:
+					in.readUnsignedShort();
+					break;
+					
+					// {@squirreljme.error AU1k Unknown constant pool tag.
+					// (The tag)}
+				default:
+					throw new IOException("AU1k " + tag);
+			}
+		}
+		
+		// Class information
+		StringBuilder sb = new StringBuilder();
+		sb.append("version ").append(major).append('.').append(minor);
+		sb.append("\nclass ").append(in.readUnsignedShort());
+		sb.append(' ').append(__BinaryState__.__pool(pool,
+			in.readUnsignedShort()));
+		sb.append("\nsuper ").append(__BinaryState__.__pool(pool,
+			in.readUnsignedShort()));
+		for (int i = 0, n = in.readUnsignedShort(); i < n; i++)
+			sb.append("\nimplements ").append(__BinaryState__.__pool(pool,
+				in.readUnsignedShort()));
+		
+		// Fields and methods, these are sorted so their order does not
+		// change the API
+		List<String> members = new ArrayList<>();
+		for (int m = 0; m < 2; m++)
+			for (int i = 0, n = in.readUnsignedShort(); i < n; i++)
+			{
+				int flags = in.readUnsignedShort();
+				String member = (m == 0 ? "field " : "method ") + flags +
+					" " + __BinaryState__.__pool(pool,
+						in.readUnsignedShort()) +
+					" " + __BinaryState__.__pool(pool,
+						in.readUnsignedShort()) +
+					__BinaryState__.__attributes(in, pool);
+				
+				// Private and synthetic members cannot be used by dependents
+				if ((flags & (_ACC_PRIVATE | _ACC_SYNTHETIC)) == 0)
+					members.add(member);
+			}
+		Collections.sort(members);
+		for (String member : members)
+			sb.append('\n').append(member);
+		
+		// Attributes of the class
+		sb.append('\n').append(__BinaryState__.__attributes(in, pool));
+		
+		// Hash the description
+		MessageDigest digest = __BinaryState__.__digest();
+		__BinaryState__.__update(digest, sb.toString());
+		return __BinaryState__.__hex(digest.digest());
+	}
+	
+	/**
+	 * Reads attributes and describes the ones which are part of the API.
+	 *
+	 * @param __in The stream to read from.
+	 * @param __pool The constant pool.
+	 * @return The description of the attributes.
+	 * @throws IOException On read errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	private static String __attributes(DataInputStream __in, Object[] __pool)
+		throws IOException, NullPointerException
+	{
+		if (__in == null || __pool == null)
+			throw new NullPointerException("NARG");
+		
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0, n = __in.readUnsignedShort(); i < n; i++)
+		{
+			String name = __BinaryState__.__pool(__pool,
+				__in.readUnsignedShort());
+			int len = __in.readInt();
+			
+			// Read the attribute data
+			byte[] data = new byte[len];
+			__in.readFully(data);
+			
+			// Constants, generic signatures, and thrown exceptions change
+			// how dependents are compiled
+			switch (name)
+			{
+					// Single constant pool reference
+				case "ConstantValue":
+				case "Signature":
+					sb.append(' ').append(name).append('=').append(
+						__BinaryState__.__pool(__pool,
+						((data[0] & 0xFF) << 8) | (data[1] & 0xFF)));
+					break;
+					
+					// List of constant pool references
+				case "Exceptions":
+					sb.append(' ').append(name);
+					for (int j = 2; j < len; j += 2)
+						sb.append(',').append(__BinaryState__.__pool(__pool,
+							((data[j] & 0xFF) << 8) | (data[j + 1] & 0xFF)));
+					break;
+					
+					// Not part of the API
+				default:
+					break;
+			}
+		}
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Creates a new digest.
+	 *
+	 * @return The digest.
+	 * @since 2019/09/21
+	 */
+	private static MessageDigest __digest()
+	{
+		try
+		{
+			return MessageDigest.getInstance("SHA-1");
+		}
+		
+		// {@squirreljme.error AU1l The host does not support SHA-1.}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new RuntimeException("AU1l", e);
+		}
+	}
+	
+	/**
+	 * Hashes the given stream.
+	 *
+	 * @param __in The stream to hash.
+	 * @return The hash of the stream.
+	 * @throws IOException On read errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	private static String __hash(InputStream __in)
+		throws IOException, NullPointerException
+	{
+		if (__in == null)
+			throw new NullPointerException("NARG");
+		
+		MessageDigest digest = __BinaryState__.__digest();
+		byte[] buf = new byte[4096];
+		for (;;)
+		{
+			int rc = __in.read(buf);
+			
+			if (rc < 0)
+				break;
+			
+			digest.update(buf, 0, rc);
+		}
+		
+		return __BinaryState__.__hex(digest.digest());
+	}
+	
+	/**
+	 * Converts bytes to a hexadecimal string.
+	 *
+	 * @param __b The bytes to convert.
+	 * @return The resulting string.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	private static String __hex(byte[] __b)
+		throws NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		StringBuilder sb = new StringBuilder(__b.length * 2);
+		for (byte b : __b)
+		{
+			sb.append(Character.forDigit((b >>> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Returns the path to the state for the given binary.
+	 *
+	 * @param __b The binary to get the state path for.
+	 * @return The path to the state.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	private static Path __path(Binary __b)
+		throws NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		Path path = __b.path();
+		return path.resolveSibling(path.getFileName() + _EXTENSION);
+	}
+	
+	/**
+	 * Describes the given constant pool entry.
+	 *
+	 * @param __pool The constant pool.
+	 * @param __i The index of the entry.
+	 * @return The description of the entry.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	private static String __pool(Object[] __pool, int __i)
+		throws NullPointerException
+	{
+		if (__pool == null)
+			throw new NullPointerException("NARG");
+		
+		// Nothing here, such as the super class of Object
+		if (__i <= 0 || __i >= __pool.length)
+			return "";
+		
+		// Classes and strings refer to other entries
+		Object v = __pool[__i];
+		if (v instanceof int[])
+			return __BinaryState__.__pool(__pool, ((int[])v)[0]);
+		
+		return String.valueOf(v);
+	}
+	
+	/**
+	 * Updates the digest with the given string.
+	 *
+	 * @param __d The digest to update.
+	 * @param __s The string to add.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	private static void __update(MessageDigest __d, String __s)
+		throws NullPointerException
+	{
+		if (__d == null || __s == null)
+			throw new NullPointerException("NARG");
+		
+		try
+		{
+			__d.update(__s.getBytes("utf-8"));
+			__d.update((byte)'\n');
+		}
+		
+		// {@squirreljme.error AU1m The host does not support UTF-8.}
+		catch (IOException e)
+		{
+			throw new RuntimeException("AU1m", e);
+		}
+	}
+}
+
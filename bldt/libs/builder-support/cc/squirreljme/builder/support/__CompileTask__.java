@@ -0,0 +1,58 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.builder.support;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This is a task which compiles a single binary once all of its
+ * dependencies have been compiled. There is only ever a single task for
+ * each binary, so binaries which share dependencies wait on the same task.
+ *
+ * @since 2019/09/21
+ */
+final class __CompileTask__
+	extends RecursiveTask<Binary[]>
+{
+	/** The manager performing compilation. */
+	protected final BinaryManager manager;
+	
+	/** The binary to compile. */
+	protected final Binary binary;
+	
+	/**
+	 * Initializes the task.
+	 *
+	 * @param __m The manager performing compilation.
+	 * @param __b The binary to compile.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/21
+	 */
+	__CompileTask__(BinaryManager __m, Binary __b)
+		throws NullPointerException
+	{
+		if (__m == null || __b == null)
+			throw new NullPointerException("NARG");
+		
+		this.manager = __m;
+		this.binary = __b;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/21
+	 */
+	@Override
+	protected final Binary[] compute()
+	{
+		return this.manager.__compile(this.binary);
+	}
+}
+
@@ -15,6 +15,7 @@ import cc.squirreljme.builder.support.TimeSpaceType;
 import cc.squirreljme.builder.support.vm.BuildClassLibrary;
 import cc.squirreljme.runtime.swm.EntryPoints;
 import cc.squirreljme.vm.VMClassLibrary;
+import dev.shadowtail.jarfile.MinimizedClassCache;
 import dev.shadowtail.packfile.PackMinimizer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -138,8 +139,15 @@ public class SummerCoatROM
 		String mainbc = new EntryPoints(lbins[numlbins - 1].manifest()).get(0).
 			entryPoint();
 		
+		// Classes which have not changed since the last build do not need
+		// to be minimized again
+		MinimizedClassCache cache = (n == 0 ? null :
+			__MinimizedClassCache__.open(bins[0].path().resolveSibling(
+				"minimized-classes")));
+		
 		// Write SummerCoat ROM file
-		this.generate(__zip, new BuildParameters(boot, lstrs, mainbc, libs));
+		this.generate(__zip, new BuildParameters(boot, lstrs, mainbc, libs,
+			cache));
 	}
 	
 	/**
@@ -183,6 +191,9 @@ public class SummerCoatROM
 		/** Libraries to use. */
 		public final VMClassLibrary[] libs;
 		
+		/** The cache for minimized classes, may be {@code null}. */
+		public final MinimizedClassCache cache;
+		
 		/**
 		 * Initializes the build parameters.
 		 *
@@ -196,6 +207,26 @@ public class SummerCoatROM
 		public BuildParameters(String __boot, String[] __lstrs,
 			String __mainbc, VMClassLibrary[] __libs)
 			throws NullPointerException
+		{
+			this(__boot, __lstrs, __mainbc, __libs, null);
+		}
+		
+		/**
+		 * Initializes the build parameters.
+		 *
+		 * @param __boot The boot library.
+		 * @param __lstrs Starting libraries.
+		 * @param __mainbc Main boot class.
+		 * @param __libs Class Library.
+		 * @param __cache The cache for minimized classes, may be
+		 * {@code null}.
+		 * @throws NullPointerException On null arguments.
+		 * @since 2019/09/22
+		 */
+		public BuildParameters(String __boot, String[] __lstrs,
+			String __mainbc, VMClassLibrary[] __libs,
+			MinimizedClassCache __cache)
+			throws NullPointerException
 		{
 			if (__boot == null || __lstrs == null || __mainbc == null ||
 				__libs == null)
@@ -205,6 +236,7 @@ public class SummerCoatROM
 			this.startlibs = __lstrs;
 			this.mainbc = __mainbc;
 			this.libs = __libs;
+			this.cache = __cache;
 		}
 		
 		/**
@@ -221,8 +253,8 @@ public class SummerCoatROM
 			if (__out == null)
 				throw new NullPointerException("NARG");
 			
-			PackMinimizer.minimize(__out, this.bootlib, this.startlibs,
-				this.mainbc, this.libs);
+			PackMinimizer.minimize(__out, this.cache, this.bootlib,
+				this.startlibs, this.mainbc, this.libs);
 		}
 		
 		/**
@@ -235,8 +267,8 @@ public class SummerCoatROM
 		public final byte[] minimize()
 			throws IOException
 		{
-			return PackMinimizer.minimize(this.bootlib, this.startlibs,
-				this.mainbc, this.libs);
+			return PackMinimizer.minimize(this.cache, this.bootlib,
+				this.startlibs, this.mainbc, this.libs);
 		}
 	}
 }
@@ -0,0 +1,285 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.builder.support.dist;
+
+import dev.shadowtail.classfile.mini.Minimizer;
+import dev.shadowtail.jarfile.MinimizedClassCache;
+import java.io.InputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import net.multiphasicapps.zip.blockreader.FileChannelBlockAccessor;
+import net.multiphasicapps.zip.blockreader.ZipBlockEntry;
+import net.multiphasicapps.zip.blockreader.ZipBlockReader;
+
+/**
+ * This is a cache of minimized classes which is stored in a directory, each
+ * class is stored in a file named after the hash of the input class and the
+ * minimizer which was used to minimize it.
+ *
+ * The minimizer is identified by the hash of all of the classes which make
+ * up the translator, so changing the translator will not use any classes
+ * which were minimized before the change.
+ *
+ * @since 2019/09/22
+ */
+final class __MinimizedClassCache__
+	implements MinimizedClassCache
+{
+	/** Classes which make up the translator. */
+	private static final String[] _TRANSLATOR_PACKAGES =
+		new String[]{"dev/shadowtail/classfile/",
+			"net/multiphasicapps/classfile/", "net/multiphasicapps/io/"};
+	
+	/** The extension used for cached classes. */
+	private static final String _EXTENSION =
+		".mcc";
+	
+	/** The directory where cached classes are stored. */
+	protected final Path directory;
+	
+	/** The hash of the translator. */
+	private final byte[] _translator;
+	
+	/**
+	 * Initializes the cache.
+	 *
+	 * @param __dir The directory where cached classes are stored.
+	 * @param __t The hash of the translator.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	private __MinimizedClassCache__(Path __dir, byte[] __t)
+		throws NullPointerException
+	{
+		if (__dir == null || __t == null)
+			throw new NullPointerException("NARG");
+		
+		this.directory = __dir;
+		this._translator = __t;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public final byte[] get(byte[] __cl)
+		throws NullPointerException
+	{
+		if (__cl == null)
+			throw new NullPointerException("NARG");
+		
+		try
+		{
+			return Files.readAllBytes(this.__path(__cl));
+		}
+		
+		// Not cached or could not be read, so it gets minimized again
+		catch (IOException e)
+		{
+			return null;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public final void put(byte[] __cl, byte[] __mc)
+		throws NullPointerException
+	{
+		if (__cl == null || __mc == null)
+			throw new NullPointerException("NARG");
+		
+		// Write to a temporary file first, so that other builds never see
+		// a partially written class
+		Path temp = null;
+		try
+		{
+			Path dir = this.directory;
+			Files.createDirectories(dir);
+			
+			temp = Files.createTempFile(dir, "squirreljme-", ".tmp");
+			Files.write(temp, __mc);
+			Files.move(temp, this.__path(__cl),
+				StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+			temp = null;
+		}
+		
+		// The cache is only used to speed up builds, so ignore this
+		catch (IOException e)
+		{
+		}
+		
+		// Cleanup the temporary file if it still exists
+		finally
+		{
+			if (temp != null)
+				try
+				{
+					Files.delete(temp);
+				}
+				catch (IOException e)
+				{
+				}
+		}
+	}
+	
+	/**
+	 * Returns the path to the cached class.
+	 *
+	 * @param __cl The bytes of the input class.
+	 * @return The path to the cached class.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	private final Path __path(byte[] __cl)
+		throws NullPointerException
+	{
+		if (__cl == null)
+			throw new NullPointerException("NARG");
+		
+		MessageDigest digest = __MinimizedClassCache__.__digest();
+		digest.update(this._translator);
+		digest.update(__cl);
+		
+		// Convert to hexadecimal
+		byte[] hash = digest.digest();
+		StringBuilder sb = new StringBuilder(hash.length * 2);
+		for (byte b : hash)
+		{
+			sb.append(Character.forDigit((b >>> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		
+		return this.directory.resolve(sb.append(_EXTENSION).toString());
+	}
+	
+	/**
+	 * Opens the cache in the given directory.
+	 *
+	 * @param __dir The directory where cached classes are stored.
+	 * @return The cache or {@code null} if the translator which is being
+	 * used could not be identified.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	static __MinimizedClassCache__ open(Path __dir)
+		throws NullPointerException
+	{
+		if (__dir == null)
+			throw new NullPointerException("NARG");
+		
+		// Find where the translator is located
+		Path jar;
+		try
+		{
+			CodeSource cs = Minimizer.class.getProtectionDomain().
+				getCodeSource();
+			if (cs == null)
+				return null;
+			
+			jar = Paths.get(cs.getLocation().toURI());
+		}
+		
+		// Cannot locate the translator
+		catch (SecurityException|URISyntaxException|
+			IllegalArgumentException e)
+		{
+			return null;
+		}
+		
+		// Only JARs are supported
+		if (!Files.isRegularFile(jar))
+			return null;
+		
+		// Entries are sorted so that the order in the JAR does not matter
+		Map<String, ZipBlockEntry> entries = new TreeMap<>();
+		MessageDigest digest = __MinimizedClassCache__.__digest();
+		try (ZipBlockReader zip = new ZipBlockReader(
+			new FileChannelBlockAccessor(jar)))
+		{
+			for (ZipBlockEntry e : zip)
+			{
+				String name = e.name();
+				for (String pk : _TRANSLATOR_PACKAGES)
+					if (name.startsWith(pk) && name.endsWith(".class"))
+					{
+						entries.put(name, e);
+						break;
+					}
+			}
+			
+			// Hash the name and contents of every class
+			byte[] buf = new byte[4096];
+			for (Map.Entry<String, ZipBlockEntry> e : entries.entrySet())
+			{
+				digest.update(e.getKey().getBytes("utf-8"));
+				
+				try (InputStream in = e.getValue().open())
+				{
+					for (;;)
+					{
+						int rc = in.read(buf);
+						
+						if (rc < 0)
+							break;
+						
+						digest.update(buf, 0, rc);
+					}
+				}
+			}
+		}
+		
+		// Could not read the translator
+		catch (IOException e)
+		{
+			return null;
+		}
+		
+		// Nothing was found, so it cannot be identified
+		if (entries.isEmpty())
+			return null;
+		
+		return new __MinimizedClassCache__(__dir, digest.digest());
+	}
+	
+	/**
+	 * Creates a new digest.
+	 *
+	 * @return The digest.
+	 * @since 2019/09/22
+	 */
+	private static MessageDigest __digest()
+	{
+		try
+		{
+			return MessageDigest.getInstance("SHA-1");
+		}
+		
+		// {@squirreljme.error AU1p The host does not support SHA-1.}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new RuntimeException("AU1p", e);
+		}
+	}
+}
+
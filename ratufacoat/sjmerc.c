@@ -389,8 +389,11 @@
 /** Returns the size of the option JAR data. */
 #define SJME_SYSCALL_OPTION_JAR_SIZE SJME_JINT_C(27)
 
+/** Gets the value of a register in the given call stack frame. */
+#define SJME_SYSCALL_CALL_STACK_REGISTER SJME_JINT_C(28)
+
 /** System call count. */
-#define SJME_SYSCALL_NUM_SYSCALLS SJME_JINT_C(28)
+#define SJME_SYSCALL_NUM_SYSCALLS SJME_JINT_C(29)
 
 /** No error, or success. */
 #define SJME_SYSCALL_ERROR_NO_ERROR SJME_JINT_C(0)
@@ -1314,6 +1317,7 @@ sjme_jint sjme_syscall(sjme_jvm* jvm, sjme_cpu* cpu, sjme_error* error,
 				case SJME_SYSCALL_BYTE_ORDER_LITTLE:
 				case SJME_SYSCALL_CALL_STACK_HEIGHT:
 				case SJME_SYSCALL_CALL_STACK_ITEM:
+				case SJME_SYSCALL_CALL_STACK_REGISTER:
 				case SJME_SYSCALL_ERROR_GET:
 				case SJME_SYSCALL_ERROR_SET:
 				case SJME_SYSCALL_FRAMEBUFFER_PROPERTY:
@@ -1422,6 +1426,29 @@ sjme_jint sjme_syscall(sjme_jvm* jvm, sjme_cpu* cpu, sjme_error* error,
 			}
 			return 0;
 			
+			/* Register within a frame on the call stack. */
+		case SJME_SYSCALL_CALL_STACK_REGISTER:
+			/* Find the CPU frame to use. */
+			ia = args[0];
+			while (ia > 0 && cpustate != NULL)
+			{
+				/* Drop down. */
+				cpustate = cpustate->parent;
+				ia--;
+			}
+			
+			/* The frame and register must be valid. */
+			if (ia != 0 || cpustate == NULL ||
+				args[1] < 0 || args[1] >= SJME_MAX_REGISTERS)
+			{
+				*syserr = SJME_SYSCALL_ERROR_VALUE_OUT_OF_RANGE;
+				return 0;
+			}
+			
+			/* Use the value of the register. */
+			*syserr = SJME_SYSCALL_ERROR_NO_ERROR;
+			return cpustate->r[args[1]];
+			
 			/* Get error state. */
 		case SJME_SYSCALL_ERROR_GET:
 			*syserr = SJME_SYSCALL_ERROR_NO_ERROR;
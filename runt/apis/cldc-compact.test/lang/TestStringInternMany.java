@@ -0,0 +1,52 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package lang;
+
+import net.multiphasicapps.tac.TestRunnable;
+
+/**
+ * Tests that interning many strings still returns the same strings.
+ *
+ * @since 2019/09/22
+ */
+public class TestStringInternMany
+	extends TestRunnable
+{
+	/** The number of strings to intern. */
+	private static final int _COUNT =
+		1000;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public void test()
+	{
+		// Intern many strings, so that the table has to grow
+		String[] interns = new String[_COUNT];
+		for (int i = 0; i < _COUNT; i++)
+			interns[i] = ("squirrel" + i).intern();
+		
+		// Newly made strings should intern to the same ones
+		boolean same = true;
+		for (int i = 0; i < _COUNT; i++)
+			if (interns[i] != new String("squirrel" + i).intern())
+				same = false;
+		this.secondary("same", same);
+		
+		// And these should all be different
+		this.secondary("diff", interns[0] != interns[1]);
+		
+		// Constants are interned
+		this.secondary("const", "squirrel0" == interns[0]);
+	}
+}
+
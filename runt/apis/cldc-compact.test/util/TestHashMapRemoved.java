@@ -0,0 +1,87 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package util;
+
+import net.multiphasicapps.tac.TestRunnable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Tests that {@link HashMap} works properly when entries are removed and
+ * added again, so that removed slots are reused and the table is rebuilt.
+ *
+ * @since 2019/09/22
+ */
+public class TestHashMapRemoved
+	extends TestRunnable
+{
+	/** The number of entries to use. */
+	private static final int _COUNT =
+		64;
+	
+	/** The number of rounds to remove and add. */
+	private static final int _ROUNDS =
+		32;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public void test()
+	{
+		Map<Integer, String> map = new HashMap<>();
+		
+		// Removing then adding the same key reuses the removed slot
+		for (int i = 0; i < _COUNT; i++)
+		{
+			map.put(i, "" + i);
+			map.remove(i);
+			map.put(i, "r" + i);
+		}
+		this.secondary("reusesize", map.size());
+		this.secondary("reusevalue", map.get(_COUNT - 1));
+		
+		// Remove and add different keys many times, so that the table fills
+		// with removed slots and has to be rebuilt
+		for (int r = 1; r <= _ROUNDS; r++)
+			for (int i = 0; i < _COUNT; i++)
+			{
+				map.remove(((r - 1) * _COUNT) + i);
+				map.put((r * _COUNT) + i, "p" + i);
+			}
+		this.secondary("rebuildsize", map.size());
+		this.secondary("rebuildold", map.containsKey(0));
+		this.secondary("rebuildvalue", map.get((_ROUNDS * _COUNT) + 1));
+		
+		// Remove every other entry using the iterator
+		for (Iterator<Map.Entry<Integer, String>> it =
+			map.entrySet().iterator(); it.hasNext();)
+			if ((it.next().getKey() & 1) != 0)
+				it.remove();
+		this.secondary("itsize", map.size());
+		this.secondary("itremoved", map.containsKey((_ROUNDS * _COUNT) + 1));
+		
+		// Add the removed entries again
+		for (int i = 1; i < _COUNT; i += 2)
+			map.put((_ROUNDS * _COUNT) + i, "i" + i);
+		this.secondary("itaddsize", map.size());
+		this.secondary("itaddvalue", map.get((_ROUNDS * _COUNT) + 1));
+		this.secondary("itaddkept", map.get(_ROUNDS * _COUNT));
+		
+		// Every entry should be found by iteration exactly once
+		int sum = 0;
+		for (Map.Entry<Integer, String> e : map.entrySet())
+			sum += e.getKey() - (_ROUNDS * _COUNT);
+		this.secondary("itsum", sum);
+	}
+}
+
@@ -0,0 +1,95 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package util;
+
+import net.multiphasicapps.tac.TestRunnable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tests that maps in access order are ordered by their last access.
+ *
+ * @since 2019/09/22
+ */
+public class TestLinkedHashMapAccessOrder
+	extends TestRunnable
+{
+	/** Maximum entries in the cache. */
+	public static final int MAX_ENTRIES = 3;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public void test()
+	{
+		Map<Integer, String> map = new LinkedHashMap<>(16, 0.75F, true);
+		
+		// Add a bunch of values
+		for (int i = 1; i <= 5; i++)
+			map.put(i, "Value" + i);
+		
+		// Getting and putting are accesses, checking for a key is not
+		map.get(2);
+		map.put(4, "Squirrel");
+		map.containsKey(1);
+		this.secondary("access",
+			map.keySet().<Integer>toArray(new Integer[map.size()]));
+		
+		// Removing the eldest entry with the iterator
+		Iterator<Integer> it = map.keySet().iterator();
+		it.next();
+		it.remove();
+		this.secondary("removed",
+			map.keySet().<Integer>toArray(new Integer[map.size()]));
+		
+		// Use as a cache, where the least recently used is removed
+		Map<Integer, String> cache = new CacheMap();
+		for (int i = 1; i <= 10; i++)
+		{
+			cache.put(i, "Value" + i);
+			cache.get(1);
+		}
+		this.secondary("cache",
+			cache.keySet().<Integer>toArray(new Integer[cache.size()]));
+	}
+	
+	/**
+	 * Map which removes the least recently used entry.
+	 *
+	 * @since 2019/09/22
+	 */
+	public static final class CacheMap
+		extends LinkedHashMap<Integer, String>
+	{
+		/**
+		 * Initializes the cache.
+		 *
+		 * @since 2019/09/22
+		 */
+		public CacheMap()
+		{
+			super(16, 0.75F, true);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, String> __e)
+		{
+			return this.size() > MAX_ENTRIES;
+		}
+	}
+}
+
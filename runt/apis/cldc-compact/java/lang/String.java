@@ -20,14 +20,9 @@ import cc.squirreljme.runtime.cldc.io.Encoder;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.lang.ref.Reference;
-import java.lang.ref.WeakReference;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.Formatter;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -59,9 +54,12 @@ public final class String
 	private static final short _QUICK_INTERN =
 		0b0000_0000__0000_0100;
 	
+	/** The number of intern table segments, must be a power of two. */
+	private static final int _INTERN_SEGMENTS =
+		8;
+	
 	/** Intern string table, weakly cached to reduce memory use. */
-	private static final Collection<Reference<String>> _INTERNS =
-		new LinkedList<>();
+	private static final __InternTable__[] _INTERNS;
 	
 	/** String character data. */
 	private final char[] _chars;
@@ -72,6 +70,19 @@ public final class String
 	/** The hash code for this string, is cached. */
 	private int _hashcode;
 	
+	/**
+	 * Initializes the intern table segments.
+	 *
+	 * @since 2019/09/22
+	 */
+	static
+	{
+		__InternTable__[] interns = new __InternTable__[_INTERN_SEGMENTS];
+		for (int i = 0; i < _INTERN_SEGMENTS; i++)
+			interns[i] = new __InternTable__();
+		_INTERNS = interns;
+	}
+	
 	/**
 	 * Initializes a new empty string.
 	 *
@@ -832,13 +843,11 @@ public final class String
 	 * @return The unique string instance.
 	 * @since 2016/04/01
 	 */
-	@ImplementationNote("This method is a bit slow in SquirrelJME as it " +
-		"will search a list of weak reference to string. So despite this " +
-		"being a O(n) search it will allow any strings to be garbage " +
-		"collected when no longer used. Also the collection is a LinkedList " +
-		"since the __BucketMap__ is a complicated class. But do note that " +
-		"String.equals() checks the hashCode() so in-depth searches will " +
-		"only be performed for strings with the same hashCode().")
+	@ImplementationNote("The intern table weakly references strings so " +
+		"that they may be garbage collected when no longer used. The table " +
+		"is split into segments by hash code, each with their own lock, so " +
+		"that threads interning different strings rarely wait on each " +
+		"other.")
 	public String intern()
 	{
 		// If this string is already interned then use this one instead
@@ -846,38 +855,17 @@ public final class String
 		if ((this._quickflags & _QUICK_INTERN) != 0)
 			return this;
 		
-		// Search for string in the collection
-		Collection<Reference<String>> interns = _INTERNS;
-		synchronized (interns)
-		{
-			// Same string that was internalized?
-			Iterator<Reference<String>> it = interns.iterator();
-			while (it.hasNext())
-			{
-				Reference<String> ref = it.next();
-				
-				// If the reference has been cleared, then delete it
-				String oth = ref.get();
-				if (oth == null)
-				{
-					it.remove();
-					continue;
-				}
-				
-				// If this matches the string, use that one
-				if (this.equals(oth))
-					return oth;
-			}
-			
-			// Not in the table, so add it
-			interns.add(new WeakReference<>(this));
-			
-			// Also flag that this has been interned
+		// Search in the segment this string belongs in
+		int hash = this.hashCode();
+		String rv = _INTERNS[hash & (_INTERN_SEGMENTS - 1)].intern(this,
+			hash);
+		
+		// Flag that this has been interned, so it is never searched for
+		// again
+		if (rv == this)
 			this._quickflags |= _QUICK_INTERN;
-			
-			// This will be the intern string
-			return this;
-		}
+		
+		return rv;
 	}
 	
 	/**
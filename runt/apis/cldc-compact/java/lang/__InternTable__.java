@@ -0,0 +1,187 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package java.lang;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+
+/**
+ * This is a single segment of the table of interned strings, strings are
+ * weakly referenced so that they may be garbage collected when they are no
+ * longer used.
+ *
+ * The table uses open addressing with linear probing, the hash code of each
+ * string is stored alongside it so that most strings which do not match are
+ * skipped without being compared. References which have been cleared are
+ * reused when a new string is added and are removed when the table is
+ * resized.
+ *
+ * @since 2019/09/22
+ */
+final class __InternTable__
+{
+	/** The initial table size, must be a power of two. */
+	private static final int _INITIAL_SIZE =
+		16;
+	
+	/** Weak references to the strings. */
+	private Reference<String>[] _refs;
+	
+	/** The hash codes of the strings. */
+	private int[] _hashes;
+	
+	/** The number of slots which are used, including cleared ones. */
+	private int _used;
+	
+	/**
+	 * Initializes the table.
+	 *
+	 * @since 2019/09/22
+	 */
+	@SuppressWarnings({"unchecked"})
+	__InternTable__()
+	{
+		this._refs = (Reference<String>[])new Reference[_INITIAL_SIZE];
+		this._hashes = new int[_INITIAL_SIZE];
+	}
+	
+	/**
+	 * Interns the given string.
+	 *
+	 * @param __s The string to intern.
+	 * @param __h The hash code of the string.
+	 * @return The interned string, this will be {@code __s} if it was not
+	 * already in the table.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	final synchronized String intern(String __s, int __h)
+		throws NullPointerException
+	{
+		if (__s == null)
+			throw new NullPointerException("NARG");
+		
+		Reference<String>[] refs = this._refs;
+		int[] hashes = this._hashes;
+		int mask = refs.length - 1;
+		
+		// Search for the string, the table always has free slots so this
+		// will stop
+		int at = __InternTable__.__slot(__h, mask),
+			reuse = -1;
+		for (;; at = (at + 1) & mask)
+		{
+			Reference<String> ref = refs[at];
+			if (ref == null)
+				break;
+			
+			// This was garbage collected, so it may be used for this string
+			// but the chain must still be followed
+			String oth = ref.get();
+			if (oth == null)
+			{
+				if (reuse < 0)
+					reuse = at;
+				continue;
+			}
+			
+			// Same string?
+			if (hashes[at] == __h && __s.equals(oth))
+				return oth;
+		}
+		
+		// Use a cleared slot, this does not change the number of slots used
+		if (reuse >= 0)
+			at = reuse;
+		else
+			this._used++;
+		
+		// Store
+		refs[at] = new WeakReference<>(__s);
+		hashes[at] = __h;
+		
+		// Resize if the table is getting full, this also removes any cleared
+		// references
+		if (this._used > (refs.length - (refs.length >>> 2)))
+			this.__resize();
+		
+		return __s;
+	}
+	
+	/**
+	 * Resizes the table, removing any cleared references.
+	 *
+	 * @since 2019/09/22
+	 */
+	@SuppressWarnings({"unchecked"})
+	private final void __resize()
+	{
+		Reference<String>[] refs = this._refs;
+		int[] hashes = this._hashes;
+		int n = refs.length;
+		
+		// Count the strings which are still alive
+		int live = 0;
+		for (int i = 0; i < n; i++)
+		{
+			Reference<String> ref = refs[i];
+			if (ref != null && ref.get() != null)
+				live++;
+		}
+		
+		// The new table is at most half full
+		int size = _INITIAL_SIZE;
+		while (size < live * 2)
+			size <<= 1;
+		
+		// Move all the live strings over
+		Reference<String>[] newrefs = (Reference<String>[])new Reference[size];
+		int[] newhashes = new int[size];
+		int mask = size - 1;
+		live = 0;
+		for (int i = 0; i < n; i++)
+		{
+			Reference<String> ref = refs[i];
+			if (ref == null || ref.get() == null)
+				continue;
+			
+			int h = hashes[i],
+				at = __InternTable__.__slot(h, mask);
+			while (newrefs[at] != null)
+				at = (at + 1) & mask;
+			
+			newrefs[at] = ref;
+			newhashes[at] = h;
+			live++;
+		}
+		
+		// Use the new table
+		this._refs = newrefs;
+		this._hashes = newhashes;
+		this._used = live;
+	}
+	
+	/**
+	 * Returns the starting slot for the given hash code.
+	 *
+	 * @param __h The hash code.
+	 * @param __mask The table mask.
+	 * @return The starting slot.
+	 * @since 2019/09/22
+	 */
+	private static final int __slot(int __h, int __mask)
+	{
+		// The low bits select the segment, so use the upper bits which are
+		// mixed in to spread out similar strings
+		return ((__h >>> 3) ^ (__h >>> 17)) & __mask;
+	}
+}
+
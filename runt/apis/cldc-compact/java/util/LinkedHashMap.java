@@ -14,6 +14,11 @@ package java.util;
  * This is a map which is backed by a hash table except that the iterator
  * order is in the order of which elements were added first.
  *
+ * If access order is used then the iterator order is in the order of which
+ * elements were last accessed by {@code get} or {@code put}, with the least
+ * recently accessed first. Along with {@link #removeEldestEntry(Map.Entry)}
+ * this may be used to implement least recently used caches.
+ *
  * Otherwise this class is exactly the same as {@link HashMap}.
  *
  * @param <K> The key type.
@@ -95,6 +100,24 @@ public class LinkedHashMap<K, V>
 		super(__cap, __load, __ao);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public V get(Object __k)
+	{
+		__BucketMap__<K, V> map = this._map;
+		
+		__BucketMapEntry__<K, V> e = map.getEntry(__k);
+		if (e == null)
+			return null;
+		
+		// This may change the order of the entry
+		map.__access(e);
+		return e.getValue();
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2019/05/09
@@ -109,9 +132,9 @@ public class LinkedHashMap<K, V>
 		V rv = entry.setValue(__v);
 		
 		// Remove the eldest entry (which is the oldest/first item in the map)
-		__BucketMapEntry__<K, V> eldest = map._links.peekFirst();
+		__BucketMapEntry__<K, V> eldest = map._head;
 		if (eldest != null && this.removeEldestEntry(eldest))
-			map.removeEntry(eldest.getKey(), false);
+			map.removeEntry(eldest.getKey());
 		
 		// Return the former value
 		return rv;
@@ -15,9 +15,10 @@ package java.util;
  *
  * @param <K> The key type.
  * @param <V> The value type.
+ * @see __BucketMapLinkedEntry__
  * @since 2018/10/07
  */
-final class __BucketMapEntry__<K, V>
+class __BucketMapEntry__<K, V>
 	implements Map.Entry<K, V>
 {
 	/** The key. */
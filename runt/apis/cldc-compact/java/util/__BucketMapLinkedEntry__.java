@@ -0,0 +1,42 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package java.util;
+
+/**
+ * This is an entry within an ordered bucket map, it is linked to the
+ * entries before and after it so that entries may be reordered and
+ * removed without searching.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ * @since 2019/09/22
+ */
+final class __BucketMapLinkedEntry__<K, V>
+	extends __BucketMapEntry__<K, V>
+{
+	/** The entry before this one, in linked order. */
+	__BucketMapLinkedEntry__<K, V> _before;
+	
+	/** The entry after this one, in linked order. */
+	__BucketMapLinkedEntry__<K, V> _after;
+	
+	/**
+	 * Initializes the entry.
+	 *
+	 * @param __k The key.
+	 * @since 2019/09/22
+	 */
+	__BucketMapLinkedEntry__(K __k)
+	{
+		super(__k);
+	}
+}
+
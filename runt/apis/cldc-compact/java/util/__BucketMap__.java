@@ -14,6 +14,14 @@ package java.util;
  * This is a bucket map which acts as the raw internal hash table
  * implementation.
  *
+ * Entries are stored in a single table using open addressing with linear
+ * probing, the key hash code stored in each entry is checked first so that
+ * most entries which do not match are skipped without comparing keys.
+ * Removed entries leave a marker in the table so that probing continues past
+ * them and so that iterators are not disturbed, the markers are removed when
+ * the table is rebuilt. Only ordered maps use linked entries, so plain maps
+ * do not pay for the links.
+ *
  * @see HashMap
  * @see HashSet
  * @see LinkedHashMap
@@ -37,34 +45,42 @@ final class __BucketMap__<K, V>
 	static final float _DEFAULT_LOAD =
 		0.75F;
 	
+	/** The maximum table capacity, the largest power of two. */
+	private static final int _MAX_CAPACITY =
+		1 << 30;
+	
+	/** Marker for entries which have been removed. */
+	private static final __BucketMapEntry__<Object, Object> _REMOVED =
+		new __BucketMapEntry__<Object, Object>(null);
+	
 	/** Is this bucket map ordered? */
 	protected final boolean ordered;
 	
 	/** Is this bucket map in accessed order? */
 	protected final boolean accessorder;
 	
-	/** Track put order? */
-	protected final boolean trackputorder;
-	
 	/** The load factor. */
 	protected final float loadfactor;
 	
-	/** Linked order of entries. */
-	final LinkedList<__BucketMapEntry__<K, V>> _links;
+	/** The first entry in linked order, this is the eldest entry. */
+	__BucketMapLinkedEntry__<K, V> _head;
 	
-	/** The entry chains for each element. */
-	__BucketMapEntry__<K, V>[][] _buckets;
+	/** The last entry in linked order. */
+	__BucketMapLinkedEntry__<K, V> _tail;
 	
-	/** The hashcode divisor for buckets. */
-	int _bucketdiv;
+	/** The entry table, the length is always a power of two. */
+	__BucketMapEntry__<K, V>[] _table;
 	
 	/** The number of elements in the map. */
 	int _size;
 	
+	/** The number of used table slots, including removed entries. */
+	int _used;
+	
 	/** The current capacity. */
 	int _capacity;
 	
-	/** The size threshold before a rebuild is done. */
+	/** The used slot threshold before a rebuild is done. */
 	int _loadthreshold;
 	
 	/** Modification count. */
@@ -122,21 +138,22 @@ final class __BucketMap__<K, V>
 			throw new IllegalArgumentException("ZZ37");
 		
 		this.ordered = __o;
-		this.accessorder = (__ao = (__o && __ao));
-		this.trackputorder = (__o && !__ao);
+		this.accessorder = (__o && __ao);
 		this.loadfactor = __load;
-		this._buckets = __BucketMap__.<K, V>__newBucket(__cap);
-		this._bucketdiv = __cap;
-		this._capacity = __cap;
-		this._loadthreshold = (int)(__cap * __load);
-		
-		// Set linked list for ordered storage if it is used
-		this._links = ((__o || __ao) ?
-			new LinkedList<__BucketMapEntry__<K, V>>() : null);
+		
+		// The table size is a power of two so the slot is just a mask
+		int n = 2;
+		while (n < __cap && n < __BucketMap__._MAX_CAPACITY)
+			n <<= 1;
+		
+		this._table = __BucketMap__.<K, V>__newTable(n);
+		this._capacity = n;
+		this._loadthreshold = this.__threshold(n);
 	}
 	
 	/**
-	 * Gets the entry for the given key.
+	 * Gets the entry for the given key, this does not count as an access
+	 * for maps in access order.
 	 *
 	 * @param __k The key to get.
 	 * @return The entry for the given or {@code null} if none exists.
@@ -144,39 +161,10 @@ final class __BucketMap__<K, V>
 	 */
 	public final __BucketMapEntry__<K, V> getEntry(Object __k)
 	{
-		// Where to look in the table?
-		int hash = (__k == null ? 0 : __k.hashCode());
-		int div = (hash & 0x7FFF_FFFF) % this._bucketdiv;
-		
-		// If the chain does not exist then do not bother at all
-		__BucketMapEntry__<K, V>[] chain = this._buckets[div];
-		if (chain == null)
+		int at = this.__find(__k, (__k == null ? 0 : __k.hashCode()));
+		if (at < 0)
 			return null;
-		
-		// Go through the chain and find the matching entry
-		for (__BucketMapEntry__<K, V> e : chain)
-		{
-			// Ignore blank entries
-			if (e == null)
-				continue;
-			
-			// Has the wrong hashcode
-			if (hash != e._keyhash)
-				continue;
-			
-			// If the objects actually match, it is found
-			if (Objects.equals(e._key, __k))
-			{
-				// In access order?
-				if (this.accessorder)
-					throw new todo.TODO();	
-				
-				return e;
-			}
-		}
-		
-		// Not found
-		return null;
+		return this._table[at];
 	}
 	
 	/**
@@ -190,7 +178,7 @@ final class __BucketMap__<K, V>
 	}
 	
 	/**
-	 * Returns the chain that the hashed object is within for the bucket.
+	 * Returns the entry for the given key, creating it if it does not exist.
 	 *
 	 * @param __k The key.
 	 * @return The key for the given entry.
@@ -198,177 +186,63 @@ final class __BucketMap__<K, V>
 	 */
 	public final __BucketMapEntry__<K, V> putEntry(K __k)
 	{
-		__BucketMapEntry__<K, V>[][] buckets = this._buckets;
-		int bucketdiv = this._bucketdiv;
-		
-		// Used to determine if we rebuild
-		int size = this._size,
-			nextsize = size + 1;
-		
-		// Hypothetically putting a new entry could cause the threshold to be
-		// hit, so just in this case a new entry would be put so rebuild
-		// the hash table. The buckets need to remain the same object
-		// references for iteration.
-		if (nextsize >= this._loadthreshold)
-		{
-			// Indicate re-balance
-			todo.DEBUG.note("Rebalancing bucket map");
-			
-			// Increase rehash count
-			this._numrehash++;
-			
-			// Double the number of buckets
-			int newbucketdiv = (bucketdiv * 2);
-			__BucketMapEntry__<K, V>[][] newbuckets =
-				__BucketMap__.<K, V>__newBucket(newbucketdiv);
-			
-			// Go through every source bucket and redistribute entries
-			for (int i = 0; i < bucketdiv; i++)
-			{
-				// Ignore empty chains
-				__BucketMapEntry__<K, V>[] chain = buckets[i];
-				if (chain == null)
-					continue;
-				
-				// Go through chain and re-add entries, we do not need to
-				// worry about object equality since if something is in the
-				// map it is already unique!
-				for (__BucketMapEntry__<K, V> e : chain)
-				{
-					// Was an entry which was removed, ignore
-					if (e == null)
-						continue;
-					
-					// Determine the new placement for it
-					int hash = e._keyhash,
-						div = (hash & 0x7FFF_FFFF) % newbucketdiv;
-					
-					// Get the new chain for it
-					__BucketMapEntry__<K, V>[] newchain = newbuckets[div];
-					if (newchain == null)
-						newchain = __BucketMap__.<K, V>__newChain(1);
-					else
-					{
-						// Need to setup new chain
-						int cn = newchain.length;
-						__BucketMapEntry__<K, V>[] newnewchain =
-							__BucketMap__.<K, V>__newChain(cn + 1);
-						
-						// Copy all the old chain stuff over
-						for (int j = 0; j < cn; j++)
-							newnewchain[j] = newchain[j];
-						
-						// Use this chain
-						newchain = newnewchain;
-					}
-					
-					// Store entry in the last spot
-					newchain[newchain.length - 1] = e;
-					
-					// New chan was created so update it naturally
-					newbuckets[div] = newchain;
-				}
-			}
-			
-			// Map was modified, in case hashCode() fails!
-			this._modcount++;
-			
-			// Store new data for later
-			this._buckets = newbuckets;
-			this._bucketdiv = newbucketdiv;
-			this._capacity = newbucketdiv;
-			this._loadthreshold = (int)(newbucketdiv * this.loadfactor);
-			
-			// Use these new properties and continue on
-			buckets = newbuckets;
-			bucketdiv = newbucketdiv;
-		}
-		
-		// Where to look in the table?
 		int hash = (__k == null ? 0 : __k.hashCode());
-		int div = (hash & 0x7FFF_FFFF) % bucketdiv;
 		
-		// This will be set depending on the situation
-		__BucketMapEntry__<K, V> rv;
-		
-		// No entries exist in the chain, we can just create one
-		__BucketMapEntry__<K, V>[] chain = buckets[div];
-		if (chain == null)
+		// If there is already an entry then use it, putting counts as an
+		// access
+		int at = this.__find(__k, hash);
+		if (at >= 0)
 		{
-			// Setup chain
-			chain = __BucketMap__.<K, V>__newChain(1);
-			buckets[div] = chain;
-			
-			// Fill
-			chain[0] = (rv = new __BucketMapEntry__<K, V>(__k));
+			__BucketMapEntry__<K, V> e = this._table[at];
+			if (this.accessorder)
+				this.__access(e);
 			
-			// Add to order?
-			if (this.trackputorder)
-				this._links.add(rv);
-			
-			// Map is modified
-			this._modcount++;
-			
-			// Size would have been increased at this point
-			this._size = nextsize;
-			
-			return rv;
+			return e;
 		}
 		
-		// Go through and find if there was a pre-existing item
-		int nulldx = -1,
-			n = chain.length;
-		for (int i = 0; i < n; i++)
+		// If another slot would be used then the table needs to be rebuilt
+		// first, removed entries are reused so they do not count
+		__BucketMapEntry__<K, V>[] table = this._table;
+		int mask = table.length - 1;
+		at = __BucketMap__.__slot(hash, mask);
+		for (;; at = (at + 1) & mask)
 		{
-			__BucketMapEntry__<K, V> e = chain[i];
-			
-			// If no entry is here remember this blank spot in the event
-			// nothing is ever found
-			if (e == null)
-			{
-				if (nulldx < 0)
-					nulldx = i;
-				continue;
-			}
-			
-			// Has the wrong hashcode
-			if (hash != e._keyhash)
-				continue;
-			
-			// If the objects actually match, it is found
-			if (Objects.equals(__k, e._key))
-				return e;
+			Object e = table[at];
+			if (e == null || e == __BucketMap__._REMOVED)
+				break;
+		}
+		if (table[at] == null && this._used + 1 > this._loadthreshold)
+		{
+			this.__rebuild();
+			
+			// Find the free slot in the new table
+			table = this._table;
+			mask = table.length - 1;
+			at = __BucketMap__.__slot(hash, mask);
+			while (table[at] != null)
+				at = (at + 1) & mask;
 		}
 		
-		// Found a blank spot, we can just put the entry here
-		if (nulldx >= 0)
-			chain[nulldx] = (rv = new __BucketMapEntry__<K, V>(__k));
+		// Using a new slot?
+		if (table[at] == null)
+			this._used++;
 		
-		// Otherwise, increase the chain and use that instead
-		else
+		// Store, only ordered maps need the links
+		__BucketMapEntry__<K, V> rv;
+		if (this.ordered)
 		{
-			// Copy the old chain over
-			__BucketMapEntry__<K, V>[] dup =
-				__BucketMap__.<K, V>__newChain(n + 1);
-			for (int i = 0; i < n; i++)
-				dup[i] = chain[i];
-			
-			// Set at end
-			dup[n] = (rv = new __BucketMapEntry__<K, V>(__k));
-			
-			// Use this chain again
-			buckets[div] = dup;
+			__BucketMapLinkedEntry__<K, V> link =
+				new __BucketMapLinkedEntry__<K, V>(__k);
+			this.__linkLast(link);
+			rv = link;
 		}
+		else
+			rv = new __BucketMapEntry__<K, V>(__k);
+		table[at] = rv;
 		
 		// Map has been modified
 		this._modcount++;
-		
-		// Add to order?
-		if (this.trackputorder)
-			this._links.add(rv);
-		
-		// Size would have been increased at this point
-		this._size = nextsize;
+		this._size++;
 		
 		return rv;
 	}
@@ -380,7 +254,7 @@ final class __BucketMap__<K, V>
 	@Override
 	public final V remove(Object __k)
 	{
-		__BucketMapEntry__<K, V> rv = this.removeEntry(__k, false);
+		__BucketMapEntry__<K, V> rv = this.removeEntry(__k);
 		if (rv != null)
 			return rv._value;
 		return null;
@@ -393,67 +267,34 @@ final class __BucketMap__<K, V>
 	 * cannot be shuffled or the map rebuilt.
 	 *
 	 * @param __k The key to remove.
-	 * @param __preunlinked If this is true then the link chain will not have
-	 * the entry removed by this method, it is assumed it was already
-	 * removed by an iterator.
 	 * @return The removed map entry or {@code null} if one did not exist.
 	 * @since 2018/11/04
 	 */
-	public final __BucketMapEntry__<K, V> removeEntry(Object __k,
-		boolean __preunlinked)
+	@SuppressWarnings({"unchecked"})
+	public final __BucketMapEntry__<K, V> removeEntry(Object __k)
 	{
-		// Where to look in the table?
-		int hash = (__k == null ? 0 : __k.hashCode());
-		int div = (hash & 0x7FFF_FFFF) % this._bucketdiv;
-		
-		// If the chain does not exist then do not bother at all
-		__BucketMapEntry__<K, V>[] chain = this._buckets[div];
-		if (chain == null)
+		int at = this.__find(__k, (__k == null ? 0 : __k.hashCode()));
+		if (at < 0)
 			return null;
 		
-		// Go through the chain and find the matching entry
-		for (int i = 0, n = chain.length; i < n; i++)
-		{
-			// Ignore blank entries
-			__BucketMapEntry__<K, V> e = chain[i];
-			if (e == null)
-				continue;
-			
-			// Has the wrong hashcode
-			if (hash != e._keyhash)
-				continue;
-			
-			// If the objects actually match, it is found so it must be
-			// removed
-			if (Objects.equals(e._key, __k))
-			{
-				// Removing an entry from the chain is as simple as just
-				// setting it to null. We do not need to move entries around
-				// since that can be a bit slow
-				chain[i] = null;
-				
-				// If this was not pre-unlinked from the iterator call then
-				// it will be removed from the chain accordingly
-				if (!__preunlinked)
-				{
-					Collection<__BucketMapEntry__<K, V>> links = this._links;
-					if (links != null)
-						links.remove(e);
-				}	
-				
-				// Size goes down
-				this._size--;
-				
-				// Map has been modified
-				this._modcount++;
-				
-				// This entry was removed, so it gets returned by the map
-				return e;
-			}
-		}
+		// Mark the entry as removed, it cannot be cleared because then
+		// probing would stop at this slot
+		__BucketMapEntry__<K, V> e = this._table[at];
+		this._table[at] = (__BucketMapEntry__<K, V>)((Object)
+			__BucketMap__._REMOVED);
 		
-		// Not found
-		return null;
+		// Remove from the linked order
+		if (this.ordered)
+			this.__unlink((__BucketMapLinkedEntry__<K, V>)e);
+		
+		// Size goes down
+		this._size--;
+		
+		// Map has been modified
+		this._modcount++;
+		
+		// This entry was removed, so it gets returned by the map
+		return e;
 	}
 	
 	/**
@@ -466,6 +307,29 @@ final class __BucketMap__<K, V>
 		return this._size;
 	}
 	
+	/**
+	 * Marks the given entry as being accessed, if this map is in access
+	 * order then it is moved to the end of the linked order.
+	 *
+	 * @param __e The entry which was accessed.
+	 * @since 2019/09/22
+	 */
+	final void __access(__BucketMapEntry__<K, V> __e)
+	{
+		// Only access order changes, and it may already be at the end
+		if (!this.accessorder || this._tail == __e)
+			return;
+		
+		// Move to the end, entries in ordered maps are always linked
+		__BucketMapLinkedEntry__<K, V> link =
+			(__BucketMapLinkedEntry__<K, V>)__e;
+		this.__unlink(link);
+		this.__linkLast(link);
+		
+		// The iteration order has changed
+		this._modcount++;
+	}
+	
 	/**
 	 * Clears the bucket map.
 	 *
@@ -473,18 +337,18 @@ final class __BucketMap__<K, V>
 	 */
 	final void __clear()
 	{
-		// Set all buckets to null so they are empty
-		__BucketMapEntry__<K, V>[][] buckets = this._buckets;
-		for (int i = 0, n = buckets.length; i < n; i++)
-			buckets[i] = null;
+		// Set all slots to null so they are empty
+		__BucketMapEntry__<K, V>[] table = this._table;
+		for (int i = 0, n = table.length; i < n; i++)
+			table[i] = null;
 		
 		// Set size to zero
 		this._size = 0;
+		this._used = 0;
 		
-		// Clear the linked list if there is one
-		LinkedList<__BucketMapEntry__<K, V>> links = this._links;
-		if (links != null)
-			links.clear();
+		// Clear the linked order
+		this._head = null;
+		this._tail = null;
 		
 		// Modification count goes up
 		this._modcount++;
@@ -504,37 +368,183 @@ final class __BucketMap__<K, V>
 	}
 	
 	/**
-	 * Creates a new bucket array.
+	 * Links the given entry at the end of the linked order.
 	 *
-	 * @param <K> Key type.
-	 * @param <V> Value type.
-	 * @param __n The length.
-	 * @return The array.
-	 * @since 2018/10/08
+	 * @param __e The entry to link.
+	 * @since 2019/09/22
 	 */
-	@SuppressWarnings({"unchecked"})
-	private static <K, V> __BucketMapEntry__<K, V>[][] __newBucket(int __n)
+	private final void __linkLast(__BucketMapLinkedEntry__<K, V> __e)
 	{
-		return (__BucketMapEntry__<K, V>[][])
-			((Object)new __BucketMapEntry__[__n][]);
+		__BucketMapLinkedEntry__<K, V> tail = this._tail;
+		
+		__e._before = tail;
+		__e._after = null;
+		
+		if (tail == null)
+			this._head = __e;
+		else
+			tail._after = __e;
+		this._tail = __e;
 	}
 	
 	/**
-	 * Creates a new chain array.
+	 * Unlinks the given entry from the linked order.
+	 *
+	 * @param __e The entry to unlink.
+	 * @since 2019/09/22
+	 */
+	private final void __unlink(__BucketMapLinkedEntry__<K, V> __e)
+	{
+		__BucketMapLinkedEntry__<K, V> before = __e._before,
+			after = __e._after;
+		
+		if (before == null)
+			this._head = after;
+		else
+			before._after = after;
+		
+		if (after == null)
+			this._tail = before;
+		else
+			after._before = before;
+		
+		__e._before = null;
+		__e._after = null;
+	}
+	
+	/**
+	 * Finds the slot the given key is in.
+	 *
+	 * @param __k The key to find.
+	 * @param __hash The hash code of the key.
+	 * @return The slot of the key or {@code -1} if it was not found.
+	 * @since 2019/09/22
+	 */
+	private final int __find(Object __k, int __hash)
+	{
+		__BucketMapEntry__<K, V>[] table = this._table;
+		int mask = table.length - 1;
+		
+		// The table always has free slots, so this will stop
+		for (int at = __BucketMap__.__slot(__hash, mask);;
+			at = (at + 1) & mask)
+		{
+			__BucketMapEntry__<K, V> e = table[at];
+			
+			// Reached the end of the probe
+			if (e == null)
+				return -1;
+			
+			// Only check the key if the hash code matches, removed entries
+			// are skipped by the key check
+			if ((Object)e != __BucketMap__._REMOVED && e._keyhash == __hash &&
+				Objects.equals(e._key, __k))
+				return at;
+		}
+	}
+	
+	/**
+	 * Rebuilds the table, this drops all removed entries and grows the table
+	 * if it is mostly used by entries which still exist.
+	 *
+	 * @since 2019/09/22
+	 */
+	private final void __rebuild()
+	{
+		__BucketMapEntry__<K, V>[] table = this._table;
+		int n = table.length;
+		
+		// Only grow if there is not enough room, otherwise this just clears
+		// out the removed entries
+		int newn = n;
+		if (this._size + 1 > (this._loadthreshold >>> 1) &&
+			n < __BucketMap__._MAX_CAPACITY)
+			newn = n << 1;
+		
+		// Indicate re-balance
+		todo.DEBUG.note("Rebalancing bucket map");
+		
+		// Increase rehash count
+		this._numrehash++;
+		
+		// Move all the entries over, we do not need to worry about object
+		// equality since if something is in the map it is already unique!
+		__BucketMapEntry__<K, V>[] newtable =
+			__BucketMap__.<K, V>__newTable(newn);
+		int mask = newn - 1;
+		for (int i = 0; i < n; i++)
+		{
+			__BucketMapEntry__<K, V> e = table[i];
+			if (e == null || (Object)e == __BucketMap__._REMOVED)
+				continue;
+			
+			int at = __BucketMap__.__slot(e._keyhash, mask);
+			while (newtable[at] != null)
+				at = (at + 1) & mask;
+			
+			newtable[at] = e;
+		}
+		
+		// Map was modified
+		this._modcount++;
+		
+		// Store new data for later
+		this._table = newtable;
+		this._used = this._size;
+		this._capacity = newn;
+		this._loadthreshold = this.__threshold(newn);
+	}
+	
+	/**
+	 * Returns the used slot threshold for the given table size.
+	 *
+	 * @param __n The table size.
+	 * @return The threshold.
+	 * @since 2019/09/22
+	 */
+	private final int __threshold(int __n)
+	{
+		// At least one slot must always be free otherwise probing would
+		// never stop, so do not let the table get too full
+		int rv = (int)(__n * this.loadfactor),
+			max = __n - 1 - (__n >>> 3);
+		if (rv > max)
+			return max;
+		if (rv < 1)
+			return 1;
+		return rv;
+	}
+	
+	/**
+	 * Creates a new table array.
 	 *
 	 * @param <K> Key type.
 	 * @param <V> Value type.
 	 * @param __n The length.
 	 * @return The array.
-	 * @since 2018/10/08
+	 * @since 2019/09/22
 	 */
 	@SuppressWarnings({"unchecked"})
-	private static <K, V> __BucketMapEntry__<K, V>[] __newChain(int __n)
+	private static <K, V> __BucketMapEntry__<K, V>[] __newTable(int __n)
 	{
 		return (__BucketMapEntry__<K, V>[])
 			((Object)new __BucketMapEntry__[__n]);
 	}
 	
+	/**
+	 * Returns the starting slot for the given hash code.
+	 *
+	 * @param __hash The hash code.
+	 * @param __mask The table mask.
+	 * @return The starting slot.
+	 * @since 2019/09/22
+	 */
+	private static int __slot(int __hash, int __mask)
+	{
+		// Mix in the upper bits since only the lower bits are used
+		return (__hash ^ (__hash >>> 16)) & __mask;
+	}
+	
 	/**
 	 * Implements the entry set over the map, this iterates in a given order.
 	 *
@@ -610,11 +620,8 @@ final class __BucketMap__<K, V>
 	final class __IteratorBucketOrder__
 		extends __IteratorBase__
 	{
-		/** The current bucket this is at. */
-		int _bucketat;
-		
-		/** The current chain link this is at. */
-		int _chainat;
+		/** The current table slot this is at. */
+		int _at;
 		
 		/** The cached next entry. */
 		__BucketMapEntry__<K, V> _next;
@@ -636,62 +643,24 @@ final class __BucketMap__<K, V>
 			if (this._next != null)
 				return true;
 			
-			// No more buckets remain?
-			int bucketat = this._bucketat,
-				bucketdiv = __BucketMap__.this._bucketdiv;
-			if (bucketat >= bucketdiv)
-				return false;
-			
-			// Get the current chain
-			__BucketMapEntry__<K, V>[][] buckets = __BucketMap__.this._buckets;
-			
-			// We can store the current location parameters at the end rather
-			// than every time (keeps everything in locals)
-			int chainat = this._chainat;
-			try
+			// Find the next slot which has an entry, removing entries does
+			// not move other entries so this is never skipped over
+			__BucketMapEntry__<K, V>[] table = __BucketMap__.this._table;
+			for (int at = this._at, n = table.length; at < n; at++)
 			{
-				// We might try looking at the next bucket if we reach the end
-				// of this chain.
-				for (;;)
-				{
-					__BucketMapEntry__<K, V>[] chain = buckets[bucketat];
-					
-					// No more chain links remain? Or there is no chain?
-					int chaindiv = (chain == null ? -1 : chain.length);
-					if (chainat >= chaindiv)
-					{
-						// Reset to start of next bucket
-						bucketat++;
-						chainat = 0;
-						
-						// No more buckets to look in
-						if (bucketat >= bucketdiv)
-							return false;
-						
-						// Try again
-						continue;
-					}
-					
-					// Will use the next chain
-					int oldchainat = chainat++;
-					
-					// If no link was here try again
-					__BucketMapEntry__<K, V> link = chain[oldchainat];
-					if (link == null)
-						continue;
-					
-					// Cache that link for returning
-					this._next = link;
-					return true;
-				}
+				__BucketMapEntry__<K, V> e = table[at];
+				if (e == null || (Object)e == __BucketMap__._REMOVED)
+					continue;
+				
+				// Cache that entry for returning
+				this._next = e;
+				this._at = at + 1;
+				return true;
 			}
 			
-			// Store properties
-			finally
-			{
-				this._bucketat = bucketat;
-				this._chainat = chainat;
-			}
+			// No more entries
+			this._at = table.length;
+			return false;
 		}
 		
 		/**
@@ -728,9 +697,11 @@ final class __BucketMap__<K, V>
 			if (last == null)
 				throw new IllegalStateException("NSEE");
 			
-			// Remove from the map but we never unlinked it, so if there is
-			// a link it will be scanned and removed accordingly
-			if (__BucketMap__.this.removeEntry(last.getKey(), false) != last)
+			// Clear last because it will be invalid
+			this._last = null;
+			
+			// Remove from the map, which also unlinks it
+			if (__BucketMap__.this.removeEntry(last.getKey()) != last)
 				throw new todo.OOPS();
 			
 			// The map likely was structurally modified so use the new state
@@ -746,9 +717,9 @@ final class __BucketMap__<K, V>
 	final class __IteratorLinkedOrder__
 		extends __IteratorBase__
 	{
-		/** The iterator for entries in linked order. */
-		final Iterator<__BucketMapEntry__<K, V>> _iterator =
-			__BucketMap__.this._links.iterator();
+		/** The next entry to return. */
+		__BucketMapLinkedEntry__<K, V> _next =
+			__BucketMap__.this._head;
 		
 		/** The last returned entry, for removal. */
 		__BucketMapEntry__<K, V> _last;
@@ -763,8 +734,7 @@ final class __BucketMap__<K, V>
 			// Check for modification
 			this.__checkModified();
 			
-			// Just if it has a next anyway
-			return this._iterator.hasNext();
+			return this._next != null;
 		}
 		
 		/**
@@ -773,12 +743,18 @@ final class __BucketMap__<K, V>
 		 */
 		@Override
 		public final Map.Entry<K, V> next()
+			throws NoSuchElementException
 		{
 			// Check for modification
 			this.__checkModified();
 			
-			// Use the direct next entry
-			__BucketMapEntry__<K, V> rv = this._iterator.next();
+			// {@squirreljme.error ZZ3r Map has no more entries remaining.}
+			__BucketMapLinkedEntry__<K, V> rv = this._next;
+			if (rv == null)
+				throw new NoSuchElementException("ZZ3r");
+			
+			// Follow the link
+			this._next = rv._after;
 			this._last = rv;
 			return rv;
 		}
@@ -801,26 +777,11 @@ final class __BucketMap__<K, V>
 			// Clear last because it will be invalid
 			this._last = null;
 			
-			// Try removing it from the link first, if the state is bad then
-			// we cannot remove the link. Has to be removed from the iterator
-			// because otherwise there will be a concurrent modification
-			// exception thrown when modification is detected.
-			try
-			{
-				this._iterator.remove();
-			}
-			
-			// Just rethrow this, this means the entry was already removed
-			catch (IllegalStateException e)
-			{
-				throw e;
-			}
-			
-			// Otherwise, remove the entry from the map but hint that it was
-			// already removed from the ordered list
+			// Remove the entry from the map, the next entry was already
+			// read so unlinking this does not affect iteration
 			// The entry being mismatched to the key should not happen ever
 			// but if it does then something is very wrong
-			if (__BucketMap__.this.removeEntry(last.getKey(), true) != last)
+			if (__BucketMap__.this.removeEntry(last.getKey()) != last)
 				throw new todo.OOPS();
 			
 			// The map likely was structurally modified so use the new state
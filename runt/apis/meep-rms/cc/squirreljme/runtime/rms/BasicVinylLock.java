@@ -32,6 +32,9 @@ public final class BasicVinylLock
 		synchronized (this)
 		{
 			this._locked = false;
+			
+			// Wake anything waiting for the lock
+			this.notifyAll();
 		}
 	}
 	
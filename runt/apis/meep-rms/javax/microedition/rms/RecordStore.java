@@ -98,7 +98,7 @@ public class RecordStore
 		
 		// If it fails to initialize, just use a blank one
 		catch (ClassNotFoundException|IllegalAccessException|
-			InstantiationException e)
+			InstantiationException|RuntimeException e)
 		{
 			vr = new TemporaryVinylRecord();
 		}
@@ -58,4 +58,17 @@ public interface ExtendedTaskManager
 		OutputStream __stderr)
 		throws IllegalArgumentException, IllegalStateException,
 			NullPointerException;
+	
+	/**
+	 * Returns the amount of time the given task has spent executing, this
+	 * does not include any time the task has spent sleeping or waiting.
+	 *
+	 * @param __t The task to get the execution time of.
+	 * @return The execution time in nanoseconds, or a negative value if it
+	 * is not known.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/20
+	 */
+	public abstract long taskCpuTime(Task __t)
+		throws NullPointerException;
 }
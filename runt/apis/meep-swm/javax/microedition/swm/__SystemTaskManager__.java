@@ -47,6 +47,14 @@ final class __SystemTaskManager__
 	protected final Object lock =
 		new Object();
 	
+	/** Listeners for task status changes. */
+	private final Set<TaskListener> _listeners =
+		new LinkedHashSet<>();
+	
+	/** The watcher for the status of started tasks. */
+	private final __TaskWatcher__ _watcher =
+		new __TaskWatcher__(this);
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2017/12/07
@@ -54,7 +62,14 @@ final class __SystemTaskManager__
 	@Override
 	public void addTaskListener(TaskListener __tl)
 	{
-		throw new todo.TODO();
+		if (__tl == null)
+			return;
+		
+		Set<TaskListener> listeners = this._listeners;
+		synchronized (listeners)
+		{
+			listeners.add(__tl);
+		}
 	}
 	
 	/**
@@ -104,7 +119,14 @@ final class __SystemTaskManager__
 	@Override
 	public void removeTaskListener(TaskListener __tl)
 	{
-		throw new todo.TODO();
+		if (__tl == null)
+			return;
+		
+		Set<TaskListener> listeners = this._listeners;
+		synchronized (listeners)
+		{
+			listeners.remove(__tl);
+		}
 	}
 	
 	/**
@@ -198,50 +220,62 @@ final class __SystemTaskManager__
 		// Debug
 		todo.DEBUG.note("Suites: %s", Arrays.<String>asList(names));
 		
-		// SquirrelJME 0.3.0 allows system properties and alternative output
-		// streams to be specified as well
-		int tid;
-		if (ApiLevel.minimumLevel(ApiLevel.LEVEL_SQUIRRELJME_0_3_0_DEV))
+		// Lock the watcher while the task is started so that it does not
+		// miss any changes to the task before it is watched
+		Task rv;
+		__TaskWatcher__ watcher = this._watcher;
+		synchronized (watcher)
 		{
-			// Copy system properties to key/value pair array
-			int spn = __sprops.size();
-			String[] xprops = new String[spn * 2];
-			Iterator<Map.Entry<String, String>> eit = __sprops.entrySet().
-				iterator();
-			for (int i = 0, o = 0; i < spn; i++, o += 2)
+			// SquirrelJME 0.3.0 allows system properties and alternative
+			// output streams to be specified as well
+			int tid;
+			if (ApiLevel.minimumLevel(ApiLevel.LEVEL_SQUIRRELJME_0_3_0_DEV))
 			{
-				Map.Entry<String, String> e = eit.next();
+				// Copy system properties to key/value pair array
+				int spn = __sprops.size();
+				String[] xprops = new String[spn * 2];
+				Iterator<Map.Entry<String, String>> eit = __sprops.entrySet().
+					iterator();
+				for (int i = 0, o = 0; i < spn; i++, o += 2)
+				{
+					Map.Entry<String, String> e = eit.next();
+					
+					xprops[o] = e.getKey();
+					xprops[o + 1] = e.getValue();
+				}
 				
-				xprops[o] = e.getKey();
-				xprops[o + 1] = e.getValue();
+				// Forward launch
+				tid = TaskAccess.startTask(names, __cn, __args, xprops,
+					(__stdout == null ? null : new __CCWrapper__(__stdout)),
+					(__stderr == null ? null : new __CCWrapper__(__stderr)));
 			}
+			else
+				tid = TaskAccess.startTask(names, __cn, __args);
 			
-			// Forward launch
-			tid = TaskAccess.startTask(names, __cn, __args, xprops,
-				(__stdout == null ? null : new __CCWrapper__(__stdout)),
-				(__stderr == null ? null : new __CCWrapper__(__stderr)));
-		}
-		else
-			tid = TaskAccess.startTask(names, __cn, __args);
-		
-		// It did not work
-		if (tid < 0)
-		{
-			// {@squirreljme.error DG0w Invalid entry point was specified
-			// when starting task. (The entry point)}
-			if (tid == TaskAccess.ERROR_INVALID_ENTRY)
-				throw new IllegalArgumentException("DG0w " + __cn);
+			// It did not work
+			if (tid < 0)
+			{
+				// {@squirreljme.error DG0w Invalid entry point was specified
+				// when starting task. (The entry point)}
+				if (tid == TaskAccess.ERROR_INVALID_ENTRY)
+					throw new IllegalArgumentException("DG0w " + __cn);
+				
+				// {@squirreljme.error DG0x Could not launch the task because
+				// of an unspecified error. (The error)}
+				throw new IllegalArgumentException("DG0x " + tid);
+			}
+			
+			// Debug
+			todo.DEBUG.note("Created task with TID %d", tid);
 			
-			// {@squirreljme.error DG0x Could not launch the task because of
-			// an unspecified error. (The error)}
-			throw new IllegalArgumentException("DG0x " + tid);
+			// Otherwise use cached form
+			rv = this.__getTask(tid, __s, __cn);
+			
+			// Watch the task so that listeners know when its status changes
+			watcher.__watch(rv);
 		}
 		
-		// Debug
-		todo.DEBUG.note("Created task with TID %d", tid);
-		
-		// Otherwise use cached form
-		return this.__getTask(tid, __s, __cn);
+		return rv;
 	}
 	
 	/**
@@ -255,6 +289,53 @@ final class __SystemTaskManager__
 		throw new todo.TODO();
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/20
+	 */
+	@Override
+	public final long taskCpuTime(Task __t)
+		throws NullPointerException
+	{
+		if (__t == null)
+			throw new NullPointerException("NARG");
+		
+		// Tasks which failed to start never ran
+		int tid = __t._tid;
+		if (tid < 0)
+			return 0;
+		
+		return TaskAccess.taskCpuTime(tid);
+	}
+	
+	/**
+	 * Informs all of the listeners that the status of a task has changed.
+	 *
+	 * @param __t The task which changed.
+	 * @param __s The new status of the task.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/20
+	 */
+	final void __statusUpdate(Task __t, TaskStatus __s)
+		throws NullPointerException
+	{
+		if (__t == null || __s == null)
+			throw new NullPointerException("NARG");
+		
+		// Copy the listeners so they are not called while locked
+		TaskListener[] call;
+		Set<TaskListener> listeners = this._listeners;
+		synchronized (listeners)
+		{
+			call = listeners.<TaskListener>toArray(
+				new TaskListener[listeners.size()]);
+		}
+		
+		// Inform them
+		for (TaskListener l : call)
+			l.notifyStatusUpdate(__t, __s);
+	}
+	
 	/**
 	 * Returns a task mapped to the given ID.
 	 *
@@ -0,0 +1,175 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package javax.microedition.swm;
+
+import cc.squirreljme.runtime.cldc.asm.TaskAccess;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This watches the status of the tasks started by a task manager and informs
+ * any task listeners when they change. A single thread watches all of the
+ * tasks, it waits for the virtual machine to signal that any task has changed
+ * so no polling is performed. The thread stops when there are no more tasks
+ * to watch and is started again when another task is started.
+ *
+ * @since 2019/09/20
+ */
+final class __TaskWatcher__
+	implements Runnable
+{
+	/** The task manager to report to. */
+	protected final __SystemTaskManager__ manager;
+	
+	/** The tasks being watched, along with their last known status. */
+	private final Map<Task, Integer> _tasks =
+		new LinkedHashMap<>();
+	
+	/** The thread watching the tasks, if there is one. */
+	private Thread _thread;
+	
+	/**
+	 * Initializes the task watcher.
+	 *
+	 * @param __m The task manager to report to.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/20
+	 */
+	__TaskWatcher__(__SystemTaskManager__ __m)
+		throws NullPointerException
+	{
+		if (__m == null)
+			throw new NullPointerException("NARG");
+		
+		this.manager = __m;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/20
+	 */
+	@Override
+	public void run()
+	{
+		__SystemTaskManager__ manager = this.manager;
+		Map<Task, Integer> tasks = this._tasks;
+		
+		for (;;)
+		{
+			// Read the change count along with the tasks, since tasks are
+			// started while this is locked any task not seen here will have
+			// changed the count
+			int changes;
+			Task[] watch;
+			int[] olds;
+			synchronized (this)
+			{
+				// Nothing is left to watch
+				int n = tasks.size();
+				if (n == 0)
+				{
+					this._thread = null;
+					return;
+				}
+				
+				changes = TaskAccess.taskStatusChanges(-1, 0);
+				
+				watch = new Task[n];
+				olds = new int[n];
+				int i = 0;
+				for (Map.Entry<Task, Integer> e : tasks.entrySet())
+				{
+					watch[i] = e.getKey();
+					olds[i++] = e.getValue();
+				}
+			}
+			
+			// Check which tasks have changed
+			for (int i = 0, n = watch.length; i < n; i++)
+			{
+				Task task = watch[i];
+				int now = TaskAccess.taskStatus(task._tid);
+				
+				// Task is not valid, so it cannot be watched
+				if (now < 0)
+				{
+					synchronized (this)
+					{
+						tasks.remove(task);
+					}
+					continue;
+				}
+				
+				// Status did not change
+				if (now == olds[i])
+					continue;
+				
+				// Inform all the listeners
+				TaskStatus status = TaskStatus.__of(now);
+				manager.__statusUpdate(task, status);
+				
+				// Stop watching when the task is no longer running
+				synchronized (this)
+				{
+					if (status != TaskStatus.RUNNING &&
+						status != TaskStatus.STARTING)
+						tasks.remove(task);
+					else
+						tasks.put(task, now);
+				}
+			}
+			
+			// Changes cannot be waited on, so these tasks cannot be watched
+			if (changes < 0)
+			{
+				synchronized (this)
+				{
+					for (Task task : watch)
+						tasks.remove(task);
+				}
+				continue;
+			}
+			
+			// Wait for any task to change
+			TaskAccess.taskStatusChanges(changes, 0);
+		}
+	}
+	
+	/**
+	 * Starts watching the given task. The caller must be holding the lock on
+	 * this watcher from before the task was started, so that no change to
+	 * the task is missed.
+	 *
+	 * @param __t The task to watch.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/20
+	 */
+	final void __watch(Task __t)
+		throws NullPointerException
+	{
+		if (__t == null)
+			throw new NullPointerException("NARG");
+		
+		synchronized (this)
+		{
+			this._tasks.put(__t, -1);
+			
+			// Start the watcher thread if it is not running
+			if (this._thread == null)
+			{
+				Thread thread = new Thread(this,
+					"SquirrelJME-Task-Watcher");
+				this._thread = thread;
+				thread.start();
+			}
+		}
+	}
+}
+
@@ -31,6 +31,43 @@ public enum AdvancedFunction
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
 		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void charBitmap(AdvancedGraphics __ag, byte[] __bmp,
+			int __color, int __dsx, int __dsy, int __bytesperscan,
+			int __scanoff, int __scanlen, int __lineoff, int __linelen)
+		{
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void fillRect(AdvancedGraphics __ag, int __x, int __y,
+			int __ex, int __ey)
+		{
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void line(AdvancedGraphics __ag, int __x1, int __y1,
+			int __x2, int __y2)
+		{
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+			int __x, int __y, int __w, int __h)
+		{
+		}
 	},
 	
 	/** Fill rectangle, no blending. */
@@ -42,21 +79,33 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
+			this.fillRect(__ag, __vi[0], __vi[1], __vi[2], __vi[3]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void fillRect(AdvancedGraphics __ag, int __x, int __y,
+			int __ex, int __ey)
+		{
+			int __w = __ex - __x;
+			if (__w <= 0 || __ey <= __y)
+				return;
+			
 			int pac = __ag.paintcolorhigh;
 			int[] buffer = __ag.buffer;
 			int pitch = __ag.pitch,
-				offset = __ag.offset,
-				__x = __vi[0],
-				__y = __vi[1],
-				__ex = __vi[2],
-				__ey = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5];
+				first = __ag.offset + (__y * pitch) + __x;
 			
-			for (int y = __y; y < __ey; y++)
-				for (int dest = offset + (y * pitch) + __x, pex = dest + __w;
-					dest < pex; dest++)
-					buffer[dest] = pac;
+			// Fill the first row
+			for (int dest = first, pex = dest + __w; dest < pex; dest++)
+				buffer[dest] = pac;
+			
+			// Every other row is the same as the first, so just copy it
+			for (int y = __y + 1, dest = first + pitch; y < __ey;
+				y++, dest += pitch)
+				System.arraycopy(buffer, first, buffer, dest, __w);
 		}
 	},
 	
@@ -69,23 +118,30 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
+			this.fillRect(__ag, __vi[0], __vi[1], __vi[2], __vi[3]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void fillRect(AdvancedGraphics __ag, int __x, int __y,
+			int __ex, int __ey)
+		{
+			int __w = __ex - __x;
+			if (__w <= 0 || __ey <= __y)
+				return;
+			
 			int pac = __ag.paintalphacolor;
 			int[] buffer = __ag.buffer;
 			int pitch = __ag.pitch,
 				offset = __ag.offset,
-				__x = __vi[0],
-				__y = __vi[1],
-				__ex = __vi[2],
-				__ey = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5],
 				sa = __ag.paintalpha,
 				na = (sa ^ 0xFF),
 				srb = ((pac & 0xFF00FF) * sa),
 				sgg = (((pac >>> 8) & 0xFF) * sa);
 			
 			// Blend each color
-			int mod = 0;
 			for (int y = __y; y < __ey; y++)
 				for (int dest = offset + (y * pitch) + __x, pex = dest + __w;
 					dest < pex; dest++)
@@ -109,15 +165,19 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
-			int __color = __vi[0] | 0xFF_000000,
-				__dsx = __vi[1],
-				__dsy = __vi[2],
-				__bytesperscan = __vi[3],
-				__scanoff = __vi[4],
-				__scanlen = __vi[5],
-				__lineoff = __vi[6],
-				__linelen = __vi[7];
-			byte[] __bmp = (byte[])__va[0];
+			this.charBitmap(__ag, (byte[])__va[0], __vi[0], __vi[1], __vi[2],
+				__vi[3], __vi[4], __vi[5], __vi[6], __vi[7]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void charBitmap(AdvancedGraphics __ag, byte[] __bmp,
+			int __color, int __dsx, int __dsy, int __bytesperscan,
+			int __scanoff, int __scanlen, int __lineoff, int __linelen)
+		{
+			__color |= 0xFF_000000;
 			
 			int[] data = __ag.buffer;
 			int offset = __ag.offset,
@@ -148,7 +208,7 @@ public enum AdvancedFunction
 				for (; __scanoff < __scanlen; __scanoff++, p++)
 				{
 					// Get the byte that represents the scan here
-					byte b = __bmp[bi + (__scanoff >>> 3)];	
+					byte b = __bmp[bi + (__scanoff >>> 3)];
 					
 					// If there is a pixel here, draw it
 					if ((b & (1 << (__scanoff & 0x7))) != 0)
@@ -174,6 +234,20 @@ public enum AdvancedFunction
 			// Not implemented, use basic function
 			AdvancedFunction.CHARBITMAP_NOBLEND.function(__ag, __vi, __va);
 		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void charBitmap(AdvancedGraphics __ag, byte[] __bmp,
+			int __color, int __dsx, int __dsy, int __bytesperscan,
+			int __scanoff, int __scanlen, int __lineoff, int __linelen)
+		{
+			// Not implemented, use basic function
+			AdvancedFunction.CHARBITMAP_NOBLEND.charBitmap(__ag, __bmp,
+				__color, __dsx, __dsy, __bytesperscan, __scanoff, __scanlen,
+				__lineoff, __linelen);
+		}
 	},
 	
 	/** Draw line, no blend or dots. */
@@ -185,11 +259,16 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
-			int __x1 = __vi[0],
-				__y1 = __vi[1],
-				__x2 = __vi[2],
-				__y2 = __vi[3];
-			
+			this.line(__ag, __vi[0], __vi[1], __vi[2], __vi[3]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void line(AdvancedGraphics __ag, int __x1, int __y1,
+			int __x2, int __y2)
+		{
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch,
 				dx = __x2 - __x1;
@@ -197,7 +276,7 @@ public enum AdvancedFunction
 			int dy = __y2 - __y1;
 			boolean neg;
 			if ((neg = dy < 0))
-				dy = -dy;	
+				dy = -dy;
 			
 			int sy = (__y1 < __y2 ? 1 : -1),
 				ssy = iw * sy,
@@ -222,7 +301,7 @@ public enum AdvancedFunction
 					__x1++;
 					dest++;
 				}
-		
+				
 				// Increase Y
 				if (brr < dy)
 				{
@@ -243,11 +322,16 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
-			int __x1 = __vi[0],
-				__y1 = __vi[1],
-				__x2 = __vi[2],
-				__y2 = __vi[3];
-			
+			this.line(__ag, __vi[0], __vi[1], __vi[2], __vi[3]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void line(AdvancedGraphics __ag, int __x1, int __y1,
+			int __x2, int __y2)
+		{
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch,
 				dx = __x2 - __x1;
@@ -255,7 +339,7 @@ public enum AdvancedFunction
 			int dy = __y2 - __y1;
 			boolean neg;
 			if ((neg = dy < 0))
-				dy = -dy;	
+				dy = -dy;
 			
 			int sy = (__y1 < __y2 ? 1 : -1),
 				ssy = iw * sy,
@@ -283,7 +367,7 @@ public enum AdvancedFunction
 					__x1++;
 					dest++;
 				}
-		
+				
 				// Increase Y
 				if (brr < dy)
 				{
@@ -304,18 +388,16 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
-			// Not implemented, use basic function
-			if (true)
-			{
-				AdvancedFunction.LINE_NOBLEND_NODOT.function(__ag, __vi, __va);
-				return;
-			}
-			
-			int __x1 = __vi[0],
-				__y1 = __vi[1],
-				__x2 = __vi[2],
-				__y2 = __vi[3];
-			
+			this.line(__ag, __vi[0], __vi[1], __vi[2], __vi[3]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void line(AdvancedGraphics __ag, int __x1, int __y1,
+			int __x2, int __y2)
+		{
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch,
 				dx = __x2 - __x1;
@@ -323,15 +405,51 @@ public enum AdvancedFunction
 			int dy = __y2 - __y1;
 			boolean neg;
 			if ((neg = dy < 0))
-				dy = -dy;	
+				dy = -dy;
 			
 			int sy = (__y1 < __y2 ? 1 : -1),
 				ssy = iw * sy,
 				err = (dx > dy ? dx : -dy) >> 2,
-				color = __ag.paintalphacolor,
+				pac = __ag.paintalphacolor,
 				dest = __ag.offset + (iw * __y1) + __x1;
 			
-			throw new todo.TODO();
+			// Source color is always the same, so only calculate it once
+			int sa = __ag.paintalpha,
+				na = (sa ^ 0xFF),
+				srb = ((pac & 0xFF00FF) * sa),
+				sgg = (((pac >>> 8) & 0xFF) * sa);
+			
+			for (;;)
+			{
+				// Nothing left to draw?
+				if (__x1 >= __x2 &&
+					((neg && __y1 <= __y2) || (!neg && __y1 >= __y2)))
+					break;
+				
+				// Blend this pixel
+				int dcc = data[dest],
+					xrb = (srb + ((dcc & 0xFF00FF) * na)) >>> 8,
+					xgg = (((sgg + (((dcc >>> 8) & 0xFF) * na)) + 1) * 257)
+						>>> 16;
+				data[dest] = ((xrb & 0xFF00FF) | ((xgg & 0xFF) << 8));
+				
+				// Increase X
+				int brr = err;
+				if (brr > -dx)
+				{
+					err -= dy;
+					__x1++;
+					dest++;
+				}
+				
+				// Increase Y
+				if (brr < dy)
+				{
+					err += dx;
+					__y1 += sy;
+					dest += ssy;
+				}
+			}
 		}
 	},
 	
@@ -344,18 +462,16 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
-			// Not implemented, use basic function
-			if (true)
-			{
-				AdvancedFunction.LINE_NOBLEND_DOT.function(__ag, __vi, __va);
-				return;
-			}
-			
-			int __x1 = __vi[0],
-				__y1 = __vi[1],
-				__x2 = __vi[2],
-				__y2 = __vi[3];
-			
+			this.line(__ag, __vi[0], __vi[1], __vi[2], __vi[3]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void line(AdvancedGraphics __ag, int __x1, int __y1,
+			int __x2, int __y2)
+		{
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch,
 				dx = __x2 - __x1;
@@ -363,15 +479,52 @@ public enum AdvancedFunction
 			int dy = __y2 - __y1;
 			boolean neg;
 			if ((neg = dy < 0))
-				dy = -dy;	
+				dy = -dy;
 			
 			int sy = (__y1 < __y2 ? 1 : -1),
 				ssy = iw * sy,
 				err = (dx > dy ? dx : -dy) >> 2,
-				color = __ag.paintalphacolor,
+				pac = __ag.paintalphacolor,
 				dest = __ag.offset + (iw * __y1) + __x1;
 			
-			throw new todo.TODO();
+			// Source color is always the same, so only calculate it once
+			int sa = __ag.paintalpha,
+				na = (sa ^ 0xFF),
+				srb = ((pac & 0xFF00FF) * sa),
+				sgg = (((pac >>> 8) & 0xFF) * sa);
+			
+			for (int blip = 0, nblip = ~0;; nblip = blip, blip = ~blip)
+			{
+				// Nothing left to draw?
+				if (__x1 >= __x2 &&
+					((neg && __y1 <= __y2) || (!neg && __y1 >= __y2)))
+					break;
+				
+				// Blend this pixel, but only keep it on every other dot
+				int dcc = data[dest],
+					xrb = (srb + ((dcc & 0xFF00FF) * na)) >>> 8,
+					xgg = (((sgg + (((dcc >>> 8) & 0xFF) * na)) + 1) * 257)
+						>>> 16;
+				data[dest] = (dcc & blip) |
+					(((xrb & 0xFF00FF) | ((xgg & 0xFF) << 8)) & nblip);
+				
+				// Increase X
+				int brr = err;
+				if (brr > -dx)
+				{
+					err -= dy;
+					__x1++;
+					dest++;
+				}
+				
+				// Increase Y
+				if (brr < dy)
+				{
+					err += dx;
+					__y1 += sy;
+					dest += ssy;
+				}
+			}
 		}
 	},
 	
@@ -384,14 +537,17 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
-			int __o = __vi[0],
-				__l = __vi[1],
-				__x = __vi[2],
-				__y = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5];
-			int[] __b = (int[])__va[0];
-			
+			this.tile(__ag, (int[])__va[0], __vi[0], __vi[1], __vi[2],
+				__vi[3], __vi[4], __vi[5]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+			int __x, int __y, int __w, int __h)
+		{
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch;
 			
@@ -400,7 +556,8 @@ public enum AdvancedFunction
 			int eosa = __l - __w;
 			
 			// Draw tile data
-			int dest = __ag.offset + (__y * iw) + __x, src = 0, ey = __y + __h;
+			int dest = __ag.offset + (__y * iw) + __x, src = __o,
+				ey = __y + __h;
 			for (; __y < ey; __y++, dest += iw, src += eosa)
 				for (int spend = src + __w, dp = dest; src < spend;
 					dp++, src++)
@@ -417,14 +574,17 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
-			int __o = __vi[0],
-				__l = __vi[1],
-				__x = __vi[2],
-				__y = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5];
-			int[] __b = (int[])__va[0];
-			
+			this.tile(__ag, (int[])__va[0], __vi[0], __vi[1], __vi[2],
+				__vi[3], __vi[4], __vi[5]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+			int __x, int __y, int __w, int __h)
+		{
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch;
 			
@@ -433,7 +593,8 @@ public enum AdvancedFunction
 			int eosa = __l - __w;
 			
 			// Draw tile data
-			int dest = __ag.offset + (__y * iw) + __x, src = 0, ey = __y + __h;
+			int dest = __ag.offset + (__y * iw) + __x, src = __o,
+				ey = __y + __h;
 			for (; __y < ey; __y++, dest += iw, src += eosa)
 				for (int spend = src + __w, dp = dest; src < spend;
 					dp++, src++)
@@ -460,14 +621,17 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
-			int __o = __vi[0],
-				__l = __vi[1],
-				__x = __vi[2],
-				__y = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5];
-			int[] __b = (int[])__va[0];
-			
+			this.tile(__ag, (int[])__va[0], __vi[0], __vi[1], __vi[2],
+				__vi[3], __vi[4], __vi[5]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+			int __x, int __y, int __w, int __h)
+		{
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch;
 			
@@ -476,7 +640,8 @@ public enum AdvancedFunction
 			int eosa = __l - __w;
 			
 			// Draw tile data
-			int dest = __ag.offset + (__y * iw) + __x, src = 0, ey = __y + __h;
+			int dest = __ag.offset + (__y * iw) + __x, src = __o,
+				ey = __y + __h;
 			for (; __y < ey; __y++, dest += iw, src += eosa)
 				for (int spend = src + __w, dp = dest; src < spend;
 					dp++, src++)
@@ -505,14 +670,17 @@ public enum AdvancedFunction
 		 */
 		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
 		{
-			int __o = __vi[0],
-				__l = __vi[1],
-				__x = __vi[2],
-				__y = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5];
-			int[] __b = (int[])__va[0];
-			
+			this.tile(__ag, (int[])__va[0], __vi[0], __vi[1], __vi[2],
+				__vi[3], __vi[4], __vi[5]);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+			int __x, int __y, int __w, int __h)
+		{
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch;
 			
@@ -521,7 +689,8 @@ public enum AdvancedFunction
 			int eosa = __l - __w;
 			
 			// Draw tile data
-			int dest = __ag.offset + (__y * iw) + __x, src = 0, ey = __y + __h;
+			int dest = __ag.offset + (__y * iw) + __x, src = __o,
+				ey = __y + __h;
 			for (; __y < ey; __y++, dest += iw, src += eosa)
 				for (int spend = src + __w, dp = dest; src < spend;
 					dp++, src++)
@@ -544,6 +713,53 @@ public enum AdvancedFunction
 	/** End. */
 	;
 	
+	/**
+	 * Draws a character bitmap.
+	 *
+	 * The default implementation packs the arguments and calls
+	 * {@link #function(AdvancedGraphics, int[], Object[])}.
+	 *
+	 * @param __ag The advanced graphics state.
+	 * @param __bmp The bitmap data.
+	 * @param __color The color to draw.
+	 * @param __dsx The destination X coordinate.
+	 * @param __dsy The destination Y coordinate.
+	 * @param __bytesperscan The number of bytes in each bitmap scanline.
+	 * @param __scanoff The starting pixel in the scanline.
+	 * @param __scanlen The number of pixels to draw in each scanline.
+	 * @param __lineoff The starting line.
+	 * @param __linelen The number of lines to draw.
+	 * @since 2019/09/22
+	 */
+	public void charBitmap(AdvancedGraphics __ag, byte[] __bmp,
+		int __color, int __dsx, int __dsy, int __bytesperscan,
+		int __scanoff, int __scanlen, int __lineoff, int __linelen)
+	{
+		this.function(__ag, new int[]{__color, __dsx, __dsy, __bytesperscan,
+			__scanoff, __scanlen, __lineoff, __linelen},
+			new Object[]{__bmp});
+	}
+	
+	/**
+	 * Fills a rectangle, the coordinates are already translated and clipped.
+	 *
+	 * The default implementation packs the arguments and calls
+	 * {@link #function(AdvancedGraphics, int[], Object[])}.
+	 *
+	 * @param __ag The advanced graphics state.
+	 * @param __x The starting X coordinate.
+	 * @param __y The starting Y coordinate.
+	 * @param __ex The ending X coordinate, exclusive.
+	 * @param __ey The ending Y coordinate, exclusive.
+	 * @since 2019/09/22
+	 */
+	public void fillRect(AdvancedGraphics __ag, int __x, int __y,
+		int __ex, int __ey)
+	{
+		this.function(__ag, new int[]{__x, __y, __ex, __ey,
+			__ex - __x, __ey - __y}, null);
+	}
+	
 	/**
 	 * Executes the graphics function.
 	 *
@@ -554,5 +770,48 @@ public enum AdvancedFunction
 	 */
 	public abstract void function(AdvancedGraphics __ag, int[] __vi,
 		Object[] __va);
+	
+	/**
+	 * Draws a line, the coordinates are already translated and clipped and
+	 * the line always goes to the right.
+	 *
+	 * The default implementation packs the arguments and calls
+	 * {@link #function(AdvancedGraphics, int[], Object[])}.
+	 *
+	 * @param __ag The advanced graphics state.
+	 * @param __x1 The starting X coordinate.
+	 * @param __y1 The starting Y coordinate.
+	 * @param __x2 The ending X coordinate.
+	 * @param __y2 The ending Y coordinate.
+	 * @since 2019/09/22
+	 */
+	public void line(AdvancedGraphics __ag, int __x1, int __y1,
+		int __x2, int __y2)
+	{
+		this.function(__ag, new int[]{__x1, __y1, __x2, __y2}, null);
+	}
+	
+	/**
+	 * Draws a tile of RGB data.
+	 *
+	 * The default implementation packs the arguments and calls
+	 * {@link #function(AdvancedGraphics, int[], Object[])}.
+	 *
+	 * @param __ag The advanced graphics state.
+	 * @param __b The source pixels.
+	 * @param __o The offset into the source pixels.
+	 * @param __l The scanline length of the source pixels.
+	 * @param __x The destination X coordinate.
+	 * @param __y The destination Y coordinate.
+	 * @param __w The width of the tile.
+	 * @param __h The height of the tile.
+	 * @since 2019/09/22
+	 */
+	public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+		int __x, int __y, int __w, int __h)
+	{
+		this.function(__ag, new int[]{__o, __l, __x, __y, __w, __h},
+			new Object[]{__b});
+	}
 }
 
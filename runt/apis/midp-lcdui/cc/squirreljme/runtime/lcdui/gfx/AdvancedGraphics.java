@@ -75,6 +75,10 @@ public class AdvancedGraphics
 	/** Absolute translated Y coordinate. */
 	protected final int abstransy;
 	
+	/** The areas which have been drawn on. */
+	protected final DirtyRegion dirty =
+		new DirtyRegion();
+	
 	/** The current stroke style. */
 	protected int strokestyle;
 	
@@ -337,6 +341,18 @@ public class AdvancedGraphics
 		this.__unimplemented(__dx, __dy, "copyArea");
 	}
 	
+	/**
+	 * Returns the areas which have been drawn on, this may be cleared by
+	 * the caller.
+	 *
+	 * @return The areas which have been drawn on.
+	 * @since 2019/09/22
+	 */
+	public final DirtyRegion dirtyRegion()
+	{
+		return this.dirty;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2019/03/24
@@ -518,9 +534,13 @@ public class AdvancedGraphics
 		// Forward depending on blending and/or dots
 		try
 		{
-			this.funcline.function(this,
-				new int[]{__x1, __y1, __x2, __y2},
-				null);
+			this.funcline.line(this, __x1, __y1, __x2, __y2);
+			
+			// Lines always go to the right, but not always down
+			if (__y1 < __y2)
+				this.dirty.add(__x1, __y1, __x2 + 1, __y2 + 1);
+			else
+				this.dirty.add(__x1, __y2, __x2 + 1, __y1 + 1);
 		}
 		
 		// Exception happened when drawing a line
@@ -562,15 +582,18 @@ public class AdvancedGraphics
 		if (ex < clipsx || __x >= clipex || ey < clipsy || __y >= clipey)
 			return;
 		
-		// Determine sub-clipping area
-		int subx = __x - clipsx,
-			suby = __y - clipsy;
-		
-		// Clip into bounds
-		if (__x < 0)
-			__x = 0;
-		if (__y < 0)
-			__y = 0;
+		// Clip into bounds, the source offset moves along with the left and
+		// top sides so that the pixels stay in place
+		if (__x < clipsx)
+		{
+			__off += clipsx - __x;
+			__x = clipsx;
+		}
+		if (__y < clipsy)
+		{
+			__off += (clipsy - __y) * __scanlen;
+			__y = clipsy;
+		}
 		if (ex >= clipex)
 			ex = clipex;
 		if (ey >= clipey)
@@ -579,17 +602,20 @@ public class AdvancedGraphics
 		// New tile size
 		int tw = ex - __x,
 			th = ey - __y;
+		if (tw <= 0 || th <= 0)
+			return;
 		
 		// We might have multiplied alpha blending, or just normal blending
 		// If __alpha is true then this is 32-bit RGBA!
 		if (__alpha)
-			this.funcargbtile.function(this,
-				new int[]{__off, __scanlen, __x, __y, tw, th},
-				new Object[]{__data});
+			this.funcargbtile.tile(this, __data, __off, __scanlen,
+				__x, __y, tw, th);
 		else
-			this.funcrgbtile.function(this,
-				new int[]{__off, __scanlen, __x, __y, tw, th},
-				new Object[]{__data});
+			this.funcrgbtile.tile(this, __data, __off, __scanlen,
+				__x, __y, tw, th);
+		
+		// Mark it
+		this.dirty.add(__x, __y, ex, ey);
 	}
 	
 	/**
@@ -777,14 +803,11 @@ public class AdvancedGraphics
 		if (ey > clipey)
 			ey = clipey;
 		
-		// Calculate actual dimensions used
-		__w = ex - __x;
-		__h = ey - __y;
-		
 		// Call function
-		this.funcfillrect.function(this,
-			new int[]{__x, __y, ex, ey, __w, __h},
-			null);
+		this.funcfillrect.fillRect(this, __x, __y, ex, ey);
+		
+		// Mark it
+		this.dirty.add(__x, __y, ex, ey);
 	}
 	
 	/**
@@ -1574,10 +1597,9 @@ public class AdvancedGraphics
 				
 				// Draw the bitmap for the character
 				int bps = sqf.loadCharBitmap(mc, bmp);
-				this.funccharbmp.function(this,
-					new int[]{color, dsx, dsy, bps, scanoff, scanlen,
-						lineoff, linelen},
-					new Object[]{bmp});
+				this.funccharbmp.charBitmap(this, bmp, color, dsx, dsy, bps,
+					scanoff, scanlen, lineoff, linelen);
+				this.dirty.add(dsx, dsy, dsx + scanlen, dsy + linelen);
 			}
 		}
 		
@@ -1619,8 +1641,18 @@ public class AdvancedGraphics
 			dotstroke = this.dotstroke;
 		int blendmode = this.blendmode;
 		
+		// Blending with a fully transparent color, shapes are not visible
+		if (doblending && this.paintalpha == 0)
+		{
+			this.funcfillrect = AdvancedFunction.NOP;
+			this.funccharbmp = AdvancedFunction.CHARBITMAP_BLEND;
+			this.funcrgbtile = AdvancedFunction.RGBTILE_BLEND;
+			this.funcargbtile = AdvancedFunction.ARGBTILE_BLEND;
+			this.funcline = AdvancedFunction.NOP;
+		}
+		
 		// Blending
-		if (doblending)
+		else if (doblending)
 		{
 			this.funcfillrect = AdvancedFunction.FILLRECT_BLEND;
 			this.funccharbmp = AdvancedFunction.CHARBITMAP_BLEND;
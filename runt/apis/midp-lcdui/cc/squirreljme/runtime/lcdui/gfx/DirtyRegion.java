@@ -0,0 +1,250 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.lcdui.gfx;
+
+/**
+ * This keeps track of the areas of an image which have been drawn on, so
+ * that only those areas need to be copied to the display.
+ *
+ * Only a few rectangles are kept, rectangles which touch or overlap are
+ * merged together and if there are too many then the two which waste the
+ * least area when merged are merged.
+ *
+ * @since 2019/09/22
+ */
+public final class DirtyRegion
+{
+	/** The maximum number of rectangles which are kept. */
+	public static final int MAX_RECTANGLES =
+		4;
+	
+	/** Rectangles, as starting and ending coordinates. */
+	private final int[] _rects =
+		new int[MAX_RECTANGLES * 4];
+	
+	/** The number of rectangles used. */
+	private int _count;
+	
+	/**
+	 * Marks the given area as being dirty.
+	 *
+	 * @param __x The starting X coordinate.
+	 * @param __y The starting Y coordinate.
+	 * @param __ex The ending X coordinate, exclusive.
+	 * @param __ey The ending Y coordinate, exclusive.
+	 * @since 2019/09/22
+	 */
+	public final void add(int __x, int __y, int __ex, int __ey)
+	{
+		// Empty areas are never dirty
+		if (__ex <= __x || __ey <= __y)
+			return;
+		
+		int[] rects = this._rects;
+		int count = this._count;
+		
+		// Quick check to see if this is already dirty, this is very common
+		// since many things are drawn over the same area
+		for (int i = 0, n = count * 4; i < n; i += 4)
+			if (__x >= rects[i] && __y >= rects[i + 1] &&
+				__ex <= rects[i + 2] && __ey <= rects[i + 3])
+				return;
+		
+		// Merge with any rectangles this touches, since merging grows the
+		// rectangle this must be repeated until nothing else touches
+		for (boolean again = true; again;)
+		{
+			again = false;
+			
+			for (int i = 0; i < count * 4; i += 4)
+				if (__x <= rects[i + 2] && __ex >= rects[i] &&
+					__y <= rects[i + 3] && __ey >= rects[i + 1])
+				{
+					// Grow to cover it
+					if (rects[i] < __x)
+						__x = rects[i];
+					if (rects[i + 1] < __y)
+						__y = rects[i + 1];
+					if (rects[i + 2] > __ex)
+						__ex = rects[i + 2];
+					if (rects[i + 3] > __ey)
+						__ey = rects[i + 3];
+					
+					// Remove it by moving the last rectangle here
+					count--;
+					System.arraycopy(rects, count * 4, rects, i, 4);
+					
+					again = true;
+					break;
+				}
+			
+			// There is no room for this rectangle, so merge it with the one
+			// which would grow the least
+			if (!again && count == MAX_RECTANGLES)
+			{
+				int best = 0;
+				long bestgrow = Long.MAX_VALUE,
+					area = (long)(__ex - __x) * (__ey - __y);
+				for (int i = 0; i < count * 4; i += 4)
+				{
+					int rx = rects[i],
+						ry = rects[i + 1],
+						rex = rects[i + 2],
+						rey = rects[i + 3];
+					
+					long grow = (long)(Math.max(rex, __ex) -
+						Math.min(rx, __x)) * (Math.max(rey, __ey) -
+						Math.min(ry, __y)) - area -
+						((long)(rex - rx) * (rey - ry));
+					if (grow < bestgrow)
+					{
+						best = i;
+						bestgrow = grow;
+					}
+				}
+				
+				// Grow to cover it
+				if (rects[best] < __x)
+					__x = rects[best];
+				if (rects[best + 1] < __y)
+					__y = rects[best + 1];
+				if (rects[best + 2] > __ex)
+					__ex = rects[best + 2];
+				if (rects[best + 3] > __ey)
+					__ey = rects[best + 3];
+				
+				// Remove it, the merged rectangle may now touch others
+				count--;
+				System.arraycopy(rects, count * 4, rects, best, 4);
+				
+				again = true;
+			}
+		}
+		
+		// Store
+		int at = count * 4;
+		rects[at] = __x;
+		rects[at + 1] = __y;
+		rects[at + 2] = __ex;
+		rects[at + 3] = __ey;
+		this._count = count + 1;
+	}
+	
+	/**
+	 * Clears the dirty region.
+	 *
+	 * @since 2019/09/22
+	 */
+	public final void clear()
+	{
+		this._count = 0;
+	}
+	
+	/**
+	 * Returns the number of dirty rectangles.
+	 *
+	 * @return The number of dirty rectangles.
+	 * @since 2019/09/22
+	 */
+	public final int count()
+	{
+		return this._count;
+	}
+	
+	/**
+	 * Returns the height of the given rectangle.
+	 *
+	 * @param __i The rectangle index.
+	 * @return The height of the rectangle.
+	 * @throws IndexOutOfBoundsException If the index is not valid.
+	 * @since 2019/09/22
+	 */
+	public final int height(int __i)
+		throws IndexOutOfBoundsException
+	{
+		int at = this.__index(__i);
+		return this._rects[at + 3] - this._rects[at + 1];
+	}
+	
+	/**
+	 * Is nothing dirty?
+	 *
+	 * @return If nothing is dirty.
+	 * @since 2019/09/22
+	 */
+	public final boolean isEmpty()
+	{
+		return this._count == 0;
+	}
+	
+	/**
+	 * Returns the width of the given rectangle.
+	 *
+	 * @param __i The rectangle index.
+	 * @return The width of the rectangle.
+	 * @throws IndexOutOfBoundsException If the index is not valid.
+	 * @since 2019/09/22
+	 */
+	public final int width(int __i)
+		throws IndexOutOfBoundsException
+	{
+		int at = this.__index(__i);
+		return this._rects[at + 2] - this._rects[at];
+	}
+	
+	/**
+	 * Returns the X coordinate of the given rectangle.
+	 *
+	 * @param __i The rectangle index.
+	 * @return The X coordinate of the rectangle.
+	 * @throws IndexOutOfBoundsException If the index is not valid.
+	 * @since 2019/09/22
+	 */
+	public final int x(int __i)
+		throws IndexOutOfBoundsException
+	{
+		return this._rects[this.__index(__i)];
+	}
+	
+	/**
+	 * Returns the Y coordinate of the given rectangle.
+	 *
+	 * @param __i The rectangle index.
+	 * @return The Y coordinate of the rectangle.
+	 * @throws IndexOutOfBoundsException If the index is not valid.
+	 * @since 2019/09/22
+	 */
+	public final int y(int __i)
+		throws IndexOutOfBoundsException
+	{
+		return this._rects[this.__index(__i) + 1];
+	}
+	
+	/**
+	 * Returns the array index of the given rectangle.
+	 *
+	 * @param __i The rectangle index.
+	 * @return The array index.
+	 * @throws IndexOutOfBoundsException If the index is not valid.
+	 * @since 2019/09/22
+	 */
+	private final int __index(int __i)
+		throws IndexOutOfBoundsException
+	{
+		// {@squirreljme.error EB2x Dirty rectangle index is out of bounds.
+		// (The index)}
+		if (__i < 0 || __i >= this._count)
+			throw new IndexOutOfBoundsException("EB2x " + __i);
+		
+		return __i * 4;
+	}
+}
+
@@ -13,6 +13,8 @@ import cc.squirreljme.runtime.cldc.asm.NativeDisplayAccess;
 import cc.squirreljme.runtime.cldc.asm.NativeDisplayEventCallback;
 import cc.squirreljme.runtime.lcdui.event.NonStandardKey;
 import cc.squirreljme.runtime.lcdui.gfx.AcceleratedGraphics;
+import cc.squirreljme.runtime.lcdui.gfx.AdvancedGraphics;
+import cc.squirreljme.runtime.lcdui.gfx.DirtyRegion;
 import cc.squirreljme.runtime.lcdui.gfx.EnforcedDrawingAreaGraphics;
 import cc.squirreljme.runtime.lcdui.gfx.PixelFormat;
 import javax.microedition.lcdui.Canvas;
@@ -275,6 +277,21 @@ public final class NativeUIBackend
 			
 			// Perform painting operation
 			ad.paint(g, __x, __y, __w, __h);
+			
+			// Tell the display which areas were drawn on so it only needs
+			// to copy those
+			if (g instanceof AdvancedGraphics)
+			{
+				DirtyRegion dirty = ((AdvancedGraphics)g).dirtyRegion();
+				
+				int nid = this.nid;
+				for (int i = 0, n = dirty.count(); i < n; i++)
+					NativeDisplayAccess.framebufferDirty(nid,
+						dirty.x(i), dirty.y(i),
+						dirty.width(i), dirty.height(i));
+				
+				dirty.clear();
+			}
 		}
 	}
 	
@@ -12,6 +12,27 @@ package cc.squirreljme.jvm;
 /**
  * This contains the static memory allocator.
  *
+ * Memory is split into chunks which are placed one after the other, each
+ * chunk has a header containing its size, tag, and the address of the next
+ * chunk so that all of memory may be walked.
+ *
+ * Free chunks are kept in segregated free lists which are called bins. Small
+ * chunks are placed in bins of an exact size, so they can be allocated
+ * without searching. Larger chunks are placed in bins which hold a power of
+ * two range of sizes. A bitmap records which bins have chunks in them so
+ * that the next largest bin can be found quickly when a bin is empty.
+ *
+ * Free chunks have the address of the next and previous free chunk in the
+ * bin after the header, and the last word of the chunk is the address of
+ * the chunk itself. When a chunk is followed by a free chunk, it has a flag
+ * set which allows the chunk before to be found when it is freed so that
+ * it may be merged into it.
+ *
+ * Since threads may run on many CPUs at the same time, only a single thread
+ * may change the chunks at a time. This is done with a lock word which is
+ * set to the owning thread with an atomic operation, the lock may be
+ * entered multiple times by the same thread.
+ *
  * @since 2019/05/26
  */
 public final class Allocator
@@ -24,6 +45,14 @@ public final class Allocator
 	public static final int CHUNK_BITS_VALUE_MASK =
 		0x0F;
 	
+	/** The chunk before this one is free. */
+	public static final byte CHUNK_BIT_PREV_FREE =
+		0x01;
+	
+	/** The chunk has been marked by the garbage collector. */
+	public static final byte CHUNK_BIT_MARKED =
+		0x02;
+	
 	/** Shift for the chunk tag. */
 	public static final byte CHUNK_TAG_SHIFT =
 		24;
@@ -36,9 +65,9 @@ public final class Allocator
 	public static final int CHUNK_TAG_MASK =
 		0xFF000000;
 	
-	/** The chunk size mask. */
+	/** The chunk size mask, sizes are always a multiple of four. */
 	public static final int CHUNK_SIZE_MASK =
-		0x00FFFFFF;
+		0x00FFFFFC;
 	
 	/** Chunk size limit, lower than the cap to allow for chunk area. */
 	public static final int CHUNK_SIZE_LIMIT =
@@ -56,12 +85,107 @@ public final class Allocator
 	public static final byte CHUNK_LENGTH =
 		8;
 	
+	/** The next free chunk in the bin. */
+	public static final byte FREE_NEXT_OFFSET =
+		8;
+	
+	/** The previous free chunk in the bin. */
+	public static final byte FREE_PREV_OFFSET =
+		12;
+	
+	/** The minimum size of a chunk, so it can be placed in a bin. */
+	public static final byte MIN_CHUNK_SIZE =
+		20;
+	
 	/** Extra size to add that must be hit before a chunk is split. */
 	public static final byte SPLIT_REQUIREMENT =
-		16;
+		MIN_CHUNK_SIZE;
+	
+	/** Chunks smaller than this are placed in bins of exact size. */
+	public static final short SMALL_CHUNK_LIMIT =
+		512;
+	
+	/** The shift for the size of small chunks to their bin. */
+	public static final byte SMALL_BIN_SHIFT =
+		2;
+	
+	/** The first bin which is used for large chunks. */
+	public static final short LARGE_BIN_BASE =
+		SMALL_CHUNK_LIMIT >> SMALL_BIN_SHIFT;
+	
+	/** The number of bins. */
+	public static final short NUM_BINS =
+		LARGE_BIN_BASE + 15;
+	
+	/** The number of words in the bin bitmap. */
+	public static final byte BITMAP_WORDS =
+		(NUM_BINS + 31) >> 5;
+	
+	/** Statistic: The number of bytes which are in use. */
+	public static final byte STAT_USED_BYTES =
+		0;
+	
+	/** Statistic: The number of bytes which are free. */
+	public static final byte STAT_FREE_BYTES =
+		1;
+	
+	/** Statistic: The number of free chunks. */
+	public static final byte STAT_FREE_CHUNKS =
+		2;
+	
+	/** Statistic: The size of the largest free chunk. */
+	public static final byte STAT_LARGEST_FREE =
+		3;
+	
+	/** Statistic: The percentage of free memory not in the largest chunk. */
+	public static final byte STAT_FRAGMENTATION =
+		4;
+	
+	/** Statistic: The number of allocations performed. */
+	public static final byte STAT_ALLOCATIONS =
+		5;
+	
+	/** Statistic: The number of frees performed. */
+	public static final byte STAT_FREES =
+		6;
+	
+	/** Statistic: The number of allocations which failed. */
+	public static final byte STAT_FAILED_ALLOCATIONS =
+		7;
+	
+	/** The number of statistics. */
+	public static final byte NUM_STATS =
+		8;
 	
 	/** The base RAM address. */
-	private static volatile int _rambase;
+	static volatile int _rambase;
+	
+	/** The address of the bin table, which is followed by the bitmap. */
+	private static volatile int _bins;
+	
+	/** The address of the lock word, which follows the bitmap. */
+	private static volatile int _lock;
+	
+	/** The number of times the owner of the lock has entered it. */
+	private static volatile int _lockcount;
+	
+	/** The number of bytes which are in use. */
+	private static volatile int _usedbytes;
+	
+	/** The number of bytes which are free. */
+	private static volatile int _freebytes;
+	
+	/** The number of free chunks. */
+	private static volatile int _freechunks;
+	
+	/** The number of allocations. */
+	private static volatile int _allocations;
+	
+	/** The number of frees. */
+	private static volatile int _frees;
+	
+	/** The number of failed allocations. */
+	private static volatile int _failures;
 	
 	/**
 	 * Not used.
@@ -83,41 +207,201 @@ public final class Allocator
 	 */
 	public static final int allocate(int __tag, int __sz)
 	{
-		// The number of desired bytes
-		int want = CHUNK_LENGTH + (__sz <= 4 ? 4 : ((__sz + 3) & (~3)));
+		Allocator.__lock();
+		int rv = Allocator.__allocate(__tag, __sz);
+		Allocator.__unlock();
+		return rv;
+	}
+	
+	/**
+	 * Returns the given allocation statistic.
+	 *
+	 * @param __s The statistic to get.
+	 * @return The value of the statistic or {@code -1} if it is not valid.
+	 * @since 2019/09/17
+	 */
+	public static final int statistic(int __s)
+	{
+		Allocator.__lock();
+		int rv = Allocator.__statistic(__s);
+		Allocator.__unlock();
+		return rv;
+	}
+	
+	/**
+	 * Frees the specified memory pointer, making it available for later use.
+	 *
+	 * @param __p The pointer to free.
+	 * @return The chunk which the freed memory is now a part of, this may
+	 * be a chunk before it if they were merged.
+	 * @since 2019/05/27
+	 */
+	static final int free(int __p)
+	{
+		Allocator.__lock();
+		int rv = Allocator.__free(__p);
+		Allocator.__unlock();
+		return rv;
+	}
+	
+	/**
+	 * Locks the allocator so that only the current thread may change the
+	 * chunks, the lock may be entered multiple times.
+	 *
+	 * @since 2019/09/22
+	 */
+	static final void __lock()
+	{
+		// Before the allocator is initialized, only a single thread runs
+		int lock = Allocator._lock;
+		if (lock == 0)
+			return;
+		
+		int me = JVMFunction.__threadId();
+		for (;;)
+		{
+			// Either nobody owns the lock or it is already ours
+			int owner = Assembly.atomicCompareGetAndSet(0, me, lock);
+			if (owner == 0 || owner == me)
+			{
+				Allocator._lockcount++;
+				return;
+			}
+			
+			// Let the other thread run so it can unlock
+			Assembly.sysCall(SystemCallIndex.THREAD_YIELD);
+		}
+	}
+	
+	/**
+	 * Unlocks the allocator.
+	 *
+	 * @since 2019/09/22
+	 */
+	static final void __unlock()
+	{
+		int lock = Allocator._lock;
+		if (lock == 0)
+			return;
 		
+		// Release once it has been exited as many times as it was entered,
+		// this is atomic so that other threads see every change that was
+		// made while it was locked
+		if (--Allocator._lockcount == 0)
+			Assembly.atomicCompareGetAndSet(JVMFunction.__threadId(), 0,
+				lock);
+	}
+	
+	/**
+	 * Allocates the given number of bytes, the allocator must be locked.
+	 *
+	 * @param __tag The tag to use, only the lowest 8-bits are used.
+	 * @param __sz The number of bytes to allocate.
+	 * @return The address of the allocated data or {@code 0} if there is
+	 * not enough memory remaining.
+	 * @since 2019/05/26
+	 */
+	private static final int __allocate(int __tag, int __sz)
+	{
 		// Negative size or too big?
-		if (__sz < 0 || want > CHUNK_SIZE_LIMIT)
+		if (__sz < 0 || __sz > CHUNK_SIZE_LIMIT)
+		{
+			Allocator._failures++;
 			return 0;
+		}
+		
+		// The number of desired bytes, the chunk must be able to be placed
+		// in a bin when it is freed
+		int want = CHUNK_LENGTH + (__sz <= 4 ? 4 : ((__sz + 3) & (~3)));
+		if (want < MIN_CHUNK_SIZE)
+			want = MIN_CHUNK_SIZE;
 		
-		// Go through the memory chunks to locate a free chunk
-		int seeker = Allocator._rambase;
-		while (seeker != 0)
+		// Too big with the chunk size added?
+		if (want > CHUNK_SIZE_LIMIT)
 		{
-			// Read chunk properties
-			int csz = Assembly.memReadInt(seeker, CHUNK_SIZE_OFFSET),
-				cnx = Assembly.memReadInt(seeker, CHUNK_NEXT_OFFSET);
-			
-			// Is this a free block? And can we fit in it?
-			if ((csz & CHUNK_TAG_MASK) == CHUNK_TAG_FREE &&
-				want <= (csz & CHUNK_SIZE_MASK))
-				return Allocator.__claim(__tag, want, seeker, csz, cnx);
-			
-			// Go to the next chunk
-			seeker = cnx;
+			Allocator._failures++;
+			return 0;
 		}
 		
-		// Did not find a free chunk
-		return 0;
+		// Take a free chunk which can fit this allocation
+		int seeker = Allocator.__takeFree(want);
+		if (seeker == 0)
+		{
+			Allocator._failures++;
+			return 0;
+		}
+		
+		// Claim it
+		Allocator._allocations++;
+		return Allocator.__claim(__tag, want, seeker);
 	}
 	
 	/**
-	 * Frees the specified memory pointer, making it available for later use.
+	 * Returns the given allocation statistic, the allocator must be locked.
+	 *
+	 * @param __s The statistic to get.
+	 * @return The value of the statistic or {@code -1} if it is not valid.
+	 * @since 2019/09/17
+	 */
+	private static final int __statistic(int __s)
+	{
+		switch (__s)
+		{
+				// Bytes in use
+			case STAT_USED_BYTES:
+				return Allocator._usedbytes;
+				
+				// Bytes which are free
+			case STAT_FREE_BYTES:
+				return Allocator._freebytes;
+				
+				// Free chunks
+			case STAT_FREE_CHUNKS:
+				return Allocator._freechunks;
+				
+				// The largest free chunk
+			case STAT_LARGEST_FREE:
+				return Allocator.__largestFree();
+				
+				// Free memory which is not in the largest chunk, when memory
+				// is not fragmented all of it is in one chunk
+			case STAT_FRAGMENTATION:
+				{
+					int free = Allocator._freebytes;
+					if (free < 100)
+						return 0;
+					
+					int rv = 100 - (Allocator.__largestFree() / (free / 100));
+					return (rv < 0 ? 0 : rv);
+				}
+				
+				// Allocations performed
+			case STAT_ALLOCATIONS:
+				return Allocator._allocations;
+				
+				// Frees performed
+			case STAT_FREES:
+				return Allocator._frees;
+				
+				// Allocations which failed
+			case STAT_FAILED_ALLOCATIONS:
+				return Allocator._failures;
+				
+				// Unknown
+			default:
+				return -1;
+		}
+	}
+	
+	/**
+	 * Frees the specified memory pointer, the allocator must be locked.
 	 *
 	 * @param __p The pointer to free.
+	 * @return The chunk which the freed memory is now a part of, this may
+	 * be a chunk before it if they were merged.
 	 * @since 2019/05/27
 	 */
-	static final void free(int __p)
+	private static final int __free(int __p)
 	{
 		// This should never happen
 		if (__p == 0 || __p == Constants.BAD_MAGIC)
@@ -130,6 +414,13 @@ public final class Allocator
 		int csz = Assembly.memReadInt(seeker, CHUNK_SIZE_OFFSET),
 			cnx = Assembly.memReadInt(seeker, CHUNK_NEXT_OFFSET);
 		
+		// Freeing a chunk which is already free will corrupt the bins
+		if ((csz & CHUNK_TAG_MASK) == CHUNK_TAG_FREE)
+		{
+			Assembly.breakpoint();
+			return seeker;
+		}
+		
 		// Actual logically used space
 		int usedspace = (csz & CHUNK_SIZE_MASK);
 		
@@ -149,62 +440,113 @@ public final class Allocator
 		// Make sure the reference count index is zero, to detect uncount
 		// after free
 		int rci = CHUNK_LENGTH + Constants.OBJECT_COUNT_OFFSET;
-		if (rci + 4 <= csz)
+		if (rci + 4 <= usedspace)
 			Assembly.memWriteInt(seeker, rci, 0);
 		
+		// Count it
+		Allocator._usedbytes -= usedspace;
+		Allocator._frees++;
+		
+		// The size of the chunk, which grows as chunks are merged
+		int size = usedspace,
+			flags = (csz & CHUNK_BIT_PREV_FREE);
+		
 		// See if we can merge this with the following chunk
 		if (cnx != 0)
 		{
 			// Get properties of the next chunk
 			int nsz = Assembly.memReadInt(cnx, CHUNK_SIZE_OFFSET),
-				nnx = Assembly.memReadInt(cnx, CHUNK_NEXT_OFFSET);
+				nsize = (nsz & CHUNK_SIZE_MASK);
 			
-			// Free space? Merge into it!
-			if ((nsz & CHUNK_TAG_MASK) == CHUNK_TAG_FREE)
+			// Only merge chunks which are within the size limit, otherwise
+			// a large portion of memory will not able to be reclaimed
+			// because it would logically have a small size
+			if ((nsz & CHUNK_TAG_MASK) == CHUNK_TAG_FREE &&
+				size + nsize <= CHUNK_SIZE_LIMIT)
 			{
-				// Calculate the would be new size
-				int newsize = usedspace + (nsz & CHUNK_SIZE_MASK);
+				// Chunks which are too small are never placed in a bin
+				if (nsize >= MIN_CHUNK_SIZE)
+					Allocator.__unlink(cnx, nsize);
 				
-				// Only merge chunks which are within the size limit, otherwise
-				// a large portion of memory will not able to be reclaimed
-				// because it would logically have a small size
-				if (newsize <= CHUNK_SIZE_LIMIT)
-				{
-					// New size of our current chunk
-					Assembly.memWriteInt(seeker, CHUNK_SIZE_OFFSET,
-						newsize | CHUNK_TAG_FREE);
-					
-					// Our chunk's next becomes the right side's next
-					Assembly.memWriteInt(seeker, CHUNK_NEXT_OFFSET,
-						nnx);
-					
-					// Do not use normal free set
-					return;
-				}
+				// Our chunk's next becomes the right side's next
+				size += nsize;
+				cnx = Assembly.memReadInt(cnx, CHUNK_NEXT_OFFSET);
+			}
+		}
+		
+		// If the chunk before this one is free then merge into it, its
+		// address is in its last word
+		if (flags != 0)
+		{
+			int prev = Assembly.memReadInt(seeker - 4, 0),
+				psz = Assembly.memReadInt(prev, CHUNK_SIZE_OFFSET),
+				psize = (psz & CHUNK_SIZE_MASK);
+			
+			// Same size limit as above
+			if (size + psize <= CHUNK_SIZE_LIMIT)
+			{
+				Allocator.__unlink(prev, psize);
+				
+				// The chunk starts at the previous one now
+				seeker = prev;
+				size += psize;
+				flags = (psz & CHUNK_BIT_PREV_FREE);
 			}
 		}
 		
-		// Set chunk as free now, keep the original size
+		// Set chunk as free now
 		Assembly.memWriteInt(seeker, CHUNK_SIZE_OFFSET,
-			csz | CHUNK_TAG_FREE);
+			size | CHUNK_TAG_FREE | flags);
+		Assembly.memWriteInt(seeker, CHUNK_NEXT_OFFSET,
+			cnx);
+		
+		// Place in the bin, if it can fit the links
+		if (size >= MIN_CHUNK_SIZE)
+			Allocator.__link(seeker, size);
+		
+		return seeker;
 	}
 	
 	/**
-	 * Claims the given block and returns it.
+	 * Returns the bin which holds chunks of the given size.
+	 *
+	 * @param __sz The size of the chunk.
+	 * @return The bin index.
+	 * @since 2019/09/17
+	 */
+	private static final int __binIndex(int __sz)
+	{
+		// Small chunks are of an exact size
+		if (__sz < SMALL_CHUNK_LIMIT)
+			return __sz >>> SMALL_BIN_SHIFT;
+		
+		// Each large bin holds chunks up to double the size of the one
+		// before it, the first holds up to double the small chunk limit
+		int rv = LARGE_BIN_BASE;
+		for (int v = __sz >>> 10; v != 0; v >>>= 1)
+			rv++;
+		return rv;
+	}
+	
+	/**
+	 * Claims the given free chunk and returns it, the chunk must not be in
+	 * any bin.
 	 *
 	 * @param __tag The tag to use, only 8-bits are used.
 	 * @param __want The wanted size.
 	 * @param __seeker The current chunk position.
-	 * @param __csz The chunk size.
-	 * @param __cnx The chunk next pointer.
 	 * @return The allocation pointer.
 	 * @since 2019/06/21
 	 */
-	private static final int __claim(int __tag, int __want, int __seeker,
-		int __csz, int __cnx)
+	private static final int __claim(int __tag, int __want, int __seeker)
 	{
+		// Read chunk properties
+		int csz = Assembly.memReadInt(__seeker, CHUNK_SIZE_OFFSET),
+			cnx = Assembly.memReadInt(__seeker, CHUNK_NEXT_OFFSET);
+		
 		// Calculate free space in this chunk
-		int freespace = (__csz & CHUNK_SIZE_MASK);
+		int freespace = (csz & CHUNK_SIZE_MASK),
+			flags = (csz & CHUNK_BIT_PREV_FREE);
 		
 		// This chunk will be split into a used and free chunk
 		if (__want + SPLIT_REQUIREMENT <= freespace)
@@ -218,15 +560,21 @@ public final class Allocator
 			
 			// Setup new chunk
 			Assembly.memWriteInt(__seeker, CHUNK_SIZE_OFFSET,
-				(__want & CHUNK_SIZE_MASK) | (__tag << CHUNK_TAG_SHIFT));
+				__want | (__tag << CHUNK_TAG_SHIFT) | flags);
 			Assembly.memWriteInt(__seeker, CHUNK_NEXT_OFFSET,
 				nextpos);
 			
 			// Setup the split chunk, points to the original next
 			Assembly.memWriteInt(nextpos, CHUNK_SIZE_OFFSET,
-				(nextsize & CHUNK_SIZE_MASK) | CHUNK_TAG_FREE);
+				nextsize | CHUNK_TAG_FREE);
 			Assembly.memWriteInt(nextpos, CHUNK_NEXT_OFFSET,
-				__cnx);
+				cnx);
+			
+			// The split chunk goes back into a bin
+			Allocator.__link(nextpos, nextsize);
+			
+			// Count it
+			Allocator._usedbytes += __want;
 		}
 		
 		// Not being split, so the block gets claimed
@@ -234,7 +582,10 @@ public final class Allocator
 		{
 			// Keep the originally passed size, but set the tag
 			Assembly.memWriteInt(__seeker, CHUNK_SIZE_OFFSET,
-				freespace | (__tag << CHUNK_TAG_SHIFT));
+				freespace | (__tag << CHUNK_TAG_SHIFT) | flags);
+			
+			// Count it
+			Allocator._usedbytes += freespace;
 		}
 		
 		// The returning pointer
@@ -278,6 +629,28 @@ public final class Allocator
 			// allocation space
 			if (csz == 0 || cnx == 0)
 			{
+				// The bins, their bitmap, and the lock are placed in a chunk
+				// which is never freed
+				int binsize = CHUNK_LENGTH +
+					((NUM_BINS + BITMAP_WORDS + 1) << 2),
+					bins = seeker + CHUNK_LENGTH;
+				for (int i = 0; i < binsize - CHUNK_LENGTH; i += 4)
+					Assembly.memWriteInt(bins, i, 0);
+				Allocator._bins = bins;
+				Allocator._lock = bins + ((NUM_BINS + BITMAP_WORDS) << 2);
+				Allocator._usedbytes += binsize;
+				
+				// Free memory starts after the bins, if there is no space
+				// left then there will not be any more chunks
+				int first = seeker + binsize,
+					sizeleft = (__rambase + __ramsize - first) & (~3);
+				if (sizeleft < MIN_CHUNK_SIZE)
+					first = 0;
+				Assembly.memWriteInt(seeker, CHUNK_SIZE_OFFSET,
+					binsize);
+				Assembly.memWriteInt(seeker, CHUNK_NEXT_OFFSET,
+					first);
+				
 				// Since there is an allocation limit of 16MiB, if there is
 				// more than 16MiB of memory available then there will be the
 				// problem of having one gigantic chunk that is too small, or
@@ -286,8 +659,7 @@ public final class Allocator
 				// remainder of memory!
 				
 				// Create chunks as big as possible across a span
-				int sizeleft = __ramsize - seeker;
-				while (sizeleft > 0)
+				for (seeker = first; seeker != 0;)
 				{
 					// Determine how big this chunk becomes
 					int usesize = (sizeleft > CHUNK_SIZE_LIMIT ?
@@ -301,7 +673,7 @@ public final class Allocator
 						usesize | CHUNK_TAG_FREE);
 					
 					// Set pointer and seeker to the next block
-					if (sizeleft > SPLIT_REQUIREMENT)
+					if (sizeleft >= MIN_CHUNK_SIZE)
 					{
 						// Where is this located?
 						int nextp = seeker + usesize;
@@ -327,10 +699,21 @@ public final class Allocator
 					}
 				}
 				
+				// Place all the free chunks into bins, this is done after
+				// they are all created since linking marks the following
+				// chunk as having a free chunk before it
+				for (seeker = first; seeker != 0;
+					seeker = Assembly.memReadInt(seeker, CHUNK_NEXT_OFFSET))
+					Allocator.__link(seeker, Assembly.memReadInt(seeker,
+						CHUNK_SIZE_OFFSET) & CHUNK_SIZE_MASK);
+				
 				// Stop
 				break;
 			}
 			
+			// This chunk was allocated by the BootROM
+			Allocator._usedbytes += (csz & CHUNK_SIZE_MASK);
+			
 			// Go to the next block in memory
 			seeker = cnx;
 		}
@@ -338,4 +721,222 @@ public final class Allocator
 		// Set memory parameters
 		Allocator._rambase = __rambase;
 	}
+	
+	/**
+	 * Returns the size of the largest free chunk.
+	 *
+	 * @return The size of the largest free chunk.
+	 * @since 2019/09/17
+	 */
+	private static final int __largestFree()
+	{
+		// Not initialized yet
+		int bins = Allocator._bins;
+		if (bins == 0)
+			return 0;
+		
+		// The largest chunk is in the highest bin which is not empty, but
+		// larger bins hold many sizes so they must be searched
+		for (int bin = NUM_BINS - 1; bin >= 0; bin--)
+		{
+			int at = Assembly.memReadInt(bins, bin << 2);
+			if (at == 0)
+				continue;
+			
+			int rv = 0;
+			for (; at != 0; at = Assembly.memReadInt(at, FREE_NEXT_OFFSET))
+			{
+				int asz = Assembly.memReadInt(at, CHUNK_SIZE_OFFSET) &
+					CHUNK_SIZE_MASK;
+				if (asz > rv)
+					rv = asz;
+			}
+			return rv;
+		}
+		
+		// No free memory at all
+		return 0;
+	}
+	
+	/**
+	 * Places the given free chunk into its bin.
+	 *
+	 * @param __p The chunk to link.
+	 * @param __sz The size of the chunk.
+	 * @since 2019/09/17
+	 */
+	private static final void __link(int __p, int __sz)
+	{
+		int bins = Allocator._bins,
+			bin = Allocator.__binIndex(__sz);
+		
+		// The last word refers to the chunk itself, so that the chunk after
+		// this one can find it
+		Assembly.memWriteInt(__p, __sz - 4, __p);
+		
+		// Becomes the head of the bin
+		int head = Assembly.memReadInt(bins, bin << 2);
+		Assembly.memWriteInt(__p, FREE_NEXT_OFFSET, head);
+		Assembly.memWriteInt(__p, FREE_PREV_OFFSET, 0);
+		if (head != 0)
+			Assembly.memWriteInt(head, FREE_PREV_OFFSET, __p);
+		Assembly.memWriteInt(bins, bin << 2, __p);
+		
+		// The bin is no longer empty
+		int bmp = (NUM_BINS + (bin >>> 5)) << 2;
+		Assembly.memWriteInt(bins, bmp,
+			Assembly.memReadInt(bins, bmp) | (1 << (bin & 31)));
+		
+		// The following chunk may merge into this one
+		int cnx = Assembly.memReadInt(__p, CHUNK_NEXT_OFFSET);
+		if (cnx != 0)
+			Assembly.memWriteInt(cnx, CHUNK_SIZE_OFFSET, CHUNK_BIT_PREV_FREE |
+				Assembly.memReadInt(cnx, CHUNK_SIZE_OFFSET));
+		
+		// Count it
+		Allocator._freebytes += __sz;
+		Allocator._freechunks++;
+	}
+	
+	/**
+	 * Returns the index of the lowest set bit.
+	 *
+	 * @param __v The value to check, must not be zero.
+	 * @return The index of the lowest set bit.
+	 * @since 2019/09/17
+	 */
+	private static final int __lowestBit(int __v)
+	{
+		int rv = 0;
+		
+		if ((__v & 0xFFFF) == 0)
+		{
+			rv += 16;
+			__v >>>= 16;
+		}
+		
+		if ((__v & 0xFF) == 0)
+		{
+			rv += 8;
+			__v >>>= 8;
+		}
+		
+		if ((__v & 0xF) == 0)
+		{
+			rv += 4;
+			__v >>>= 4;
+		}
+		
+		if ((__v & 0x3) == 0)
+		{
+			rv += 2;
+			__v >>>= 2;
+		}
+		
+		if ((__v & 0x1) == 0)
+			rv += 1;
+		
+		return rv;
+	}
+	
+	/**
+	 * Takes a free chunk which is at least the given size out of its bin.
+	 *
+	 * @param __want The wanted size.
+	 * @return The free chunk or {@code 0} if there is no chunk which is
+	 * large enough.
+	 * @since 2019/09/17
+	 */
+	private static final int __takeFree(int __want)
+	{
+		// Not initialized yet
+		int bins = Allocator._bins;
+		if (bins == 0)
+			return 0;
+		
+		// Search the bin for this size first, small bins are exact so the
+		// first chunk is used but large bins hold many sizes
+		int bin = Allocator.__binIndex(__want);
+		for (int at = Assembly.memReadInt(bins, bin << 2); at != 0;
+			at = Assembly.memReadInt(at, FREE_NEXT_OFFSET))
+		{
+			int asz = Assembly.memReadInt(at, CHUNK_SIZE_OFFSET) &
+				CHUNK_SIZE_MASK;
+			if (asz >= __want)
+			{
+				Allocator.__unlink(at, asz);
+				return at;
+			}
+		}
+		
+		// Any chunk in a larger bin will fit, so use the bitmap to find the
+		// next one which is not empty
+		for (int w = (bin + 1) >>> 5; w < BITMAP_WORDS; w++)
+		{
+			int bits = Assembly.memReadInt(bins, (NUM_BINS + w) << 2);
+			
+			// Ignore this bin and the ones before it
+			if (w == ((bin + 1) >>> 5))
+				bits &= (-1 << ((bin + 1) & 31));
+			
+			// All empty
+			if (bits == 0)
+				continue;
+			
+			// Take the first chunk in this bin
+			int at = Assembly.memReadInt(bins,
+				((w << 5) + Allocator.__lowestBit(bits)) << 2);
+			Allocator.__unlink(at, Assembly.memReadInt(at,
+				CHUNK_SIZE_OFFSET) & CHUNK_SIZE_MASK);
+			return at;
+		}
+		
+		// There is no free chunk large enough
+		return 0;
+	}
+	
+	/**
+	 * Removes the given free chunk from its bin.
+	 *
+	 * @param __p The chunk to unlink.
+	 * @param __sz The size of the chunk.
+	 * @since 2019/09/17
+	 */
+	private static final void __unlink(int __p, int __sz)
+	{
+		int bins = Allocator._bins,
+			bin = Allocator.__binIndex(__sz);
+		
+		// Link the chunks on either side together
+		int fnx = Assembly.memReadInt(__p, FREE_NEXT_OFFSET),
+			fpv = Assembly.memReadInt(__p, FREE_PREV_OFFSET);
+		if (fnx != 0)
+			Assembly.memWriteInt(fnx, FREE_PREV_OFFSET, fpv);
+		if (fpv != 0)
+			Assembly.memWriteInt(fpv, FREE_NEXT_OFFSET, fnx);
+		
+		// This was the head of the bin
+		else
+		{
+			Assembly.memWriteInt(bins, bin << 2, fnx);
+			
+			// The bin is now empty
+			if (fnx == 0)
+			{
+				int bmp = (NUM_BINS + (bin >>> 5)) << 2;
+				Assembly.memWriteInt(bins, bmp,
+					Assembly.memReadInt(bins, bmp) & ~(1 << (bin & 31)));
+			}
+		}
+		
+		// The following chunk can no longer merge into this one
+		int cnx = Assembly.memReadInt(__p, CHUNK_NEXT_OFFSET);
+		if (cnx != 0)
+			Assembly.memWriteInt(cnx, CHUNK_SIZE_OFFSET, ~CHUNK_BIT_PREV_FREE &
+				Assembly.memReadInt(cnx, CHUNK_SIZE_OFFSET));
+		
+		// Count it
+		Allocator._freebytes -= __sz;
+		Allocator._freechunks--;
+	}
 }
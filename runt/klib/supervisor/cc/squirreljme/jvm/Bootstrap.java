@@ -44,6 +44,9 @@ public final class Bootstrap
 		// the RAM is actually useable.
 		Allocator.__initRamLinks(__rambase, __ramsize);
 		
+		// Setup the garbage collector, which needs memory to be usable
+		GarbageCollector.__init(__rambase, __ramsize);
+		
 		// Could crash!
 		try
 		{
@@ -153,7 +153,9 @@ public final class ClientTask
 		MiniClassAccessor ccia = this.classInfoAccessor();
 		
 		// {@squirreljme.error SV04 Could not allocate class information.}
-		int cip = this.allocate(Allocator.CHUNK_BIT_IS_OBJECT,
+		// Class information is never unloaded and is only referred to by
+		// its pointer, so it is not an object the garbage collector frees
+		int cip = this.allocate(0,
 			Constants.OBJECT_BASE_SIZE + ccia.baseInstanceSize());
 		if (cip == 0)
 			throw new ClientLinkageError("SV04");
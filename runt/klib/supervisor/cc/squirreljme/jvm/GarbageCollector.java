@@ -0,0 +1,425 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.jvm;
+
+/**
+ * This is a mark and sweep garbage collector, it frees objects which can no
+ * longer be reached. Unlike reference counting, this also frees objects
+ * which refer to each other in a cycle.
+ *
+ * Marking starts at the registers of every frame on the call stack and at
+ * all memory which is not an object, such as the memory which was setup by
+ * the BootROM that contains the static fields. It is not known which values
+ * in these are references, so any value which points to the start of an
+ * object is treated as one. Objects are then scanned using the layout
+ * described by their {@link ClassInfo}. Marks are stored in the chunk
+ * headers.
+ *
+ * To check if a value points to the start of a chunk, a map is built which
+ * has, for every page of memory, the chunk which covers the start of that
+ * page. This way only the chunks within a single page need to be walked.
+ *
+ * Once marking is complete, every object chunk which was not marked is
+ * freed back into the allocator.
+ *
+ * @since 2019/09/18
+ */
+public final class GarbageCollector
+{
+	/** The shift for the size of pages in the chunk map. */
+	public static final byte PAGE_SHIFT =
+		11;
+	
+	/** The number of objects which can be on the mark stack. */
+	public static final short MARK_STACK_SIZE =
+		1024;
+	
+	/** The base RAM address. */
+	private static volatile int _rambase;
+	
+	/** The end RAM address. */
+	private static volatile int _ramend;
+	
+	/** The mark stack, the chunk map follows it. */
+	private static volatile int _stack;
+	
+	/** The chunk map. */
+	private static volatile int _map;
+	
+	/** The number of objects on the mark stack. */
+	private static volatile int _stacktop;
+	
+	/** Did the mark stack run out of space? */
+	private static volatile boolean _overflow;
+	
+	/**
+	 * Not used.
+	 *
+	 * @since 2019/09/18
+	 */
+	private GarbageCollector()
+	{
+	}
+	
+	/**
+	 * Collects all objects which can no longer be reached.
+	 *
+	 * @return The number of objects which were freed.
+	 * @since 2019/09/18
+	 */
+	public static final int collect()
+	{
+		// Allocations cannot happen on other CPUs while collecting
+		Allocator.__lock();
+		int rv = GarbageCollector.__collect();
+		Allocator.__unlock();
+		return rv;
+	}
+	
+	/**
+	 * Collects all objects which can no longer be reached, the allocator
+	 * must be locked.
+	 *
+	 * @return The number of objects which were freed.
+	 * @since 2019/09/22
+	 */
+	private static final int __collect()
+	{
+		// Garbage collection was never initialized
+		if (GarbageCollector._map == 0)
+			return 0;
+		
+		// If the registers on the call stack cannot be read then it is not
+		// possible to know which objects are still in use
+		if (Assembly.sysCallPV(SystemCallIndex.QUERY_INDEX,
+			SystemCallIndex.CALL_STACK_REGISTER) == 0)
+			return 0;
+		
+		// Only the call stack of the current thread can be seen, so if other
+		// threads are running then objects they use could be freed
+		if (Assembly.sysCallPV(SystemCallIndex.THREAD_COUNT) > 1)
+			return 0;
+		
+		// Map pages to chunks so references can be checked
+		GarbageCollector.__buildMap();
+		
+		// Mark everything which is reachable
+		GarbageCollector._stacktop = 0;
+		GarbageCollector._overflow = false;
+		GarbageCollector.__markRoots();
+		GarbageCollector.__drain();
+		
+		// If the mark stack ran out of space then there are marked objects
+		// which have not been scanned, so scan every marked object again
+		while (GarbageCollector._overflow)
+		{
+			GarbageCollector._overflow = false;
+			
+			for (int at = Allocator._rambase; at != 0;
+				at = Assembly.memReadInt(at, Allocator.CHUNK_NEXT_OFFSET))
+			{
+				int csz = Assembly.memReadInt(at,
+					Allocator.CHUNK_SIZE_OFFSET);
+				if (GarbageCollector.__isObject(csz) &&
+					(csz & Allocator.CHUNK_BIT_MARKED) != 0)
+				{
+					GarbageCollector.__scan(at + Allocator.CHUNK_LENGTH);
+					GarbageCollector.__drain();
+				}
+			}
+		}
+		
+		// Free everything which was not marked
+		return GarbageCollector.__sweep();
+	}
+	
+	/**
+	 * Builds the chunk map.
+	 *
+	 * @since 2019/09/18
+	 */
+	private static final void __buildMap()
+	{
+		int rambase = GarbageCollector._rambase,
+			map = GarbageCollector._map,
+			pagesize = 1 << PAGE_SHIFT;
+		
+		// Pages which are not covered by any chunk stay empty
+		int numpages = (GarbageCollector._ramend - rambase + pagesize - 1) >>>
+			PAGE_SHIFT;
+		for (int i = 0; i < numpages; i++)
+			Assembly.memWriteInt(map, i << 2, 0);
+		
+		// Every page which starts within a chunk refers to that chunk
+		for (int at = Allocator._rambase; at != 0;)
+		{
+			int size = Assembly.memReadInt(at, Allocator.CHUNK_SIZE_OFFSET) &
+				Allocator.CHUNK_SIZE_MASK,
+				cnx = Assembly.memReadInt(at, Allocator.CHUNK_NEXT_OFFSET);
+			
+			for (int pg = (at - rambase + pagesize - 1) >>> PAGE_SHIFT,
+				end = (at - rambase + size - 1) >>> PAGE_SHIFT; pg <= end; pg++)
+				Assembly.memWriteInt(map, pg << 2, at);
+			
+			at = cnx;
+		}
+	}
+	
+	/**
+	 * Scans objects on the mark stack until it is empty.
+	 *
+	 * @since 2019/09/18
+	 */
+	private static final void __drain()
+	{
+		int stack = GarbageCollector._stack;
+		for (int top = GarbageCollector._stacktop; top > 0;
+			top = GarbageCollector._stacktop)
+		{
+			GarbageCollector._stacktop = --top;
+			GarbageCollector.__scan(Assembly.memReadInt(stack, top << 2));
+		}
+	}
+	
+	/**
+	 * Checks if the given chunk size and tag is for an object which is in
+	 * use.
+	 *
+	 * @param __csz The chunk size and tag.
+	 * @return If this is an object which is in use.
+	 * @since 2019/09/18
+	 */
+	private static final boolean __isObject(int __csz)
+	{
+		return (__csz & Allocator.CHUNK_TAG_MASK) != Allocator.CHUNK_TAG_FREE &&
+			((__csz >>> Allocator.CHUNK_TAG_SHIFT) &
+			Allocator.CHUNK_BIT_IS_OBJECT) != 0;
+	}
+	
+	/**
+	 * Marks the given object and places it on the mark stack, if it is not
+	 * an object or has already been marked then nothing happens.
+	 *
+	 * @param __p The object to mark, this must be the start of a chunk.
+	 * @since 2019/09/18
+	 */
+	private static final void __mark(int __p)
+	{
+		// Ignore anything which is not an object or is already marked
+		int seeker = __p - Allocator.CHUNK_LENGTH,
+			csz = Assembly.memReadInt(seeker, Allocator.CHUNK_SIZE_OFFSET);
+		if (!GarbageCollector.__isObject(csz) ||
+			(csz & Allocator.CHUNK_BIT_MARKED) != 0)
+			return;
+		
+		// Mark it
+		Assembly.memWriteInt(seeker, Allocator.CHUNK_SIZE_OFFSET,
+			csz | Allocator.CHUNK_BIT_MARKED);
+		
+		// If there is no room on the stack, the object is scanned later
+		int top = GarbageCollector._stacktop;
+		if (top >= MARK_STACK_SIZE)
+		{
+			GarbageCollector._overflow = true;
+			return;
+		}
+		
+		// Push it
+		Assembly.memWriteInt(GarbageCollector._stack, top << 2, __p);
+		GarbageCollector._stacktop = top + 1;
+	}
+	
+	/**
+	 * Marks the given value if it points to the start of a chunk.
+	 *
+	 * @param __v The value which may be a reference.
+	 * @since 2019/09/18
+	 */
+	private static final void __markConservative(int __v)
+	{
+		// Must point within memory and be aligned
+		int seeker = __v - Allocator.CHUNK_LENGTH,
+			rambase = GarbageCollector._rambase;
+		if (seeker < rambase || seeker >= GarbageCollector._ramend ||
+			(seeker & 3) != 0)
+			return;
+		
+		// Walk from the chunk which covers the start of the page
+		int at = Assembly.memReadInt(GarbageCollector._map,
+			((seeker - rambase) >>> PAGE_SHIFT) << 2);
+		while (at != 0 && at < seeker)
+			at = Assembly.memReadInt(at, Allocator.CHUNK_NEXT_OFFSET);
+		
+		// Only mark if this is actually a chunk
+		if (at == seeker)
+			GarbageCollector.__mark(__v);
+	}
+	
+	/**
+	 * Marks everything which is referred to by the roots.
+	 *
+	 * @since 2019/09/18
+	 */
+	private static final void __markRoots()
+	{
+		// Registers in every frame on the call stack
+		int height = Assembly.sysCallPV(SystemCallIndex.CALL_STACK_HEIGHT);
+		for (int fr = 0; fr < height; fr++)
+			for (int r = 0;; r++)
+			{
+				int v = Assembly.sysCallPV(SystemCallIndex.CALL_STACK_REGISTER,
+					fr, r);
+				if (Assembly.sysCallPV(SystemCallIndex.ERROR_GET,
+					SystemCallIndex.CALL_STACK_REGISTER) !=
+					SystemCallError.NO_ERROR)
+					break;
+				
+				GarbageCollector.__markConservative(v);
+			}
+		
+		// Memory which is in use but is not an object, except for the mark
+		// stack which would otherwise keep the last collection's objects
+		int ours = GarbageCollector._stack - Allocator.CHUNK_LENGTH;
+		for (int at = Allocator._rambase; at != 0;)
+		{
+			int csz = Assembly.memReadInt(at, Allocator.CHUNK_SIZE_OFFSET),
+				cnx = Assembly.memReadInt(at, Allocator.CHUNK_NEXT_OFFSET);
+			
+			if (at != ours &&
+				(csz & Allocator.CHUNK_TAG_MASK) != Allocator.CHUNK_TAG_FREE &&
+				!GarbageCollector.__isObject(csz))
+				for (int i = Allocator.CHUNK_LENGTH,
+					n = (csz & Allocator.CHUNK_SIZE_MASK); i < n; i += 4)
+					GarbageCollector.__markConservative(
+						Assembly.memReadInt(at, i));
+			
+			at = cnx;
+		}
+	}
+	
+	/**
+	 * Marks everything the given object refers to.
+	 *
+	 * @param __p The object to scan.
+	 * @since 2019/09/18
+	 */
+	private static final void __scan(int __p)
+	{
+		// Objects with no class cannot be scanned
+		int pcl = Assembly.memReadInt(__p, Constants.OBJECT_CLASS_OFFSET);
+		if (pcl == 0 || pcl == Constants.BAD_MAGIC)
+			return;
+		
+		// The class information could be an object
+		GarbageCollector.__markConservative(pcl);
+		
+		// Get class info for this type
+		ClassInfo pinfo = Assembly.pointerToClassInfo(pcl);
+		
+		// Arrays only have references if they are arrays of objects
+		if ((pinfo.flags & Constants.CIF_IS_ARRAY) != 0)
+		{
+			if ((pinfo.flags & Constants.CIF_IS_ARRAY_OF_OBJECTS) != 0)
+			{
+				int n = Assembly.memReadInt(__p,
+					Constants.ARRAY_LENGTH_OFFSET);
+				for (int i = 0, bp = __p + Constants.ARRAY_BASE_SIZE, xp = 0;
+					i < n; i++, xp += 4)
+				{
+					int v = Assembly.memReadInt(bp, xp);
+					if (v != 0 && v != Constants.BAD_MAGIC)
+						GarbageCollector.__mark(v);
+				}
+			}
+		}
+		
+		// Otherwise go through the instance fields of every class in the
+		// class chain
+		else
+		{
+			for (ClassInfo ro = pinfo; ro != null; ro = ro.superclass)
+			{
+				int rbase = __p + ro.base;
+				
+				int rnobj = ro.numobjects;
+				for (int i = 0, px = 0; i < rnobj; i++, px += 4)
+				{
+					int v = Assembly.memReadInt(rbase, px);
+					if (v != 0 && v != Constants.BAD_MAGIC)
+						GarbageCollector.__mark(v);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Frees every object which was not marked and clears the marks of those
+	 * that were.
+	 *
+	 * @return The number of objects which were freed.
+	 * @since 2019/09/18
+	 */
+	private static final int __sweep()
+	{
+		int rv = 0;
+		for (int at = Allocator._rambase; at != 0;)
+		{
+			int csz = Assembly.memReadInt(at, Allocator.CHUNK_SIZE_OFFSET),
+				cnx = Assembly.memReadInt(at, Allocator.CHUNK_NEXT_OFFSET);
+			
+			// Free chunks and chunks which are not objects are kept
+			if (!GarbageCollector.__isObject(csz))
+				at = cnx;
+			
+			// Still in use, so clear the mark for the next collection
+			else if ((csz & Allocator.CHUNK_BIT_MARKED) != 0)
+			{
+				Assembly.memWriteInt(at, Allocator.CHUNK_SIZE_OFFSET,
+					csz & ~Allocator.CHUNK_BIT_MARKED);
+				at = cnx;
+			}
+			
+			// Free it, it may be merged with the chunks around it so
+			// continue from the chunk it became a part of
+			else
+			{
+				at = Assembly.memReadInt(
+					Allocator.free(at + Allocator.CHUNK_LENGTH),
+					Allocator.CHUNK_NEXT_OFFSET);
+				rv++;
+			}
+		}
+		
+		return rv;
+	}
+	
+	/**
+	 * Initializes the garbage collector.
+	 *
+	 * @param __rambase The base of RAM.
+	 * @param __ramsize The amount of RAM available.
+	 * @since 2019/09/18
+	 */
+	static final void __init(int __rambase, int __ramsize)
+	{
+		// The mark stack and chunk map are allocated together, but this is
+		// not an object so it is never collected
+		int numpages = (__ramsize + (1 << PAGE_SHIFT) - 1) >>> PAGE_SHIFT,
+			area = Allocator.allocate(0, (MARK_STACK_SIZE + numpages) << 2);
+		if (area == 0)
+			return;
+		
+		GarbageCollector._rambase = __rambase;
+		GarbageCollector._ramend = __rambase + __ramsize;
+		GarbageCollector._stack = area;
+		GarbageCollector._map = area + (MARK_STACK_SIZE << 2);
+	}
+}
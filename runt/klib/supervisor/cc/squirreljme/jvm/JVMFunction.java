@@ -95,8 +95,7 @@ public final class JVMFunction
 	 */
 	public static final void jvmGarbageCollect()
 	{
-		Assembly.breakpoint();
-		throw new todo.TODO();
+		GarbageCollector.collect();
 	}
 	
 	/**
@@ -395,24 +394,70 @@ public final class JVMFunction
 		if (__p == Constants.BAD_MAGIC)
 			Assembly.breakpoint();
 		
-		Assembly.breakpoint();
-		throw new todo.TODO();
+		// The owner is set with an atomic operation, since other threads
+		// may be trying to enter the monitor on other CPUs at the same time
+		int me = JVMFunction.__threadId(),
+			addr = __p + Constants.OBJECT_MONITOR_OFFSET;
+		for (;;)
+		{
+			int owner = Assembly.atomicCompareGetAndSet(0, me, addr);
+			
+			// Nobody owned the monitor, so now it is ours
+			if (owner == 0)
+			{
+				Assembly.memWriteInt(__p, Constants.OBJECT_MONITOR_COUNT_OFFSET,
+					1);
+				return;
+			}
+			
+			// Entering a monitor which is already owned, only the owner
+			// changes the count so this does not need to be atomic
+			if (owner == me)
+			{
+				Assembly.memWriteInt(__p, Constants.OBJECT_MONITOR_COUNT_OFFSET,
+					Assembly.memReadInt(__p,
+					Constants.OBJECT_MONITOR_COUNT_OFFSET) + 1);
+				return;
+			}
+			
+			// Another thread owns it, let it run so it can exit the monitor
+			Assembly.sysCall(SystemCallIndex.THREAD_YIELD);
+		}
 	}
 	
 	/**
 	 * Exits the monitor for the given object.
 	 *
 	 * @param __p The object to exit.
+	 * @throws IllegalMonitorStateException If the monitor is not owned by
+	 * the current thread.
 	 * @since 2019/04/26
 	 */
 	public static final void jvmMonitorExit(int __p)
+		throws IllegalMonitorStateException
 	{
 		// Access of invalid object?
 		if (__p == Constants.BAD_MAGIC)
 			Assembly.breakpoint();
 		
-		Assembly.breakpoint();
-		throw new todo.TODO();
+		// {@squirreljme.error SV06 The monitor is not owned by the current
+		// thread.}
+		int me = JVMFunction.__threadId();
+		if (Assembly.memReadInt(__p, Constants.OBJECT_MONITOR_OFFSET) != me)
+			throw new IllegalMonitorStateException("SV06");
+		
+		// Still entered
+		int count = Assembly.memReadInt(__p,
+			Constants.OBJECT_MONITOR_COUNT_OFFSET) - 1;
+		Assembly.memWriteInt(__p, Constants.OBJECT_MONITOR_COUNT_OFFSET,
+			(count < 0 ? 0 : count));
+		if (count > 0)
+			return;
+		
+		// Release the monitor, this is atomic so that the count which was
+		// written above is seen by the next thread to enter it
+		Assembly.atomicCompareGetAndSet(me, 0,
+			__p + Constants.OBJECT_MONITOR_OFFSET);
 	}
 	
 	/**
@@ -438,6 +483,16 @@ public final class JVMFunction
 		// Allocate the memory
 		int rv = Allocator.allocate(
 			_TASK_ID | Allocator.CHUNK_BIT_IS_OBJECT, info.size);
+		
+		// If there is no memory left, try again after collecting garbage
+		if (rv == 0)
+		{
+			GarbageCollector.collect();
+			rv = Allocator.allocate(
+				_TASK_ID | Allocator.CHUNK_BIT_IS_OBJECT, info.size);
+		}
+		
+		// Still out of memory
 		if (rv == 0)
 			return 0;
 		
@@ -486,6 +541,16 @@ public final class JVMFunction
 		// Allocate the memory
 		int rv = Allocator.allocate(
 			_TASK_ID | Allocator.CHUNK_BIT_IS_OBJECT, allocsize);
+		
+		// If there is no memory left, try again after collecting garbage
+		if (rv == 0)
+		{
+			GarbageCollector.collect();
+			rv = Allocator.allocate(
+				_TASK_ID | Allocator.CHUNK_BIT_IS_OBJECT, allocsize);
+		}
+		
+		// Still out of memory
 		if (rv == 0)
 			return 0;
 		
@@ -584,5 +649,19 @@ public final class JVMFunction
 					__g, __h);
 		}
 	}
+	
+	/**
+	 * Returns the ID of the current thread, which is used as the owner of
+	 * monitors and locks.
+	 *
+	 * @return The current thread ID, this is never zero.
+	 * @since 2019/09/22
+	 */
+	static final int __threadId()
+	{
+		// If threads are not supported then there is only a single thread
+		int rv = Assembly.sysCallPV(SystemCallIndex.THREAD_CURRENT_ID);
+		return (rv == 0 ? 1 : rv);
+	}
 }
 
@@ -128,8 +128,28 @@ public interface SystemCallIndex
 	public static final short OPTION_JAR_SIZE =
 		27;
 	
+	/** Gets the value of a register in the given call stack frame. */
+	public static final short CALL_STACK_REGISTER =
+		28;
+	
+	/** Starts a new thread on its own CPU which runs the given method. */
+	public static final short THREAD_NEW =
+		29;
+	
+	/** Returns the ID of the current thread, this is never zero. */
+	public static final short THREAD_CURRENT_ID =
+		30;
+	
+	/** Yields the current thread to other threads. */
+	public static final short THREAD_YIELD =
+		31;
+	
+	/** Returns the number of threads which are running. */
+	public static final short THREAD_COUNT =
+		32;
+	
 	/** System call count. */
 	public static final short NUM_SYSCALLS =
-		26;
+		33;
 }
 
@@ -0,0 +1,41 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package java.lang;
+
+/**
+ * This is thrown when a monitor is exited by a thread which does not own
+ * it.
+ *
+ * @since 2019/09/22
+ */
+public class IllegalMonitorStateException
+	extends RuntimeException
+{
+	/**
+	 * Initializes the exception with no message or cause.
+	 *
+	 * @since 2019/09/22
+	 */
+	public IllegalMonitorStateException()
+	{
+	}
+	
+	/**
+	 * Initializes the exception with the given message and no cause.
+	 *
+	 * @param __m The message.
+	 * @since 2019/09/22
+	 */
+	public IllegalMonitorStateException(String __m)
+	{
+		super(__m);
+	}
+}
+
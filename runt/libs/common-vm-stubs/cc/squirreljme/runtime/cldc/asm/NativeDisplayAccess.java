@@ -126,6 +126,25 @@ public final class NativeDisplayAccess
 	{
 	}
 	
+	/**
+	 * Specifies that the given area of the framebuffer was drawn on while
+	 * the display was being painted. If this is called during a paint then
+	 * only the areas which were drawn on need to be copied to the display,
+	 * otherwise the entire painted area is copied.
+	 *
+	 * @param __id The display ID.
+	 * @param __x The X coordinate.
+	 * @param __y The Y coordinate.
+	 * @param __w The width.
+	 * @param __h The height.
+	 * @since 2019/09/22
+	 */
+	@Api(ApiLevel.LEVEL_SQUIRRELJME_0_3_0_DEV)
+	public static final void framebufferDirty(int __id,
+		int __x, int __y, int __w, int __h)
+	{
+	}
+	
 	/**
 	 * Returns the object representing the framebuffer data.
 	 *
@@ -141,6 +141,21 @@ public final class TaskAccess
 		return (int)__t.getId();
 	}
 	
+	/**
+	 * Returns the amount of time that the given task has spent executing,
+	 * this excludes time spent sleeping or waiting.
+	 *
+	 * @param __tid The task to get the execution time of.
+	 * @return The execution time in nanoseconds, or a negative value if it
+	 * is not known.
+	 * @since 2019/09/20
+	 */
+	@Api(ApiLevel.LEVEL_SQUIRRELJME_0_3_0_DEV)
+	public static final long taskCpuTime(int __tid)
+	{
+		return -1;
+	}
+	
 	/**
 	 * Returns the status of the target task.
 	 *
@@ -153,5 +168,25 @@ public final class TaskAccess
 	{
 		return -1;
 	}
+	
+	/**
+	 * Waits for any task to be started or to change status, such as when a
+	 * task terminates. Each change increases a count which is never
+	 * negative, this blocks until the count is no longer the old count.
+	 *
+	 * @param __old The change count which is already known, if this is not
+	 * the current count then this returns immediately.
+	 * @param __ms The number of milliseconds to wait for, zero waits
+	 * forever.
+	 * @return The current change count, if the wait expired or was
+	 * interrupted then this will be the old count. If this is not supported
+	 * then this is negative.
+	 * @since 2019/09/20
+	 */
+	@Api(ApiLevel.LEVEL_SQUIRRELJME_0_3_0_DEV)
+	public static final int taskStatusChanges(int __old, long __ms)
+	{
+		return -1;
+	}
 }
 
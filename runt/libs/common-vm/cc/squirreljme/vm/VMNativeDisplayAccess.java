@@ -14,6 +14,8 @@ import cc.squirreljme.runtime.cldc.asm.NativeDisplayAccess;
 import cc.squirreljme.runtime.cldc.asm.NativeDisplayEventCallback;
 import cc.squirreljme.runtime.lcdui.event.NonStandardKey;
 import cc.squirreljme.runtime.lcdui.gfx.AcceleratedGraphics;
+import cc.squirreljme.runtime.lcdui.gfx.AdvancedGraphics;
+import cc.squirreljme.runtime.lcdui.gfx.DirtyRegion;
 import cc.squirreljme.runtime.lcdui.gfx.GraphicsFunction;
 import cc.squirreljme.runtime.lcdui.gfx.PixelFormat;
 import cc.squirreljme.runtime.lcdui.gfx.SerializedGraphics;
@@ -71,6 +73,13 @@ public class VMNativeDisplayAccess
 	/** Event callback. */
 	volatile NativeDisplayEventCallback _callback;
 	
+	/** The areas which were drawn on during the current paint. */
+	final DirtyRegion _dirty =
+		new DirtyRegion();
+	
+	/** Did the client say which areas it drew on? */
+	volatile boolean _dirtyreported;
+	
 	/**
 	 * Initialize and/or reset accelerated graphics operations.
 	 *
@@ -148,6 +157,31 @@ public class VMNativeDisplayAccess
 		this.__checkFramebuffer().repaint(__x, __y, __w, __h);
 	}
 	
+	/**
+	 * Specifies that the given area of the framebuffer was drawn on while
+	 * the display was being painted.
+	 *
+	 * @param __id The display ID.
+	 * @param __x The X coordinate.
+	 * @param __y The Y coordinate.
+	 * @param __w The width.
+	 * @param __h The height.
+	 * @since 2019/09/22
+	 */
+	public final void framebufferDirty(int __id,
+		int __x, int __y, int __w, int __h)
+	{
+		if (__id != 0)
+			return;
+		
+		DirtyRegion dirty = this._dirty;
+		synchronized (dirty)
+		{
+			dirty.add(__x, __y, __x + __w, __y + __h);
+			this._dirtyreported = true;
+		}
+	}
+	
 	/**
 	 * Returns the object representing the framebuffer data.
 	 *
@@ -511,19 +545,62 @@ public class VMNativeDisplayAccess
 				w = __g.getClipWidth(),
 				h = __g.getClipHeight();
 			
+			// Forget what was drawn the last time
+			DirtyRegion dirty = VMNativeDisplayAccess.this._dirty;
+			synchronized (dirty)
+			{
+				dirty.clear();
+				VMNativeDisplayAccess.this._dirtyreported = false;
+			}
+			
 			// Call paint code
 			cb.paintDisplay(0, x, y, w, h);
 			
-			// Just draw the raw RGB data
-			int fbw = VMNativeDisplayAccess.this._fbw;
-			__g.drawRGB(VMNativeDisplayAccess.this._fbrgb,
-				0,
-				fbw,
-				0,
-				0,
-				fbw,
-				VMNativeDisplayAccess.this._fbh,
-				false);
+			// Accelerated graphics draws on this side, so it keeps track of
+			// what the client drew
+			Graphics accelgfx = VMNativeDisplayAccess.this._accelgfx;
+			if (accelgfx instanceof AdvancedGraphics)
+			{
+				DirtyRegion accdirty =
+					((AdvancedGraphics)accelgfx).dirtyRegion();
+				
+				for (int i = 0, n = accdirty.count(); i < n; i++)
+					VMNativeDisplayAccess.this.framebufferDirty(0,
+						accdirty.x(i), accdirty.y(i),
+						accdirty.width(i), accdirty.height(i));
+				
+				accdirty.clear();
+			}
+			
+			// Only the painted area within the framebuffer is copied
+			int[] fbrgb = VMNativeDisplayAccess.this._fbrgb;
+			int fbw = VMNativeDisplayAccess.this._fbw,
+				fbh = VMNativeDisplayAccess.this._fbh,
+				sx = Math.max(0, x),
+				sy = Math.max(0, y),
+				ex = Math.min(fbw, x + w),
+				ey = Math.min(fbh, y + h);
+			
+			synchronized (dirty)
+			{
+				// The client did not say what it drew, so copy everything
+				if (!VMNativeDisplayAccess.this._dirtyreported)
+					this.__copy(__g, fbrgb, fbw, sx, sy, ex, ey);
+				
+				// Otherwise only copy what was drawn on
+				else
+					for (int i = 0, n = dirty.count(); i < n; i++)
+					{
+						int dx = dirty.x(i),
+							dy = dirty.y(i);
+						
+						this.__copy(__g, fbrgb, fbw,
+							Math.max(sx, dx),
+							Math.max(sy, dy),
+							Math.min(ex, dx + dirty.width(i)),
+							Math.min(ey, dy + dirty.height(i)));
+					}
+			}
 		}
 			
 		/**
@@ -683,6 +760,28 @@ public class VMNativeDisplayAccess
 			// Post event
 			cb.keyEvent(0, __et, __kc, 0, ++this._keyindex);
 		}
+		
+		/**
+		 * Copies an area of the framebuffer to the graphics.
+		 *
+		 * @param __g The graphics to draw on.
+		 * @param __fb The framebuffer.
+		 * @param __fbw The framebuffer width.
+		 * @param __sx The starting X coordinate.
+		 * @param __sy The starting Y coordinate.
+		 * @param __ex The ending X coordinate, exclusive.
+		 * @param __ey The ending Y coordinate, exclusive.
+		 * @since 2019/09/22
+		 */
+		private final void __copy(Graphics __g, int[] __fb, int __fbw,
+			int __sx, int __sy, int __ex, int __ey)
+		{
+			if (__ex <= __sx || __ey <= __sy)
+				return;
+			
+			__g.drawRGB(__fb, (__sy * __fbw) + __sx, __fbw,
+				__sx, __sy, __ex - __sx, __ey - __sy, false);
+		}
 	}
 }
 
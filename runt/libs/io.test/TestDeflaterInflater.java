@@ -70,7 +70,8 @@ public class TestDeflaterInflater
 			try (ByteArrayOutputStream baos = new ByteArrayOutputStream(gn))
 			{
 				// Compress the input message
-				try (DeflaterOutputStream dos = new DeflaterOutputStream(baos))
+				try (DeflaterOutputStream dos = new DeflaterOutputStream(baos,
+					cl))
 				{
 					dos.write(message);
 				}
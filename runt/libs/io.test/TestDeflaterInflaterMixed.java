@@ -0,0 +1,144 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import net.multiphasicapps.tac.TestSupplier;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import net.multiphasicapps.io.CompressionLevel;
+import net.multiphasicapps.io.InflaterInputStream;
+import net.multiphasicapps.io.DeflaterOutputStream;
+
+/**
+ * Tests the deflater and then the inflater on data which cannot be
+ * compressed and on data which mixes compressible and incompressible parts,
+ * so that stored blocks are written between compressed blocks.
+ *
+ * @since 2019/09/22
+ */
+public class TestDeflaterInflaterMixed
+	extends TestSupplier<Integer>
+{
+	/** The number of parts in the mixed data. */
+	private static final int _PARTS =
+		16;
+	
+	/** The number of noise bytes in each part, this spans whole blocks. */
+	private static final int _NOISE_SIZE =
+		9000;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public Integer test()
+		throws Throwable
+	{
+		Random random = new Random(0xCAFEBABEL);
+		
+		// Data which cannot be compressed
+		byte[] noise = new byte[_NOISE_SIZE * 4];
+		random.nextBytes(noise);
+		
+		// Data which has text followed by noise, the text grows in length
+		// so that stored blocks start at different bit positions after
+		// the compressed blocks
+		byte[] text = ("Squirrels are cute and they love to eat nuts. ")
+			.getBytes("iso-8859-1");
+		ByteArrayOutputStream mixout = new ByteArrayOutputStream();
+		for (int p = 0; p < _PARTS; p++)
+		{
+			for (int i = 0, n = 64 + (p * 61); i < n; i++)
+				mixout.write(text[(i + p) % text.length]);
+			
+			for (int i = 0; i < _NOISE_SIZE; i++)
+				mixout.write(random.nextInt());
+		}
+		byte[] mixed = mixout.toByteArray();
+		
+		// Both must survive each compression level
+		int rv = 0;
+		for (CompressionLevel cl : CompressionLevel.values())
+		{
+			if (TestDeflaterInflaterMixed.__roundTrip(noise, cl))
+				rv++;
+			else
+				this.secondary("failed-noise-" + cl, true);
+			
+			if (TestDeflaterInflaterMixed.__roundTrip(mixed, cl))
+				rv++;
+			else
+				this.secondary("failed-mixed-" + cl, true);
+		}
+		
+		return rv;
+	}
+	
+	/**
+	 * Compresses then decompresses the given data.
+	 *
+	 * @param __b The data to compress.
+	 * @param __cl The compression level.
+	 * @return If the data is the same after it was decompressed.
+	 * @throws IOException On read/write errors.
+	 * @since 2019/09/22
+	 */
+	private static boolean __roundTrip(byte[] __b, CompressionLevel __cl)
+		throws IOException
+	{
+		// Compress the data
+		byte[] compressed;
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream())
+		{
+			try (DeflaterOutputStream dos = new DeflaterOutputStream(baos,
+				__cl))
+			{
+				dos.write(__b);
+			}
+			
+			compressed = baos.toByteArray();
+		}
+		
+		// Decompress it again
+		byte[] decompressed;
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream(
+			__b.length))
+		{
+			try (InflaterInputStream iis = new InflaterInputStream(
+				new ByteArrayInputStream(compressed)))
+			{
+				byte[] buf = new byte[512];
+				for (;;)
+				{
+					int rc = iis.read(buf);
+					
+					if (rc < 0)
+						break;
+					
+					baos.write(buf, 0, rc);
+				}
+			}
+			
+			decompressed = baos.toByteArray();
+		}
+		
+		// Must be the same
+		int n = __b.length;
+		if (decompressed.length != n)
+			return false;
+		for (int i = 0; i < n; i++)
+			if (decompressed[i] != __b[i])
+				return false;
+		return true;
+	}
+}
+
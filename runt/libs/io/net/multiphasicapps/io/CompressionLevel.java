@@ -58,15 +58,69 @@ public enum CompressionLevel
 	{
 		switch (this)
 		{
-				// Fast has no sliding window
-			case FASTEST:	return 64;
-			case FASTER:	return 128;
-			case FAST:		return 256;
-			
+				// Fast uses smaller blocks so less is held in memory
+			case FASTEST:	return 4096;
+			case FASTER:	return 8192;
+			case FAST:		return 16384;
+				
 				// Slow algorithms compress in more chunks
-			case SLOW:		return 256;
+			case SLOW:		return 16384;
+			case SLOWER:	return 32768;
+			case SLOWEST:	return 32768;
+			
+			default:
+				throw new todo.OOPS();
+		}
+	}
+	
+	/**
+	 * Returns whether a match should be deferred if the next byte has a
+	 * longer match.
+	 *
+	 * @return If lazy matching should be used.
+	 * @since 2019/09/16
+	 */
+	public final boolean lazyMatching()
+	{
+		switch (this)
+		{
+				// Take the first match
+			case FASTEST:
+			case FASTER:
+			case FAST:
+				return false;
+				
+				// Check the next byte
+			case SLOW:
+			case SLOWER:
+			case SLOWEST:
+				return true;
+			
+			default:
+				throw new todo.OOPS();
+		}
+	}
+	
+	/**
+	 * Returns the maximum number of previous matches to check when
+	 * searching for the longest match.
+	 *
+	 * @return The match search depth.
+	 * @since 2019/09/16
+	 */
+	public final int searchDepth()
+	{
+		switch (this)
+		{
+				// Check only the most recent matches
+			case FASTEST:	return 4;
+			case FASTER:	return 8;
+			case FAST:		return 32;
+				
+				// Check further back
+			case SLOW:		return 128;
 			case SLOWER:	return 512;
-			case SLOWEST:	return 1024;
+			case SLOWEST:	return 4096;
 			
 			default:
 				throw new todo.OOPS();
@@ -99,7 +153,7 @@ public enum CompressionLevel
 			case 9:		return SLOWER;
 			
 			case 10:	return SLOWEST;
-			
+				
 				// Out of range, so just treat as capped
 			default:
 				return (__i <= 0 ? FASTEST : SLOWEST);
@@ -16,6 +16,12 @@ import java.io.OutputStream;
 /**
  * This is used to compress to standard deflate streams.
  *
+ * Input is matched against the previous 32KiB of data using hash chains,
+ * the number of chain entries which are looked at depends on the
+ * compression level. Each block of symbols is then written using whichever
+ * of no compression, the fixed huffman table, or a dynamically generated
+ * huffman table results in the smallest output.
+ *
  * Associated standards:
  * {@link https://www.ietf.org/rfc/rfc1951.txt}.
  *
@@ -27,14 +33,157 @@ public class DeflaterOutputStream
 	extends OutputStream
 	implements CompressionStream
 {
+	/** The size of the sliding window. */
+	private static final int _WINDOW_SIZE =
+		32768;
+	
+	/** The number of bits used for the hash. */
+	private static final int _HASH_BITS =
+		15;
+	
+	/** The mask for hash values. */
+	private static final int _HASH_MASK =
+		(1 << _HASH_BITS) - 1;
+	
+	/** The minimum match length. */
+	private static final int _MIN_MATCH =
+		3;
+	
+	/** The maximum match length. */
+	private static final int _MAX_MATCH =
+		258;
+	
+	/** Matches at least this long are not checked for a longer match. */
+	private static final int _MAX_LAZY_LENGTH =
+		32;
+	
+	/** The number of literal and length codes. */
+	private static final int _LITERAL_CODES =
+		286;
+	
+	/** The number of distance codes. */
+	private static final int _DISTANCE_CODES =
+		30;
+	
+	/** The number of code length codes. */
+	private static final int _CODE_LENGTH_CODES =
+		19;
+	
+	/** The end of block code. */
+	private static final int _END_OF_BLOCK =
+		256;
+	
+	/** The maximum length of literal and distance codes. */
+	private static final int _MAX_BITS =
+		15;
+	
+	/** The maximum length of code length codes. */
+	private static final int _MAX_CODE_LENGTH_BITS =
+		7;
+	
+	/** The order code lengths are written in. */
+	private static final int[] _SHUFFLE_BITS =
+		InflaterInputStream._SHUFFLE_BITS;
+	
+	/** The base lengths for each length code. */
+	private static final int[] _LENGTH_BASE =
+		InflaterInputStream._LENGTH_BASE;
+	
+	/** The extra bits for each length code. */
+	private static final int[] _LENGTH_EXTRA =
+		InflaterInputStream._LENGTH_EXTRA;
+	
+	/** The base distances for each distance code. */
+	private static final int[] _DISTANCE_BASE =
+		InflaterInputStream._DISTANCE_BASE;
+	
+	/** The extra bits for each distance code. */
+	private static final int[] _DISTANCE_EXTRA =
+		InflaterInputStream._DISTANCE_EXTRA;
+	
+	/** Length to length code, which is without the base of 257. */
+	private static final byte[] _LENGTH_CODE;
+	
+	/**
+	 * Distance to distance code, the first 256 entries are for distances
+	 * up to 256 while the rest are for every 128 distances.
+	 */
+	private static final byte[] _DISTANCE_CODE;
+	
+	/** Fixed huffman literal code lengths. */
+	private static final int[] _FIXED_LITERAL_LENS;
+	
+	/** Fixed huffman literal codes. */
+	private static final int[] _FIXED_LITERAL_CODES;
+	
+	/** Fixed huffman distance code lengths. */
+	private static final int[] _FIXED_DISTANCE_LENS;
+	
+	/** Fixed huffman distance codes. */
+	private static final int[] _FIXED_DISTANCE_CODES;
+	
 	/** Stream to write compressed data to. */
 	protected final OutputStream out;
 	
 	/** The block size to compress for. */
 	private final int _blocksize;
 	
-	/** The bytes to process first. */
-	private final byte[] _fill;
+	/** The number of hash chain entries to check for matches. */
+	private final int _depth;
+	
+	/** Check the following byte for a longer match? */
+	private final boolean _lazy;
+	
+	/**
+	 * The sliding window, previous data is kept at the start and the
+	 * bytes to be compressed are placed after the end.
+	 */
+	private final byte[] _window =
+		new byte[_WINDOW_SIZE * 2];
+	
+	/** The last position plus one which has the given hash. */
+	private final int[] _head =
+		new int[1 << _HASH_BITS];
+	
+	/** The previous position plus one with the same hash. */
+	private final int[] _prev =
+		new int[_WINDOW_SIZE * 2];
+	
+	/**
+	 * The symbols for the current block, literals are the byte value while
+	 * matches are the distance shifted up by 9 and the length.
+	 */
+	private final int[] _syms;
+	
+	/** Literal and length code frequencies. */
+	private final int[] _litfreq =
+		new int[_LITERAL_CODES];
+	
+	/** Distance code frequencies. */
+	private final int[] _distfreq =
+		new int[_DISTANCE_CODES];
+	
+	/** Dynamic literal and length code lengths. */
+	private final int[] _litlens =
+		new int[_LITERAL_CODES];
+	
+	/** Dynamic literal and length codes. */
+	private final int[] _litcodes =
+		new int[_LITERAL_CODES];
+	
+	/** Dynamic distance code lengths. */
+	private final int[] _distlens =
+		new int[_DISTANCE_CODES];
+	
+	/** Dynamic distance codes. */
+	private final int[] _distcodes =
+		new int[_DISTANCE_CODES];
+	
+	/** The end of the valid data in the window. */
+	private int _wend;
+	
+	/** The next position to be added to the hash chains. */
+	private int _hashed;
 	
 	/** The number of bytes in the fill. */
 	private int _fillbytes;
@@ -54,6 +203,49 @@ public class DeflaterOutputStream
 	/** The number to bits available to the output. */
 	private int _wbits;
 	
+	static
+	{
+		// Map lengths to their codes
+		int[] lengthbase = _LENGTH_BASE;
+		byte[] lengthcode = new byte[_MAX_MATCH + 1];
+		for (int c = 0, n = lengthbase.length; c < n; c++)
+		{
+			int end = (c + 1 < n ? lengthbase[c + 1] : _MAX_MATCH + 1);
+			for (int l = lengthbase[c]; l < end; l++)
+				lengthcode[l] = (byte)c;
+		}
+		
+		_LENGTH_CODE = lengthcode;
+		
+		// Map distances to their codes
+		int[] distbase = _DISTANCE_BASE;
+		byte[] distcode = new byte[512];
+		for (int c = 0, n = distbase.length; c < n; c++)
+		{
+			int end = (c + 1 < n ? distbase[c + 1] : _WINDOW_SIZE + 1);
+			for (int d = distbase[c]; d < end; d++)
+				distcode[__distanceIndex(d)] = (byte)c;
+		}
+		_DISTANCE_CODE = distcode;
+		
+		// Fixed literal and length codes
+		int[] fixedlits = new int[288];
+		for (int i = 0; i < 288; i++)
+			fixedlits[i] = (i < 144 ? 8 : (i < 256 ? 9 : (i < 280 ? 7 : 8)));
+		_FIXED_LITERAL_LENS = fixedlits;
+		_FIXED_LITERAL_CODES = new int[288];
+		DeflaterOutputStream.__huffmanCodes(fixedlits, _FIXED_LITERAL_CODES);
+		
+		// Fixed distance codes
+		int[] fixeddists = new int[_DISTANCE_CODES];
+		for (int i = 0; i < _DISTANCE_CODES; i++)
+			fixeddists[i] = 5;
+		_FIXED_DISTANCE_LENS = fixeddists;
+		_FIXED_DISTANCE_CODES = new int[_DISTANCE_CODES];
+		DeflaterOutputStream.__huffmanCodes(fixeddists,
+			_FIXED_DISTANCE_CODES);
+	}
+	
 	/**
 	 * Initializes the deflation stream.
 	 *
@@ -83,14 +275,18 @@ public class DeflaterOutputStream
 		
 		this.out = __os;
 		
-		// Process data by blocks for efficiency
+		// Process data by blocks for efficiency, since each block has its
+		// own huffman table and is placed after the window it cannot be
+		// larger than the window
 		int blocksize = __cl.blockSize();
-		this._fill = new byte[blocksize];
+		if (blocksize > _WINDOW_SIZE)
+			blocksize = _WINDOW_SIZE;
+		this._syms = new int[blocksize];
 		this._blocksize = blocksize;
 		
-		// Since compression is not actually implemented, say it should
-		// actually be done here!
-		todo.TODO.note("Implement fixed and dynamic huffman!");
+		// How hard to look for matches
+		this._depth = __cl.searchDepth();
+		this._lazy = __cl.lazyMatching();
 	}
 	
 	/**
@@ -206,52 +402,35 @@ public class DeflaterOutputStream
 		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
 			throw new IndexOutOfBoundsException("IOOB");
 		
-		byte[] fill = this._fill;
-		int blocksize = this._blocksize,
-			fillbytes = this._fillbytes;
+		// These original bytes were added
+		this._nuncompressed += __l;
+		
+		// The fill is placed directly after the end of the window
+		byte[] window = this._window;
+		int blocksize = this._blocksize;
 		
 		// Write into the fill buffer, but do fill in chunks since that is
 		// more optimized
-		boolean addedfill = false;
 		while (__l > 0)
 		{
 			// We can only fit so many bytes in the fill before it is full
-			int leftinfill = blocksize - fillbytes;
+			int fillbytes = this._fillbytes,
+				leftinfill = blocksize - fillbytes;
 			if (__l < leftinfill)
 				leftinfill = __l;
 			
 			// Copy bytes into the fill
-			for (int i = 0; i < leftinfill; i++)
-				fill[fillbytes++] = __b[__o++];
-			
-			// Length is dropped by the fill
+			System.arraycopy(__b, __o, window, this._wend + fillbytes,
+				leftinfill);
+			__o += leftinfill;
 			__l -= leftinfill;
+			fillbytes += leftinfill;
+			this._fillbytes = fillbytes;
 			
 			// Process entire block of bytes
 			if (fillbytes == blocksize)
-			{
-				// Need to store the number of bytes written before we
-				// continue
-				this._fillbytes = fillbytes;
 				this.__processFill();
-				
-				// Since the entire fill was drained, this would have been
-				// reset
-				fillbytes = 0;
-			}
-			
-			// Fill would have been added, so need to say that there are
-			// bytes in here currently
-			else
-				addedfill = true;
 		}
-		
-		// These original bytes were added
-		this._nuncompressed += __l;
-		
-		// Bytes were added to the fill, record those
-		if (addedfill)
-			this._fillbytes = fillbytes;
 	}
 	
 	/**
@@ -324,8 +503,9 @@ public class DeflaterOutputStream
 		this._wbits = wbits;
 		
 		// There are too many bits in the output, so send them to the stream
-		// accordingly
-		if (wbits >= 24)
+		// accordingly, this keeps at most 15 bits around so that values of
+		// up to 16 bits can always be added without overflowing
+		if (wbits >= 16)
 			this.__bitFlush();
 	}
 	
@@ -345,7 +525,97 @@ public class DeflaterOutputStream
 		// we just take 2 from 8 and we get 6.
 		int wbits = this._wbits,
 			rem = wbits % __n;
-		this._wbits = wbits + (__n - rem);
+		if (rem != 0)
+			this._wbits = wbits + (__n - rem);
+	}
+	
+	/**
+	 * Adds all of the positions before the given position to the hash
+	 * chains, provided there are enough bytes to calculate the hash.
+	 *
+	 * @param __to The position to stop at.
+	 * @param __end The end of the valid data.
+	 * @since 2019/09/16
+	 */
+	private void __insert(int __to, int __end)
+	{
+		byte[] window = this._window;
+		int[] head = this._head,
+			prev = this._prev;
+		
+		int at = this._hashed;
+		for (; at < __to && at + _MIN_MATCH <= __end; at++)
+		{
+			int h = DeflaterOutputStream.__hash(window, at);
+			
+			prev[at] = head[h];
+			head[h] = at + 1;
+		}
+		
+		this._hashed = at;
+	}
+	
+	/**
+	 * Finds the longest match for the data at the given position.
+	 *
+	 * @param __at The position to match.
+	 * @param __end The end of the valid data.
+	 * @return The match as the distance shifted up by 9 and the length or
+	 * {@code 0} if there is no match.
+	 * @since 2019/09/16
+	 */
+	private int __longestMatch(int __at, int __end)
+	{
+		// Not enough bytes for any match
+		int maxlen = __end - __at;
+		if (maxlen < _MIN_MATCH)
+			return 0;
+		if (maxlen > _MAX_MATCH)
+			maxlen = _MAX_MATCH;
+		
+		byte[] window = this._window;
+		int[] prev = this._prev;
+		
+		// Walk the chain of positions which have the same hash, these go
+		// from the closest to the furthest
+		int best = _MIN_MATCH - 1,
+			bestdist = 0,
+			limit = __at - _WINDOW_SIZE;
+		int c = this._head[DeflaterOutputStream.__hash(window, __at)] - 1;
+		for (int depth = this._depth; c >= 0 && c >= limit && depth > 0;
+			depth--)
+		{
+			// Only check matches which could possibly be longer
+			if (window[c + best] == window[__at + best] &&
+				window[c] == window[__at])
+			{
+				int n = 1;
+				while (n < maxlen && window[c + n] == window[__at + n])
+					n++;
+				
+				// Is longer?
+				if (n > best)
+				{
+					best = n;
+					bestdist = __at - c;
+					
+					// Cannot get any longer than this
+					if (n >= maxlen)
+						break;
+				}
+			}
+			
+			// Chains always point backwards
+			int next = prev[c] - 1;
+			if (next >= c)
+				break;
+			c = next;
+		}
+		
+		// No match found
+		if (bestdist == 0)
+			return 0;
+		return (bestdist << 9) | best;
 	}
 	
 	/**
@@ -358,22 +628,117 @@ public class DeflaterOutputStream
 		throws IOException
 	{
 		// Get fill parameters
-		byte[] fill = this._fill;
-		int fillbytes = this._fillbytes;
+		byte[] window = this._window;
+		int start = this._wend,
+			fillbytes = this._fillbytes,
+			end = start + fillbytes;
+		
+		// Find matches in the window
+		int nsyms = this.__tokenize(start, end);
+		
+		// Generate dynamic codes for the symbols
+		int[] litfreq = this._litfreq,
+			distfreq = this._distfreq,
+			litlens = this._litlens,
+			distlens = this._distlens;
+		DeflaterOutputStream.__huffmanLengths(litfreq, _MAX_BITS, litlens);
+		DeflaterOutputStream.__huffmanLengths(distfreq, _MAX_BITS, distlens);
+		
+		// Determine the number of literal and distance codes to store
+		int hlit = _LITERAL_CODES,
+			hdist = _DISTANCE_CODES;
+		while (hlit > 257 && litlens[hlit - 1] == 0)
+			hlit--;
+		while (hdist > 1 && distlens[hdist - 1] == 0)
+			hdist--;
+		
+		// Run-length encode the code lengths
+		int[] rle = new int[hlit + hdist];
+		int nrle = DeflaterOutputStream.__runLengths(litlens, hlit,
+			distlens, hdist, rle);
+		
+		// Generate the code length codes
+		int[] clfreq = new int[_CODE_LENGTH_CODES],
+			cllens = new int[_CODE_LENGTH_CODES];
+		for (int i = 0; i < nrle; i++)
+			clfreq[rle[i] & 0xFF]++;
+		DeflaterOutputStream.__huffmanLengths(clfreq, _MAX_CODE_LENGTH_BITS,
+			cllens);
 		
-		// Determine the best way to handle this block
-		int hufftype = 0;
+		// The number of code length codes to store, in the shuffled order
+		int[] shuffle = _SHUFFLE_BITS;
+		int hclen = _CODE_LENGTH_CODES;
+		while (hclen > 4 && cllens[shuffle[hclen - 1]] == 0)
+			hclen--;
+		
+		// Count the number of bits each block type would use, the header
+		// is the same for each block
+		long storedbits = ((8 - ((this._wbits + 3) & 7)) & 7) + 32 +
+				(fillbytes * 8L),
+			fixedbits = DeflaterOutputStream.__symbolBits(litfreq, distfreq,
+				_FIXED_LITERAL_LENS, _FIXED_DISTANCE_LENS),
+			dynamicbits = 14 + (hclen * 3) + DeflaterOutputStream.__symbolBits(
+				litfreq, distfreq, litlens, distlens);
+		for (int i = 0; i < _CODE_LENGTH_CODES; i++)
+			dynamicbits += clfreq[i] * (long)cllens[i];
+		dynamicbits += (clfreq[16] * 2L) + (clfreq[17] * 3L) +
+			(clfreq[18] * 7L);
 		
 		// Compress with fixed table
-		if (hufftype == 1)
+		if (fixedbits <= dynamicbits && fixedbits < storedbits)
 		{
-			throw new todo.TODO();
+			this.__bitOut(0, 1, false);
+			this.__bitOut(InflaterInputStream._TYPE_FIXED_HUFFMAN, 2, false);
+			
+			// Write all the symbols
+			this.__writeSymbols(nsyms, _FIXED_LITERAL_LENS,
+				_FIXED_LITERAL_CODES, _FIXED_DISTANCE_LENS,
+				_FIXED_DISTANCE_CODES);
 		}
 		
 		// Compress with dynamically generated table
-		else if (hufftype == 2)
+		else if (dynamicbits < storedbits)
 		{
-			throw new todo.TODO();
+			this.__bitOut(0, 1, false);
+			this.__bitOut(InflaterInputStream._TYPE_DYNAMIC_HUFFMAN, 2,
+				false);
+			
+			// Table sizes
+			this.__bitOut(hlit - 257, 5, false);
+			this.__bitOut(hdist - 1, 5, false);
+			this.__bitOut(hclen - 4, 4, false);
+			
+			// Code length code lengths
+			for (int i = 0; i < hclen; i++)
+				this.__bitOut(cllens[shuffle[i]], 3, false);
+			
+			// Literal and distance code lengths
+			int[] clcodes = new int[_CODE_LENGTH_CODES];
+			DeflaterOutputStream.__huffmanCodes(cllens, clcodes);
+			for (int i = 0; i < nrle; i++)
+			{
+				int v = rle[i],
+					code = v & 0xFF,
+					extra = v >>> 8;
+				
+				this.__bitOut(clcodes[code], cllens[code], true);
+				
+				// Repeat counts
+				if (code == 16)
+					this.__bitOut(extra, 2, false);
+				else if (code == 17)
+					this.__bitOut(extra, 3, false);
+				else if (code == 18)
+					this.__bitOut(extra, 7, false);
+			}
+			
+			// Write all the symbols
+			int[] litcodes = this._litcodes,
+				distcodes = this._distcodes;
+			DeflaterOutputStream.__huffmanCodes(litlens, litcodes);
+			DeflaterOutputStream.__huffmanCodes(distlens, distcodes);
+			this.__writeSymbols(nsyms, litlens, litcodes, distlens,
+				distcodes);
 		}
 		
 		// No compression used
@@ -392,12 +757,437 @@ public class DeflaterOutputStream
 			this.__bitOut(fillbytes ^ 0xFFFF, 16, false);
 			
 			// Then write every individual byte
-			for (int i = 0; i < fillbytes; i++)
-				this.__bitOut(fill[i], 8, false);
+			for (int i = start; i < end; i++)
+				this.__bitOut(window[i], 8, false);
 		}
 		
-		// Remove the fill
+		// Remove the fill, it is now part of the window
 		this._fillbytes = 0;
+		this._wend = end;
+		
+		// There is no room for another block, so slide the window down
+		// keeping only the bytes which may still be matched against
+		if (end + this._blocksize > window.length)
+			this.__slide();
+	}
+	
+	/**
+	 * Slides the window down so that only the last window size number of
+	 * bytes remain.
+	 *
+	 * @since 2019/09/16
+	 */
+	private void __slide()
+	{
+		byte[] window = this._window;
+		int[] head = this._head,
+			prev = this._prev;
+		int end = this._wend,
+			shift = end - _WINDOW_SIZE;
+		
+		// Move the window and chains down
+		System.arraycopy(window, shift, window, 0, _WINDOW_SIZE);
+		System.arraycopy(prev, shift, prev, 0, _WINDOW_SIZE);
+		
+		// Positions which have been slid out of the window are lost
+		for (int i = 0, n = head.length; i < n; i++)
+		{
+			int v = head[i] - shift;
+			head[i] = (v > 0 ? v : 0);
+		}
+		for (int i = 0; i < _WINDOW_SIZE; i++)
+		{
+			int v = prev[i] - shift;
+			prev[i] = (v > 0 ? v : 0);
+		}
+		
+		this._wend = end - shift;
+		this._hashed -= shift;
+	}
+	
+	/**
+	 * Splits the fill into literals and matches which are then placed into
+	 * the symbol table, the frequencies of each symbol are also counted.
+	 *
+	 * @param __start The start of the fill.
+	 * @param __end The end of the fill.
+	 * @return The number of symbols.
+	 * @since 2019/09/16
+	 */
+	private int __tokenize(int __start, int __end)
+	{
+		byte[] window = this._window;
+		int[] syms = this._syms,
+			litfreq = this._litfreq,
+			distfreq = this._distfreq;
+		boolean lazy = this._lazy;
+		
+		// Clear frequencies from the last block, the end of block is always
+		// used
+		for (int i = 0; i < _LITERAL_CODES; i++)
+			litfreq[i] = 0;
+		for (int i = 0; i < _DISTANCE_CODES; i++)
+			distfreq[i] = 0;
+		litfreq[_END_OF_BLOCK] = 1;
+		
+		int nsyms = 0;
+		for (int at = __start; at < __end;)
+		{
+			// Find a match here
+			this.__insert(at, __end);
+			int match = this.__longestMatch(at, __end);
+			
+			// If there is a longer match at the next position then it is
+			// better to use a literal here instead
+			if (lazy)
+				while (match != 0 && (match & 0x1FF) < _MAX_LAZY_LENGTH)
+				{
+					this.__insert(at + 1, __end);
+					int next = this.__longestMatch(at + 1, __end);
+					if ((next & 0x1FF) <= (match & 0x1FF))
+						break;
+					
+					// Use a literal and check the next match
+					int b = window[at++] & 0xFF;
+					syms[nsyms++] = b;
+					litfreq[b]++;
+					match = next;
+				}
+			
+			// Literal byte
+			if (match == 0)
+			{
+				int b = window[at++] & 0xFF;
+				syms[nsyms++] = b;
+				litfreq[b]++;
+			}
+			
+			// Match
+			else
+			{
+				int len = match & 0x1FF;
+				syms[nsyms++] = match;
+				litfreq[257 + _LENGTH_CODE[len]]++;
+				distfreq[_DISTANCE_CODE[
+					DeflaterOutputStream.__distanceIndex(match >>> 9)]]++;
+				at += len;
+			}
+		}
+		
+		// Add any remaining hashes that are possible
+		this.__insert(__end, __end);
+		
+		return nsyms;
+	}
+	
+	/**
+	 * Writes the given symbols to the output.
+	 *
+	 * @param __n The number of symbols to write.
+	 * @param __litlens The literal code lengths.
+	 * @param __litcodes The literal codes.
+	 * @param __distlens The distance code lengths.
+	 * @param __distcodes The distance codes.
+	 * @throws IOException On write errors.
+	 * @since 2019/09/16
+	 */
+	private void __writeSymbols(int __n, int[] __litlens, int[] __litcodes,
+		int[] __distlens, int[] __distcodes)
+		throws IOException
+	{
+		int[] syms = this._syms;
+		for (int i = 0; i < __n; i++)
+		{
+			int sym = syms[i];
+			
+			// Literal byte
+			if (sym < 256)
+			{
+				this.__bitOut(__litcodes[sym], __litlens[sym], true);
+				continue;
+			}
+			
+			// Length
+			int len = sym & 0x1FF,
+				lc = _LENGTH_CODE[len];
+			this.__bitOut(__litcodes[257 + lc], __litlens[257 + lc], true);
+			if (_LENGTH_EXTRA[lc] > 0)
+				this.__bitOut(len - _LENGTH_BASE[lc], _LENGTH_EXTRA[lc],
+					false);
+			
+			// Distance
+			int dist = sym >>> 9,
+				dc = _DISTANCE_CODE[DeflaterOutputStream.__distanceIndex(dist)];
+			this.__bitOut(__distcodes[dc], __distlens[dc], true);
+			if (_DISTANCE_EXTRA[dc] > 0)
+				this.__bitOut(dist - _DISTANCE_BASE[dc], _DISTANCE_EXTRA[dc],
+					false);
+		}
+		
+		// End of block
+		this.__bitOut(__litcodes[_END_OF_BLOCK], __litlens[_END_OF_BLOCK],
+			true);
+	}
+	
+	/**
+	 * Returns the index into the distance code table for the given distance.
+	 *
+	 * @param __d The distance.
+	 * @return The index into the distance code table.
+	 * @since 2019/09/16
+	 */
+	private static int __distanceIndex(int __d)
+	{
+		int d = __d - 1;
+		return (d < 256 ? d : 256 + (d >>> 7));
+	}
+	
+	/**
+	 * Returns the hash for the bytes at the given position.
+	 *
+	 * @param __w The window.
+	 * @param __at The position to hash.
+	 * @return The hash.
+	 * @since 2019/09/16
+	 */
+	private static int __hash(byte[] __w, int __at)
+	{
+		return (((__w[__at] & 0xFF) << 10) ^ ((__w[__at + 1] & 0xFF) << 5) ^
+			(__w[__at + 2] & 0xFF)) & _HASH_MASK;
+	}
+	
+	/**
+	 * Calculates the canonical huffman codes for the given code lengths.
+	 *
+	 * @param __lens The code lengths.
+	 * @param __codes The output codes.
+	 * @since 2019/09/16
+	 */
+	private static void __huffmanCodes(int[] __lens, int[] __codes)
+	{
+		// Count the number of codes for each length
+		int n = __lens.length;
+		int[] count = new int[_MAX_BITS + 1];
+		for (int i = 0; i < n; i++)
+			count[__lens[i]]++;
+		count[0] = 0;
+		
+		// Find the first code for each length
+		int[] next = new int[_MAX_BITS + 1];
+		for (int bits = 1, code = 0; bits <= _MAX_BITS; bits++)
+		{
+			code = (code + count[bits - 1]) << 1;
+			next[bits] = code;
+		}
+		
+		// Assign codes in order
+		for (int i = 0; i < n; i++)
+		{
+			int len = __lens[i];
+			__codes[i] = (len != 0 ? next[len]++ : 0);
+		}
+	}
+	
+	/**
+	 * Calculates huffman code lengths for the given symbol frequencies.
+	 *
+	 * @param __freq The symbol frequencies.
+	 * @param __max The maximum code length.
+	 * @param __lens The output code lengths.
+	 * @since 2019/09/16
+	 */
+	private static void __huffmanLengths(int[] __freq, int __max,
+		int[] __lens)
+	{
+		int n = __freq.length;
+		int[] freq = new int[n];
+		System.arraycopy(__freq, 0, freq, 0, n);
+		
+		// There must always be at least two codes otherwise there will be
+		// no tree
+		int used = 0;
+		for (int i = 0; i < n; i++)
+			if (freq[i] != 0)
+				used++;
+		for (int i = 0; used < 2; i++)
+			if (freq[i] == 0)
+			{
+				freq[i] = 1;
+				used++;
+			}
+		
+		// Nodes, the leaves come first
+		int[] syms = new int[used],
+			weight = new int[(used * 2) - 1],
+			parent = new int[(used * 2) - 1];
+		for (;;)
+		{
+			// Sort the leaves by their frequency
+			for (int i = 0, at = 0; i < n; i++)
+			{
+				int f = freq[i];
+				if (f == 0)
+					continue;
+				
+				int j = at++;
+				for (; j > 0 && weight[j - 1] > f; j--)
+				{
+					weight[j] = weight[j - 1];
+					syms[j] = syms[j - 1];
+				}
+				weight[j] = f;
+				syms[j] = i;
+			}
+			
+			// Combine the two lowest nodes, since combined nodes are always
+			// created in increasing order only the first of the leaves and
+			// the combined nodes need to be checked
+			int leaf = 0,
+				comb = used,
+				next = used,
+				total = (used * 2) - 1;
+			for (; next < total; next++)
+				for (int k = 0; k < 2; k++)
+				{
+					int pick;
+					if (leaf < used && (comb >= next ||
+						weight[leaf] <= weight[comb]))
+						pick = leaf++;
+					else
+						pick = comb++;
+					
+					weight[next] = (k == 0 ? 0 : weight[next]) + weight[pick];
+					parent[pick] = next;
+				}
+			
+			// The depth of each node is one more than its parent, reuse the
+			// weight since it is no longer needed
+			int maxdepth = 0;
+			weight[total - 1] = 0;
+			for (int i = total - 2; i >= 0; i--)
+			{
+				int d = weight[parent[i]] + 1;
+				weight[i] = d;
+				
+				if (d > maxdepth)
+					maxdepth = d;
+			}
+			
+			// Use the lengths if they are short enough
+			if (maxdepth <= __max)
+			{
+				for (int i = 0; i < n; i++)
+					__lens[i] = 0;
+				for (int i = 0; i < used; i++)
+					__lens[syms[i]] = weight[i];
+				return;
+			}
+			
+			// Otherwise flatten the frequencies and try again, this will
+			// eventually result in a balanced tree
+			for (int i = 0; i < n; i++)
+				if (freq[i] != 0)
+					freq[i] = (freq[i] + 1) >>> 1;
+		}
+	}
+	
+	/**
+	 * Run-length encodes the literal and distance code lengths.
+	 *
+	 * @param __litlens The literal code lengths.
+	 * @param __hlit The number of literal codes.
+	 * @param __distlens The distance code lengths.
+	 * @param __hdist The number of distance codes.
+	 * @param __rle The output codes, the repeat count is shifted up by 8.
+	 * @return The number of output codes.
+	 * @since 2019/09/16
+	 */
+	private static int __runLengths(int[] __litlens, int __hlit,
+		int[] __distlens, int __hdist, int[] __rle)
+	{
+		// Both sets of lengths are treated as a single sequence
+		int total = __hlit + __hdist;
+		int[] lens = new int[total];
+		System.arraycopy(__litlens, 0, lens, 0, __hlit);
+		System.arraycopy(__distlens, 0, lens, __hlit, __hdist);
+		
+		int nrle = 0;
+		for (int i = 0; i < total;)
+		{
+			// Count how many times this length repeats
+			int len = lens[i],
+				run = 1;
+			while (i + run < total && lens[i + run] == len)
+				run++;
+			i += run;
+			
+			// Zero lengths have their own repeat codes
+			if (len == 0)
+			{
+				while (run >= 11)
+				{
+					int r = (run > 138 ? 138 : run);
+					__rle[nrle++] = 18 | ((r - 11) << 8);
+					run -= r;
+				}
+				
+				if (run >= 3)
+				{
+					__rle[nrle++] = 17 | ((run - 3) << 8);
+					run = 0;
+				}
+			}
+			
+			// Otherwise the previous length is repeated
+			else
+			{
+				__rle[nrle++] = len;
+				run--;
+				
+				while (run >= 3)
+				{
+					int r = (run > 6 ? 6 : run);
+					__rle[nrle++] = 16 | ((r - 3) << 8);
+					run -= r;
+				}
+			}
+			
+			// Any left over are just single lengths
+			for (; run > 0; run--)
+				__rle[nrle++] = len;
+		}
+		
+		return nrle;
+	}
+	
+	/**
+	 * Calculates the number of bits needed to write the given symbol
+	 * frequencies, including any extra bits.
+	 *
+	 * @param __litfreq The literal frequencies.
+	 * @param __distfreq The distance frequencies.
+	 * @param __litlens The literal code lengths.
+	 * @param __distlens The distance code lengths.
+	 * @return The number of bits used to store the symbols.
+	 * @since 2019/09/16
+	 */
+	private static long __symbolBits(int[] __litfreq, int[] __distfreq,
+		int[] __litlens, int[] __distlens)
+	{
+		long rv = 0;
+		
+		// Literals and lengths
+		for (int i = 0; i < _LITERAL_CODES; i++)
+		{
+			rv += __litfreq[i] * (long)__litlens[i];
+			if (i > 256)
+				rv += __litfreq[i] * (long)_LENGTH_EXTRA[i - 257];
+		}
+		
+		// Distances
+		for (int i = 0; i < _DISTANCE_CODES; i++)
+			rv += __distfreq[i] * (long)(__distlens[i] + _DISTANCE_EXTRA[i]);
+		
+		return rv;
 	}
 }
-
@@ -12,13 +12,15 @@ package net.multiphasicapps.io;
 
 import java.io.InputStream;
 import java.io.IOException;
-import java.lang.ref.Reference;
-import java.lang.ref.WeakReference;
-import java.util.NoSuchElementException;
 
 /**
  * This is used to decompress standard deflate compressed stream.
  *
+ * Huffman codes are decoded using lookup tables rather than walking a tree
+ * one bit at a time. Input bytes are only read when they are needed for
+ * the current code so that no bytes past the end of the compressed data are
+ * ever read, which allows other data to follow in the input stream.
+ *
  * Associated standards:
  * {@link https://www.ietf.org/rfc/rfc1951.txt}.
  *
@@ -49,17 +51,62 @@ public class InflaterInputStream
 	static final int _TYPE_ERROR =
 		0b11;
 	
-	/** The maximum number of bits in the code length tree. */
-	private static final int _MAX_BITS =
-		15;
+	/** The number of primary bits for the literal table. */
+	private static final int _LITERAL_BITS =
+		9;
+	
+	/** The number of primary bits for the distance table. */
+	private static final int _DISTANCE_BITS =
+		6;
+	
+	/** The number of primary bits for the code length table. */
+	private static final int _CODE_LENGTH_BITS =
+		7;
+	
+	/** The size of the buffer used for literals and window copies. */
+	private static final int _BUFFER_SIZE =
+		1024;
 	
 	/** Shuffled bit values when reading values. */
-	private static final int[] _SHUFFLE_BITS =
+	static final int[] _SHUFFLE_BITS =
 		new int[]
 		{
 			16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15
 		};
 	
+	/** The base lengths for each length code. */
+	static final int[] _LENGTH_BASE =
+		new int[]
+		{
+			3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43,
+			51, 59, 67, 83, 99, 115, 131, 163, 195, 227, 258
+		};
+	
+	/** The extra bits for each length code. */
+	static final int[] _LENGTH_EXTRA =
+		new int[]
+		{
+			0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4,
+			4, 4, 5, 5, 5, 5, 0
+		};
+	
+	/** The base distances for each distance code. */
+	static final int[] _DISTANCE_BASE =
+		new int[]
+		{
+			1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257,
+			385, 513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289,
+			16385, 24577
+		};
+	
+	/** The extra bits for each distance code. */
+	static final int[] _DISTANCE_EXTRA =
+		new int[]
+		{
+			0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9,
+			10, 10, 11, 11, 12, 12, 13, 13
+		};
+	
 	/** The deflated compressed stream to be decompressed. */
 	protected final InputStream in;
 	
@@ -81,9 +128,9 @@ public class InflaterInputStream
 	private final byte[] _readin =
 		new byte[4];
 	
-	/** The bit source for reading. */
-	private final BitSource _bitsource =
-		new __BitSource__();
+	/** Buffer for literals and bytes copied from the window. */
+	private final byte[] _buf =
+		new byte[_BUFFER_SIZE];
 	
 	/**
 	 * Raw code lengths (allocated once), the size is the max code length
@@ -99,13 +146,17 @@ public class InflaterInputStream
 	private final int[] _rawlitdistlens =
 		new int[322];
 	
-	/** Used to store bit length counts. */
-	private final int[] _blcount =
-		new int[_MAX_BITS + 1];
+	/** The code length table. */
+	private final __HuffmanTable__ _codelentable =
+		new __HuffmanTable__(_CODE_LENGTH_BITS);
+	
+	/** The literal table. */
+	private final __HuffmanTable__ _literaltable =
+		new __HuffmanTable__(_LITERAL_BITS);
 	
-	/** Used to store the next code. */
-	private final int[] _nextcode =
-		new int[_MAX_BITS + 1];
+	/** The distance table. */
+	private final __HuffmanTable__ _distancetable =
+		new __HuffmanTable__(_DISTANCE_BITS);
 	
 	/** The number of compressed bytes. */
 	private long _compressedsize;
@@ -113,17 +164,11 @@ public class InflaterInputStream
 	/** The number of uncompressed bytes. */
 	private long _uncompressedsize;
 	
-	/** The code length tree. */
-	private Reference<HuffmanTreeInt> _codelentree;
-	
-	/** The literal tree. */
-	private Reference<HuffmanTreeInt> _literaltree;
-	
-	/** The distance tree. */
-	private Reference<HuffmanTreeInt> _distancetree;
+	/** The fixed literal table, initialized when first used. */
+	private __HuffmanTable__ _fixedliteral;
 	
-	/** Window reader. */
-	private Reference<byte[]> _readwindow;
+	/** The fixed distance table, initialized when first used. */
+	private __HuffmanTable__ _fixeddistance;
 	
 	/**
 	 * The miniature read window, it stores a 32-bit value and is given input
@@ -136,12 +181,6 @@ public class InflaterInputStream
 	/** Represents the number of bits in the mini window. */
 	private int _minisize;
 	
-	/** The output write window, this is used to shift out writes as needed. */
-	private int _writewindow;
-	
-	/** The number of bits in the write window. */
-	private int _writesize;
-	
 	/** EOF has been reached? */
 	private boolean _eof;
 	
@@ -337,7 +376,7 @@ public class InflaterInputStream
 		{
 			// Store write information
 			this._targ = __b;
-		
+			
 			// Try to fit as many bytes as possible into the output
 			while (c < __l)
 			{
@@ -346,14 +385,14 @@ public class InflaterInputStream
 				this._targoff = (base = __o + c);
 				this._targend = base + (__l - c);
 				int rv = __decompress();
-			
+				
 				// Ended?
 				if (rv < 0)
 				{
 					this._eof = true;
 					break;
 				}
-			
+				
 				// Otherwise add those bytes
 				c += rv;
 			}
@@ -403,27 +442,27 @@ public class InflaterInputStream
 		int enteroff = this._targoff;
 		
 		// Read the final bit which determines if this is the last block
-		int finalhit = __readBits(1, false);
+		int finalhit = this.__readBits(1, false);
 		
 		// Read the window type
-		int type = __readBits(2, false);
+		int type = this.__readBits(2, false);
 		switch (type)
 		{
 				// None
 			case _TYPE_NO_COMPRESSION:
-				__decompressNone();
+				this.__decompressNone();
 				break;
 				
 				// Fixed huffman
 			case _TYPE_FIXED_HUFFMAN:
-				__decompressFixed();
+				this.__decompressFixed();
 				break;
 				
 				// Dynamic huffman
 			case _TYPE_DYNAMIC_HUFFMAN:
-				__decompressDynamic();
+				this.__decompressDynamic();
 				break;
-			
+				
 				// Error or unknown
 			case _TYPE_ERROR:
 			default:
@@ -456,59 +495,32 @@ public class InflaterInputStream
 		throws IOException
 	{
 		// Read the code length parameters
-		int dhlit = __readBits(5, false) + 257;
-		int dhdist = __readBits(5, false) + 1;
-		int dhclen = __readBits(4, false) + 4;
+		int dhlit = this.__readBits(5, false) + 257;
+		int dhdist = this.__readBits(5, false) + 1;
+		int dhclen = this.__readBits(4, false) + 4;
 		
-		// Read the code length tree
-		HuffmanTreeInt codelentree = __decompressDynamicLoadLenTree(dhclen);
+		// Read the code length table
+		__HuffmanTable__ codelentable =
+			this.__decompressDynamicLoadLenTree(dhclen);
 		
-		// Read the literal and distance trees
-		HuffmanTreeInt literaltree = __obtainLiteralTree(),
-			distancetree = __obtainDistanceTree();
-		__decompressDynamicLoadLitDistTree(codelentree, dhlit, dhdist,
-			literaltree, distancetree);
+		// Read the literal and distance tables
+		this.__decompressDynamicLoadLitDistTree(codelentable, dhlit, dhdist);
 		
 		// Decode input
-		for (;;)
-		{
-			// Read code
-			int code = literaltree.getValue(this._bitsource);
-			
-			// Literal byte value
-			if (code >= 0 && code <= 255)
-				__write(code, 8, false);
-		
-			// Stop processing
-			else if (code == 256)
-				return;
-		
-			// Window based result
-			else if (code >= 257 && code <= 285)
-				__decompressWindow(__handleLength(code),
-					distancetree.getValue(this._bitsource));
-			
-			// {@squirreljme.error BD18 Illegal dynamic huffman code. (The
-			// code.)}
-			else
-				throw new IOException(String.format("BD18 %d", code));
-		}
+		this.__decompressHuffman(this._literaltable, this._distancetable);
 	}
 	
 	/**
-	 * Reads the literal and distance trees.
+	 * Reads the literal and distance tables.
 	 *
-	 * @param __cltree The code length tree.
+	 * @param __cltable The code length table.
 	 * @param __dhlit The literal count.
 	 * @param __dhdist The distance count.
-	 * @param __ltree The literal tree.
-	 * @param __dtree The distance tree.
 	 * @throws IOException On read errors.
 	 * @since 2017/02/25
 	 */
-	private void __decompressDynamicLoadLitDistTree(HuffmanTreeInt __cltree,
-		int __dhlit, int __dhdist, HuffmanTreeInt __ltree,
-		HuffmanTreeInt __dtree)
+	private void __decompressDynamicLoadLitDistTree(__HuffmanTable__ __cltable,
+		int __dhlit, int __dhdist)
 		throws IOException
 	{
 		// Determine the maximum bit count that is used when reading values
@@ -520,38 +532,25 @@ public class InflaterInputStream
 			rawlitdistlens[i] = 0;
 		
 		// Read every code
-		try
-		{
-			for (int next = 0; next < total;)
-				next += __readCodeBits(__cltree, rawlitdistlens, next);
-		}
-
-		// {@squirreljme.error BD19 The compressed stream is
-		// damaged by being too short or having an illegal tree
-		// access.}				
-		catch (NoSuchElementException e)
-		{
-			throw new IOException("BD19", e);
-		}
+		for (int next = 0; next < total;)
+			next += this.__readCodeBits(__cltable, rawlitdistlens, next);
 		
-		// Initialize both trees
-		__thunkCodeLengthTree(__ltree, rawlitdistlens, 0, __dhlit);
-		__thunkCodeLengthTree(__dtree, rawlitdistlens, __dhlit, __dhdist);
+		// Initialize both tables
+		this._literaltable.build(rawlitdistlens, 0, __dhlit);
+		this._distancetable.build(rawlitdistlens, __dhlit, __dhdist);
 	}
 	
 	/**
-	 * Reads the code length tree.
+	 * Reads the code length table.
 	 *
 	 * @param __dhclen The code length size.
+	 * @return The code length table.
 	 * @throws IOException On read errors.
 	 * @since 2017/02/25
 	 */
-	private HuffmanTreeInt __decompressDynamicLoadLenTree(int __dhclen)
+	private __HuffmanTable__ __decompressDynamicLoadLenTree(int __dhclen)
 		throws IOException
 	{
-		// Target tree
-		HuffmanTreeInt codelentree = __obtainCodeLenTree();
-		
 		// {@squirreljme.error BD1a There may only be at most 19 used
 		// code lengths. (The number of code lengths)}
 		if (__dhclen > 19)
@@ -568,11 +567,10 @@ public class InflaterInputStream
 		// shuffled since some sequences are more common than others
 		int[] hsbits = _SHUFFLE_BITS;
 		for (int next = 0; next < __dhclen; next++)
-			rawcodelens[hsbits[next]] = __readBits(3, false);
+			rawcodelens[hsbits[next]] = this.__readBits(3, false);
 		
-		// Thunk the tree and return it
-		return __thunkCodeLengthTree(codelentree, rawcodelens, 0,
-			rawcodelens.length);
+		// Build the table and return it
+		return this._codelentable.build(rawcodelens, 0, rawcodelens.length);
 	}
 	
 	/**
@@ -585,28 +583,115 @@ public class InflaterInputStream
 	private void __decompressFixed()
 		throws IOException
 	{
-		// Read until the sequence has ended
+		// The fixed tables are only built when they are used
+		__HuffmanTable__ literal = this._fixedliteral,
+			distance = this._fixeddistance;
+		if (literal == null)
+		{
+			// Literals and lengths
+			int[] lens = new int[288];
+			for (int i = 0; i < 288; i++)
+				lens[i] = (i < 144 ? 8 : (i < 256 ? 9 : (i < 280 ? 7 : 8)));
+			this._fixedliteral = (literal = new __HuffmanTable__(
+				_LITERAL_BITS).build(lens, 0, 288));
+			
+			// Distances
+			for (int i = 0; i < 32; i++)
+				lens[i] = 5;
+			this._fixeddistance = (distance = new __HuffmanTable__(
+				_DISTANCE_BITS).build(lens, 0, 32));
+		}
+		
+		// Decode input
+		this.__decompressHuffman(literal, distance);
+	}
+	
+	/**
+	 * Decodes huffman compressed data until the end of the block.
+	 *
+	 * @param __lit The literal and length table.
+	 * @param __dist The distance table.
+	 * @throws IOException On read or decompression errors.
+	 * @since 2019/09/16
+	 */
+	private void __decompressHuffman(__HuffmanTable__ __lit,
+		__HuffmanTable__ __dist)
+		throws IOException
+	{
+		SlidingByteWindow window = this.window;
+		int[] lengthbase = _LENGTH_BASE,
+			lengthextra = _LENGTH_EXTRA,
+			distbase = _DISTANCE_BASE,
+			distextra = _DISTANCE_EXTRA;
+		
+		// Literals are collected into the buffer and are then output in bulk
+		byte[] buf = this._buf;
+		int n = 0;
 		for (;;)
 		{
 			// Read code
-			int code = __readFixedHuffman();
-				
+			int code = this.__readSymbol(__lit);
+			
 			// Literal byte value
-			if (code >= 0 && code <= 255)
-				__write(code, 8, false);
-		
+			if (code < 256)
+			{
+				buf[n++] = (byte)code;
+				if (n == _BUFFER_SIZE)
+				{
+					this.__emit(buf, n);
+					n = 0;
+				}
+				
+				continue;
+			}
+			
+			// Output any literals before the window is used
+			if (n > 0)
+			{
+				this.__emit(buf, n);
+				n = 0;
+			}
+			
 			// Stop processing
-			else if (code == 256)
+			if (code == 256)
 				return;
-		
-			// Window based result
-			else if (code >= 257 && code <= 285)
-				__decompressWindow(__handleLength(code), Integer.MIN_VALUE);
-		
-			// {@squirreljme.error BD1b Illegal fixed huffman code. (The
-			// code.)}
-			else
-				throw new IOException(String.format("BD1b %d", code));
+			
+			// {@squirreljme.error BD1f Illegal length code. (The length code)}
+			if (code > 285)
+				throw new IOException(String.format("BD1f %d", code));
+			
+			// Read length
+			code -= 257;
+			int len = lengthbase[code] +
+				this.__readBits(lengthextra[code], false);
+			
+			// {@squirreljme.error BD1e Illegal distance code. (The distance
+			// code)}
+			code = this.__readSymbol(__dist);
+			if (code > 29)
+				throw new IOException(String.format("BD1e %d", code));
+			
+			// Read distance
+			int dist = distbase[code] +
+				this.__readBits(distextra[code], false);
+			
+			// Copy from the window
+			try
+			{
+				window.repeat(dist, buf, 0, len);
+			}
+			
+			// Bad window read
+			catch (IndexOutOfBoundsException ioobe)
+			{
+				// {@squirreljme.error BD1d Window access out of range.
+				// (The distance; The length)}
+				throw new IOException(String.format(
+					"BD1d %d %d", dist, len), ioobe);
+			}
+			
+			// Then output it
+			this.__output(buf, 0, len);
 		}
 	}
 	
@@ -623,11 +708,11 @@ public class InflaterInputStream
 		// aligned to byte boundaries
 		int minisub = this._minisize & 7;
 		if (minisub > 0)
-			__readBits(minisub, false);
+			this.__readBits(minisub, false);
 		
 		// Read length and the one's complement of it
-		int len = __readBits(16, false);
-		int com = __readBits(16, false);
+		int len = this.__readBits(16, false);
+		int com = this.__readBits(16, false);
 		
 		// The complemented length must be equal to the complement
 		// {@squirreljme.error BD1c Value mismatch reading the number of
@@ -638,224 +723,120 @@ public class InflaterInputStream
 				len, com, len ^ 0xFFFF, com ^ 0xFFFF));
 		
 		// Read all bytes
-		for (int i = 0; i < len; i++)
-			__write(__readBits(8, false), 8, false);
+		InputStream in = this.in;
+		byte[] buf = this._buf;
+		for (int left = len; left > 0;)
+		{
+			// Bytes which are in the bit window come first
+			int n = 0;
+			while (this._minisize >= 8 && n < left)
+				buf[n++] = (byte)this.__readBits(8, false);
+			
+			// Otherwise read directly from the input
+			if (n == 0)
+			{
+				n = in.read(buf, 0, (left < _BUFFER_SIZE ? left :
+					_BUFFER_SIZE));
+				
+				// {@squirreljme.error BD3u Reached EOF while reading
+				// uncompressed data. (The number of bytes remaining)}
+				if (n < 0)
+					throw new IOException("BD3u " + left);
+				
+				this._compressedsize += n;
+			}
+			
+			// Output them
+			this.__emit(buf, n);
+			left -= n;
+		}
 	}
 	
 	/**
-	 * Handles decompressing window data.
+	 * Adds the given bytes to the window and outputs them.
 	 *
-	 * @param __len The length to read, must be prehandled.
-	 * @param __dist The distance to read.
-	 * @throws IOException On read errors.
-	 * @since 2017/02/25
+	 * @param __b The bytes to output.
+	 * @param __l The number of bytes to output.
+	 * @since 2019/09/16
 	 */
-	private void __decompressWindow(int __len, int __dist)
-		throws IOException
+	private void __emit(byte[] __b, int __l)
 	{
-		// Handle distance
-		__dist = __handleDistance(__dist);
-	
-		// Get the maximum valid length, so for example if the length
-		// is 5 and the distance is two, then only read two bytes.
-		int maxlen;
-		if (__dist < __len)
-			maxlen = __dist;
-		else
-			maxlen = __len;
-		
-		// Create a byte array from the sliding window data
-		byte[] winb = new byte[maxlen];
-		try
-		{
-			this.window.get(__dist, winb, 0, maxlen);
-		}
-	
-		// Bad window read
-		catch (IndexOutOfBoundsException ioobe)
-		{
-			// {@squirreljme.error BD1d Window access out of range.
-			// (The distance; The length)}
-			throw new IOException(String.format(
-				"BD1d %d %d", __dist, __len), ioobe);
-		}
-	
-		// Add those bytes to the output, handle wrapping around if the
-		// length is greater than the current position
-		for (int i = 0, v = 0; i < __len; i++)
-		{
-			// Write byte
-			__write(winb[v], 8, false);
-		
-			// Wrap around
-			if ((++v) >= maxlen)
-				v = 0;
-		}
+		this.window.append(__b, 0, __l);
+		this.__output(__b, 0, __l);
 	}
 	
 	/**
-	 * Handles fixed huffman distance.
+	 * Makes sure that at least the given number of bits are in the mini
+	 * window, only as many bytes as needed are read.
 	 *
-	 * @param __code The input code.
-	 * @return The ditsance read.
+	 * @param __n The number of bits needed.
 	 * @throws IOException On read errors.
-	 * @since 2017/02/25
+	 * @since 2019/09/16
 	 */
-	private int __handleDistance(int __code)
+	private void __need(int __n)
 		throws IOException
 	{
-		// Read distance
-		if (__code == Integer.MIN_VALUE)
-			__code = __readBits(5, true);
-		
-		// {@squirreljme.error BD1e Illegal fixed distance code. (The distance
-		// code)}
-		if (__code > 29)
-			throw new IOException(String.format("BD1e %d", __code));
+		// Get the mini window information
+		int miniwindow = this._miniwindow,
+			minisize = this._minisize;
 		
-		// Calculate the required distance to use
-		int rv = 1;
-		for (int i = 0; i < __code; i++)
+		// Not enough bits to read the value
+		while (minisize < __n)
 		{
-			// This uses a similar pattern to the length code, however the
-			// division is half the size (so there are groups of 2 now).
-			int v = ((i / 2) - 1);
-			if (v >= 0)
-				rv += (1 << v);
-			else
-				rv++;
+			// The number of bytes to be read
+			int bc = (__n - minisize + 7) >>> 3;
+			
+			// Read input bytes
+			byte[] readin = this._readin;
+			int rc = this.in.read(readin, 0, bc);
+			
+			// {@squirreljme.error BD1g Reached EOF while reading bytes to
+			// decompress. (Bits in the queue; Requested number of bits)}
+			if (rc < 0)
+				throw new IOException(String.format("BD1g %d %d", minisize,
+					__n));
+			
+			// Shift in the read bytes to the higher positions
+			for (int i = 0; i < rc; i++)
+			{
+				miniwindow |= ((readin[i] & 0xFF) << minisize);
+				minisize += 8;
+			}
+			
+			// Count the number of compressed bytes
+			this._compressedsize += rc;
 		}
 		
-		// Determine the number of extra bits that make up the distance which
-		// is used as an additional distance value
-		int extrabits = ((__code / 2) - 1);
-		if (extrabits > 0)
-			rv += __readBits(extrabits, false);
-		
-		// Return it
-		return rv;
+		// Store for next run
+		this._miniwindow = miniwindow;
+		this._minisize = minisize;
 	}
 	
 	/**
-	 * Reads length codes from the input.
+	 * Outputs the given bytes to the target array and any which do not fit
+	 * are placed in the overflow.
 	 *
-	 * @param __c Input code value.
-	 * @throws IOException On read/write errors.
-	 * @since 2016/03/12
+	 * @param __b The bytes to output.
+	 * @param __o The offset into the array.
+	 * @param __l The number of bytes to output.
+	 * @since 2019/09/16
 	 */
-	private int __handleLength(int __c)
-		throws IOException
+	private void __output(byte[] __b, int __o, int __l)
 	{
-		// The maximum length that can ever be used is 258, it has no bits also
-		if (__c == 285)
-			return 258;
-		
-		// Get the base code
-		int base = __c - 257;
-		
-		// {@squirreljme.error BD1f Illegal length code. (The length code)}
-		if (base < 0)
-			throw new IOException(String.format("BD1f %d", __c));
-		
-		// Calculate the required length to use
-		int rv = 3;
-		for (int i = 0; i < base; i++)
+		// Copy as many as possible into the target
+		int targoff = this._targoff,
+			n = this._targend - targoff;
+		if (n > __l)
+			n = __l;
+		if (n > 0)
 		{
-			// Determine how many groups of 4 the code is long. Since zero
-			// appears as items then subtract 1 to make it longer. However
-			// after the first 8 it goes up in a standard pattern.
-			int v = ((i / 4) - 1);
-			if (v > 0)
-				rv += (1 << v);
-			else
-				rv++;
+			System.arraycopy(__b, __o, this._targ, targoff, n);
+			this._targoff = targoff + n;
 		}
 		
-		// Add extra bits which are used to modify the amount of data read
-		int extrabits = (base / 4) - 1;
-		if (extrabits > 0)
-			rv += (extrabits = __readBits(extrabits, false));
-		
-		// Return the length
-		return rv;
-	}
-	
-	/**
-	 * Obtains the code length tree.
-	 *
-	 * @return The code length tree.
-	 * @since 2017/02/27
-	 */
-	private HuffmanTreeInt __obtainCodeLenTree()
-	{
-		Reference<HuffmanTreeInt> ref = this._codelentree;
-		HuffmanTreeInt rv;
-		
-		if (ref == null || null == (rv = ref.get()))
-			this._codelentree = new WeakReference<>(
-				(rv = new HuffmanTreeInt()));
-		
-		// Clear before return
-		rv.clear();
-		return rv;
-	}
-	
-	/**
-	 * Obtains the distance tree.
-	 *
-	 * @return The distance tree.
-	 * @since 2017/02/27
-	 */
-	private HuffmanTreeInt __obtainDistanceTree()
-	{
-		Reference<HuffmanTreeInt> ref = this._distancetree;
-		HuffmanTreeInt rv;
-		
-		if (ref == null || null == (rv = ref.get()))
-			this._distancetree = new WeakReference<>(
-				(rv = new HuffmanTreeInt()));
-		
-		// Clear before return
-		rv.clear();
-		return rv;
-	}
-	
-	/**
-	 * Obtains the literal tree.
-	 *
-	 * @return The literal tree.
-	 * @since 2017/02/27
-	 */
-	private HuffmanTreeInt __obtainLiteralTree()
-	{
-		Reference<HuffmanTreeInt> ref = this._literaltree;
-		HuffmanTreeInt rv;
-		
-		if (ref == null || null == (rv = ref.get()))
-			this._literaltree = new WeakReference<>(
-				(rv = new HuffmanTreeInt()));
-		
-		// Clear before return
-		rv.clear();
-		return rv;
-	}
-	
-	/**
-	 * Obtains the read window.
-	 *
-	 * @return The read window.
-	 * @since 2017/02/26
-	 */
-	private byte[] __obtainReadWindow()
-	{
-		Reference<byte[]> ref = this._readwindow;
-		byte[] rv;
-		
-		if (ref == null || null == (rv = ref.get()))
-			this._readwindow = new WeakReference<>(
-				(rv = new byte[128]));
-		
-		return rv;
+		// Everything else overflows
+		if (n < __l)
+			this.overflow.addLast(__b, __o + n, __l - n);
 	}
 	
 	/**
@@ -874,39 +855,14 @@ public class InflaterInputStream
 		if (__n == 0)
 			return 0;
 		
+		// Not enough bits to read the value
+		if (this._minisize < __n)
+			this.__need(__n);
+		
 		// Get the mini window information
 		int miniwindow = this._miniwindow,
 			minisize = this._minisize;
 		
-		// Not enough bits to read the value
-		while (minisize < __n)
-		{
-			// The number of bytes to be read
-			int bc = (__n - minisize) / 8;
-			if (bc == 0)
-				bc = 1;
-			
-			// Read input bytes
-			byte[] readin = this._readin;
-			int rc = this.in.read(readin, 0, bc);
-			
-			// {@squirreljme.error BD1g Reached EOF while reading bytes to
-			// decompress. (Bits in the queue; Requested number of bits)}
-			if (rc < 0)
-				throw new IOException(String.format("BD1g %d %d", minisize,
-					__n));
-			
-			// Shift in the read bytes to the higher positions
-			for (int i = 0; i < rc; i++)
-			{
-				miniwindow |= ((readin[i] & 0xFF) << minisize);
-				minisize += 8;
-			}
-			
-			// Count the number of compressed bytes
-			this._compressedsize += rc;
-		}
-		
 		// Mask in the value, which is always at the lower bits
 		int rv = miniwindow & ((1 << __n) - 1);
 		
@@ -933,10 +889,10 @@ public class InflaterInputStream
 	}
 	
 	/**
-	 * Reads code bits using the given huffman tree and into the specified
+	 * Reads code bits using the given huffman table and into the specified
 	 * array.
 	 *
-	 * @param __codes The huffman tree which contains the length codes which
+	 * @param __codes The huffman table which contains the length codes which
 	 * the values being read are encoded with.
 	 * @param __out The output array.
 	 * @param __next The next value to read.
@@ -944,7 +900,7 @@ public class InflaterInputStream
 	 * @throws NullPointerException On null arguments.
 	 * @since 2016/03/28
 	 */
-	private int __readCodeBits(HuffmanTreeInt __codes, int[] __out,
+	private int __readCodeBits(__HuffmanTable__ __codes, int[] __out,
 		int __next)
 		throws IOException, NullPointerException
 	{
@@ -952,9 +908,9 @@ public class InflaterInputStream
 		if (__codes == null || __out == null)
 			throw new NullPointerException("NARG");
 		
-		// Read in code based on an input huffman tree
+		// Read in code based on an input huffman table
 		int basenext = __next;
-		int code = __codes.getValue(this._bitsource);
+		int code = this.__readSymbol(__codes);
 		
 		// Literal length, the input is used
 		if (code >= 0 && code < 16)
@@ -981,7 +937,7 @@ public class InflaterInputStream
 				repval = __out[lastlendx];
 				
 				// Read the repeat count
-				repfor = 3 + __readBits(2, false);
+				repfor = 3 + this.__readBits(2, false);
 			}
 			
 			// Repeat zero for 3-10 times
@@ -991,7 +947,7 @@ public class InflaterInputStream
 				repval = 0;
 				
 				// Read 3 bits
-				repfor = 3 + __readBits(3, false);
+				repfor = 3 + this.__readBits(3, false);
 			}
 			
 			// Repeat zero for 11-138 times
@@ -1001,7 +957,7 @@ public class InflaterInputStream
 				repval = 0;
 				
 				// Read 7 bits
-				repfor = 11 + __readBits(7, false);
+				repfor = 11 + this.__readBits(7, false);
 			}
 			
 			// {@squirreljme.error BD1i Illegal code. (The code)}
@@ -1029,196 +985,55 @@ public class InflaterInputStream
 	}
 	
 	/**
-	 * Reads a fixed huffman code for use by the {@code _TYPE_FIXED_HUFFMAN}
-	 * state. This method does not traverse a huffman tree so to speak, but it
-	 * instead uses many if statements. Initially every consideration was made
-	 * but now instead it uses ranges once it keeps deep enough into the tree.
-	 * This method is faster and provides a built-in huffman tree while not
-	 * taking up too many bytes in the byte code.
+	 * Reads a single huffman coded symbol from the input.
 	 *
-	 * @return The read value.
-	 * @throws IOException On read errors.
-	 * @since 2016/03/10
+	 * @param __t The table to decode with.
+	 * @return The decoded symbol.
+	 * @throws IOException On read errors or if the code is not valid.
+	 * @since 2019/09/16
 	 */
-	private int __readFixedHuffman()
+	private int __readSymbol(__HuffmanTable__ __t)
 		throws IOException
 	{
-		// The long if statement block
-		if (__readBits(1, true) != 0)
-			if (__readBits(1, true) != 0)
-				if (__readBits(1, true) != 0)
-					return 192 + __readBits(6, true);
-				else
-					if (__readBits(1, true) != 0)
-						return 160 + __readBits(5, true);
-					else
-						if (__readBits(1, true) != 0)
-							return 144 + __readBits(4, true);
-						else
-							return 280 + __readBits(3, true);
-			else
-				return 80 + __readBits(6, true);
-		else
-			if (__readBits(1, true) != 0)
-				return 16 + __readBits(6, true);
-			else
-				if (__readBits(1, true) != 0)
-					if (__readBits(1, true) != 0)
-						return 0 + __readBits(4, true);
-					else
-						return 272 + __readBits(3, true);
-				else
-					return 256 + __readBits(4, true);
-	}
-	
-	/**
-	 * Creates a huffman tree from the given code lengths. These generate
-	 * symbols which are used to determine how the dynamic huffman data is to
-	 * be decoded.
-	 *
-	 * @param __rv The tree to output.
-	 * @param __lens The input code lengths.
-	 * @param __o The starting offset.
-	 * @param __l The number of lengths to decode.
-	 * @return A huffman tree from the code length input.
-	 * @throws NullPointerException On null arguments.
-	 * @since 2016/03/28
-	 */
-	private HuffmanTreeInt __thunkCodeLengthTree(HuffmanTreeInt __tree,
-		int[] __lens, int __o, int __l)
-		throws NullPointerException
-	{
-		// Check
-		if (__lens == null)
-			throw new NullPointerException("NARG");
-		
-		// Initialize both arrays with zero
-		int[] bl_count = this._blcount;
-		int[] next_code = this._nextcode;
-		for (int i = 0, n = bl_count.length; i < n; i++)
-		{
-			bl_count[i] = 0;
-			next_code[i] = 0;
-		}
-		
-		// Determine the bitlength count for all of the inputs
-		for (int i = 0, p = __o; i < __l; i++, p++)
-			bl_count[__lens[p]]++;
-		bl_count[0] = 0;
-		
-		// Find the numerical value of the smallest code for each code
-		// length.
-		int code = 0;
-		for (int bits = 1; bits <= _MAX_BITS; bits++)
-		{
-			code = (code + bl_count[bits - 1]) << 1;
-			next_code[bits] = code;
-		}
-	
-		// Assign values to all codes
-		__tree.clear();
-		for (int q = 0, p = __o; q < __l; q++, p++)
-		{
-			// Get length
-			int len = __lens[p];
-		
-			// Add code length to the huffman tree
-			if (len != 0)
-				__tree.add(q, (next_code[len])++, (1 << len) - 1);
-		}
-		
-		// Return it
-		return __tree;
-	}
-	
-	/**
-	 * Writes the specified value to the output.
-	 *
-	 * @param __v The value to write.
-	 * @param __bits The number of bits to write.
-	 * @param __msb Most significant bits first?
-	 * @throws IOException On write errors.
-	 * @since 2017/02/25
-	 */
-	private void __write(int __v, int __bits, boolean __msb)
-		throws IOException
-	{
-		// Calculate the mask
-		int mask = (1 << __bits) - 1;
-		
-		// Write LSB value, need to swap bits if writing MSB
-		__v &= mask;
-		if (__msb)
-			__v = Integer.reverse(__v) >>> (32 - __bits);
-		
-		// Get the current write window
-		int writewindow = this._writewindow,
-			writesize = this._writesize;
-		
-		// Add bits to write
-		writewindow |= (__v & mask) << writesize;
-		writesize += __bits;
-		
-		// Enough bytes to write to the output?
-		if (writesize >= 8)
+		int[] table = __t._table;
+		int bits = __t._bits,
+			mask = (1 << bits) - 1;
+		
+		// Bits which are not in the mini window are zero, the lookup is
+		// only valid if the found code is not longer than the number of
+		// bits which are actually available. If it is, then more bits are
+		// needed. Only a single byte is read at a time because the actual
+		// code may be shorter and reading more could go past the end of the
+		// compressed data.
+		for (;;)
 		{
-			// Write to a byte array first
-			byte[] targ = this._targ;
-			int targoff = this._targoff,
-				targend = this._targend;
+			int miniwindow = this._miniwindow,
+				minisize = this._minisize;
 			
-			// But if writes overflow then add to the overflow buffer
-			ByteDeque overflow = this.overflow;
+			// Lookup in the primary table, then the subtable if there is one
+			int entry = table[miniwindow & mask],
+				sub = (entry >>> __HuffmanTable__.SUBTABLE_SHIFT) &
+					__HuffmanTable__.SUBTABLE_MASK;
+			if (sub != 0)
+				entry = table[(entry >>> __HuffmanTable__.VALUE_SHIFT) +
+					((miniwindow >>> bits) & ((1 << sub) - 1))];
 			
-			// Any bytes written are appended to the sliding window
-			SlidingByteWindow window = this.window;
-			
-			// Write bytes
-			do
+			// Need more bits?
+			int len = entry & __HuffmanTable__.LENGTH_MASK;
+			if (len > minisize)
 			{
-				// Read input byte
-				byte b = (byte)writewindow;
-				writewindow >>>= 8;
-				writesize -= 8;
-				
-				// Can fit in the output buffer
-				if (targoff < targend)
-					targ[targoff++] = b;
-				
-				// Overflows
-				else
-					overflow.offerLast(b);
-				
-				// Append to the window
-				window.append(b);
-			} while (writesize >= 8);
+				this.__need(minisize + 1);
+				continue;
+			}
 			
-			// Store new position
-			this._targoff = targoff;
-		}
-		
-		// Store the write window info
-		this._writewindow = writewindow;
-		this._writesize = writesize;
-	}
-	
-	/**
-	 * Bit source for huffman reads.
-	 *
-	 * @since 2017/02/25
-	 */
-	private final class __BitSource__
-		implements BitSource
-	{
-		/**
-		 * {@inheritDoc}
-		 * @since 2017/02/25
-		 */
-		@Override
-		public boolean nextBit()
-			throws IOException
-		{
-			return 0 != InflaterInputStream.this.__readBits(1, true);
+			// {@squirreljme.error BD3v Invalid huffman code in the stream.}
+			if ((entry & __HuffmanTable__.INVALID) != 0)
+				throw new IOException("BD3v");
+			
+			// Consume the code
+			this._miniwindow = miniwindow >>> len;
+			this._minisize = minisize - len;
+			return entry >>> __HuffmanTable__.VALUE_SHIFT;
 		}
 	}
 }
@@ -13,8 +13,8 @@ package net.multiphasicapps.io;
 /**
  * This represents a sliding byte window.
  *
- * It is allocated in chunks of a given fragment size so that the entire window
- * is not allocated in its entirety until it is actually used.
+ * The window is a circular buffer which grows as bytes are added so that the
+ * entire window is not allocated in its entirety until it is actually used.
  *
  * In the future this class may support a kind of compression so that older
  * bytes in the sliding window may be compacted when they are not used.
@@ -25,8 +25,9 @@ package net.multiphasicapps.io;
  */
 public class SlidingByteWindow
 {
-	/** The backing byte buffer. */
-	protected final ByteDeque deque;
+	/** The initial size of the buffer. */
+	private static final int _INITIAL_SIZE =
+		1024;
 	
 	/** The window size. */
 	protected final int windowsize;
@@ -35,8 +36,14 @@ public class SlidingByteWindow
 	private final byte[] _solo =
 		new byte[1];
 	
+	/** The buffer which contains the window bytes. */
+	private byte[] _buf;
+	
+	/** The position where the next byte is written. */
+	private int _pos;
+	
 	/** The total number of written bytes. */
-	private volatile int _total;
+	private int _total;
 	
 	/**
 	 * This initializes the sliding byte window.
@@ -54,10 +61,8 @@ public class SlidingByteWindow
 				__wsz));
 		
 		// Set
-		windowsize = __wsz;
-		
-		// Setup backing store
-		deque = new ByteDeque(__wsz);
+		this.windowsize = __wsz;
+		this._buf = new byte[(__wsz < _INITIAL_SIZE ? __wsz : _INITIAL_SIZE)];
 	}
 	
 	/**
@@ -70,7 +75,7 @@ public class SlidingByteWindow
 	{
 		byte[] solo = this._solo;
 		solo[0] = __b;
-		append(solo, 0, 1);
+		this.append(solo, 0, 1);
 	}
 	
 	/**
@@ -112,29 +117,49 @@ public class SlidingByteWindow
 		if (__o < 0 || __l < 0 || (__o + __l > __b.length))
 			throw new IndexOutOfBoundsException("BAOB");
 		
-		// Get
-		ByteDeque deque = this.deque;
+		// Only the last bytes would ever remain in the window
 		int windowsize = this.windowsize;
-		int total = this._total;
+		if (__l > windowsize)
+		{
+			__o += __l - windowsize;
+			__l = windowsize;
+		}
 		
-		// Check if the new amount will overflow
-		int newtotal = total + __l;
-		int overflow = 0;
-		if (newtotal < 0 || newtotal > windowsize)
+		// Grow the buffer if it is too small, the bytes are always in order
+		// until the buffer becomes the size of the window
+		byte[] buf = this._buf;
+		int total = this._total,
+			newtotal = total + __l;
+		if (newtotal > buf.length && buf.length < windowsize)
 		{
-			overflow = (newtotal - windowsize);
-			newtotal = windowsize;
+			int cap = buf.length;
+			while (cap < newtotal)
+				cap <<= 1;
+			if (cap > windowsize)
+				cap = windowsize;
+			
+			byte[] grow = new byte[cap];
+			System.arraycopy(buf, 0, grow, 0, total);
+			this._buf = (buf = grow);
+			this._pos = total;
 		}
 		
-		// Will overflow, delete last bytes
-		if (overflow > 0)
-			deque.deleteFirst(overflow);
+		// Copy bytes in, wrapping around the end
+		int cap = buf.length,
+			pos = this._pos,
+			first = cap - pos;
+		if (__l <= first)
+			System.arraycopy(__b, __o, buf, pos, __l);
+		else
+		{
+			System.arraycopy(__b, __o, buf, pos, first);
+			System.arraycopy(__b, __o + first, buf, 0, __l - first);
+		}
 		
-		// Add data to the end so that the single-byte insertion order
-		// would be the same as the multi-byte insertion.
-		// And so no shuffling is required
-		deque.addLast(__b, __o, __l);
-		this._total = newtotal;
+		// Set new position
+		pos += __l;
+		this._pos = (pos >= cap ? pos - cap : pos);
+		this._total = (newtotal > windowsize ? windowsize : newtotal);
 	}
 	
 	/**
@@ -150,7 +175,7 @@ public class SlidingByteWindow
 		throws IndexOutOfBoundsException
 	{
 		byte[] solo = this._solo;
-		get(__ago, solo, 0, 1);
+		this.get(__ago, solo, 0, 1);
 		return solo[0];
 	}
 	
@@ -184,20 +209,69 @@ public class SlidingByteWindow
 		// the bounds of the window. (The bytes in the past to start the
 		// copy from; The number of bytes to read; The total number of
 		// bytes in the window)}
-		int windowsize = this.windowsize;
 		int total = this._total;
-		if (__ago <= 0 || ((total - __ago) + __l) > total)
+		if (__ago <= 0 || __ago > total || __l > __ago)
 			throw new IndexOutOfBoundsException(String.format(
 				"BD1u %d %d %d", __ago, __l, total));
 		
-		// {@squirreljme.error BD1v Get of a sliding window read did not
-		// read the expected number of bytes. (The expected number of bytes
-		// to read; The actual number read)}
-		int rv;
-		if ((rv = this.deque.get(total - __ago, __b, __o,
-			__l)) != __l)
-			throw new IndexOutOfBoundsException(String.format(
-				"BD1v %d %d", __l, rv));
+		// Copy bytes out, wrapping around the end
+		byte[] buf = this._buf;
+		int cap = buf.length,
+			at = this._pos - __ago;
+		if (at < 0)
+			at += cap;
+		int first = cap - at;
+		if (__l <= first)
+			System.arraycopy(buf, at, __b, __o, __l);
+		else
+		{
+			System.arraycopy(buf, at, __b, __o, first);
+			System.arraycopy(buf, 0, __b, __o + first, __l - first);
+		}
+	}
+	
+	/**
+	 * Copies bytes from the history of the window into the given array and
+	 * then appends those bytes to the window. If the length exceeds the
+	 * distance back then the bytes which were copied repeat, this is how
+	 * back references in LZ77 work.
+	 *
+	 * @param __ago How many bytes in the past to read.
+	 * @param __b The output array of bytes to write.
+	 * @param __o The offset into the array where to start writing bytes to.
+	 * @param __l The number of bytes to copy.
+	 * @throws IndexOutOfBoundsException If the offset or length are negative
+	 * or the offset and the length exceeds the array bounds; {@code __ago}
+	 * is zero or negative; or the distance back exceeds the total amount of
+	 * history.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/16
+	 */
+	public void repeat(int __ago, byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		// Check
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l > __b.length))
+			throw new IndexOutOfBoundsException("BAOB");
+		
+		// Read what is available, then repeat it by doubling the amount
+		// that was copied
+		int n = (__l < __ago ? __l : __ago);
+		this.get(__ago, __b, __o, n);
+		while (n < __l)
+		{
+			int more = __l - n;
+			if (more > n)
+				more = n;
+			
+			System.arraycopy(__b, __o, __b, __o + n, more);
+			n += more;
+		}
+		
+		// Add to the window
+		this.append(__b, __o, __l);
 	}
 	
 	/**
@@ -211,4 +285,3 @@ public class SlidingByteWindow
 		return this._total;
 	}
 }
-
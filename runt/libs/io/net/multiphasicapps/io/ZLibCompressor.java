@@ -71,7 +71,7 @@ public final class ZLibCompressor
 			throw new NullPointerException("NARG");
 		
 		this.out = __os;
-		this._dos = new DeflaterOutputStream(__os);
+		this._dos = new DeflaterOutputStream(__os, __cl);
 	}
 	
 	/**
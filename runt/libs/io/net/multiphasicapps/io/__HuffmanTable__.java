@@ -0,0 +1,257 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package net.multiphasicapps.io;
+
+import java.io.IOException;
+
+/**
+ * This is a lookup table which is used to decode huffman codes which are
+ * stored in deflate streams.
+ *
+ * Instead of walking a tree one bit at a time, a number of bits are peeked
+ * from the input and used as an index into the primary table. The bits in
+ * the stream are least significant bit first while the codes are most
+ * significant bit first, so the index is the reversed code. Codes which are
+ * longer than the primary table point to a subtable which is indexed by the
+ * bits which follow.
+ *
+ * Each entry has the length of the code in the lowest 4 bits, the number of
+ * bits for a subtable in the next 4 bits, a flag indicating that no code
+ * exists for the bits, and then the symbol or subtable offset in the upper
+ * bits. Entries for which there is no code have a length of the number of
+ * bits needed to look the entry up, so that there is always a check for
+ * enough input bits before the code is considered invalid.
+ *
+ * This class is not thread safe.
+ *
+ * @since 2019/09/16
+ */
+final class __HuffmanTable__
+{
+	/** The maximum length of a code. */
+	static final int MAX_BITS =
+		15;
+	
+	/** The mask for the code length. */
+	static final int LENGTH_MASK =
+		0xF;
+	
+	/** The shift for the subtable bits. */
+	static final int SUBTABLE_SHIFT =
+		4;
+	
+	/** The mask for the subtable bits, after shifting. */
+	static final int SUBTABLE_MASK =
+		0xF;
+	
+	/** The flag which indicates that there is no code. */
+	static final int INVALID =
+		0x100;
+	
+	/** The shift for the symbol or the subtable offset. */
+	static final int VALUE_SHIFT =
+		9;
+	
+	/** The maximum number of primary bits to use. */
+	protected final int maxprimary;
+	
+	/** The number of codes for each length. */
+	private final int[] _count =
+		new int[MAX_BITS + 1];
+	
+	/** The next code for each length. */
+	private final int[] _next =
+		new int[MAX_BITS + 1];
+	
+	/** The subtable bits for each primary entry. */
+	private final int[] _subbits;
+	
+	/** The lookup table. */
+	int[] _table;
+	
+	/** The number of bits used for the primary table. */
+	int _bits;
+	
+	/**
+	 * Initializes the table.
+	 *
+	 * @param __maxp The maximum number of bits for the primary table.
+	 * @throws IllegalArgumentException If the number of bits is not valid.
+	 * @since 2019/09/16
+	 */
+	__HuffmanTable__(int __maxp)
+		throws IllegalArgumentException
+	{
+		// {@squirreljme.error BD3r The number of primary table bits is
+		// not valid. (The number of bits)}
+		if (__maxp <= 0 || __maxp > MAX_BITS)
+			throw new IllegalArgumentException("BD3r " + __maxp);
+		
+		this.maxprimary = __maxp;
+		this._subbits = new int[1 << __maxp];
+		this._table = new int[1 << __maxp];
+	}
+	
+	/**
+	 * Builds the table from the given code lengths.
+	 *
+	 * @param __lens The code lengths.
+	 * @param __o The offset into the lengths.
+	 * @param __l The number of lengths, this is the number of symbols.
+	 * @return {@code this}.
+	 * @throws IOException If the code lengths are not valid.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/16
+	 */
+	__HuffmanTable__ build(int[] __lens, int __o, int __l)
+		throws IOException, NullPointerException
+	{
+		if (__lens == null)
+			throw new NullPointerException("NARG");
+		
+		// Count the number of codes of each length
+		int[] count = this._count;
+		for (int i = 0; i <= MAX_BITS; i++)
+			count[i] = 0;
+		int maxlen = 0;
+		for (int i = 0; i < __l; i++)
+		{
+			int len = __lens[__o + i];
+			
+			// {@squirreljme.error BD3s Code length is out of range. (The
+			// code length)}
+			if (len < 0 || len > MAX_BITS)
+				throw new IOException("BD3s " + len);
+			
+			count[len]++;
+			if (len > maxlen)
+				maxlen = len;
+		}
+		count[0] = 0;
+		
+		// {@squirreljme.error BD3t The code lengths describe more codes than
+		// are possible.}
+		int left = 1;
+		for (int len = 1; len <= MAX_BITS; len++)
+		{
+			left = (left << 1) - count[len];
+			if (left < 0)
+				throw new IOException("BD3t");
+		}
+		
+		// Find the first code for each length
+		int[] next = this._next;
+		for (int len = 1, code = 0; len <= MAX_BITS; len++)
+		{
+			code = (code + count[len - 1]) << 1;
+			next[len] = code;
+		}
+		
+		// The primary table never needs to be larger than the longest code
+		int bits = this.maxprimary;
+		if (maxlen < bits)
+			bits = (maxlen > 0 ? maxlen : 1);
+		int psize = 1 << bits,
+			pmask = psize - 1;
+		
+		// Determine the size of subtables for codes which do not fit in
+		// the primary table
+		int[] subbits = this._subbits;
+		for (int i = 0; i < psize; i++)
+			subbits[i] = 0;
+		if (maxlen > bits)
+		{
+			int[] code = new int[MAX_BITS + 1];
+			System.arraycopy(next, 0, code, 0, MAX_BITS + 1);
+			
+			for (int i = 0; i < __l; i++)
+			{
+				int len = __lens[__o + i];
+				if (len <= bits)
+					continue;
+				
+				int prefix = __HuffmanTable__.__reverse(code[len]++, len) &
+					pmask;
+				if (len - bits > subbits[prefix])
+					subbits[prefix] = len - bits;
+			}
+		}
+		
+		// Allocate the table
+		int total = psize;
+		for (int i = 0; i < psize; i++)
+			if (subbits[i] != 0)
+				total += 1 << subbits[i];
+		int[] table = this._table;
+		if (table.length < total)
+			this._table = (table = new int[total]);
+		
+		// Initially there are no codes, while subtables are placed after the
+		// primary table
+		for (int i = 0, at = psize; i < psize; i++)
+		{
+			int sb = subbits[i];
+			if (sb == 0)
+			{
+				table[i] = INVALID | bits;
+				continue;
+			}
+			
+			table[i] = (at << VALUE_SHIFT) | (sb << SUBTABLE_SHIFT);
+			for (int j = 0, n = 1 << sb; j < n; j++)
+				table[at + j] = INVALID | (bits + sb);
+			at += 1 << sb;
+		}
+		
+		// Place every code in the table, since the extra bits are not part
+		// of the code the entry is duplicated for every value they can be
+		for (int i = 0; i < __l; i++)
+		{
+			int len = __lens[__o + i];
+			if (len == 0)
+				continue;
+			
+			int rev = __HuffmanTable__.__reverse(next[len]++, len),
+				entry = (i << VALUE_SHIFT) | len;
+			
+			// Fits in the primary table
+			if (len <= bits)
+				for (int j = rev; j < psize; j += 1 << len)
+					table[j] = entry;
+			
+			// Goes into a subtable
+			else
+			{
+				int sub = table[rev & pmask],
+					base = sub >>> VALUE_SHIFT,
+					sn = 1 << ((sub >>> SUBTABLE_SHIFT) & SUBTABLE_MASK);
+				for (int j = rev >>> bits; j < sn; j += 1 << (len - bits))
+					table[base + j] = entry;
+			}
+		}
+		
+		this._bits = bits;
+		return this;
+	}
+	
+	/**
+	 * Reverses the bits in the given code.
+	 *
+	 * @param __c The code to reverse.
+	 * @param __n The length of the code.
+	 * @return The reversed code.
+	 * @since 2019/09/16
+	 */
+	private static int __reverse(int __c, int __n)
+	{
+		return Integer.reverse(__c) >>> (32 - __n);
+	}
+}
@@ -85,6 +85,9 @@ public final class SpringClass
 	/** Has this class been initialized? */
 	private volatile boolean _initialized;
 	
+	/** Has initialization of this class finished? */
+	private volatile boolean _initializedfully;
+	
 	/**
 	 * Initializes the spring class.
 	 *
@@ -453,6 +456,19 @@ public final class SpringClass
 		return this._initialized;
 	}
 	
+	/**
+	 * Has initialization of this class finished, this means that the static
+	 * initializer has finished executing and the class can be used without
+	 * waiting on other threads.
+	 *
+	 * @return If initialization has finished.
+	 * @since 2019/09/19
+	 */
+	public final boolean isInitializedFully()
+	{
+		return this._initializedfully;
+	}
+	
 	/**
 	 * Is this the object class?
 	 *
@@ -737,6 +753,25 @@ public final class SpringClass
 		this._initialized = true;
 	}
 	
+	/**
+	 * Sets the class as having finished initialization.
+	 *
+	 * @throws SpringVirtualMachineException If the class has not been
+	 * initialized.
+	 * @since 2019/09/19
+	 */
+	public final void setInitializedFully()
+		throws SpringVirtualMachineException
+	{
+		// {@squirreljme.error BK3f Class finished initialization before it
+		// was initialized. (This class)}
+		if (!this._initialized)
+			throw new SpringVirtualMachineException(String.format(
+				"BK3f %s", this.name));
+		
+		this._initializedfully = true;
+	}
+	
 	/**
 	 * Returns the special class index.
 	 *
@@ -0,0 +1,499 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+import net.multiphasicapps.classfile.ByteCode;
+import net.multiphasicapps.classfile.ClassName;
+import net.multiphasicapps.classfile.ConstantValue;
+import net.multiphasicapps.classfile.ConstantValueClass;
+import net.multiphasicapps.classfile.ConstantValueString;
+import net.multiphasicapps.classfile.Instruction;
+import net.multiphasicapps.classfile.InstructionIndex;
+import net.multiphasicapps.classfile.InstructionJumpTarget;
+import net.multiphasicapps.classfile.InvalidClassFormatException;
+import net.multiphasicapps.classfile.MemberReference;
+import net.multiphasicapps.classfile.PrimitiveType;
+
+/**
+ * This contains the byte code of a method which has been decoded into a
+ * compact form for execution. Every instruction is decoded only once and all
+ * of the operands are extracted so that the interpreter does not need to
+ * parse or look up anything when an instruction is executed.
+ *
+ * Instructions which have multiple forms are merged into a single operation,
+ * so for example {@code iload_2} and {@code wide iload} both become
+ * {@code iload} with the local being an operand. All of the integer pushes
+ * become {@code bipush} and all of the pre-boxable constants become
+ * {@code ldc2_w} with the value already boxed.
+ *
+ * Jump targets are stored as instruction indexes rather than addresses.
+ *
+ * Instructions which access fields or invoke methods have an inline cache
+ * attached to them.
+ *
+ * @since 2019/09/12
+ */
+public final class SpringDecodedCode
+{
+	/** Operation which indicates the instruction could not be decoded. */
+	public static final int INVALID_OPERATION =
+		-1;
+	
+	/** The byte code this was decoded from. */
+	protected final ByteCode code;
+	
+	/** The number of instructions. */
+	protected final int count;
+	
+	/** The decoded operations. */
+	final int[] _ops;
+	
+	/** The address of each instruction, with the code length at the end. */
+	final int[] _addresses;
+	
+	/** Address to index table, invalid addresses are negative. */
+	final int[] _indexes;
+	
+	/** The primary integer operand. */
+	final int[] _inta;
+	
+	/** The secondary integer operand. */
+	final int[] _intb;
+	
+	/** The object operand. */
+	final Object[] _objs;
+	
+	/** Inline caches for field access and invocations. */
+	final SpringInlineCache[] _caches;
+	
+	/**
+	 * Decodes the given byte code.
+	 *
+	 * @param __bc The byte code to decode.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/12
+	 */
+	SpringDecodedCode(ByteCode __bc)
+		throws NullPointerException
+	{
+		if (__bc == null)
+			throw new NullPointerException("NARG");
+		
+		this.code = __bc;
+		
+		// Setup arrays
+		int count = __bc.instructionCount(),
+			codelen = __bc.length();
+		int[] ops = new int[count],
+			addresses = new int[count + 1],
+			indexes = new int[codelen + 1],
+			inta = new int[count],
+			intb = new int[count];
+		Object[] objs = new Object[count];
+		SpringInlineCache[] caches = new SpringInlineCache[count];
+		
+		// Build the address to index mapping first since jumps may go
+		// forward
+		for (int i = 0; i < codelen; i++)
+			indexes[i] = -1;
+		for (int i = 0; i < count; i++)
+		{
+			int addr = __bc.indexToAddress(i);
+			
+			addresses[i] = addr;
+			indexes[addr] = i;
+		}
+		
+		// The end of the method is just past the last instruction
+		addresses[count] = codelen;
+		indexes[codelen] = count;
+		
+		// Decode every instruction
+		for (int i = 0; i < count; i++)
+		{
+			// Decoding may fail on bad instructions, but that should only
+			// be reported if the instruction is actually executed
+			Instruction inst;
+			try
+			{
+				inst = __bc.getByAddress(addresses[i]);
+			}
+			catch (InvalidClassFormatException e)
+			{
+				ops[i] = SpringDecodedCode.INVALID_OPERATION;
+				objs[i] = e;
+				continue;
+			}
+			
+			// Decode operands
+			int op = inst.operation();
+			switch (op)
+			{
+					// Load or store from local variable
+				case InstructionIndex.ALOAD:
+				case InstructionIndex.DLOAD:
+				case InstructionIndex.FLOAD:
+				case InstructionIndex.ILOAD:
+				case InstructionIndex.LLOAD:
+				case InstructionIndex.ASTORE:
+				case InstructionIndex.DSTORE:
+				case InstructionIndex.FSTORE:
+				case InstructionIndex.ISTORE:
+				case InstructionIndex.LSTORE:
+					inta[i] = inst.<Integer>argument(0, Integer.class);
+					break;
+					
+					// Wide load or store from local variable
+				case InstructionIndex.WIDE_ALOAD:
+				case InstructionIndex.WIDE_DLOAD:
+				case InstructionIndex.WIDE_FLOAD:
+				case InstructionIndex.WIDE_ILOAD:
+				case InstructionIndex.WIDE_LLOAD:
+				case InstructionIndex.WIDE_ASTORE:
+				case InstructionIndex.WIDE_DSTORE:
+				case InstructionIndex.WIDE_FSTORE:
+				case InstructionIndex.WIDE_ISTORE:
+				case InstructionIndex.WIDE_LSTORE:
+					inta[i] = inst.<Integer>argument(0, Integer.class);
+					op &= 0xFF;
+					break;
+					
+					// Short form loads
+				case InstructionIndex.ALOAD_0:
+				case InstructionIndex.ALOAD_1:
+				case InstructionIndex.ALOAD_2:
+				case InstructionIndex.ALOAD_3:
+					inta[i] = op - InstructionIndex.ALOAD_0;
+					op = InstructionIndex.ALOAD;
+					break;
+				
+				case InstructionIndex.DLOAD_0:
+				case InstructionIndex.DLOAD_1:
+				case InstructionIndex.DLOAD_2:
+				case InstructionIndex.DLOAD_3:
+					inta[i] = op - InstructionIndex.DLOAD_0;
+					op = InstructionIndex.DLOAD;
+					break;
+				
+				case InstructionIndex.FLOAD_0:
+				case InstructionIndex.FLOAD_1:
+				case InstructionIndex.FLOAD_2:
+				case InstructionIndex.FLOAD_3:
+					inta[i] = op - InstructionIndex.FLOAD_0;
+					op = InstructionIndex.FLOAD;
+					break;
+				
+				case InstructionIndex.ILOAD_0:
+				case InstructionIndex.ILOAD_1:
+				case InstructionIndex.ILOAD_2:
+				case InstructionIndex.ILOAD_3:
+					inta[i] = op - InstructionIndex.ILOAD_0;
+					op = InstructionIndex.ILOAD;
+					break;
+				
+				case InstructionIndex.LLOAD_0:
+				case InstructionIndex.LLOAD_1:
+				case InstructionIndex.LLOAD_2:
+				case InstructionIndex.LLOAD_3:
+					inta[i] = op - InstructionIndex.LLOAD_0;
+					op = InstructionIndex.LLOAD;
+					break;
+					
+					// Short form stores
+				case InstructionIndex.ASTORE_0:
+				case InstructionIndex.ASTORE_1:
+				case InstructionIndex.ASTORE_2:
+				case InstructionIndex.ASTORE_3:
+					inta[i] = op - InstructionIndex.ASTORE_0;
+					op = InstructionIndex.ASTORE;
+					break;
+				
+				case InstructionIndex.DSTORE_0:
+				case InstructionIndex.DSTORE_1:
+				case InstructionIndex.DSTORE_2:
+				case InstructionIndex.DSTORE_3:
+					inta[i] = op - InstructionIndex.DSTORE_0;
+					op = InstructionIndex.DSTORE;
+					break;
+				
+				case InstructionIndex.FSTORE_0:
+				case InstructionIndex.FSTORE_1:
+				case InstructionIndex.FSTORE_2:
+				case InstructionIndex.FSTORE_3:
+					inta[i] = op - InstructionIndex.FSTORE_0;
+					op = InstructionIndex.FSTORE;
+					break;
+				
+				case InstructionIndex.ISTORE_0:
+				case InstructionIndex.ISTORE_1:
+				case InstructionIndex.ISTORE_2:
+				case InstructionIndex.ISTORE_3:
+					inta[i] = op - InstructionIndex.ISTORE_0;
+					op = InstructionIndex.ISTORE;
+					break;
+				
+				case InstructionIndex.LSTORE_0:
+				case InstructionIndex.LSTORE_1:
+				case InstructionIndex.LSTORE_2:
+				case InstructionIndex.LSTORE_3:
+					inta[i] = op - InstructionIndex.LSTORE_0;
+					op = InstructionIndex.LSTORE;
+					break;
+					
+					// Increment local variable
+				case InstructionIndex.IINC:
+				case InstructionIndex.WIDE_IINC:
+					inta[i] = inst.<Integer>argument(0, Integer.class);
+					intb[i] = inst.<Integer>argument(1, Integer.class);
+					op = InstructionIndex.IINC;
+					break;
+					
+					// Integer constants
+				case InstructionIndex.ICONST_M1:
+				case InstructionIndex.ICONST_0:
+				case InstructionIndex.ICONST_1:
+				case InstructionIndex.ICONST_2:
+				case InstructionIndex.ICONST_3:
+				case InstructionIndex.ICONST_4:
+				case InstructionIndex.ICONST_5:
+					inta[i] = -1 + (op - InstructionIndex.ICONST_M1);
+					op = InstructionIndex.BIPUSH;
+					break;
+				
+				case InstructionIndex.BIPUSH:
+				case InstructionIndex.SIPUSH:
+					inta[i] = inst.<Integer>argument(0, Integer.class);
+					op = InstructionIndex.BIPUSH;
+					break;
+					
+					// Other constants, these are boxed already
+				case InstructionIndex.DCONST_0:
+				case InstructionIndex.DCONST_1:
+					objs[i] = Double.valueOf(op - InstructionIndex.DCONST_0);
+					op = InstructionIndex.LDC2_W;
+					break;
+				
+				case InstructionIndex.FCONST_0:
+				case InstructionIndex.FCONST_1:
+				case InstructionIndex.FCONST_2:
+					objs[i] = Float.valueOf(op - InstructionIndex.FCONST_0);
+					op = InstructionIndex.LDC2_W;
+					break;
+				
+				case InstructionIndex.LCONST_0:
+				case InstructionIndex.LCONST_1:
+					objs[i] = Long.valueOf(op - InstructionIndex.LCONST_0);
+					op = InstructionIndex.LDC2_W;
+					break;
+					
+					// Constant pool loads, strings and classes need the VM
+					// to create objects so those remain as they are
+				case InstructionIndex.LDC:
+				case InstructionIndex.LDC_W:
+				case InstructionIndex.LDC2_W:
+					{
+						ConstantValue value = inst.<ConstantValue>argument(0,
+							ConstantValue.class);
+						
+						if (value instanceof ConstantValueString ||
+							value instanceof ConstantValueClass)
+						{
+							objs[i] = value;
+							op = InstructionIndex.LDC;
+						}
+						else
+						{
+							objs[i] = value.boxedValue();
+							op = InstructionIndex.LDC2_W;
+						}
+					}
+					break;
+					
+					// Jumps, the target is an index
+				case InstructionIndex.GOTO:
+				case InstructionIndex.GOTO_W:
+				case InstructionIndex.IF_ACMPEQ:
+				case InstructionIndex.IF_ACMPNE:
+				case InstructionIndex.IF_ICMPEQ:
+				case InstructionIndex.IF_ICMPGE:
+				case InstructionIndex.IF_ICMPGT:
+				case InstructionIndex.IF_ICMPLE:
+				case InstructionIndex.IF_ICMPLT:
+				case InstructionIndex.IF_ICMPNE:
+				case InstructionIndex.IFEQ:
+				case InstructionIndex.IFGE:
+				case InstructionIndex.IFGT:
+				case InstructionIndex.IFLE:
+				case InstructionIndex.IFLT:
+				case InstructionIndex.IFNE:
+				case InstructionIndex.IFNONNULL:
+				case InstructionIndex.IFNULL:
+					inta[i] = indexes[inst.<InstructionJumpTarget>argument(0,
+						InstructionJumpTarget.class).target()];
+					if (op == InstructionIndex.GOTO_W)
+						op = InstructionIndex.GOTO;
+					break;
+					
+					// Primitive arrays, the class is known
+				case InstructionIndex.NEWARRAY:
+					objs[i] = ClassName.fromPrimitiveType(
+						inst.<PrimitiveType>argument(0, PrimitiveType.class));
+					break;
+					
+					// Multi-dimensional array
+				case InstructionIndex.MULTIANEWARRAY:
+					objs[i] = inst.<ClassName>argument(0, ClassName.class);
+					inta[i] = inst.<Integer>argument(1, Integer.class);
+					break;
+					
+					// Switches must look up the index on execution
+				case InstructionIndex.LOOKUPSWITCH:
+				case InstructionIndex.TABLESWITCH:
+					objs[i] = inst.argument(0, Object.class);
+					op = InstructionIndex.LOOKUPSWITCH;
+					break;
+					
+					// Field access and invocations are cached
+				case InstructionIndex.GETFIELD:
+				case InstructionIndex.GETSTATIC:
+				case InstructionIndex.PUTFIELD:
+				case InstructionIndex.PUTSTATIC:
+				case InstructionIndex.INVOKEINTERFACE:
+				case InstructionIndex.INVOKESPECIAL:
+				case InstructionIndex.INVOKESTATIC:
+				case InstructionIndex.INVOKEVIRTUAL:
+					objs[i] = inst.argument(0, Object.class);
+					caches[i] = new SpringInlineCache(
+						(MemberReference)objs[i]);
+					break;
+					
+					// Everything else that has an argument just uses the
+					// first one, such as classes
+				default:
+					if (inst.count() > 0)
+						objs[i] = inst.argument(0, Object.class);
+					break;
+			}
+			
+			// Store
+			ops[i] = op;
+		}
+		
+		// Store everything
+		this.count = count;
+		this._ops = ops;
+		this._addresses = addresses;
+		this._indexes = indexes;
+		this._inta = inta;
+		this._intb = intb;
+		this._objs = objs;
+		this._caches = caches;
+	}
+	
+	/**
+	 * Returns the address of the given instruction index.
+	 *
+	 * @param __i The index to get the address of.
+	 * @return The address of the instruction.
+	 * @since 2019/09/12
+	 */
+	public final int address(int __i)
+	{
+		return this._addresses[__i];
+	}
+	
+	/**
+	 * Returns the byte code this was decoded from.
+	 *
+	 * @return The source byte code.
+	 * @since 2019/09/12
+	 */
+	public final ByteCode byteCode()
+	{
+		return this.code;
+	}
+	
+	/**
+	 * Returns the number of instructions which were decoded.
+	 *
+	 * @return The instruction count.
+	 * @since 2019/09/12
+	 */
+	public final int count()
+	{
+		return this.count;
+	}
+	
+	/**
+	 * Returns the index of the instruction at the given address.
+	 *
+	 * @param __a The address to get.
+	 * @return The index of the instruction.
+	 * @throws SpringVirtualMachineException If the address is not valid.
+	 * @since 2019/09/12
+	 */
+	public final int index(int __a)
+		throws SpringVirtualMachineException
+	{
+		// {@squirreljme.error BK3d The address is not the start of an
+		// instruction. (The address)}
+		int[] indexes = this._indexes;
+		int rv;
+		if (__a < 0 || __a >= indexes.length || (rv = indexes[__a]) < 0)
+			throw new SpringVirtualMachineException(
+				String.format("BK3d %d", __a));
+		
+		return rv;
+	}
+	
+	/**
+	 * Returns the inline cache for the given instruction.
+	 *
+	 * @param __i The index of the instruction.
+	 * @return The inline cache or {@code null} if the instruction does not
+	 * have one.
+	 * @since 2019/09/14
+	 */
+	public final SpringInlineCache inlineCache(int __i)
+	{
+		return this._caches[__i];
+	}
+	
+	/**
+	 * Returns the total number of inline cache hits for this method.
+	 *
+	 * @return The number of inline cache hits.
+	 * @since 2019/09/14
+	 */
+	public final long inlineCacheHits()
+	{
+		long rv = 0;
+		for (SpringInlineCache c : this._caches)
+			if (c != null)
+				rv += c.hits();
+		return rv;
+	}
+	
+	/**
+	 * Returns the total number of inline cache misses for this method.
+	 *
+	 * @return The number of inline cache misses.
+	 * @since 2019/09/14
+	 */
+	public final long inlineCacheMisses()
+	{
+		long rv = 0;
+		for (SpringInlineCache c : this._caches)
+			if (c != null)
+				rv += c.misses();
+		return rv;
+	}
+}
@@ -34,6 +34,9 @@ public final class SpringField
 	/** The field index. */
 	protected final int index;
 	
+	/** The storage for this field if it is static, once it exists. */
+	volatile SpringFieldStorage _staticstorage;
+	
 	/**
 	 * Initializes the field.
 	 *
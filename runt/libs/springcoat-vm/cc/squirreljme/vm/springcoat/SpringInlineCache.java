@@ -0,0 +1,226 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+import net.multiphasicapps.classfile.MemberReference;
+
+/**
+ * This is a cache which is attached to a single instruction which invokes
+ * a method or accesses a field, it remembers the result of resolution so
+ * that the class, access checks, and member do not need to be looked up
+ * every time the instruction is executed.
+ *
+ * For virtual and interface invocations, the methods which were selected
+ * for a number of receiver classes are also remembered so that the
+ * method does not need to be looked up in the class of the instance. Field
+ * stores likewise remember which receiver classes may be stored into.
+ *
+ * Since classes are never unloaded or redefined within a virtual machine
+ * and every virtual machine has its own methods, cached entries never
+ * become stale and as such never need to be invalidated. Everything is
+ * written in a way that if multiple threads race to fill the cache then
+ * the result is just that more lookups are performed.
+ *
+ * @since 2019/09/14
+ */
+public final class SpringInlineCache
+{
+	/** The maximum number of receiver classes to remember. */
+	public static final int MAX_RECEIVERS =
+		4;
+	
+	/** The member this refers to. */
+	protected final MemberReference reference;
+	
+	/** The resolved member. */
+	private volatile Object _resolved;
+	
+	/** Receivers and their targets, in pairs. */
+	private volatile Object[] _receivers =
+		new Object[0];
+	
+	/** The number of cache hits, this is approximate. */
+	private int _hits;
+	
+	/** The number of cache misses, this is approximate. */
+	private int _misses;
+	
+	/**
+	 * Initializes the inline cache.
+	 *
+	 * @param __r The member reference.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/14
+	 */
+	SpringInlineCache(MemberReference __r)
+		throws NullPointerException
+	{
+		if (__r == null)
+			throw new NullPointerException("NARG");
+		
+		this.reference = __r;
+	}
+	
+	/**
+	 * Caches the target for the given receiver class, if there are already
+	 * too many receivers then this does nothing.
+	 *
+	 * @param __cl The receiver class.
+	 * @param __v The target for the receiver, such as the method to invoke.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/14
+	 */
+	public final void cacheReceiver(SpringClass __cl, Object __v)
+		throws NullPointerException
+	{
+		if (__cl == null || __v == null)
+			throw new NullPointerException("NARG");
+		
+		// The site is megamorphic, so do not bother caching anymore
+		Object[] receivers = this._receivers;
+		int n = receivers.length;
+		if (n >= SpringInlineCache.MAX_RECEIVERS * 2)
+			return;
+		
+		// Copy with the new receiver on the end
+		Object[] copy = new Object[n + 2];
+		System.arraycopy(receivers, 0, copy, 0, n);
+		copy[n] = __cl;
+		copy[n + 1] = __v;
+		
+		this._receivers = copy;
+	}
+	
+	/**
+	 * Caches the resolved member.
+	 *
+	 * @param __v The resolved member.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/14
+	 */
+	public final void cacheResolved(Object __v)
+		throws NullPointerException
+	{
+		if (__v == null)
+			throw new NullPointerException("NARG");
+		
+		this._resolved = __v;
+	}
+	
+	/**
+	 * Returns the number of cache hits.
+	 *
+	 * @return The number of cache hits.
+	 * @since 2019/09/14
+	 */
+	public final int hits()
+	{
+		return this._hits;
+	}
+	
+	/**
+	 * Returns the number of cache misses.
+	 *
+	 * @return The number of cache misses.
+	 * @since 2019/09/14
+	 */
+	public final int misses()
+	{
+		return this._misses;
+	}
+	
+	/**
+	 * Returns the number of receiver classes which have been cached.
+	 *
+	 * @return The number of cached receiver classes.
+	 * @since 2019/09/14
+	 */
+	public final int receiverCount()
+	{
+		return this._receivers.length / 2;
+	}
+	
+	/**
+	 * Returns the cached target for the given receiver class.
+	 *
+	 * @param <C> The type of target to return.
+	 * @param __t The type of target to return.
+	 * @param __cl The receiver class.
+	 * @return The target or {@code null} if it is not cached.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/14
+	 */
+	public final <C> C receiverTarget(Class<C> __t, SpringClass __cl)
+		throws NullPointerException
+	{
+		if (__t == null || __cl == null)
+			throw new NullPointerException("NARG");
+		
+		Object[] receivers = this._receivers;
+		for (int i = 0, n = receivers.length; i < n; i += 2)
+			if (receivers[i] == __cl)
+			{
+				this._hits++;
+				return __t.cast(receivers[i + 1]);
+			}
+		
+		this._misses++;
+		return null;
+	}
+	
+	/**
+	 * Returns the member reference.
+	 *
+	 * @return The member reference.
+	 * @since 2019/09/14
+	 */
+	public final MemberReference reference()
+	{
+		return this.reference;
+	}
+	
+	/**
+	 * Returns the resolved member.
+	 *
+	 * @param <C> The type of member to return.
+	 * @param __cl The type of member to return.
+	 * @return The resolved member or {@code null} if it is not cached.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/14
+	 */
+	public final <C> C resolved(Class<C> __cl)
+		throws NullPointerException
+	{
+		if (__cl == null)
+			throw new NullPointerException("NARG");
+		
+		Object rv = this._resolved;
+		if (rv == null)
+		{
+			this._misses++;
+			return null;
+		}
+		
+		this._hits++;
+		return __cl.cast(rv);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/14
+	 */
+	@Override
+	public final String toString()
+	{
+		return String.format("%s (hits=%d, misses=%d, receivers=%d)",
+			this.reference, this._hits, this._misses, this.receiverCount());
+	}
+}
@@ -130,6 +130,9 @@ public final class SpringMachine
 	/** Exit code of the VM. */
 	volatile int _exitcode;
 	
+	/** Nanoseconds which threads have spent executing in this machine. */
+	private volatile long _cputime;
+	
 	/**
 	 * Initializes the virtual machine.
 	 *
@@ -218,6 +221,19 @@ public final class SpringMachine
 		}
 	}
 	
+	/**
+	 * Returns the amount of time threads have spent executing in this
+	 * machine, this excludes any time that threads spent sleeping, waiting
+	 * on monitors, or waiting on other tasks.
+	 *
+	 * @return The execution time in nanoseconds.
+	 * @since 2019/09/20
+	 */
+	public final long cpuTime()
+	{
+		return this._cputime;
+	}
+	
 	/**
 	 * Resolves the given string pointer.
 	 *
@@ -344,12 +360,18 @@ public final class SpringMachine
 		if (__f == null)
 			throw new NullPointerException("NARG");
 		
+		// The storage is published to the field once it exists, so a lock
+		// is not needed
+		SpringFieldStorage rv = __f._staticstorage;
+		if (rv != null)
+			return rv;
+		
 		// Static fields may be added to when class loading is happening and
 		// as such there must be a lock to be given safe access
 		Map<SpringField, SpringFieldStorage> sfm = this._staticfields;
 		synchronized (this.classloader.classLoadingLock())
 		{
-			SpringFieldStorage rv = sfm.get(__f);
+			rv = sfm.get(__f);
 			
 			// {@squirreljme.error BK19 Could not locate the static field
 			// storage?}
@@ -664,6 +686,21 @@ public final class SpringMachine
 		__v[__dx + 1] = (int)__l;
 	}
 	
+	/**
+	 * Adds time a thread has spent executing to the machine.
+	 *
+	 * @param __ns The nanoseconds spent executing.
+	 * @since 2019/09/20
+	 */
+	final void __addCpuTime(long __ns)
+	{
+		// Multiple threads may finish at the same time
+		synchronized (this._threads)
+		{
+			this._cputime += __ns;
+		}
+	}
+	
 	/**
 	 * Returns the mapping of class names to {@link Class} instances.
 	 *
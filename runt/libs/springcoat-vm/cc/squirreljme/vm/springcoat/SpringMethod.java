@@ -34,6 +34,12 @@ public final class SpringMethod
 	/** The file this method is in. */
 	protected final String infile;
 	
+	/** The handler for native methods, bound when the method is loaded. */
+	private final SpringNativeHandler _native;
+	
+	/** The decoded code for execution, lazily initialized. */
+	private volatile SpringDecodedCode _decoded;
+	
 	/**
 	 * Initializes the method representation.
 	 *
@@ -51,6 +57,10 @@ public final class SpringMethod
 		this.inclass = __ic;
 		this.method = __m;
 		this.infile = __if;
+		
+		// Bind native methods now so they need not be looked up every call
+		this._native = (__m.flags().isNative() ?
+			SpringNativeRegistry.__bind(this) : null);
 	}
 	
 	/**
@@ -64,6 +74,28 @@ public final class SpringMethod
 		return this.method.byteCode();
 	}
 	
+	/**
+	 * Returns the decoded byte code of the method which is used for
+	 * execution, it is only decoded once.
+	 *
+	 * @return The decoded byte code.
+	 * @since 2019/09/12
+	 */
+	public final SpringDecodedCode decodedCode()
+	{
+		SpringDecodedCode rv = this._decoded;
+		if (rv == null)
+			synchronized (this)
+			{
+				rv = this._decoded;
+				if (rv == null)
+					this._decoded = (rv = new SpringDecodedCode(
+						this.method.byteCode()));
+			}
+		
+		return rv;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/09/09
@@ -160,6 +192,25 @@ public final class SpringMethod
 		return this.method.nameAndType();
 	}
 	
+	/**
+	 * Returns the handler for this native method.
+	 *
+	 * @return The native method handler.
+	 * @throws SpringVirtualMachineException If this is not a native method.
+	 * @since 2019/09/22
+	 */
+	public final SpringNativeHandler nativeHandler()
+		throws SpringVirtualMachineException
+	{
+		// {@squirreljme.error BK3h The method is not a native method. (The
+		// method)}
+		SpringNativeHandler rv = this._native;
+		if (rv == null)
+			throw new SpringVirtualMachineException("BK3h " + this);
+		
+		return rv;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/12/06
@@ -11,7 +11,9 @@
 package cc.squirreljme.vm.springcoat;
 
 import cc.squirreljme.runtime.cldc.asm.ObjectAccess;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -37,6 +39,10 @@ public final class SpringMonitor
 	/** The entry count on the monitor. */
 	private int _count;
 	
+	/** Scheduled workers which are parked until this monitor changes. */
+	private final List<SpringThreadWorker> _parked =
+		new ArrayList<>();
+	
 	/**
 	 * Enters the monitor.
 	 *
@@ -74,7 +80,12 @@ public final class SpringMonitor
 				// Need to wait for it to be cleared
 				else
 				{
-					// Wait for lock to be freed
+					// Wait for lock to be freed, this time is not spent
+					// executing so it does not count against the thread
+					long waitstart = System.nanoTime();
+					SpringScheduler sched = SpringMonitor.__scheduler(__t);
+					if (sched != null)
+						sched.__beginBlocking();
 					try
 					{
 						lock.wait();
@@ -83,6 +94,12 @@ public final class SpringMonitor
 					{
 						// Ignore
 					}
+					finally
+					{
+						if (sched != null)
+							sched.__endBlocking();
+					}
+					__t._blockedns += System.nanoTime() - waitstart;
 				}
 			}
 	}
@@ -129,6 +146,9 @@ public final class SpringMonitor
 				// so whoever gets that chance
 				if (__notify)
 					lock.notifyAll();
+				
+				// Parked workers always try again
+				this.__wakeParked();
 			}
 		}
 	}
@@ -169,6 +189,7 @@ public final class SpringMonitor
 			
 			// Notify all threads that something happened with the lock
 			lock.notifyAll();
+			this.__wakeParked();
 			
 			return 0;
 		}
@@ -247,6 +268,10 @@ public final class SpringMonitor
 				else
 				{
 					// Could be interrupted
+					long waitstart = System.nanoTime();
+					SpringScheduler sched = SpringMonitor.__scheduler(__by);
+					if (sched != null)
+						sched.__beginBlocking();
 					try
 					{
 						// Check if time expired
@@ -276,11 +301,170 @@ public final class SpringMonitor
 					{
 						interrupted = true;
 					}
+					
+					finally
+					{
+						if (sched != null)
+							sched.__endBlocking();
+					}
+					
+					// Time spent waiting is not time spent executing
+					__by._blockedns += System.nanoTime() - waitstart;
 				}
 			}
 		}
 	}
 	
+	/**
+	 * Enters the monitor if it is free, otherwise the worker is parked until
+	 * the monitor is exited.
+	 *
+	 * @param __t The thread trying to lock the monitor.
+	 * @param __w The worker to park.
+	 * @return If the monitor was entered.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	final boolean __enterOrPark(SpringThread __t, SpringThreadWorker __w)
+		throws NullPointerException
+	{
+		if (__t == null || __w == null)
+			throw new NullPointerException("NARG");
+		
+		synchronized (this.lock)
+		{
+			// We take possession of this monitor
+			SpringThread owner = this._owner;
+			if (owner == null)
+			{
+				this._owner = __t;
+				this._count = 1;
+				return true;
+			}
+			
+			// We own the monitor, so increase the count
+			else if (owner == __t)
+			{
+				this._count++;
+				return true;
+			}
+			
+			// Try again once it is exited
+			this._parked.add(__w);
+			return false;
+		}
+	}
+	
+	/**
+	 * Starts waiting on this monitor, the monitor is exited and the worker
+	 * is parked until it is notified.
+	 *
+	 * @param __by The thread doing the wait.
+	 * @param __w The worker to park.
+	 * @return If the wait started, otherwise the monitor is not owned.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	final boolean __waitPark(SpringThread __by, SpringThreadWorker __w)
+		throws NullPointerException
+	{
+		if (__by == null || __w == null)
+			throw new NullPointerException("NARG");
+		
+		synchronized (this.lock)
+		{
+			// Wrong thread?
+			if (this._owner != __by)
+				return false;
+			
+			// This works the same as the blocking wait
+			this._waitcount++;
+			this.exit(__by, true);
+			
+			this._parked.add(__w);
+			return true;
+		}
+	}
+	
+	/**
+	 * Checks if a parked wait has finished, if it has not then the worker
+	 * remains parked.
+	 *
+	 * @param __by The thread doing the wait.
+	 * @param __w The worker which is parked.
+	 * @param __int Was the thread interrupted?
+	 * @param __exp Did the wait time expire?
+	 * @return The wait result or a negative value if still waiting, the
+	 * monitor must be entered again before the wait finishes.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	final int __waitCheck(SpringThread __by, SpringThreadWorker __w,
+		boolean __int, boolean __exp)
+		throws NullPointerException
+	{
+		if (__by == null || __w == null)
+			throw new NullPointerException("NARG");
+		
+		synchronized (this.lock)
+		{
+			List<SpringThreadWorker> parked = this._parked;
+			parked.remove(__w);
+			
+			// Not notified yet, keep waiting
+			if (!__int && !__exp && this._notifycount <= 0)
+			{
+				parked.add(__w);
+				return -1;
+			}
+			
+			// Reduce the notify count, but not when interrupted or expired
+			if (!__int && !__exp)
+				this._notifycount--;
+			
+			// Reduce wait count
+			int waitcount = this._waitcount;
+			this._waitcount = --waitcount;
+			
+			// Never let the notification count exceed the wait count
+			if (this._notifycount > waitcount)
+				this._notifycount = waitcount;
+			
+			return (__int ? ObjectAccess.MONITOR_INTERRUPTED :
+				ObjectAccess.MONITOR_NOT_INTERRUPTED);
+		}
+	}
+	
+	/**
+	 * Wakes all of the parked workers so they can check the monitor again,
+	 * this must be called while locked.
+	 *
+	 * @since 2019/09/22
+	 */
+	private final void __wakeParked()
+	{
+		List<SpringThreadWorker> parked = this._parked;
+		for (int i = 0, n = parked.size(); i < n; i++)
+		{
+			SpringThreadWorker w = parked.get(i);
+			w._scheduler.__wake(w);
+		}
+		parked.clear();
+	}
+	
+	/**
+	 * Returns the scheduler the given thread runs on.
+	 *
+	 * @param __t The thread to get the scheduler of.
+	 * @return The scheduler or {@code null} if it has its own thread.
+	 * @since 2019/09/22
+	 */
+	private static final SpringScheduler __scheduler(SpringThread __t)
+	{
+		SpringThreadWorker w = __t._worker;
+		return (w == null ? null : w._scheduler);
+	}
+	
 	/**
 	 * Waiting information on this monitor.
 	 *
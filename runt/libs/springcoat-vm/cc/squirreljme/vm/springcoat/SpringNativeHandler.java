@@ -0,0 +1,36 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+/**
+ * This handles a native method, it is bound to the method once when the
+ * method is loaded.
+ *
+ * @see SpringNativeRegistry
+ * @since 2019/09/22
+ */
+public interface SpringNativeHandler
+{
+	/**
+	 * Handles the native method.
+	 *
+	 * Note that the return value should be a native type, it is translated
+	 * as needed.
+	 *
+	 * @param __thread The thread which is calling the method.
+	 * @param __args The arguments to the method.
+	 * @return The result from the call.
+	 * @since 2019/09/22
+	 */
+	public abstract Object handle(SpringThreadWorker __thread,
+		Object... __args);
+}
+
@@ -0,0 +1,139 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This contains native methods which are registered by those embedding the
+ * virtual machine, these are used instead of the built-in native methods.
+ *
+ * Functions are named in the form of {@code class::name:type}, for example
+ * {@code cc/squirreljme/jvm/Assembly::arrayLength:(Ljava/lang/Object;)I}.
+ *
+ * Native methods are bound when their class is loaded, so handlers must be
+ * registered before the virtual machine is started.
+ *
+ * Handlers are registered for the entire process and not for a single
+ * virtual machine, so every virtual machine which is started in this process
+ * will use them.
+ *
+ * @since 2019/09/22
+ */
+public final class SpringNativeRegistry
+{
+	/** Registered handlers. */
+	private static final Map<String, SpringNativeHandler> _HANDLERS =
+		new HashMap<>();
+	
+	/**
+	 * Not used.
+	 *
+	 * @since 2019/09/22
+	 */
+	private SpringNativeRegistry()
+	{
+	}
+	
+	/**
+	 * Registers the given native method handler, replacing any previous
+	 * handler and the built-in handler if there is one.
+	 *
+	 * @param __func The function to handle.
+	 * @param __h The handler for the function.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	public static final void register(String __func, SpringNativeHandler __h)
+		throws NullPointerException
+	{
+		if (__func == null || __h == null)
+			throw new NullPointerException("NARG");
+		
+		Map<String, SpringNativeHandler> handlers =
+			SpringNativeRegistry._HANDLERS;
+		synchronized (handlers)
+		{
+			handlers.put(__func, __h);
+		}
+	}
+	
+	/**
+	 * Binds the given native method to its handler.
+	 *
+	 * @param __m The method to bind.
+	 * @return The handler for the method.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	static final SpringNativeHandler __bind(SpringMethod __m)
+		throws NullPointerException
+	{
+		if (__m == null)
+			throw new NullPointerException("NARG");
+		
+		// This is interned so that it is the same object as the string
+		// constants the built-in handlers are matched against
+		String func = (__m.inClass() + "::" + __m.name() + ":" +
+			__m.nameAndType().type()).intern();
+		
+		// Use a registered one, if there is one
+		Map<String, SpringNativeHandler> handlers =
+			SpringNativeRegistry._HANDLERS;
+		synchronized (handlers)
+		{
+			SpringNativeHandler rv = handlers.get(func);
+			if (rv != null)
+				return rv;
+		}
+		
+		return new __BuiltIn__(func);
+	}
+	
+	/**
+	 * Calls the built-in native method handler in the thread worker.
+	 *
+	 * The function string is interned, so the string switch uses the cached
+	 * hash code and the matching case passes the identity check in equality.
+	 *
+	 * @since 2019/09/22
+	 */
+	private static final class __BuiltIn__
+		implements SpringNativeHandler
+	{
+		/** The function to call. */
+		private final String _func;
+		
+		/**
+		 * Initializes the handler.
+		 *
+		 * @param __func The function to call.
+		 * @since 2019/09/22
+		 */
+		__BuiltIn__(String __func)
+		{
+			this._func = __func;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		@Override
+		public final Object handle(SpringThreadWorker __thread,
+			Object... __args)
+		{
+			return __thread.nativeMethod(this._func, __args);
+		}
+	}
+}
+
@@ -0,0 +1,366 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * This runs guest threads on a small number of carrier threads rather than
+ * giving each guest thread its own host thread.
+ *
+ * A guest thread runs on a carrier until it has made a number of backward
+ * jumps, then it goes to the back of the run queue. When it enters a monitor
+ * which is owned, waits on a monitor, or sleeps then it is parked and does
+ * not use a carrier until it is woken up.
+ *
+ * Guest threads which block while running code on behalf of the virtual
+ * machine (such as static initializers) keep their carrier, another carrier
+ * is started so that the other guest threads may still run.
+ *
+ * @since 2019/09/22
+ */
+public final class SpringScheduler
+{
+	/**
+	 * {@squirreljme.property cc.squirreljme.springcoat.carriers=boolean
+	 * Should guest threads run on a small number of carrier threads instead
+	 * of each having their own host thread?}
+	 */
+	public static final boolean ENABLED =
+		Boolean.getBoolean("cc.squirreljme.springcoat.carriers");
+	
+	/**
+	 * {@squirreljme.property cc.squirreljme.springcoat.carriers.count=int
+	 * The number of carrier threads which may run guest threads at once.}
+	 */
+	public static final int CARRIERS =
+		Math.max(1, Integer.getInteger(
+			"cc.squirreljme.springcoat.carriers.count", 4));
+	
+	/**
+	 * {@squirreljme.property cc.squirreljme.springcoat.carriers.slice=int
+	 * The number of backward jumps a guest thread makes before the other
+	 * threads are given a chance to run.}
+	 */
+	public static final int SLICE =
+		Math.max(1, Integer.getInteger(
+			"cc.squirreljme.springcoat.carriers.slice", 1024));
+	
+	/** The worker is not scheduled. */
+	static final byte STATE_IDLE =
+		0;
+	
+	/** The worker is in the run queue. */
+	static final byte STATE_QUEUED =
+		1;
+	
+	/** The worker is running on a carrier. */
+	static final byte STATE_RUNNING =
+		2;
+	
+	/** The worker is parked until it is woken up. */
+	static final byte STATE_PARKED =
+		3;
+	
+	/** Milliseconds a carrier waits for work before it stops. */
+	private static final long _IDLE_TIMEOUT =
+		1000L;
+	
+	/** Workers which are ready to run. */
+	private final LinkedList<SpringThreadWorker> _ready =
+		new LinkedList<>();
+	
+	/** Parked workers which wake up at a given time. */
+	private final List<SpringThreadWorker> _timed =
+		new ArrayList<>();
+	
+	/** The number of carriers which exist. */
+	private int _carriers;
+	
+	/** The number of carriers which are waiting for work. */
+	private int _idle;
+	
+	/** The number of carriers which are blocked in guest code. */
+	private int _blocked;
+	
+	/** The next carrier ID, used for naming. */
+	private int _nextid;
+	
+	/**
+	 * Adds the given worker to the run queue, it will run on a carrier.
+	 *
+	 * @param __w The worker to run.
+	 * @throws NullPointerException On null arguments.
+	 * @throws SpringVirtualMachineException If the worker was already
+	 * scheduled.
+	 * @since 2019/09/22
+	 */
+	public final void submit(SpringThreadWorker __w)
+		throws NullPointerException, SpringVirtualMachineException
+	{
+		if (__w == null)
+			throw new NullPointerException("NARG");
+		
+		synchronized (this)
+		{
+			// {@squirreljme.error BK3g The worker has already been
+			// scheduled.}
+			if (__w._scheduler != null)
+				throw new SpringVirtualMachineException("BK3g");
+			
+			__w._scheduler = this;
+			this.__ready(__w);
+		}
+	}
+	
+	/**
+	 * Indicates that the current carrier is about to block, so another
+	 * carrier may be started in its place.
+	 *
+	 * @since 2019/09/22
+	 */
+	final void __beginBlocking()
+	{
+		synchronized (this)
+		{
+			this._blocked++;
+			this.__signal();
+		}
+	}
+	
+	/**
+	 * Indicates that the current carrier is no longer blocked.
+	 *
+	 * @since 2019/09/22
+	 */
+	final void __endBlocking()
+	{
+		synchronized (this)
+		{
+			this._blocked--;
+		}
+	}
+	
+	/**
+	 * Wakes up the given worker if it is parked, if it is running then it
+	 * will not be parked once its slice ends.
+	 *
+	 * @param __w The worker to wake up.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	final void __wake(SpringThreadWorker __w)
+		throws NullPointerException
+	{
+		if (__w == null)
+			throw new NullPointerException("NARG");
+		
+		synchronized (this)
+		{
+			switch (__w._schedstate)
+			{
+				case STATE_PARKED:
+					this._timed.remove(__w);
+					this.__ready(__w);
+					break;
+				
+				case STATE_RUNNING:
+					__w._wakeup = true;
+					break;
+					
+					// Already going to run, or has finished
+				default:
+					break;
+			}
+		}
+	}
+	
+	/**
+	 * Runs workers until there is nothing left to run.
+	 *
+	 * @since 2019/09/22
+	 */
+	private final void __carrier()
+	{
+		for (;;)
+		{
+			// Get the next worker
+			SpringThreadWorker w;
+			synchronized (this)
+			{
+				w = this.__take();
+				if (w == null)
+				{
+					this._carriers--;
+					return;
+				}
+				
+				w._schedstate = STATE_RUNNING;
+				w._wakeup = false;
+			}
+			
+			// Run it for a bit
+			boolean done;
+			try
+			{
+				done = w.__runSlice();
+			}
+			
+			// The worker already reported this, the thread is now dead
+			catch (RuntimeException e)
+			{
+				done = true;
+			}
+			
+			// Decide what to do with it
+			synchronized (this)
+			{
+				if (done)
+					w._schedstate = STATE_IDLE;
+				
+				// Yielded, or something woke it up before it could be parked
+				else if (w._wakeup ||
+					w._park == SpringThreadWorker.PARK_YIELD)
+					this.__ready(w);
+				
+				// Otherwise wait to be woken up
+				else
+				{
+					w._schedstate = STATE_PARKED;
+					if (w._timed)
+						this._timed.add(w);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Places the worker in the run queue, this must be called while locked.
+	 *
+	 * @param __w The worker to queue.
+	 * @since 2019/09/22
+	 */
+	private final void __ready(SpringThreadWorker __w)
+	{
+		__w._schedstate = STATE_QUEUED;
+		this._ready.addLast(__w);
+		
+		this.__signal();
+	}
+	
+	/**
+	 * Wakes up an idle carrier or starts a new one if every carrier is busy
+	 * and there is work to do, this must be called while locked.
+	 *
+	 * @since 2019/09/22
+	 */
+	private final void __signal()
+	{
+		if (this._ready.isEmpty())
+			return;
+		
+		// Let an idle carrier take it
+		if (this._idle > 0)
+			this.notify();
+		
+		// Start a new carrier
+		else if (this._carriers - this._blocked < SpringScheduler.CARRIERS)
+		{
+			this._carriers++;
+			new Thread(new __Carrier__(),
+				"SpringCoat-Carrier-" + (++this._nextid)).start();
+		}
+	}
+	
+	/**
+	 * Takes the next worker from the run queue, this must be called while
+	 * locked.
+	 *
+	 * @return The next worker or {@code null} if the carrier should stop.
+	 * @since 2019/09/22
+	 */
+	private final SpringThreadWorker __take()
+	{
+		LinkedList<SpringThreadWorker> ready = this._ready;
+		List<SpringThreadWorker> timed = this._timed;
+		for (;;)
+		{
+			// Any timed workers which should wake up are ready to run
+			long now = System.nanoTime(),
+				next = Long.MAX_VALUE;
+			for (int i = timed.size() - 1; i >= 0; i--)
+			{
+				SpringThreadWorker w = timed.get(i);
+				
+				long rem = w._wakeat - now;
+				if (rem <= 0)
+				{
+					timed.remove(i);
+					w._schedstate = STATE_QUEUED;
+					ready.addLast(w);
+				}
+				else if (rem < next)
+					next = rem;
+			}
+			
+			// Run the next one
+			SpringThreadWorker rv = ready.pollFirst();
+			if (rv != null)
+				return rv;
+			
+			// Too many carriers are running
+			if (this._carriers - this._blocked > SpringScheduler.CARRIERS)
+				return null;
+			
+			// Wait for something to do, unless something needs to be woken
+			// up there is no reason to keep this carrier around
+			boolean nothing = timed.isEmpty();
+			this._idle++;
+			try
+			{
+				this.wait((nothing ? SpringScheduler._IDLE_TIMEOUT :
+					Math.max(1, next / 1_000_000L)));
+			}
+			catch (InterruptedException e)
+			{
+			}
+			finally
+			{
+				this._idle--;
+			}
+			
+			// Still nothing to do
+			if (nothing && ready.isEmpty() && timed.isEmpty())
+				return null;
+		}
+	}
+	
+	/**
+	 * Runs workers on a carrier thread.
+	 *
+	 * @since 2019/09/22
+	 */
+	private final class __Carrier__
+		implements Runnable
+	{
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/22
+		 */
+		@Override
+		public final void run()
+		{
+			SpringScheduler.this.__carrier();
+		}
+	}
+}
+
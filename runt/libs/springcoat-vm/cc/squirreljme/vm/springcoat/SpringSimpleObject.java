@@ -34,6 +34,9 @@ public final class SpringSimpleObject
 	/** String representation. */
 	private Reference<String> _string;
 	
+	/** The host string this object represents, if it is a string. */
+	private volatile String _hoststring;
+	
 	/**
 	 * Initializes the object.
 	 *
@@ -90,6 +93,30 @@ public final class SpringSimpleObject
 		return this._fields[__dx];
 	}
 	
+	/**
+	 * Returns the host string which this object represents, this is only
+	 * valid for {@code java/lang/String} objects.
+	 *
+	 * @return The host string or {@code null} if it is not known yet.
+	 * @since 2019/09/22
+	 */
+	final String __hostString()
+	{
+		return this._hoststring;
+	}
+	
+	/**
+	 * Sets the host string which this object represents, since strings are
+	 * immutable this never needs to be invalidated.
+	 *
+	 * @param __s The host string.
+	 * @since 2019/09/22
+	 */
+	final void __setHostString(String __s)
+	{
+		this._hoststring = __s;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/09/15
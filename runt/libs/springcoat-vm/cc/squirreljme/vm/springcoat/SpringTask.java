@@ -59,9 +59,13 @@ public final class SpringTask
 	@Override
 	public final void run()
 	{
-		this._exitcode = this.machine.runVm();
+		SpringMachine machine = this.machine;
+		this._exitcode = machine.runVm();
 		this._isterminated = true;
 		
+		// Notify anything waiting on this task that it has terminated
+		machine.taskManager().__statusChanged();
+		
 		// Debug
 		todo.DEBUG.note("Task is terminated!");
 	}
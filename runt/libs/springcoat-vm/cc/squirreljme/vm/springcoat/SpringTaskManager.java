@@ -49,9 +49,16 @@ public final class SpringTaskManager
 	protected final VMNativeDisplayAccess nativedisplay =
 		new VMNativeDisplayAccess();
 	
+	/** The scheduler for guest threads which do not have their own thread. */
+	protected final SpringScheduler scheduler =
+		new SpringScheduler();
+	
 	/** Next task ID. */
 	private int _nextid;
 	
+	/** The number of times a task was started or changed status. */
+	private int _changes;
+	
 	/**
 	 * Initializes the task manager.
 	 *
@@ -161,6 +168,7 @@ public final class SpringTaskManager
 			
 			// Store task in active set
 			tasks.put(tid, rv);
+			this.__statusChanged();
 			
 			// Start a thread for this task, which is that task's main thread
 			new Thread(rv, "MainTask-" + tid + "-" + __entry).start();
@@ -170,6 +178,29 @@ public final class SpringTaskManager
 		}
 	}
 	
+	/**
+	 * Returns the time a task has spent executing.
+	 *
+	 * @param __tid The task ID.
+	 * @return The execution time in nanoseconds or {@code -1} if the task
+	 * is not valid.
+	 * @since 2019/09/20
+	 */
+	public final long taskCpuTime(int __tid)
+	{
+		// Lock on tasks
+		Map<Integer, SpringTask> tasks = this._tasks;
+		synchronized (tasks)
+		{
+			// Must be a valid task
+			SpringTask rv = tasks.get(__tid);
+			if (rv == null)
+				return -1;
+			
+			return rv.machine.cpuTime();
+		}
+	}
+	
 	/**
 	 * Returns the status for a task.
 	 *
@@ -188,21 +219,107 @@ public final class SpringTaskManager
 			if (rv == null)
 				return -1;
 			
-			// Get the exit code
-			int exitcode = rv._exitcode;
-			
-			// Still running
-			if (exitcode == Integer.MIN_VALUE)
-				return TaskStatus.RUNNING.ordinal();
-			
-			// Terminated with success
-			else if (exitcode == 0)
-				return TaskStatus.EXITED_REGULAR.ordinal();
-			
-			// Terminate with something else
-			else
-				return TaskStatus.EXITED_FATAL.ordinal();
+			return SpringTaskManager.__status(rv);
 		}
 	}
+	
+	/**
+	 * Waits for any task to be started or to change status, this is
+	 * signaled when a task starts or terminates so no polling is needed.
+	 *
+	 * @param __old The change count which is already known, this returns
+	 * immediately if it is not the current count.
+	 * @param __ms The number of milliseconds to wait, zero waits forever.
+	 * @return The current change count, this will be the same as the old
+	 * count if the wait expired or was interrupted.
+	 * @since 2019/09/20
+	 */
+	public final int taskStatusChanges(int __old, long __ms)
+	{
+		long end = (__ms <= 0 ? Long.MAX_VALUE :
+			System.nanoTime() + (__ms * 1_000_000L));
+		
+		// Lock on tasks
+		Map<Integer, SpringTask> tasks = this._tasks;
+		synchronized (tasks)
+		{
+			for (;;)
+			{
+				// Something has changed
+				int changes = this._changes;
+				if (changes != __old)
+					return changes;
+				
+				// Wait for a task to signal a change
+				try
+				{
+					if (__ms <= 0)
+						tasks.wait();
+					else
+					{
+						// Timed out
+						long rem = end - System.nanoTime();
+						if (rem <= 0)
+							return changes;
+						
+						tasks.wait(Math.max(1, rem / 1_000_000L));
+					}
+				}
+				
+				// Stop waiting
+				catch (InterruptedException e)
+				{
+					return changes;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Signals that a task was started or the status of a task has changed.
+	 *
+	 * @since 2019/09/20
+	 */
+	final void __statusChanged()
+	{
+		// Wake up anything waiting on task status, the count is never
+		// negative so it is never the same as an unknown count
+		Map<Integer, SpringTask> tasks = this._tasks;
+		synchronized (tasks)
+		{
+			this._changes = (this._changes + 1) & 0x7FFFFFFF;
+			tasks.notifyAll();
+		}
+	}
+	
+	/**
+	 * Returns the status for the given task.
+	 *
+	 * @param __t The task to get the status of.
+	 * @return The status of the task.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/20
+	 */
+	private static int __status(SpringTask __t)
+		throws NullPointerException
+	{
+		if (__t == null)
+			throw new NullPointerException("NARG");
+		
+		// Get the exit code
+		int exitcode = __t._exitcode;
+		
+		// Still running
+		if (exitcode == Integer.MIN_VALUE)
+			return TaskStatus.RUNNING.ordinal();
+		
+		// Terminated with success
+		else if (exitcode == 0)
+			return TaskStatus.EXITED_REGULAR.ordinal();
+		
+		// Terminate with something else
+		else
+			return TaskStatus.EXITED_FATAL.ordinal();
+	}
 }
 
@@ -47,7 +47,7 @@ public final class SpringThread
 	/** The stack frames. */
 	private final List<SpringThread.Frame> _frames =
 		new ArrayList<>();
-		
+	
 	/** String representation. */
 	private Reference<String> _string;
 	
@@ -66,6 +66,9 @@ public final class SpringThread
 	/** The current worker for the thread. */
 	volatile SpringThreadWorker _worker;
 	
+	/** Nanoseconds this thread has spent blocked, waiting, or sleeping. */
+	volatile long _blockedns;
+	
 	/**
 	 * Initializes the thread.
 	 *
@@ -327,7 +330,7 @@ public final class SpringThread
 			// {@squirreljme.error BK1o No frames to pop.}
 			int n;
 			if ((n = frames.size()) <= 0)
-				throw new SpringVirtualMachineException("BK1o");	
+				throw new SpringVirtualMachineException("BK1o");
 			
 			rv = frames.remove(n - 1);
 		}
@@ -424,14 +427,24 @@ public final class SpringThread
 		/** Is this frame blank? */
 		protected final boolean isblank;
 		
-		/** Local variables. */
+		/**
+		 * Local variables, primitive values are not boxed and instead the
+		 * slot contains the class of the boxed type and the value is stored
+		 * within {@link #_localprims}.
+		 */
 		private final Object[] _locals;
 		
-		/** The stack. */
+		/** Primitive values for local variables. */
+		private final long[] _localprims;
+		
+		/** The stack, primitives are tagged like local variables are. */
 		private final Object[] _stack;
 		
+		/** Primitive values for the stack. */
+		private final long[] _stackprims;
+		
 		/** The top of the stack. */
-		private volatile int _stacktop;
+		private int _stacktop;
 		
 		/** The current program counter. */
 		private volatile int _pc;
@@ -460,7 +473,9 @@ public final class SpringThread
 			this.thisobject = null;
 			this.isblank = true;
 			this._locals = new Object[0];
+			this._localprims = new long[0];
 			this._stack = new Object[2];
+			this._stackprims = new long[2];
 		}
 		
 		/**
@@ -489,18 +504,22 @@ public final class SpringThread
 			
 			// Initialize variable storage
 			Object[] locals;
-			this._locals = (locals = new Object[code.maxLocals()]);
-			this._stack = new Object[code.maxStack()];
+			int maxlocals = code.maxLocals(),
+				maxstack = code.maxStack();
+			this._locals = (locals = new Object[maxlocals]);
+			this._localprims = new long[maxlocals];
+			this._stack = new Object[maxstack];
+			this._stackprims = new long[maxstack];
 			
-			// Copy arguments passed to the method
+			// Copy arguments passed to the method, long and double take up
+			// an additional top slot
 			for (int i = 0, n = __args.length, o = 0; i < n; i++)
 			{
-				Object av;
-				locals[o++] = (av = __args[i]);
+				Object av = __args[i];
+				this.storeLocal(o++, av);
 				
-				// Add additional top for long/double
 				if (av instanceof Long || av instanceof Double)
-					locals[o++] = SpringStackTop.TOP;
+					o++;
 			}
 			
 			// Store the this object, if needed
@@ -543,6 +562,30 @@ public final class SpringThread
 			return this._execcount++;
 		}
 		
+		/**
+		 * Increments the given integer local variable.
+		 *
+		 * @param __dx The local to increment.
+		 * @param __v The value to add.
+		 * @throws SpringVirtualMachineException If the local is not an
+		 * integer.
+		 * @since 2019/09/13
+		 */
+		public final void incrementLocal(int __dx, int __v)
+			throws SpringVirtualMachineException
+		{
+			// {@squirreljme.error BK3e Cannot increment local variable which
+			// is not an integer. (The index of the local; The value in the
+			// local)}
+			Object tag = this._locals[__dx];
+			if (tag != Integer.class)
+				throw new SpringVirtualMachineException(String.format(
+					"BK3e %d %s", __dx, tag));
+			
+			long[] localprims = this._localprims;
+			localprims[__dx] = (int)localprims[__dx] + __v;
+		}
+		
 		/**
 		 * Is this a blank frame?
 		 *
@@ -592,7 +635,10 @@ public final class SpringThread
 		public final <C> C loadLocal(Class<C> __cl, int __dx)
 			throws NullPointerException
 		{
-			return __cl.cast(this._locals[__dx]);
+			Object rv = this._locals[__dx];
+			if (rv instanceof Class)
+				return __cl.cast(Frame.__box(rv, this._localprims[__dx]));
+			return __cl.cast(rv);
 		}
 		
 		/**
@@ -612,13 +658,19 @@ public final class SpringThread
 			// index to load from; The expected class; The value to push;
 			// The type of value to push)}
 			Object pushy = locals[__dx];
-			if (!__cl.isInstance(pushy))
+			if (pushy instanceof Class ? pushy != __cl :
+				!__cl.isInstance(pushy))
 				throw new SpringVirtualMachineException(String.format(
 					"BK1p %s %d %s %s %s", pushy, __dx, __cl, pushy,
 					(pushy == null ? "null" : pushy.getClass())));
 			
+			// Primitive values are copied without boxing
+			if (pushy instanceof Class)
+				this.__pushSlot(pushy, this._localprims[__dx]);
+			
 			// Just copy to the stack
-			this.pushToStack(pushy);
+			else
+				this.pushToStack(pushy);
 		}
 		
 		/**
@@ -678,6 +730,10 @@ public final class SpringThread
 			stack[stacktop] = null;
 			this._stacktop = stacktop;
 			
+			// Primitive values are boxed here
+			if (rv instanceof Class)
+				return Frame.__box(rv, this._stackprims[stacktop]);
+			
 			// {@squirreljme.error BK1r Popped a null value of the stack, which
 			// should not occur.}
 			if (rv == null)
@@ -769,6 +825,114 @@ public final class SpringThread
 			return __cl.cast(rv);
 		}
 		
+		/**
+		 * Pops a double from the stack.
+		 *
+		 * @return The popped value.
+		 * @throws SpringVirtualMachineException If the type does not match or
+		 * the stack underflows.
+		 * @since 2019/09/13
+		 */
+		public final double popDouble()
+			throws SpringVirtualMachineException
+		{
+			return Double.longBitsToDouble(this.__popSlot(Double.class));
+		}
+		
+		/**
+		 * Pops a float from the stack.
+		 *
+		 * @return The popped value.
+		 * @throws SpringVirtualMachineException If the type does not match or
+		 * the stack underflows.
+		 * @since 2019/09/13
+		 */
+		public final float popFloat()
+			throws SpringVirtualMachineException
+		{
+			return Float.intBitsToFloat((int)this.__popSlot(Float.class));
+		}
+		
+		/**
+		 * Pops an integer from the stack.
+		 *
+		 * @return The popped value.
+		 * @throws SpringVirtualMachineException If the type does not match or
+		 * the stack underflows.
+		 * @since 2019/09/13
+		 */
+		public final int popInt()
+			throws SpringVirtualMachineException
+		{
+			return (int)this.__popSlot(Integer.class);
+		}
+		
+		/**
+		 * Pops a long from the stack.
+		 *
+		 * @return The popped value.
+		 * @throws SpringVirtualMachineException If the type does not match or
+		 * the stack underflows.
+		 * @since 2019/09/13
+		 */
+		public final long popLong()
+			throws SpringVirtualMachineException
+		{
+			return this.__popSlot(Long.class);
+		}
+		
+		/**
+		 * Pushes a double to the stack.
+		 *
+		 * @param __v The value to push.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2019/09/13
+		 */
+		public final void pushDouble(double __v)
+			throws SpringVirtualMachineException
+		{
+			this.__pushSlot(Double.class, Double.doubleToRawLongBits(__v));
+		}
+		
+		/**
+		 * Pushes a float to the stack.
+		 *
+		 * @param __v The value to push.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2019/09/13
+		 */
+		public final void pushFloat(float __v)
+			throws SpringVirtualMachineException
+		{
+			this.__pushSlot(Float.class, Float.floatToRawIntBits(__v));
+		}
+		
+		/**
+		 * Pushes an integer to the stack.
+		 *
+		 * @param __v The value to push.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2019/09/13
+		 */
+		public final void pushInt(int __v)
+			throws SpringVirtualMachineException
+		{
+			this.__pushSlot(Integer.class, __v);
+		}
+		
+		/**
+		 * Pushes a long to the stack.
+		 *
+		 * @param __v The value to push.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2019/09/13
+		 */
+		public final void pushLong(long __v)
+			throws SpringVirtualMachineException
+		{
+			this.__pushSlot(Long.class, __v);
+		}
+		
 		/**
 		 * Pushes the specified value to the stack.
 		 *
@@ -784,6 +948,28 @@ public final class SpringThread
 			if (__v == null)
 				throw new NullPointerException("NARG");
 			
+			// Primitive values are unboxed
+			if (__v instanceof Integer)
+			{
+				this.pushInt((Integer)__v);
+				return;
+			}
+			else if (__v instanceof Long)
+			{
+				this.pushLong((Long)__v);
+				return;
+			}
+			else if (__v instanceof Float)
+			{
+				this.pushFloat((Float)__v);
+				return;
+			}
+			else if (__v instanceof Double)
+			{
+				this.pushDouble((Double)__v);
+				return;
+			}
+			
 			Object[] stack = this._stack;
 			int stacktop = this._stacktop;
 			
@@ -799,10 +985,6 @@ public final class SpringThread
 			// Store
 			stack[stacktop++] = __v;
 			this._stacktop = stacktop;
-			
-			// Push an extra top for long and double
-			if (__v instanceof Long || __v instanceof Double)
-				this.pushToStack(SpringStackTop.TOP);
 		}
 		
 		/**
@@ -841,7 +1023,72 @@ public final class SpringThread
 			if (__v == null)
 				throw new NullPointerException("NARG");
 			
-			this._locals[__dx] = __v;
+			Object[] locals = this._locals;
+			long[] localprims = this._localprims;
+			
+			// Primitive values are unboxed, wide values have a top following
+			// them
+			if (__v instanceof Integer)
+			{
+				locals[__dx] = Integer.class;
+				localprims[__dx] = (Integer)__v;
+			}
+			else if (__v instanceof Long)
+			{
+				locals[__dx] = Long.class;
+				localprims[__dx] = (Long)__v;
+				locals[__dx + 1] = SpringStackTop.TOP;
+			}
+			else if (__v instanceof Float)
+			{
+				locals[__dx] = Float.class;
+				localprims[__dx] = Float.floatToRawIntBits((Float)__v);
+			}
+			else if (__v instanceof Double)
+			{
+				locals[__dx] = Double.class;
+				localprims[__dx] = Double.doubleToRawLongBits((Double)__v);
+				locals[__dx + 1] = SpringStackTop.TOP;
+			}
+			
+			// Objects are stored as is
+			else
+				locals[__dx] = __v;
+		}
+		
+		/**
+		 * Pops the value from the top of the stack and stores it in the given
+		 * local variable, primitive values are copied without boxing.
+		 *
+		 * @param __cl The expected class type.
+		 * @param __dx The index to store into.
+		 * @throws NullPointerException On null arguments.
+		 * @throws SpringVirtualMachineException If the type is not correct or
+		 * the stack underflows.
+		 * @since 2019/09/13
+		 */
+		public final void storeFromStack(Class<?> __cl, int __dx)
+			throws NullPointerException, SpringVirtualMachineException
+		{
+			if (__cl == null)
+				throw new NullPointerException("NARG");
+			
+			// Objects are just popped and stored
+			if (__cl == SpringObject.class)
+			{
+				this.storeLocal(__dx,
+					this.<SpringObject>popFromStack(SpringObject.class));
+				return;
+			}
+			
+			// Copy the raw value
+			this._localprims[__dx] = this.__popSlot(__cl);
+			
+			// Set type, wide values have a top following them
+			Object[] locals = this._locals;
+			locals[__dx] = __cl;
+			if (__cl == Long.class || __cl == Double.class)
+				locals[__dx + 1] = SpringStackTop.TOP;
 		}
 		
 		/**
@@ -876,6 +1123,97 @@ public final class SpringThread
 		{
 			this._tossedexception = __o;
 		}
+		
+		/**
+		 * Pops a primitive value from the stack.
+		 *
+		 * @param __cl The boxed class type of the value.
+		 * @return The raw value.
+		 * @throws SpringVirtualMachineException If the stack underflows or
+		 * the value is of the wrong type.
+		 * @since 2019/09/13
+		 */
+		private final long __popSlot(Class<?> __cl)
+			throws SpringVirtualMachineException
+		{
+			Object[] stack = this._stack;
+			int stacktop = this._stacktop;
+			
+			// Wide values have a top above them
+			boolean wide = (__cl == Long.class || __cl == Double.class);
+			int want = (wide ? 2 : 1);
+			
+			// Stack underflow
+			if (stacktop < want)
+				throw new SpringVirtualMachineException(String.format(
+					"BK1q %d %d", stacktop, stack.length));
+			
+			// Popped the wrong kind of value
+			int at = stacktop - want;
+			Object tag = stack[at];
+			if (tag != __cl || (wide && stack[at + 1] != SpringStackTop.TOP))
+				throw new SpringVirtualMachineException(
+					String.format("BK1t %s %s", (tag instanceof Class ? tag :
+						(tag == null ? null : tag.getClass())), __cl));
+			
+			// Clear and pop
+			stack[at] = null;
+			if (wide)
+				stack[at + 1] = null;
+			this._stacktop = at;
+			
+			return this._stackprims[at];
+		}
+		
+		/**
+		 * Pushes a primitive value to the stack.
+		 *
+		 * @param __cl The boxed class type of the value.
+		 * @param __v The raw value.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2019/09/13
+		 */
+		private final void __pushSlot(Object __cl, long __v)
+			throws SpringVirtualMachineException
+		{
+			Object[] stack = this._stack;
+			int stacktop = this._stacktop;
+			
+			// Wide values have a top above them
+			boolean wide = (__cl == Long.class || __cl == Double.class);
+			
+			// Stack overflow
+			if (stacktop + (wide ? 2 : 1) > stack.length)
+				throw new SpringVirtualMachineException(String.format(
+					"BK1w %s %d %d", Frame.__box(__cl, __v), stacktop,
+					stack.length));
+			
+			// Store
+			this._stackprims[stacktop] = __v;
+			stack[stacktop++] = __cl;
+			if (wide)
+				stack[stacktop++] = SpringStackTop.TOP;
+			this._stacktop = stacktop;
+		}
+		
+		/**
+		 * Boxes the given raw primitive value.
+		 *
+		 * @param __cl The boxed class type of the value.
+		 * @param __v The raw value.
+		 * @return The boxed value.
+		 * @since 2019/09/13
+		 */
+		private static final Object __box(Object __cl, long __v)
+		{
+			if (__cl == Integer.class)
+				return Integer.valueOf((int)__v);
+			else if (__cl == Long.class)
+				return Long.valueOf(__v);
+			else if (__cl == Float.class)
+				return Float.valueOf(Float.intBitsToFloat((int)__v));
+			return Double.valueOf(Double.longBitsToDouble(__v));
+		}
 	}
 }
 
@@ -14,6 +14,7 @@ import cc.squirreljme.jvm.CallStackItem;
 import cc.squirreljme.jvm.SystemCallError;
 import cc.squirreljme.jvm.SystemCallIndex;
 import cc.squirreljme.runtime.cldc.asm.ConsoleOutput;
+import cc.squirreljme.runtime.cldc.asm.ObjectAccess;
 import cc.squirreljme.runtime.cldc.asm.SystemAccess;
 import cc.squirreljme.runtime.cldc.asm.SystemProperties;
 import cc.squirreljme.runtime.cldc.lang.ApiLevel;
@@ -25,27 +26,23 @@ import java.io.OutputStream;
 import java.io.PrintStream;
 import java.util.Arrays;
 import java.util.Formatter;
+import java.util.HashMap;
 import java.util.Map;
 import net.multiphasicapps.classfile.ByteCode;
 import net.multiphasicapps.classfile.ClassFlags;
 import net.multiphasicapps.classfile.ClassName;
-import net.multiphasicapps.classfile.ConstantValue;
 import net.multiphasicapps.classfile.ConstantValueClass;
 import net.multiphasicapps.classfile.ConstantValueString;
 import net.multiphasicapps.classfile.ExceptionHandler;
 import net.multiphasicapps.classfile.FieldNameAndType;
 import net.multiphasicapps.classfile.FieldReference;
-import net.multiphasicapps.classfile.Instruction;
 import net.multiphasicapps.classfile.InstructionIndex;
-import net.multiphasicapps.classfile.InstructionJumpTarget;
 import net.multiphasicapps.classfile.IntMatchingJumpTable;
-import net.multiphasicapps.classfile.InvalidClassFormatException;
 import net.multiphasicapps.classfile.MemberFlags;
 import net.multiphasicapps.classfile.MethodDescriptor;
 import net.multiphasicapps.classfile.MethodName;
 import net.multiphasicapps.classfile.MethodNameAndType;
 import net.multiphasicapps.classfile.MethodReference;
-import net.multiphasicapps.classfile.PrimitiveType;
 
 /**
  * A worker which runs the actual thread code in single-step fashion.
@@ -55,10 +52,34 @@ import net.multiphasicapps.classfile.PrimitiveType;
 public final class SpringThreadWorker
 	extends Thread
 {
-	/** Number of instructions which can be executed before warning. */
+	/** Number of back-edges which can be executed before warning. */
 	private static final int _EXECUTION_THRESHOLD =
 		200000;
 	
+	/** The worker is not parked. */
+	static final byte PARK_NONE =
+		0;
+	
+	/** The worker is giving other workers a chance to run. */
+	static final byte PARK_YIELD =
+		1;
+	
+	/** The worker is waiting to enter a monitor. */
+	static final byte PARK_ENTER =
+		2;
+	
+	/** The worker is waiting on a monitor. */
+	static final byte PARK_WAIT =
+		3;
+	
+	/** The worker was notified and is waiting to enter the monitor again. */
+	static final byte PARK_REENTER =
+		4;
+	
+	/** The worker is sleeping. */
+	static final byte PARK_SLEEP =
+		5;
+	
 	/** The owning machine. */
 	protected final SpringMachine machine;
 	
@@ -68,8 +89,48 @@ public final class SpringThreadWorker
 	/** The thread to signal instead for interrupt. */
 	protected final Thread signalinstead;
 	
-	/** The current step count. */
-	private volatile int _stepcount;
+	/** Classes which have finished initialization, used without locking. */
+	private final Map<ClassName, SpringClass> _readyclasses =
+		new HashMap<>();
+	
+	/** The scheduler this runs on, {@code null} if it has its own thread. */
+	volatile SpringScheduler _scheduler;
+	
+	/** The state of this worker in the scheduler. */
+	byte _schedstate;
+	
+	/** Was this woken up while it was running? */
+	boolean _wakeup;
+	
+	/** What this worker is parked on. */
+	volatile byte _park;
+	
+	/** Does this wake up at a given time while parked? */
+	volatile boolean _timed;
+	
+	/** The time this wakes up at, in nanoseconds. */
+	volatile long _wakeat;
+	
+	/** Was this interrupted while on the scheduler? */
+	volatile boolean _interrupted;
+	
+	/** The monitor this is parked on. */
+	private SpringMonitor _parkmonitor;
+	
+	/** The time this was parked at. */
+	private long _parkstart;
+	
+	/** The result of the wait, once the monitor is entered again. */
+	private int _parkresult;
+	
+	/** The number of backward jumps remaining in this slice. */
+	private int _slice;
+	
+	/** The number of nested run calls. */
+	private int _depth;
+	
+	/** Scratch arguments for accelerated graphics calls. */
+	private Object[] _gfxargs;
 	
 	/**
 	 * Initialize the worker.
@@ -123,7 +184,7 @@ public final class SpringThreadWorker
 				// Boolean
 			case "boolean":
 				return new SpringArrayObjectBoolean(dim, __cl, __l);
-			
+				
 				// Byte
 			case "byte":
 				return new SpringArrayObjectByte(dim, __cl, __l);
@@ -151,12 +212,12 @@ public final class SpringThreadWorker
 				// Float
 			case "double":
 				return new SpringArrayObjectDouble(dim, __cl, __l);
-			
+				
 				// Generic array
 			default:
 				return new SpringArrayObjectGeneric(dim, __cl, __l);
 		}
-		
+	
 	}
 	
 	/**
@@ -178,6 +239,33 @@ public final class SpringThreadWorker
 		return new SpringSimpleObject(__cl);
 	}
 	
+	/**
+	 * Borrows the backing array of a virtual machine array so that it may be
+	 * directly accessed without copying, any changes made to the array are
+	 * visible to the virtual machine.
+	 *
+	 * @param <A> The array type.
+	 * @param __cl The array type.
+	 * @param __in The input array.
+	 * @return The backing array or {@code null} if this is a null
+	 * reference.
+	 * @throws ClassCastException If the object is not an array of the given
+	 * type.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	public final <A> A borrowArray(Class<A> __cl, Object __in)
+		throws ClassCastException, NullPointerException
+	{
+		if (__cl == null || __in == null)
+			throw new NullPointerException("NARG");
+		
+		if (__in == SpringNullObject.NULL)
+			return null;
+		
+		return __cl.cast(((SpringArrayObject)__in).array());
+	}
+	
 	/**
 	 * Converts the specified virtual machine object to a native object.
 	 *
@@ -216,15 +304,7 @@ public final class SpringThreadWorker
 			{
 					// Char array
 				case "[C":
-					{
-						char[] rv = new char[len];
-						
-						for (int i = 0; i < len; i++)
-							rv[i] = (char)(sao.<Integer>get(Integer.class, i).
-								intValue());
-						
-						return rv;
-					}
+					return ((char[])sao.array()).clone();
 					
 					// String
 				case "[Ljava/lang/String;":
@@ -237,7 +317,7 @@ public final class SpringThreadWorker
 						
 						return rv;
 					}
-				
+					
 					// {@squirreljme.error BK1y Do not know how to convert the
 					// given virtual machine array to a native machine array.
 					// (The input class)}
@@ -263,12 +343,23 @@ public final class SpringThreadWorker
 						"_value", "I")).get());
 				
 				case "java/lang/String":
-					return new String(this.<char[]>asNativeObject(
-						char[].class, this.invokeMethod(false,
-							new ClassName("java/lang/String"),
-							new MethodNameAndType("toCharArray", "()[C"),
-							sso)));
-				
+					{
+						// Strings are immutable so the conversion only has to
+						// be done once
+						String rv = sso.__hostString();
+						if (rv != null)
+							return rv;
+						
+						// Read the characters directly rather than calling
+						// toCharArray() which would copy them in the VM, the
+						// host string still makes its own copy of them
+						rv = new String(this.<char[]>borrowArray(char[].class,
+							sso.fieldByField(sscl.lookupField(false,
+							"_chars", "[C")).get()));
+						sso.__setHostString(rv);
+						return rv;
+					}
+					
 					// {@squirreljme.error BK1z Do not know how to convert the
 					// given virtual machine class to a native machine object.
 					// (The input class)}
@@ -381,8 +472,7 @@ public final class SpringThreadWorker
 				this.loadClass(new ClassName("char")), n);
 			
 			// Copy array values
-			for (int i = 0; i < n; i++)
-				rv.set(i, (int)in[i]);
+			System.arraycopy(in, 0, (char[])rv.array(), 0, n);
 			
 			return rv;
 		}
@@ -398,8 +488,7 @@ public final class SpringThreadWorker
 				this.loadClass(new ClassName("int")), n);
 			
 			// Copy array values
-			for (int i = 0; i < n; i++)
-				rv.set(i, (int)in[i]);
+			System.arraycopy(in, 0, (int[])rv.array(), 0, n);
 			
 			return rv;
 		}
@@ -440,7 +529,7 @@ public final class SpringThreadWorker
 			// Locate the string class
 			SpringClass strclass = this.loadClass(
 				new ClassName("java/lang/String"));
-				
+			
 			// Setup an array of characters to represent the string data,
 			// this is the simplest thing to do right now
 			SpringObject array = (SpringObject)this.asVMObject(
@@ -452,6 +541,10 @@ public final class SpringThreadWorker
 				new MethodDescriptor("([CS)V"),
 				array, 0);
 			
+			// The host string is already known, so it does not need to be
+			// converted back
+			((SpringSimpleObject)rv).__setHostString(s);
+			
 			return rv;
 		}
 		
@@ -478,16 +571,25 @@ public final class SpringThreadWorker
 				
 				// Setup an array of characters to represent the string data,
 				// this is the simplest thing to do right now
+				String s = cvs.toString();
 				SpringObject array = (SpringObject)this.asVMObject(
-					cvs.toString().toCharArray());
+					s.toCharArray());
 				
-				// Setup string which uses this sequence, but it also needs
-				// to be interned!
+				// Setup string which uses this sequence
 				ClassName strclass = new ClassName("java/lang/String");
+				SpringSimpleObject str = (SpringSimpleObject)this.newInstance(
+					strclass, new MethodDescriptor("([CS)V"), array, 0);
+				
+				// The hash code is the same as the host one, so calculate it
+				// here so the intern table does not need to
+				str.fieldByField(str.type().lookupField(false, "_hashcode",
+					"I")).set(s.hashCode());
+				str.__setHostString(s);
+				
+				// It also needs to be interned!
 				rv = (SpringObject)this.invokeMethod(false, strclass,
 					new MethodNameAndType("intern", "()Ljava/lang/String;"),
-					this.newInstance(strclass, new MethodDescriptor("([CS)V"),
-						array, 0));
+					str);
 				
 				// Cache
 				stringmap.put(cvs, rv);
@@ -929,7 +1031,7 @@ public final class SpringThreadWorker
 		{
 			cl = ((SpringObject)__args[0]).type();
 			method = cl.lookupMethod(false, __nat);
-		} 
+		}
 		
 		// Overflow or exceptions might occur
 		int framelimit;
@@ -1003,14 +1105,27 @@ public final class SpringThreadWorker
 		if (__cn == null)
 			throw new NullPointerException("NARG");
 		
+		// Classes which have finished initialization never change, and since
+		// only this thread uses this map it can be used without locking
+		Map<ClassName, SpringClass> ready = this._readyclasses;
+		SpringClass rv = ready.get(__cn);
+		if (rv != null)
+			return rv;
+		
 		// Use the class loading lock to prevent other threads from loading or
 		// initializing classes while this thread does such things
 		SpringClassLoader classloader = this.machine.classLoader();
 		synchronized (classloader.classLoadingLock())
 		{
 			// Load the class from the class loader
-			return this.loadClass(classloader.loadClass(__cn));
+			rv = this.loadClass(classloader.loadClass(__cn));
 		}
+		
+		// Remember it if it can be used without waiting on initialization
+		if (rv.isInitializedFully())
+			ready.put(__cn, rv);
+		
+		return rv;
 	}
 	
 	/**
@@ -1027,6 +1142,11 @@ public final class SpringThreadWorker
 		if (__cl == null)
 			throw new NullPointerException("NARG");
 		
+		// If initialization has finished then no other thread can be in the
+		// middle of initializing it, so the lock is not needed
+		if (__cl.isInitializedFully())
+			return __cl;
+		
 		// Use the class loading lock to prevent other threads from loading or
 		// initializing classes while this thread does such things
 		SpringMachine machine = this.machine;
@@ -1052,7 +1172,13 @@ public final class SpringThreadWorker
 				machine.__staticFieldMap();
 			for (SpringField f : __cl.fieldsOnlyThisClass())
 				if (f.isStatic())
-					sfm.put(f, new SpringFieldStorage(f));
+				{
+					SpringFieldStorage store = new SpringFieldStorage(f);
+					sfm.put(f, store);
+					
+					// Publish so it can be found without locking
+					f._staticstorage = store;
+				}
 			
 			// Recursively call self to load the super class before this class
 			// is handled
@@ -1096,6 +1222,9 @@ public final class SpringThreadWorker
 				// Execute until it finishes
 				this.run(framelimit);
 			}
+			
+			// Other threads may now use this class without waiting
+			__cl.setInitializedFully();
 		}
 		
 		// Return the input class
@@ -1288,7 +1417,7 @@ public final class SpringThreadWorker
 					// Do system call handler
 					return this.systemCall((short)si, ta);
 				}
-			
+				
 				// Read console buffer
 			case "cc/squirreljme/runtime/cldc/asm/ConsoleOutput::" +
 				"displayRead:([I[BII)I":
@@ -1312,7 +1441,7 @@ public final class SpringThreadWorker
 					else
 						return ConsoleOutput.ERROR_INVALIDFD;
 				}
-			
+				
 				// Write to the console
 			case "cc/squirreljme/runtime/cldc/asm/ConsoleOutput::" +
 				"write:(II)I":
@@ -1345,7 +1474,7 @@ public final class SpringThreadWorker
 					if (to != null)
 					{
 						to.write(
-							(byte[])((SpringArrayObjectByte)__args[1]).array(),
+							this.<byte[]>borrowArray(byte[].class, __args[1]),
 							(Integer)__args[2],
 							(Integer)__args[3]);
 						return 0;
@@ -1366,19 +1495,34 @@ public final class SpringThreadWorker
 				{
 					// The original array to be adapted
 					SpringArrayObject sao = (SpringArrayObject)__args[2];
-					int n = sao.length();
+					Object[] vmargs = (Object[])sao.array();
+					int n = vmargs.length;
+					
+					// Arguments are only read by index, so the same array
+					// is used for every call
+					Object[] rawr = this._gfxargs;
+					if (rawr == null || rawr.length < n)
+						this._gfxargs = (rawr = new Object[n]);
 					
 					// Wrap arrays or convert to native
-					Object[] rawr = new Object[n];
 					for (int i = 0; i < n; i++)
 						rawr[i] = this.<Object>asNativeObjectUnwrapArray(
-							Object.class, sao.<Object>get(Object.class, i));
+							Object.class, vmargs[i]);
 					
-					// Forward
-					return this.asVMObjectBoxedOrWrappedArray(
-						this.machine.nativedisplay.
-						accelGfxFunc((Integer)__args[0], (Integer)__args[1],
-						rawr));
+					// Forward, clear the arguments after so they are not
+					// kept alive
+					try
+					{
+						return this.asVMObjectBoxedOrWrappedArray(
+							this.machine.nativedisplay.
+							accelGfxFunc((Integer)__args[0],
+							(Integer)__args[1], rawr));
+					}
+					finally
+					{
+						for (int i = 0; i < n; i++)
+							rawr[i] = null;
+					}
 				}
 				
 				// Capabilities of a display
@@ -1386,7 +1530,7 @@ public final class SpringThreadWorker
 				"capabilities:(I)I":
 				return this.machine.nativedisplay.capabilities(
 					(Integer)__args[0]);
-					
+				
 				// Repaint display
 			case "cc/squirreljme/runtime/cldc/asm/NativeDisplayAccess::" +
 				"displayRepaint:(IIIII)V":
@@ -1397,7 +1541,18 @@ public final class SpringThreadWorker
 					(Integer)__args[3],
 					(Integer)__args[4]);
 				return null;
-			
+				
+				// Framebuffer area was drawn on
+			case "cc/squirreljme/runtime/cldc/asm/NativeDisplayAccess::" +
+				"framebufferDirty:(IIIII)V":
+				this.machine.nativedisplay.framebufferDirty(
+					(Integer)__args[0],
+					(Integer)__args[1],
+					(Integer)__args[2],
+					(Integer)__args[3],
+					(Integer)__args[4]);
+				return null;
+				
 				// Framebuffer object
 			case "cc/squirreljme/runtime/cldc/asm/NativeDisplayAccess::" +
 				"framebufferObject:(I)Ljava/lang/Object;":
@@ -1409,13 +1564,13 @@ public final class SpringThreadWorker
 				"framebufferPalette:(I)[I":
 				return this.asWrappedArray(this.machine.nativedisplay.
 					framebufferPalette((Integer)__args[0]));
-					
+				
 				// Framebuffer parameters
 			case "cc/squirreljme/runtime/cldc/asm/NativeDisplayAccess::" +
 				"framebufferParameters:(I)[I":
 				return this.asWrappedArray(this.machine.nativedisplay.
 					framebufferParameters((Integer)__args[0]));
-					
+				
 				// Framebuffer state count
 			case "cc/squirreljme/runtime/cldc/asm/NativeDisplayAccess::" +
 				"framebufferStateCount:(I)I":
@@ -1456,7 +1611,7 @@ public final class SpringThreadWorker
 				return this.allocateObject(this.loadClass(
 					new ClassName(this.<String>asNativeObject(
 					String.class, ((SpringObject)__args[0])))));
-			
+				
 				// Allocate array of a given class
 			case "cc/squirreljme/runtime/cldc/asm/ObjectAccess::" +
 				"arrayNew:(Ljava/lang/Class;I)Ljava/lang/Object;":
@@ -1481,7 +1636,7 @@ public final class SpringThreadWorker
 							(Integer)__args[1]);
 					}
 				}
-			
+				
 				// Get the class by the name of whatever is input
 			case "cc/squirreljme/runtime/cldc/asm/ObjectAccess::" +
 				"classByName:(Ljava/lang/String;)Ljava/lang/Class;":
@@ -1565,13 +1720,50 @@ public final class SpringThreadWorker
 				return ((SpringObject)__args[0]).monitor().
 					monitorNotify(this.thread,
 					((Integer)__args[1]).intValue() != 0);
-			
+				
 				// Monitor notify
 			case "cc/squirreljme/runtime/cldc/asm/ObjectAccess::" +
 				"monitorWait:(Ljava/lang/Object;JI)I":
-				return ((SpringObject)__args[0]).monitor().
-					monitorWait(this.thread, (Long)__args[1],
-						(Integer)__args[2]);
+				{
+					SpringMonitor monitor =
+						((SpringObject)__args[0]).monitor();
+					long ms = (Long)__args[1];
+					int ns = (Integer)__args[2];
+					
+					// Park until notified, the result is set when this wakes
+					// up and has entered the monitor again
+					if (this.__canPark())
+					{
+						if (!monitor.__waitPark(this.thread, this))
+							return ObjectAccess.MONITOR_NOT_OWNED;
+						
+						long now = System.nanoTime();
+						this._parkmonitor = monitor;
+						this._parkstart = now;
+						this._wakeat = now + (ms * 1_000_000L) + ns;
+						this._timed = (ms != 0 || ns != 0);
+						this._park = SpringThreadWorker.PARK_WAIT;
+						
+						// Already interrupted, so do not stay parked
+						if (this._interrupted)
+							this._scheduler.__wake(this);
+						return 0;
+					}
+					
+					// Cannot park, so this carrier blocks until notified
+					SpringScheduler sched = this._scheduler;
+					if (sched != null)
+						sched.__beginBlocking();
+					try
+					{
+						return monitor.monitorWait(this.thread, ms, ns);
+					}
+					finally
+					{
+						if (sched != null)
+							sched.__endBlocking();
+					}
+				}
 				
 				// Create new primitive weak reference
 			case "cc/squirreljme/runtime/cldc/asm/ObjectAccess::" +
@@ -1619,15 +1811,15 @@ public final class SpringThreadWorker
 				"read:(I[BII)I":
 				return this.machine.resourceAccess().read(
 					(Integer)__args[0],
-					(byte[])((SpringArrayObjectByte)__args[1]).array(),
+					this.<byte[]>borrowArray(byte[].class, __args[1]),
 					(Integer)__args[2],
 					(Integer)__args[3]);
-			
+				
 				// List suites that are available
 			case "cc/squirreljme/runtime/cldc/asm/SuiteAccess::" +
 				"availableSuites:()[Ljava/lang/String;":
 				return this.machine.suiteManager().listLibraryNames();
-			
+				
 				// List current class path
 			case "cc/squirreljme/runtime/cldc/asm/SuiteAccess::" +
 				"currentClassPath:()[Ljava/lang/String;":
@@ -1645,7 +1837,7 @@ public final class SpringThreadWorker
 				"getEnv:(Ljava/lang/String;)Ljava/lang/String;":
 				return this.asVMObject(SystemAccess.getEnv(
 					this.<String>asNativeObject(String.class, __args[0])));
-			
+				
 				// Approximated executable path
 			case "cc/squirreljme/runtime/cldc/asm/SystemProperties::" +
 				"executablePath:()Ljava/lang/String;":
@@ -1717,7 +1909,7 @@ public final class SpringThreadWorker
 					if (st != null)
 					{
 						SpringThreadWorker stw = st._worker;
-						if (stw != null)
+						if (stw != null && stw._scheduler == null)
 						{
 							Thread signal = stw.signalinstead;
 							if (signal != null)
@@ -1739,7 +1931,17 @@ public final class SpringThreadWorker
 					if (st != null)
 					{
 						SpringThreadWorker stw = st._worker;
-						if (stw != null)
+						
+						// Scheduled threads have no thread of their own
+						SpringScheduler sched;
+						if (stw != null &&
+							(sched = stw._scheduler) != null)
+						{
+							stw._interrupted = true;
+							sched.__wake(stw);
+						}
+						
+						else if (stw != null)
 						{
 							Thread signal = stw.signalinstead;
 							if (signal != null)
@@ -1755,23 +1957,65 @@ public final class SpringThreadWorker
 				// Sleep
 			case "cc/squirreljme/runtime/cldc/asm/TaskAccess::" +
 				"sleep:(JI)Z":
-				try
 				{
 					long ms = (Long)__args[0];
 					int ns = (Integer)__args[1];
 					
 					// Zero time is a yield
 					if (ms == 0 && ns == 0)
-						Thread.yield();
+					{
+						if (this.__canPark())
+						{
+							this._parkstart = System.nanoTime();
+							this._park = SpringThreadWorker.PARK_YIELD;
+						}
+						else
+							Thread.yield();
+						return 0;
+					}
 					
-					// Otherwise sleep for given time
-					else
+					// Park until the time has passed, the result is set when
+					// this wakes up
+					if (this.__canPark())
+					{
+						// Interrupted before even sleeping
+						if (this._interrupted)
+						{
+							this._interrupted = false;
+							return 1;
+						}
+						
+						long now = System.nanoTime();
+						this._parkstart = now;
+						this._wakeat = now + (ms * 1_000_000L) + ns;
+						this._timed = true;
+						this._park = SpringThreadWorker.PARK_SLEEP;
+						return 0;
+					}
+					
+					// Otherwise sleep for given time, which is not time that
+					// is spent executing
+					long sleepstart = System.nanoTime();
+					SpringScheduler sched = this._scheduler;
+					if (sched != null)
+						sched.__beginBlocking();
+					try
+					{
 						Thread.sleep(ms, ns);
-					return 0;
-				}
-				catch (InterruptedException e)
-				{
-					return 1;
+						return 0;
+					}
+					catch (InterruptedException e)
+					{
+						return 1;
+					}
+					finally
+					{
+						if (sched != null)
+							sched.__endBlocking();
+						
+						this.thread._blockedns +=
+							System.nanoTime() - sleepstart;
+					}
 				}
 				
 				// Start Task
@@ -1805,10 +2049,14 @@ public final class SpringThreadWorker
 						new ClassName("java/lang/Thread")).lookupMethod(false,
 						new MethodNameAndType("__start", "()V")), throbj);
 					
-					// Create worker for this thread
+					// Create worker for this thread, it either runs on the
+					// scheduler or in its own thread
 					SpringThreadWorker worker = new SpringThreadWorker(
 						this.machine, thread, false);
-					worker.start();
+					if (SpringScheduler.ENABLED)
+						this.machine.taskManager().scheduler.submit(worker);
+					else
+						worker.start();
 					
 					// Return this thread ID
 					return thread.id;
@@ -1820,6 +2068,37 @@ public final class SpringThreadWorker
 				return this.machine.taskManager().taskStatus(
 					(Integer)__args[0]);
 				
+				// Wait for any task status to change
+			case "cc/squirreljme/runtime/cldc/asm/TaskAccess::" +
+				"taskStatusChanges:(IJ)I":
+				{
+					// This may wait forever, so let another carrier run the
+					// other threads in the meantime
+					long waitstart = System.nanoTime();
+					SpringScheduler sched = this._scheduler;
+					if (sched != null)
+						sched.__beginBlocking();
+					try
+					{
+						return this.machine.taskManager().taskStatusChanges(
+							(Integer)__args[0], (Long)__args[1]);
+					}
+					finally
+					{
+						if (sched != null)
+							sched.__endBlocking();
+						
+						this.thread._blockedns +=
+							System.nanoTime() - waitstart;
+					}
+				}
+				
+				// Execution time of a task
+			case "cc/squirreljme/runtime/cldc/asm/TaskAccess::" +
+				"taskCpuTime:(I)J":
+				return this.machine.taskManager().taskCpuTime(
+					(Integer)__args[0]);
+				
 				// {@squirreljme.error BK25 Unknown native function. (The
 				// native function)}
 			default:
@@ -1876,7 +2155,7 @@ public final class SpringThreadWorker
 		
 		// Allocate the object
 		SpringObject rv = this.allocateObject(__cl);
-			
+		
 		// Stop execution when the constructor exits
 		SpringThread thread = this.thread;
 		int framelimit = thread.numFrames();
@@ -1930,8 +2209,21 @@ public final class SpringThreadWorker
 	@Override
 	public final void run()
 	{
-		// Run until there are no frames left
-		this.run(0);
+		// Any time this thread does not spend blocked is counted as time
+		// spent executing within the machine
+		SpringThread thread = this.thread;
+		long start = System.nanoTime(),
+			blocked = thread._blockedns;
+		try
+		{
+			// Run until there are no frames left
+			this.run(0);
+		}
+		finally
+		{
+			this.machine.__addCpuTime((System.nanoTime() - start) -
+				(thread._blockedns - blocked));
+		}
 	}
 	
 	/**
@@ -1948,6 +2240,7 @@ public final class SpringThreadWorker
 		throws IllegalArgumentException
 	{
 		SpringThread thread = this.thread;
+		this._depth++;
 		try
 		{
 			// {@squirreljme.error BK27 Cannot have a negative frame limit.
@@ -1961,7 +2254,11 @@ public final class SpringThreadWorker
 			while (thread.numFrames() > __framelimit)
 			{
 				// Single step executing the top frame
-				this.__singleStep();
+				this.__runDecoded();
+				
+				// Parked, so the carrier can run another thread
+				if (this._park != SpringThreadWorker.PARK_NONE)
+					return;
 			}
 		}
 		
@@ -2019,14 +2316,135 @@ public final class SpringThreadWorker
 			throw e;
 		}
 		
-		// Terminate if the last frame
+		// Terminate if the last frame, unless this is just parked
 		finally
 		{
-			if (__framelimit == 0)
+			this._depth--;
+			
+			if (__framelimit == 0 &&
+				this._park == SpringThreadWorker.PARK_NONE)
 				thread._terminate = true;
 		}
 	}
 	
+	/**
+	 * Can this worker be parked at this point?
+	 *
+	 * @return If this worker can be parked.
+	 * @since 2019/09/22
+	 */
+	private final boolean __canPark()
+	{
+		// Only threads on the scheduler can be parked, and only when they
+		// are not running code on behalf of the virtual machine
+		return this._scheduler != null && this._depth == 1;
+	}
+	
+	/**
+	 * Sets the result of the native call which parked this worker, the call
+	 * placed a value on the stack which is replaced.
+	 *
+	 * @param __v The result of the call.
+	 * @since 2019/09/22
+	 */
+	private final void __parkResult(int __v)
+	{
+		SpringThread.Frame frame = this.thread.currentFrame();
+		frame.popInt();
+		frame.pushInt(__v);
+	}
+	
+	/**
+	 * Runs this worker on a carrier until it finishes, is parked, or its
+	 * slice has been used.
+	 *
+	 * @return If the thread has finished.
+	 * @since 2019/09/22
+	 */
+	final boolean __runSlice()
+	{
+		// Finish whatever this was parked on, it may need to park again
+		if (this._park != SpringThreadWorker.PARK_NONE && !this.__unpark())
+			return false;
+		
+		this._slice = SpringScheduler.SLICE;
+		this.run();
+		
+		return this._park == SpringThreadWorker.PARK_NONE;
+	}
+	
+	/**
+	 * Finishes whatever this worker was parked on.
+	 *
+	 * @return If the worker can continue running, otherwise it is parked
+	 * again.
+	 * @since 2019/09/22
+	 */
+	private final boolean __unpark()
+	{
+		SpringThread thread = this.thread;
+		SpringMonitor monitor = this._parkmonitor;
+		
+		// Time spent parked is not time spent executing
+		long now = System.nanoTime();
+		thread._blockedns += now - this._parkstart;
+		this._parkstart = now;
+		
+		switch (this._park)
+		{
+				// Entering a monitor just runs the instruction again
+			case SpringThreadWorker.PARK_YIELD:
+			case SpringThreadWorker.PARK_ENTER:
+				break;
+				
+				// Sleeping
+			case SpringThreadWorker.PARK_SLEEP:
+				{
+					// Woke up too early
+					boolean interrupted = this._interrupted;
+					if (!interrupted && this._wakeat - now > 0)
+						return false;
+					
+					this._interrupted = false;
+					this.__parkResult((interrupted ? 1 : 0));
+				}
+				break;
+				
+				// Waiting on a monitor
+			case SpringThreadWorker.PARK_WAIT:
+				{
+					boolean interrupted = this._interrupted;
+					int rv = monitor.__waitCheck(thread, this, interrupted,
+						this._timed && this._wakeat - now <= 0);
+					if (rv < 0)
+						return false;
+					
+					if (interrupted)
+						this._interrupted = false;
+					
+					// The monitor must be entered again
+					this._parkresult = rv;
+					this._timed = false;
+					this._park = SpringThreadWorker.PARK_REENTER;
+				}
+				
+				// Fall through
+				
+				// Entering the monitor again after a wait
+			case SpringThreadWorker.PARK_REENTER:
+				if (!monitor.__enterOrPark(thread, this))
+					return false;
+				this.__parkResult(this._parkresult);
+				break;
+		}
+		
+		// No longer parked
+		this._park = SpringThreadWorker.PARK_NONE;
+		this._parkmonitor = null;
+		this._timed = false;
+		return true;
+	}
+	
 	/**
 	 * Checks if an exception is being thrown and sets up the state from it.
 	 *
@@ -2081,7 +2499,7 @@ public final class SpringThreadWorker
 	{
 		if (__o == null)
 			throw new NullPointerException("NARG");
-			
+		
 		// Are we exiting in the middle of an exception throwing?
 		this.machine.exitCheck();
 		
@@ -2166,7 +2584,7 @@ public final class SpringThreadWorker
 	{
 		if (__f == null)
 			throw new NullPointerException("NARG");
-			
+		
 		// {@squirreljme.error BK28 Could not access the target class for
 		// instance field access. (The field reference)}
 		SpringClass inclass = this.loadClass(__f.className());
@@ -2185,6 +2603,39 @@ public final class SpringThreadWorker
 		return field;
 	}
 	
+	/**
+	 * Looks up the instance field for the given inline cache, the field is
+	 * cached once it has been found.
+	 *
+	 * @param __ic The inline cache for the field.
+	 * @return The specified for the field.
+	 * @throws NullPointerException On null arguments.
+	 * @throws SpringIncompatibleClassChangeException If the field is static.
+	 * @throws SpringNoSuchFieldException If the field does not exist.
+	 * @since 2019/09/14
+	 */
+	private final SpringField __lookupInstanceField(SpringInlineCache __ic)
+		throws NullPointerException, SpringIncompatibleClassChangeException,
+			SpringNoSuchFieldException
+	{
+		if (__ic == null)
+			throw new NullPointerException("NARG");
+		
+		SpringField rv = __ic.<SpringField>resolved(SpringField.class);
+		if (rv == null)
+		{
+			FieldReference ref = (FieldReference)__ic.reference();
+			rv = this.__lookupInstanceField(ref);
+			
+			// Only cache once the class has been initialized, otherwise
+			// other threads would not wait for initialization to finish
+			if (this.loadClass(ref.className()).isInitializedFully())
+				__ic.cacheResolved(rv);
+		}
+		
+		return rv;
+	}
+	
 	/**
 	 * Looks up the specified static field and returns the storage for it.
 	 *
@@ -2222,523 +2673,441 @@ public final class SpringThreadWorker
 	}
 	
 	/**
-	 * Single step through handling a single instruction.
-	 *
-	 * This method uses strict floating point to make operations consistent.
+	 * Looks up the static field storage for the given inline cache, the
+	 * storage is cached once it has been found.
 	 *
-	 * @since 2018/09/03
+	 * @param __ic The inline cache for the field.
+	 * @return The static field storage.
+	 * @throws NullPointerException On null arguments.
+	 * @throws SpringIncompatibleClassChangeException If the target field is
+	 * not static.
+	 * @throws SpringNoSuchFieldException If the field does not exist.
+	 * @since 2019/09/14
 	 */
-	private final strictfp void __singleStep()
+	private final SpringFieldStorage __lookupStaticField(
+		SpringInlineCache __ic)
+		throws NullPointerException, SpringIncompatibleClassChangeException,
+			SpringNoSuchFieldException
 	{
-		// Need the current frame and its byte code
-		SpringThread thread = this.thread;
-		
-		// Check if the VM is exiting, to discontinue execution if it has been
-		// requested by any thread
-		SpringMachine machine = this.machine;
-		try
-		{
-			machine.exitCheck();
-		}
+		if (__ic == null)
+			throw new NullPointerException("NARG");
 		
-		// If the VM is exiting then clear the execution stack before we go
-		// away
-		catch (SpringMachineExitException e)
+		SpringFieldStorage rv = __ic.<SpringFieldStorage>resolved(
+			SpringFieldStorage.class);
+		if (rv == null)
 		{
-			// Thread is okay to exit!
-			thread._terminate = true;
-			
-			// Exit profiler stack
-			thread.profiler.exitAll(System.nanoTime());
+			FieldReference ref = (FieldReference)__ic.reference();
+			rv = this.__lookupStaticField(ref);
 			
-			throw e;
+			// Only cache once the class has been initialized, otherwise
+			// other threads would not wait for initialization to finish
+			if (this.loadClass(ref.className()).isInitializedFully())
+				__ic.cacheResolved(rv);
 		}
 		
-		// Increase the step count
-		this._stepcount++;
+		return rv;
+	}
+	
+	/**
+	 * Resolves the method which is to be called by a special invocation.
+	 *
+	 * @param __ref The method reference.
+	 * @return The method to invoke.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/14
+	 */
+	private final SpringMethod __resolveSpecial(MethodReference __ref)
+		throws NullPointerException
+	{
+		if (__ref == null)
+			throw new NullPointerException("NARG");
 		
-		SpringThread.Frame frame = thread.currentFrame();
-		ByteCode code = frame.byteCode();
+		// Resolve the method reference
+		SpringClass refclass = this.loadClass(__ref.className());
+		SpringMethod refmethod = refclass.lookupMethod(false,
+			__ref.memberNameAndType());
 		
-		// Frame is execution
-		int iec = frame.incrementExecCount();
-		if (iec > 0 && (iec % _EXECUTION_THRESHOLD) == 0)
-		{
-			// {@squirreljme.error BK2c Execution seems to be stuck in this
-			// method.}
-			System.err.println("BK2c");
-			this.thread.printStackTrace(System.err);
-		}
+		// {@squirreljme.error BK34 Could not access the target
+		// method for special invoke. (The target method)}
+		if (!this.checkAccess(refmethod))
+			throw new SpringIncompatibleClassChangeException(
+				String.format("BK34 %s", __ref));
 		
-		// Are these certain kinds of initializers? Because final fields are
-		// writable during initialization accordingly
-		SpringClass currentclass = this.contextClass();
-		SpringMethod method = frame.method();
-		boolean isstaticinit = method.isStaticInitializer(),
-			isinstanceinit = method.isInstanceInitializer();
+		// Get the class of the current method being executed, lookup depends
+		// on it
+		SpringClass currentclass = this.loadClass(
+			this.thread.currentFrame().method().inClass());
+		
+		// These modify the action to be performed
+		boolean insame = (currentclass == refclass),
+			insuper = currentclass.isSuperClass(refclass),
+			isinit = refmethod.name().isInstanceInitializer(),
+			isprivate = refmethod.flags().isPrivate();
+		
+		// {@squirreljme.error BK36 Cannot call private method that is not
+		// in the same class. (The method reference)}
+		if (isprivate && !insame)
+			throw new SpringIncompatibleClassChangeException(
+				String.format("BK36 %s", __ref));
+		
+		// Call superclass method instead?
+		else if (!isprivate && insuper && !isinit)
+			return currentclass.superClass().lookupMethod(false,
+				__ref.memberNameAndType());
+		
+		return refmethod;
+	}
+	
+	/**
+	 * Executes the decoded code of the current frame until the frame changes,
+	 * which is when a method is invoked, returned from, or an exception
+	 * leaves the frame. Exit and stuck execution checks are only performed on
+	 * back-edges and method invocations rather than every instruction.
+	 *
+	 * This method uses strict floating point to make operations consistent.
+	 *
+	 * @since 2019/09/12
+	 */
+	private final strictfp void __runDecoded()
+	{
+		// Need the current frame and its byte code
+		SpringThread thread = this.thread;
 		
-		// Determine the current instruction of execution
-		int pc = frame.pc();
-		Instruction inst = code.getByAddress(pc);
+		// Check if the VM is exiting, to discontinue execution if it has been
+		// requested by any thread
+		SpringMachine machine = this.machine;
+		this.__exitCheck();
 		
 		// If we are tossing an exception, we need to handle it
 		if (this.__checkException())
 			return;
 		
-		// This PC is about to be executed, so set it as executed since if an
-		// exception is thrown this could change potentially
-		frame.setLastExecutedPc(pc);
-		
-		// Debug
-		/*todo.DEBUG.note("step(%s %s::%s) -> %s", thread.name(),
-			method.inClass(), method.nameAndType(), inst);*/
+		SpringThread.Frame frame = thread.currentFrame();
+		SpringMethod method = frame.method();
+		SpringDecodedCode decoded = method.decodedCode();
+		ByteCode code = decoded.byteCode();
 		
-		// Used to detect the next instruction of execution following this,
-		// may be set accordingly in the frame manually
-		int nextpc = code.addressFollowing(pc),
-			orignextpc = nextpc;
+		// Are these certain kinds of initializers? Because final fields are
+		// writable during initialization accordingly
+		boolean isstaticinit = method.isStaticInitializer(),
+			isinstanceinit = method.isInstanceInitializer();
 		
-		// Handle individual instructions
-		int opid;
-		try
+		// The decoded instructions and their operands
+		int[] ops = decoded._ops,
+			addresses = decoded._addresses,
+			indexes = decoded._indexes,
+			inta = decoded._inta,
+			intb = decoded._intb;
+		Object[] objs = decoded._objs;
+		SpringInlineCache[] caches = decoded._caches;
+		
+		// Execute instructions until the frame changes
+		for (int idx = decoded.index(frame.pc());;)
 		{
-			// Handle it
-			switch ((opid = inst.operation()))
+			// This PC is about to be executed, so set it as executed since if
+			// an exception is thrown this could change potentially
+			int pc = addresses[idx];
+			frame.setLastExecutedPc(pc);
+			
+			// Debug
+			/*todo.DEBUG.note("step(%s %s::%s) -> %s", thread.name(),
+				method.inClass(), method.nameAndType(),
+				code.getByAddress(pc));*/
+			
+			// The index of the next instruction to execute, may be changed
+			// by jumps and exception handlers
+			int nextidx = idx + 1;
+			
+			// Handle individual instructions
+			try
 			{
-					// Do absolutely nothing!
-				case InstructionIndex.NOP:
-					break;
-					
-					// Load object from array
-				case InstructionIndex.AALOAD:
-					{
-						int dx = frame.<Integer>popFromStack(Integer.class);
-						SpringArrayObject obj = frame.<SpringArrayObject>
-							popFromStackNotNull(SpringArrayObject.class);
+				// Handle it
+				switch (ops[idx])
+				{
+						// Do absolutely nothing!
+					case InstructionIndex.NOP:
+						break;
 						
-						frame.pushToStack(obj.<SpringObject>get(
-							SpringObject.class, dx));
-					}
-					break;
-					
-					// Store object to array
-				case InstructionIndex.AASTORE:
-					{
-						SpringObject value = frame.<SpringObject>popFromStack(
-							SpringObject.class);
-						int dx = frame.<Integer>popFromStack(Integer.class);
-						SpringArrayObject obj = frame.<SpringArrayObject>
-							popFromStackNotNull(SpringArrayObject.class);
+						// Load object from array
+					case InstructionIndex.AALOAD:
+						{
+							int dx = frame.popInt();
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							frame.pushToStack(obj.<SpringObject>get(
+								SpringObject.class, dx));
+						}
+						break;
 						
-						obj.set(dx, value);
-					}
-					break;
-					
-					// Push null reference
-				case InstructionIndex.ACONST_NULL:
-					frame.pushToStack(SpringNullObject.NULL);
-					break;
-					
-					// Load reference from local
-				case InstructionIndex.ALOAD:
-				case InstructionIndex.WIDE_ALOAD:
-					frame.loadToStack(SpringObject.class,
-						inst.<Integer>argument(0, Integer.class));
-					break;
-					
-					// Load reference from local (short)
-				case InstructionIndex.ALOAD_0:
-				case InstructionIndex.ALOAD_1:
-				case InstructionIndex.ALOAD_2:
-				case InstructionIndex.ALOAD_3:
-					frame.loadToStack(SpringObject.class,
-						opid - InstructionIndex.ALOAD_0);
-					break;
-				
-					// Allocate new array
-				case InstructionIndex.ANEWARRAY:
-					frame.pushToStack(this.allocateArray(this.resolveClass(
-						inst.<ClassName>argument(0, ClassName.class)),
-						frame.<Integer>popFromStack(Integer.class)));
-					break;
-					
-					// Return reference
-				case InstructionIndex.ARETURN:
-					this.__vmReturn(thread,
-						frame.<SpringObject>popFromStack(SpringObject.class));
-					nextpc = Integer.MIN_VALUE;
-					break;
-					
-					// Length of array
-				case InstructionIndex.ARRAYLENGTH:
-					frame.pushToStack(
-						frame.<SpringArrayObject>popFromStackNotNull(
-						SpringArrayObject.class).length());
-					break;
-					
-					// Store reference to local variable
-				case InstructionIndex.ASTORE:
-				case InstructionIndex.WIDE_ASTORE:
-					frame.storeLocal(inst.<Integer>argument(0, Integer.class),
-						frame.<SpringObject>popFromStack(SpringObject.class));
-					break;
-					
-					// Store reference to local varibale
-				case InstructionIndex.ASTORE_0:
-				case InstructionIndex.ASTORE_1:
-				case InstructionIndex.ASTORE_2:
-				case InstructionIndex.ASTORE_3:
-					{
-						frame.storeLocal(opid - InstructionIndex.ASTORE_0,
+						// Store object to array
+					case InstructionIndex.AASTORE:
+						{
+							SpringObject value =
+								frame.<SpringObject>popFromStack(
+								SpringObject.class);
+							int dx = frame.popInt();
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							obj.set(dx, value);
+						}
+						break;
+						
+						// Push null reference
+					case InstructionIndex.ACONST_NULL:
+						frame.pushToStack(SpringNullObject.NULL);
+						break;
+						
+						// Load reference from local
+					case InstructionIndex.ALOAD:
+						frame.loadToStack(SpringObject.class, inta[idx]);
+						break;
+						
+						// Allocate new array
+					case InstructionIndex.ANEWARRAY:
+						frame.pushToStack(this.allocateArray(this.resolveClass(
+							(ClassName)objs[idx]),
+							frame.popInt()));
+						break;
+						
+						// Return reference
+					case InstructionIndex.ARETURN:
+						this.__vmReturn(thread,
 							frame.<SpringObject>popFromStack(
 								SpringObject.class));
-					}
-					break;
-					
-					// Throwing of an exception
-				case InstructionIndex.ATHROW:
-					nextpc = this.__handleException(
-						frame.<SpringObject>popFromStack(SpringObject.class));
-					if (nextpc < 0)
 						return;
-					break;
-					
-					// Push value
-				case InstructionIndex.BIPUSH:
-				case InstructionIndex.SIPUSH:
-					frame.pushToStack(inst.<Integer>argument(
-						0, Integer.class));
-					break;
-					
-					// Checks casting from a type to another
-				case InstructionIndex.CHECKCAST:
-					{
-						SpringClass as = this.resolveClass(inst.
-							<ClassName>argument(0, ClassName.class));
-						
-						// This is just popped back on if it passes
-						SpringObject pop = frame.<SpringObject>popFromStack(
-							SpringObject.class);
-						
-						// {@squirreljme.error BK2d Cannot cast object to the
-						// target type. (The type to cast to; The type of the
-						// object)}
-						if (pop != SpringNullObject.NULL &&
-							!as.isAssignableFrom(pop.type()))
-							throw new SpringClassCastException(String.format(
-								"BK2d %s %s", as, pop.type()));
-						
-						// Return the popped value
-						else
-							frame.pushToStack(pop);
-					}
-					break;
-					
-					// Double to float
-				case InstructionIndex.D2F:
-					{
-						double value = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(Float.valueOf((float)value));
-					}
-					break;
-					
-					// Double to int
-				case InstructionIndex.D2I:
-					{
-						double value = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(Integer.valueOf((int)value));
-					}
-					break;
-					
-					// Double to long
-				case InstructionIndex.D2L:
-					{
-						double value = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(Long.valueOf((long)value));
-					}
-					break;
-				
-					// Addiply double
-				case InstructionIndex.DADD:
-					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(a + b);
-					}
-					break;
-					
-					// Compare double, NaN is positive
-				case InstructionIndex.DCMPG:
-					{
-						double b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
 						
-						if (Double.isNaN(a) || Double.isNaN(b))
-							frame.pushToStack(1);
-						else
-							frame.pushToStack((a < b ? -1 : (a > b ? 1 : 0)));
-					}
-					break;
-				
-					// Compare double, NaN is negative
-				case InstructionIndex.DCMPL:
-					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
+						// Length of array
+					case InstructionIndex.ARRAYLENGTH:
+						{
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							frame.pushInt(obj.length());
+						}
+						break;
 						
-						if (Double.isNaN(a) || Double.isNaN(b))
-							frame.pushToStack(-1);
-						else
-							frame.pushToStack((a < b ? -1 : (a > b ? 1 : 0)));
-					}
-					break;
-					
-					// Double constant
-				case InstructionIndex.DCONST_0:
-				case InstructionIndex.DCONST_1:
-					frame.pushToStack(
-						Double.valueOf(opid - InstructionIndex.DCONST_0));
-					break;
-				
-					// Divide double
-				case InstructionIndex.DDIV:
-					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(a / b);
-					}
-					break;
-					
-					// Load double from local variable
-				case InstructionIndex.DLOAD:
-				case InstructionIndex.WIDE_DLOAD:
-					frame.loadToStack(Double.class,
-						inst.<Integer>argument(0, Integer.class));
-					break;
-					
-					// Load double from local variable
-				case InstructionIndex.DLOAD_0:
-				case InstructionIndex.DLOAD_1:
-				case InstructionIndex.DLOAD_2:
-				case InstructionIndex.DLOAD_3:
-					frame.loadToStack(Double.class,
-						opid - InstructionIndex.DLOAD_0);
-					break;
-				
-					// Multiply double
-				case InstructionIndex.DMUL:
-					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(a * b);
-					}
-					break;
-				
-					// Negate double
-				case InstructionIndex.DNEG:
-					{
-						double a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(-a);
-					}
-					break;
-				
-					// Remainder double
-				case InstructionIndex.DREM:
-					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(a % b);
-					}
-					break;
-					
-					// Return double
-				case InstructionIndex.DRETURN:
-					this.__vmReturn(thread,
-						frame.<Double>popFromStack(Double.class));
-					nextpc = Integer.MIN_VALUE;
-					break;
-				
-					// Subtract double
-				case InstructionIndex.DSUB:
-					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(a - b);
-					}
-					break;
-					
-					// Store double to local variable
-				case InstructionIndex.DSTORE:
-				case InstructionIndex.WIDE_DSTORE:
-					frame.storeLocal(inst.<Integer>argument(0, Integer.class),
-						frame.<Double>popFromStack(Double.class));
-					break;
-					
-					// Store long to double variable
-				case InstructionIndex.DSTORE_0:
-				case InstructionIndex.DSTORE_1:
-				case InstructionIndex.DSTORE_2:
-				case InstructionIndex.DSTORE_3:
-					frame.storeLocal(opid - InstructionIndex.DSTORE_0,
-						frame.<Double>popFromStack(Double.class));
-					break;
-					
-					// Duplicate top-most stack entry
-				case InstructionIndex.DUP:
-					{
-						Object copy = frame.popFromStack();
+						// Store reference to local variable
+					case InstructionIndex.ASTORE:
+						frame.storeLocal(inta[idx],
+							frame.<SpringObject>popFromStack(
+								SpringObject.class));
+						break;
 						
-						// {@squirreljme.error BK2e Cannot duplicate category
-						// two type.}
-						if (copy instanceof Long || copy instanceof Double)
-							throw new SpringVirtualMachineException("BK2e");
+						// Throwing of an exception
+					case InstructionIndex.ATHROW:
+						{
+							int hpc = this.__handleException(
+								frame.<SpringObject>popFromStack(
+								SpringObject.class));
+							if (hpc < 0)
+								return;
+							nextidx = indexes[hpc];
+						}
+						break;
 						
-						// Push twice!
-						frame.pushToStack(copy);
-						frame.pushToStack(copy);
-					}
-					break;
-					
-					// Duplicate top and place two down
-				case InstructionIndex.DUP_X1:
-					{
-						Object a = frame.popFromStack(),
-							b = frame.popFromStack();
-						
-						// {@squirreljme.error BK2f Cannot duplicate and place
-						// down below with two type.}
-						if (a instanceof Long || a instanceof Double ||
-							b instanceof Long || b instanceof Double)
-							throw new SpringVirtualMachineException("BK2f");
-						
-						frame.pushToStack(a);
-						frame.pushToStack(b);
-						frame.pushToStack(a);
-					}
-					break;
-					
-					// Dup[licate top entry and place two or three down
-				case InstructionIndex.DUP_X2:
-					{
-						Object a = frame.popFromStack(),
-							b = frame.popFromStack();
+						// Push integer value, all forms are merged
+					case InstructionIndex.BIPUSH:
+						frame.pushInt(inta[idx]);
+						break;
 						
-						// {@squirreljme.error BK2g Cannot duplicate cat2
-						// type.}
-						if (a instanceof Long || a instanceof Double)
-							throw new SpringVirtualMachineException("BK2g");
+						// Checks casting from a type to another
+					case InstructionIndex.CHECKCAST:
+						{
+							SpringClass as = this.resolveClass(
+								(ClassName)objs[idx]);
+							
+							// This is just popped back on if it passes
+							SpringObject pop =
+								frame.<SpringObject>popFromStack(
+								SpringObject.class);
+							
+							// {@squirreljme.error BK2d Cannot cast object to
+							// the target type. (The type to cast to; The type
+							// of the object)}
+							if (pop != SpringNullObject.NULL &&
+								!as.isAssignableFrom(pop.type()))
+								throw new SpringClassCastException(
+									String.format(
+									"BK2d %s %s", as, pop.type()));
+							
+							// Return the popped value
+							else
+								frame.pushToStack(pop);
+						}
+						break;
 						
-						// Insert A below C
-						if (b instanceof Long || b instanceof Double)
+						// Double to float
+					case InstructionIndex.D2F:
 						{
-							frame.pushToStack(a);
-							frame.pushToStack(b);
-							frame.pushToStack(a);
+							double value = frame.popDouble();
+							frame.pushFloat((float)value);
 						}
+						break;
 						
-						// Grab C as well and push below that
-						else
+						// Double to int
+					case InstructionIndex.D2I:
 						{
-							Object c = frame.popFromStack();
-							
-							// {@squirreljme.error BK2h Cannot duplicate top
-							// most entry and place two down because a cat2
-							// type is in the way.}
-							if (c instanceof Long || c instanceof Double)
-								throw new SpringVirtualMachineException(
-									"BK2h");
-									
-							frame.pushToStack(a);
-							frame.pushToStack(c);
-							frame.pushToStack(b);
-							frame.pushToStack(a);
+							double value = frame.popDouble();
+							frame.pushInt((int)value);
 						}
-					}
-					break;
-					
-					// Duplicate top two cat1s or single cat2
-				case InstructionIndex.DUP2:
-					{
-						Object a = frame.popFromStack();
+						break;
 						
-						// Just cat two
-						if (a instanceof Long || a instanceof Double)
+						// Double to long
+					case InstructionIndex.D2L:
 						{
-							frame.pushToStack(a);
-							frame.pushToStack(a);
+							double value = frame.popDouble();
+							frame.pushLong((long)value);
 						}
+						break;
 						
-						// Double values
-						else
+						// Addiply double
+					case InstructionIndex.DADD:
 						{
-							Object b = frame.popFromStack();
+							double b = frame.popDouble(),
+								a = frame.popDouble();
+							frame.pushDouble(a + b);
+						}
+						break;
+						
+						// Compare double, NaN is positive
+					case InstructionIndex.DCMPG:
+						{
+							double b = frame.popDouble(),
+								a = frame.popDouble();
 							
-							// {@squirreljme.error BK2i Cannot duplicate top
-							// two values.}
-							if (b instanceof Long || b instanceof Double)
-								throw new SpringVirtualMachineException(
-									"BK2i");
+							if (Double.isNaN(a) || Double.isNaN(b))
+								frame.pushInt(1);
+							else
+								frame.pushInt(
+									(a < b ? -1 : (a > b ? 1 : 0)));
+						}
+						break;
+						
+						// Compare double, NaN is negative
+					case InstructionIndex.DCMPL:
+						{
+							double b = frame.popDouble(),
+								a = frame.popDouble();
 							
-							frame.pushToStack(b);
-							frame.pushToStack(a);
-							frame.pushToStack(b);
-							frame.pushToStack(a);
+							if (Double.isNaN(a) || Double.isNaN(b))
+								frame.pushInt(-1);
+							else
+								frame.pushInt(
+									(a < b ? -1 : (a > b ? 1 : 0)));
 						}
-					}
-					break;
-					
-					// Duplicate top one or two operand values and insert two
-					// or three values down
-				case InstructionIndex.DUP2_X1:
-					{
-						Object a = frame.popFromStack(),
-							b = frame.popFromStack();
+						break;
+						
+						// Divide double
+					case InstructionIndex.DDIV:
+						{
+							double b = frame.popDouble(),
+								a = frame.popDouble();
+							frame.pushDouble(a / b);
+						}
+						break;
 						
-						// {@squirreljme.error BK2j Expected category one
-						// type.}
-						if (b instanceof Long || b instanceof Double)
-							throw new SpringVirtualMachineException(
-								"BK2j");
+						// Load double from local variable
+					case InstructionIndex.DLOAD:
+						frame.loadToStack(Double.class, inta[idx]);
+						break;
 						
-						// Insert this below b
-						if (a instanceof Long || a instanceof Double)
+						// Multiply double
+					case InstructionIndex.DMUL:
 						{
-							frame.pushToStack(a);
-							frame.pushToStack(b);
-							frame.pushToStack(a);
+							double b = frame.popDouble(),
+								a = frame.popDouble();
+							frame.pushDouble(a * b);
 						}
+						break;
 						
-						// Three cat1 values
-						else
+						// Negate double
+					case InstructionIndex.DNEG:
 						{
-							Object c = frame.popFromStack();
+							double a = frame.popDouble();
+							frame.pushDouble(-a);
+						}
+						break;
+						
+						// Remainder double
+					case InstructionIndex.DREM:
+						{
+							double b = frame.popDouble(),
+								a = frame.popDouble();
+							frame.pushDouble(a % b);
+						}
+						break;
+						
+						// Return double
+					case InstructionIndex.DRETURN:
+						this.__vmReturn(thread,
+							frame.popDouble());
+						return;
+						
+						// Subtract double
+					case InstructionIndex.DSUB:
+						{
+							double b = frame.popDouble(),
+								a = frame.popDouble();
+							frame.pushDouble(a - b);
+						}
+						break;
+						
+						// Store double to local variable
+					case InstructionIndex.DSTORE:
+						frame.storeFromStack(Double.class, inta[idx]);
+						break;
+						
+						// Duplicate top-most stack entry
+					case InstructionIndex.DUP:
+						{
+							Object copy = frame.popFromStack();
 							
-							// {@squirreljme.error BK2k Cannot duplicate value
-							// below category two type.}
-							if (c instanceof Long || c instanceof Double)
+							// {@squirreljme.error BK2e Cannot duplicate
+							// category two type.}
+							if (copy instanceof Long || copy instanceof Double)
 								throw new SpringVirtualMachineException(
-									"BK2k");
+									"BK2e");
+							
+							// Push twice!
+							frame.pushToStack(copy);
+							frame.pushToStack(copy);
+						}
+						break;
+						
+						// Duplicate top and place two down
+					case InstructionIndex.DUP_X1:
+						{
+							Object a = frame.popFromStack(),
+								b = frame.popFromStack();
+							
+							// {@squirreljme.error BK2f Cannot duplicate and
+							// place down below with two type.}
+							if (a instanceof Long || a instanceof Double ||
+								b instanceof Long || b instanceof Double)
+								throw new SpringVirtualMachineException(
+									"BK2f");
 							
-							frame.pushToStack(b);
 							frame.pushToStack(a);
-							frame.pushToStack(c);
 							frame.pushToStack(b);
 							frame.pushToStack(a);
 						}
-					}
-					break;
-				
-					// Duplicate top one or two stack entries and insert
-					// two, three, or four down
-				case InstructionIndex.DUP2_X2:
-					{
-						Object a = frame.popFromStack(),
-							b = frame.popFromStack();
+						break;
 						
-						// Category two is on top
-						if (a instanceof Long || a instanceof Double)
+						// Dup[licate top entry and place two or three down
+					case InstructionIndex.DUP_X2:
 						{
-							// Category two is on bottom (form 4)
+							Object a = frame.popFromStack(),
+								b = frame.popFromStack();
+							
+							// {@squirreljme.error BK2g Cannot duplicate cat2
+							// type.}
+							if (a instanceof Long || a instanceof Double)
+								throw new SpringVirtualMachineException(
+									"BK2g");
+							
+							// Insert A below C
 							if (b instanceof Long || b instanceof Double)
 							{
 								frame.pushToStack(a);
@@ -2746,16 +3115,17 @@ public final class SpringThreadWorker
 								frame.pushToStack(a);
 							}
 							
-							// Category ones on bottom (form 2)
+							// Grab C as well and push below that
 							else
 							{
 								Object c = frame.popFromStack();
 								
-								// {@squirreljme.error BK2l Cannot pop cat2
-								// type for dup.}
+								// {@squirreljme.error BK2h Cannot duplicate
+								// top most entry and place two down because a
+								// cat2 type is in the way.}
 								if (c instanceof Long || c instanceof Double)
 									throw new SpringVirtualMachineException(
-										"BK2l");
+										"BK2h");
 								
 								frame.pushToStack(a);
 								frame.pushToStack(c);
@@ -2763,1304 +3133,1389 @@ public final class SpringThreadWorker
 								frame.pushToStack(a);
 							}
 						}
+						break;
 						
-						// Category one is on top
-						else
+						// Duplicate top two cat1s or single cat2
+					case InstructionIndex.DUP2:
 						{
-							// {@squirreljme.error BK2m Category two type
-							// cannot be on the bottom.}
-							if (b instanceof Long || b instanceof Double)
-								throw new SpringVirtualMachineException(
-									"BK2m");
+							Object a = frame.popFromStack();
 							
-							Object c = frame.popFromStack();
-							
-							// C is category two (Form 3)
-							if (c instanceof Long || c instanceof Double)
+							// Just cat two
+							if (a instanceof Long || a instanceof Double)
 							{
-								frame.pushToStack(b);
 								frame.pushToStack(a);
-								frame.pushToStack(c);
-								frame.pushToStack(b);
 								frame.pushToStack(a);
 							}
 							
-							// Category one on bottom (Form 1)
+							// Double values
 							else
 							{
-								Object d = frame.popFromStack();
+								Object b = frame.popFromStack();
 								
-								// {@squirreljme.error BK2n Bottommost entry
-								// cannot be cat2 type.}
-								if (d instanceof Long || d instanceof Double)
+								// {@squirreljme.error BK2i Cannot duplicate
+								// top two values.}
+								if (b instanceof Long || b instanceof Double)
 									throw new SpringVirtualMachineException(
-										"BK2n");
+										"BK2i");
+								
+								frame.pushToStack(b);
+								frame.pushToStack(a);
+								frame.pushToStack(b);
+								frame.pushToStack(a);
+							}
+						}
+						break;
+						
+						// Duplicate top one or two operand values and insert
+						// two or three values down
+					case InstructionIndex.DUP2_X1:
+						{
+							Object a = frame.popFromStack(),
+								b = frame.popFromStack();
+							
+							// {@squirreljme.error BK2j Expected category one
+							// type.}
+							if (b instanceof Long || b instanceof Double)
+								throw new SpringVirtualMachineException(
+									"BK2j");
+							
+							// Insert this below b
+							if (a instanceof Long || a instanceof Double)
+							{
+								frame.pushToStack(a);
+								frame.pushToStack(b);
+								frame.pushToStack(a);
+							}
+							
+							// Three cat1 values
+							else
+							{
+								Object c = frame.popFromStack();
+								
+								// {@squirreljme.error BK2k Cannot duplicate
+								// value below category two type.}
+								if (c instanceof Long || c instanceof Double)
+									throw new SpringVirtualMachineException(
+										"BK2k");
 								
 								frame.pushToStack(b);
 								frame.pushToStack(a);
-								frame.pushToStack(d);
 								frame.pushToStack(c);
 								frame.pushToStack(b);
 								frame.pushToStack(a);
 							}
 						}
-					}
-					break;
-					
-					// Float to double
-				case InstructionIndex.F2D:
-					{
-						float value = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(Double.valueOf((double)value));
-					}
-					break;
-					
-					// Float to integer
-				case InstructionIndex.F2I:
-					{
-						float value = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(Integer.valueOf((int)value));
-					}
-					break;
-					
-					// Float to long
-				case InstructionIndex.F2L:
-					{
-						float value = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(Long.valueOf((long)value));
-					}
-					break;
-				
-					// Add float
-				case InstructionIndex.FADD:
-					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(a + b);
-					}
-					break;
-				
-					// Compare float, NaN is positive
-				case InstructionIndex.FCMPG:
-					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
+						break;
 						
-						if (Float.isNaN(a) || Float.isNaN(b))
-							frame.pushToStack(1);
-						else
-							frame.pushToStack((a < b ? -1 : (a > b ? 1 : 0)));
-					}
-					break;
-				
-					// Compare float, NaN is negative
-				case InstructionIndex.FCMPL:
-					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
+						// Duplicate top one or two stack entries and insert
+						// two, three, or four down
+					case InstructionIndex.DUP2_X2:
+						{
+							Object a = frame.popFromStack(),
+								b = frame.popFromStack();
+							
+							// Category two is on top
+							if (a instanceof Long || a instanceof Double)
+							{
+								// Category two is on bottom (form 4)
+								if (b instanceof Long || b instanceof Double)
+								{
+									frame.pushToStack(a);
+									frame.pushToStack(b);
+									frame.pushToStack(a);
+								}
+								
+								// Category ones on bottom (form 2)
+								else
+								{
+									Object c = frame.popFromStack();
+									
+									// {@squirreljme.error BK2l Cannot pop cat2
+									// type for dup.}
+									if (c instanceof Long ||
+										c instanceof Double)
+										throw new SpringVirtualMachineException(
+											"BK2l");
+									
+									frame.pushToStack(a);
+									frame.pushToStack(c);
+									frame.pushToStack(b);
+									frame.pushToStack(a);
+								}
+							}
+							
+							// Category one is on top
+							else
+							{
+								// {@squirreljme.error BK2m Category two type
+								// cannot be on the bottom.}
+								if (b instanceof Long || b instanceof Double)
+									throw new SpringVirtualMachineException(
+										"BK2m");
+								
+								Object c = frame.popFromStack();
+								
+								// C is category two (Form 3)
+								if (c instanceof Long || c instanceof Double)
+								{
+									frame.pushToStack(b);
+									frame.pushToStack(a);
+									frame.pushToStack(c);
+									frame.pushToStack(b);
+									frame.pushToStack(a);
+								}
+								
+								// Category one on bottom (Form 1)
+								else
+								{
+									Object d = frame.popFromStack();
+									
+									// {@squirreljme.error BK2n Bottommost
+									// entry cannot be cat2 type.}
+									if (d instanceof Long ||
+										d instanceof Double)
+										throw new SpringVirtualMachineException(
+											"BK2n");
+									
+									frame.pushToStack(b);
+									frame.pushToStack(a);
+									frame.pushToStack(d);
+									frame.pushToStack(c);
+									frame.pushToStack(b);
+									frame.pushToStack(a);
+								}
+							}
+						}
+						break;
 						
-						if (Float.isNaN(a) || Float.isNaN(b))
-							frame.pushToStack(-1);
-						else
-							frame.pushToStack((a < b ? -1 : (a > b ? 1 : 0)));
-					}
-					break;
-					
-					// Float constant
-				case InstructionIndex.FCONST_0:
-				case InstructionIndex.FCONST_1:
-				case InstructionIndex.FCONST_2:
-					frame.pushToStack(
-						Float.valueOf(opid - InstructionIndex.FCONST_0));
-					break;
-				
-					// Divide float
-				case InstructionIndex.FDIV:
-					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(a / b);
-					}
-					break;
-					
-					// Load float from local variable
-				case InstructionIndex.FLOAD:
-				case InstructionIndex.WIDE_FLOAD:
-					frame.loadToStack(Float.class,
-						inst.<Integer>argument(0, Integer.class));
-					break;
-					
-					// Load float from local variable
-				case InstructionIndex.FLOAD_0:
-				case InstructionIndex.FLOAD_1:
-				case InstructionIndex.FLOAD_2:
-				case InstructionIndex.FLOAD_3:
-					frame.loadToStack(Float.class,
-						opid - InstructionIndex.FLOAD_0);
-					break;
-				
-					// Multiply float
-				case InstructionIndex.FMUL:
-					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(a * b);
-					}
-					break;
-				
-					// Negate float
-				case InstructionIndex.FNEG:
-					{
-						float a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(-a);
-					}
-					break;
-				
-					// Remainder float
-				case InstructionIndex.FREM:
-					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(a % b);
-					}
-					break;
-					
-					// Return float
-				case InstructionIndex.FRETURN:
-					this.__vmReturn(thread,
-						frame.<Float>popFromStack(Float.class));
-					nextpc = Integer.MIN_VALUE;
-					break;
-				
-					// Subtract float
-				case InstructionIndex.FSUB:
-					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(a - b);
-					}
-					break;
-					
-					// Store float to local variable
-				case InstructionIndex.FSTORE:
-				case InstructionIndex.WIDE_FSTORE:
-					frame.storeLocal(inst.<Integer>argument(0, Integer.class),
-						frame.<Float>popFromStack(Float.class));
-					break;
-					
-					// Store float to local variable
-				case InstructionIndex.FSTORE_0:
-				case InstructionIndex.FSTORE_1:
-				case InstructionIndex.FSTORE_2:
-				case InstructionIndex.FSTORE_3:
-					frame.storeLocal(opid - InstructionIndex.FSTORE_0,
-						frame.<Float>popFromStack(Float.class));
-					break;
-					
-					// Read from instance field
-				case InstructionIndex.GETFIELD:
-					{
-						// Lookup field
-						SpringField ssf = this.__lookupInstanceField(
-							inst.<FieldReference>argument(0,
-							FieldReference.class));
-						
-						// Pop the object to read from
-						SpringObject ref = frame.<SpringObject>popFromStack(
-							SpringObject.class);
-						
-						// {@squirreljme.error BK2o Cannot read value from
-						// null reference.}
-						if (ref == SpringNullObject.NULL)
-							throw new SpringNullPointerException("BK2o");
-						
-						// {@squirreljme.error BK2p Cannot read value from
-						// this instance because it not a simple object.}
-						if (!(ref instanceof SpringSimpleObject))
-							throw new SpringIncompatibleClassChangeException(
-								"BK2p");
-						SpringSimpleObject sso = (SpringSimpleObject)ref;
-						
-						// Read and push to the stack
-						frame.pushToStack(this.asVMObject(
-							sso.fieldByIndex(ssf.index()).get()));
-					}
-					break;
-					
-					// Read static variable
-				case InstructionIndex.GETSTATIC:
-					{
-						// Lookup field
-						SpringFieldStorage ssf = this.__lookupStaticField(
-							inst.<FieldReference>argument(0,
-							FieldReference.class));
+						// Float to double
+					case InstructionIndex.F2D:
+						{
+							float value = frame.popFloat();
+							frame.pushDouble((double)value);
+						}
+						break;
+						
+						// Float to integer
+					case InstructionIndex.F2I:
+						{
+							float value = frame.popFloat();
+							frame.pushInt((int)value);
+						}
+						break;
+						
+						// Float to long
+					case InstructionIndex.F2L:
+						{
+							float value = frame.popFloat();
+							frame.pushLong((long)value);
+						}
+						break;
+						
+						// Add float
+					case InstructionIndex.FADD:
+						{
+							float b = frame.popFloat(),
+								a = frame.popFloat();
+							frame.pushFloat(a + b);
+						}
+						break;
+						
+						// Compare float, NaN is positive
+					case InstructionIndex.FCMPG:
+						{
+							float b = frame.popFloat(),
+								a = frame.popFloat();
+							
+							if (Float.isNaN(a) || Float.isNaN(b))
+								frame.pushInt(1);
+							else
+								frame.pushInt(
+									(a < b ? -1 : (a > b ? 1 : 0)));
+						}
+						break;
+						
+						// Compare float, NaN is negative
+					case InstructionIndex.FCMPL:
+						{
+							float b = frame.popFloat(),
+								a = frame.popFloat();
+							
+							if (Float.isNaN(a) || Float.isNaN(b))
+								frame.pushInt(-1);
+							else
+								frame.pushInt(
+									(a < b ? -1 : (a > b ? 1 : 0)));
+						}
+						break;
+						
+						// Divide float
+					case InstructionIndex.FDIV:
+						{
+							float b = frame.popFloat(),
+								a = frame.popFloat();
+							frame.pushFloat(a / b);
+						}
+						break;
+						
+						// Load float from local variable
+					case InstructionIndex.FLOAD:
+						frame.loadToStack(Float.class, inta[idx]);
+						break;
+						
+						// Multiply float
+					case InstructionIndex.FMUL:
+						{
+							float b = frame.popFloat(),
+								a = frame.popFloat();
+							frame.pushFloat(a * b);
+						}
+						break;
+						
+						// Negate float
+					case InstructionIndex.FNEG:
+						{
+							float a = frame.popFloat();
+							frame.pushFloat(-a);
+						}
+						break;
+						
+						// Remainder float
+					case InstructionIndex.FREM:
+						{
+							float b = frame.popFloat(),
+								a = frame.popFloat();
+							frame.pushFloat(a % b);
+						}
+						break;
+						
+						// Return float
+					case InstructionIndex.FRETURN:
+						this.__vmReturn(thread,
+							frame.popFloat());
+						return;
+						
+						// Subtract float
+					case InstructionIndex.FSUB:
+						{
+							float b = frame.popFloat(),
+								a = frame.popFloat();
+							frame.pushFloat(a - b);
+						}
+						break;
+						
+						// Store float to local variable
+					case InstructionIndex.FSTORE:
+						frame.storeFromStack(Float.class, inta[idx]);
+						break;
+						
+						// Read from instance field
+					case InstructionIndex.GETFIELD:
+						this.__vmGetField(caches[idx], frame);
+						break;
+						
+						// Read static variable
+					case InstructionIndex.GETSTATIC:
+						{
+							// Lookup field
+							SpringFieldStorage ssf = this.__lookupStaticField(
+								caches[idx]);
+							
+							// Push read value to stack
+							frame.pushToStack(this.asVMObject(ssf.get()));
+						}
+						break;
+						
+						// Go to address
+					case InstructionIndex.GOTO:
+						nextidx = inta[idx];
+						break;
+						
+						// Load integer from array
+					case InstructionIndex.BALOAD:
+					case InstructionIndex.CALOAD:
+					case InstructionIndex.SALOAD:
+					case InstructionIndex.IALOAD:
+						{
+							int dx = frame.popInt();
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							frame.pushToStack(obj.<Integer>get(Integer.class,
+								dx));
+						}
+						break;
+						
+						// Load double from array
+					case InstructionIndex.DALOAD:
+						{
+							int dx = frame.popInt();
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							frame.pushToStack(obj.<Double>get(Double.class,
+								dx));
+						}
+						break;
+						
+						// Load float from array
+					case InstructionIndex.FALOAD:
+						{
+							int dx = frame.popInt();
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							frame.pushToStack(obj.<Float>get(Float.class, dx));
+						}
+						break;
+						
+						
+						// Load long from array
+					case InstructionIndex.LALOAD:
+						{
+							int dx = frame.popInt();
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							frame.pushToStack(obj.<Long>get(Long.class, dx));
+						}
+						break;
+						
+						// Store integer to array (compatible)
+					case InstructionIndex.BASTORE:
+					case InstructionIndex.CASTORE:
+					case InstructionIndex.SASTORE:
+					case InstructionIndex.IASTORE:
+						{
+							int value = frame.popInt();
+							int dx = frame.popInt();
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							obj.set(dx, value);
+						}
+						break;
+						
+						// Store double to array
+					case InstructionIndex.DASTORE:
+						{
+							double value = frame.popDouble();
+							int dx = frame.popInt();
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							obj.set(dx, value);
+						}
+						break;
+						
+						// Store float to array
+					case InstructionIndex.FASTORE:
+						{
+							float value = frame.popFloat();
+							int dx = frame.popInt();
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							obj.set(dx, value);
+						}
+						break;
+						
+						// Store long to array
+					case InstructionIndex.LASTORE:
+						{
+							long value = frame.popLong();
+							int dx = frame.popInt();
+							SpringArrayObject obj = frame.<SpringArrayObject>
+								popFromStackNotNull(SpringArrayObject.class);
+							
+							obj.set(dx, value);
+						}
+						break;
+						
+						// Integer to byte
+					case InstructionIndex.I2B:
+						{
+							int value = frame.popInt();
+							frame.pushInt((byte)value);
+						}
+						break;
+						
+						// Integer to double
+					case InstructionIndex.I2D:
+						{
+							int value = frame.popInt();
+							frame.pushDouble(value);
+						}
+						break;
+						
+						// Integer to long
+					case InstructionIndex.I2L:
+						{
+							int value = frame.popInt();
+							frame.pushLong(value);
+						}
+						break;
+						
+						// Integer to character
+					case InstructionIndex.I2C:
+						{
+							int value = frame.popInt();
+							frame.pushInt((char)value);
+						}
+						break;
+						
+						// Integer to short
+					case InstructionIndex.I2S:
+						{
+							int value = frame.popInt();
+							frame.pushInt((short)value);
+						}
+						break;
+						
+						// Integer to float
+					case InstructionIndex.I2F:
+						{
+							int value = frame.popInt();
+							frame.pushFloat(value);
+						}
+						break;
+						
+						// Object a == b
+					case InstructionIndex.IF_ACMPEQ:
+						{
+							SpringObject b = frame.<SpringObject>popFromStack(
+									SpringObject.class),
+								a = frame.<SpringObject>popFromStack(
+									SpringObject.class);
+							
+							if (a == b)
+								nextidx = inta[idx];
+						}
+						break;
+						
+						// Object a != b
+					case InstructionIndex.IF_ACMPNE:
+						{
+							SpringObject b = frame.<SpringObject>popFromStack(
+									SpringObject.class),
+								a = frame.<SpringObject>popFromStack(
+									SpringObject.class);
+							
+							if (a != b)
+								nextidx = inta[idx];
+						}
+						break;
+						
+						// int a == b
+					case InstructionIndex.IF_ICMPEQ:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							
+							if (a == b)
+								nextidx = inta[idx];
+						}
+						break;
+						
+						// int a >= b
+					case InstructionIndex.IF_ICMPGE:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							
+							if (a >= b)
+								nextidx = inta[idx];
+						}
+						break;
+						
+						// int a > b
+					case InstructionIndex.IF_ICMPGT:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							
+							if (a > b)
+								nextidx = inta[idx];
+						}
+						break;
+						
+						// int a <= b
+					case InstructionIndex.IF_ICMPLE:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							
+							if (a <= b)
+								nextidx = inta[idx];
+						}
+						break;
+						
+						// int a < b
+					case InstructionIndex.IF_ICMPLT:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							
+							if (a < b)
+								nextidx = inta[idx];
+						}
+						break;
+						
+						// int a != b
+					case InstructionIndex.IF_ICMPNE:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							
+							if (a != b)
+								nextidx = inta[idx];
+						}
+						break;
+						
+						// int a == 0
+					case InstructionIndex.IFEQ:
+						if (frame.popInt() == 0)
+							nextidx = inta[idx];
+						break;
+						
+						// int a >= 0
+					case InstructionIndex.IFGE:
+						if (frame.popInt() >= 0)
+							nextidx = inta[idx];
+						break;
+						
+						// int a > 0
+					case InstructionIndex.IFGT:
+						if (frame.popInt() > 0)
+							nextidx = inta[idx];
+						break;
+						
+						// int a <= 0
+					case InstructionIndex.IFLE:
+						if (frame.popInt() <= 0)
+							nextidx = inta[idx];
+						break;
+						
+						// int a < 0
+					case InstructionIndex.IFLT:
+						if (frame.popInt() < 0)
+							nextidx = inta[idx];
+						break;
+						
+						// int a != 0
+					case InstructionIndex.IFNE:
+						if (frame.popInt() != 0)
+							nextidx = inta[idx];
+						break;
+						
+						// If reference is not null
+					case InstructionIndex.IFNONNULL:
+						if (frame.<SpringObject>popFromStack(
+							SpringObject.class) != SpringNullObject.NULL)
+							nextidx = inta[idx];
+						break;
+						
+						// If reference is null
+					case InstructionIndex.IFNULL:
+						{
+							SpringObject a = frame.<SpringObject>popFromStack(
+								SpringObject.class);
+							if (a == SpringNullObject.NULL)
+								nextidx = inta[idx];
+						}
+						break;
+						
+						// Increment local variable
+					case InstructionIndex.IINC:
+						frame.incrementLocal(inta[idx], intb[idx]);
+						break;
+						
+						// Load integer from local variable
+					case InstructionIndex.ILOAD:
+						frame.loadToStack(Integer.class, inta[idx]);
+						break;
+						
+						// Addly integer
+					case InstructionIndex.IADD:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a + b);
+						}
+						break;
+						
+						// AND integer
+					case InstructionIndex.IAND:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a & b);
+						}
+						break;
+						
+						// Divide integer
+					case InstructionIndex.IDIV:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a / b);
+						}
+						break;
+						
+						// Multiply integer
+					case InstructionIndex.IMUL:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a * b);
+						}
+						break;
+						
+						// Negate integer
+					case InstructionIndex.INEG:
+						{
+							int a = frame.popInt();
+							frame.pushInt(-a);
+						}
+						break;
+						
+						// Is the given object an instance of the given class?
+					case InstructionIndex.INSTANCEOF:
+						{
+							// Check against this
+							SpringClass as = this.resolveClass(
+								(ClassName)objs[idx]);
+							
+							SpringClass vtype =
+								frame.<SpringObject>popFromStack(
+								SpringObject.class).type();
+							frame.pushInt((vtype != null &&
+								as.isAssignableFrom(vtype) ? 1 : 0));
+						}
+						break;
+						
+						// Invoke interface method
+					case InstructionIndex.INVOKEINTERFACE:
+						frame.setPc(addresses[nextidx]);
+						this.__vmInvokeInterface(caches[idx], thread, frame);
+						
+						// Exception to be handled?
+						if (this.__checkException())
+							return;
+						
+						// Execute the new frame, if one was entered
+						if (thread.currentFrame() != frame)
+							return;
+						break;
+						
+						// Invoke special method (constructor, superclass,
+						// or private)
+					case InstructionIndex.INVOKESPECIAL:
+						frame.setPc(addresses[nextidx]);
+						this.__vmInvokeSpecial(caches[idx], thread, frame);
+						
+						// Exception to be handled?
+						if (this.__checkException())
+							return;
+						
+						// Execute the new frame, if one was entered
+						if (thread.currentFrame() != frame)
+							return;
+						break;
+						
+						// Invoke static method
+					case InstructionIndex.INVOKESTATIC:
+						frame.setPc(addresses[nextidx]);
+						this.__vmInvokeStatic(caches[idx], thread, frame);
+						
+						// Exception to be handled?
+						if (this.__checkException())
+							return;
+						
+						// Parked by a native call, such as sleeping
+						if (this._park != SpringThreadWorker.PARK_NONE)
+							return;
 						
-						// Push read value to stack
-						frame.pushToStack(this.asVMObject(ssf.get()));
-					}
-					break;
-					
-					// Go to address
-				case InstructionIndex.GOTO:
-				case InstructionIndex.GOTO_W:
-					nextpc = inst.<InstructionJumpTarget>argument(0,
-						InstructionJumpTarget.class).target();
-					break;
-					
-					// Load integer from array
-				case InstructionIndex.BALOAD:
-				case InstructionIndex.CALOAD:
-				case InstructionIndex.SALOAD:
-				case InstructionIndex.IALOAD:
-					{
-						int dx = frame.<Integer>popFromStack(Integer.class);
-						SpringArrayObject obj = frame.<SpringArrayObject>
-							popFromStackNotNull(SpringArrayObject.class);
+						// Execute the new frame, if one was entered
+						if (thread.currentFrame() != frame)
+							return;
+						break;
 						
-						frame.pushToStack(obj.<Integer>get(Integer.class, dx));
-					}
-					break;
-					
-					// Load double from array
-				case InstructionIndex.DALOAD:
-					{
-						int dx = frame.<Integer>popFromStack(Integer.class);
-						SpringArrayObject obj = frame.<SpringArrayObject>
-							popFromStackNotNull(SpringArrayObject.class);
+						// Invoke virtual method
+					case InstructionIndex.INVOKEVIRTUAL:
+						frame.setPc(addresses[nextidx]);
+						this.__vmInvokeVirtual(caches[idx], thread, frame);
 						
-						frame.pushToStack(obj.<Double>get(Double.class, dx));
-					}
-					break;
-					
-					// Load float from array
-				case InstructionIndex.FALOAD:
-					{
-						int dx = frame.<Integer>popFromStack(Integer.class);
-						SpringArrayObject obj = frame.<SpringArrayObject>
-							popFromStackNotNull(SpringArrayObject.class);
+						// Exception to be handled?
+						if (this.__checkException())
+							return;
 						
-						frame.pushToStack(obj.<Float>get(Float.class, dx));
-					}
-					break;
-					
-					
-					// Load long from array
-				case InstructionIndex.LALOAD:
-					{
-						int dx = frame.<Integer>popFromStack(Integer.class);
-						SpringArrayObject obj = frame.<SpringArrayObject>
-							popFromStackNotNull(SpringArrayObject.class);
+						// Execute the new frame, if one was entered
+						if (thread.currentFrame() != frame)
+							return;
+						break;
 						
-						frame.pushToStack(obj.<Long>get(Long.class, dx));
-					}
-					break;
-					
-					// Store integer to array (compatible)
-				case InstructionIndex.BASTORE:
-				case InstructionIndex.CASTORE:
-				case InstructionIndex.SASTORE:
-				case InstructionIndex.IASTORE:
-					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						int dx = frame.<Integer>popFromStack(Integer.class);
-						SpringArrayObject obj = frame.<SpringArrayObject>
-							popFromStackNotNull(SpringArrayObject.class);
+						// OR integer
+					case InstructionIndex.IOR:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a | b);
+						}
+						break;
 						
-						obj.set(dx, value);
-					}
-					break;
-					
-					// Store double to array
-				case InstructionIndex.DASTORE:
-					{
-						double value = frame.<Double>popFromStack(
-							Double.class);
-						int dx = frame.<Integer>popFromStack(Integer.class);
-						SpringArrayObject obj = frame.<SpringArrayObject>
-							popFromStackNotNull(SpringArrayObject.class);
+						// Remainder integer
+					case InstructionIndex.IREM:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a % b);
+						}
+						break;
 						
-						obj.set(dx, value);
-					}
-					break;
-					
-					// Store float to array
-				case InstructionIndex.FASTORE:
-					{
-						float value = frame.<Float>popFromStack(Float.class);
-						int dx = frame.<Integer>popFromStack(Integer.class);
-						SpringArrayObject obj = frame.<SpringArrayObject>
-							popFromStackNotNull(SpringArrayObject.class);
+						// Return integer
+					case InstructionIndex.IRETURN:
+						this.__vmReturn(thread,
+							frame.popInt());
+						return;
 						
-						obj.set(dx, value);
-					}
-					break;
-					
-					// Store long to array
-				case InstructionIndex.LASTORE:
-					{
-						long value = frame.<Long>popFromStack(Long.class);
-						int dx = frame.<Integer>popFromStack(Integer.class);
-						SpringArrayObject obj = frame.<SpringArrayObject>
-							popFromStackNotNull(SpringArrayObject.class);
+						// Shift left integer
+					case InstructionIndex.ISHL:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a << (b & 0x1F));
+						}
+						break;
 						
-						obj.set(dx, value);
-					}
-					break;
-					
-					// Integer to byte
-				case InstructionIndex.I2B:
-					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Byte.valueOf((byte)value).
-							intValue());
-					}
-					break;
-					
-					// Integer to double
-				case InstructionIndex.I2D:
-					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Double.valueOf(value));
-					}
-					break;
-					
-					// Integer to long
-				case InstructionIndex.I2L:
-					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Long.valueOf(value));
-					}
-					break;
-					
-					// Integer to character
-				case InstructionIndex.I2C:
-					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Integer.valueOf((char)value));
-					}
-					break;
-					
-					// Integer to short
-				case InstructionIndex.I2S:
-					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Integer.valueOf((short)value));
-					}
-					break;
-					
-					// Integer to float
-				case InstructionIndex.I2F:
-					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Float.valueOf(value));
-					}
-					break;
-					
-					// Integer constant
-				case InstructionIndex.ICONST_M1:
-				case InstructionIndex.ICONST_0:
-				case InstructionIndex.ICONST_1:
-				case InstructionIndex.ICONST_2:
-				case InstructionIndex.ICONST_3:
-				case InstructionIndex.ICONST_4:
-				case InstructionIndex.ICONST_5:
-					frame.pushToStack(Integer.valueOf(
-						-1 + (opid - InstructionIndex.ICONST_M1)));
-					break;
-					
-					// Object a == b
-				case InstructionIndex.IF_ACMPEQ:
-					{
-						SpringObject b = frame.<SpringObject>popFromStack(
-								SpringObject.class),
-							a = frame.<SpringObject>popFromStack(
-								SpringObject.class);
+						// Shift right integer
+					case InstructionIndex.ISHR:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a >> (b & 0x1F));
+						}
+						break;
 						
-						if (a == b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
-					}
-					break;
-					
-					// Object a != b
-				case InstructionIndex.IF_ACMPNE:
-					{
-						SpringObject b = frame.<SpringObject>popFromStack(
-								SpringObject.class),
-							a = frame.<SpringObject>popFromStack(
-								SpringObject.class);
+						// Store integer to local variable
+					case InstructionIndex.ISTORE:
+						frame.storeFromStack(Integer.class, inta[idx]);
+						break;
 						
-						if (a != b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
-					}
-					break;
-					
-					// int a == b
-				case InstructionIndex.IF_ICMPEQ:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						// Subtract integer
+					case InstructionIndex.ISUB:
+						{
+							Integer b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a - b);
+						}
+						break;
 						
-						if (a == b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
-					}
-					break;
-					
-					// int a >= b
-				case InstructionIndex.IF_ICMPGE:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						// Unsigned shift right integer
+					case InstructionIndex.IUSHR:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a >>> (b & 0x1F));
+						}
+						break;
 						
-						if (a >= b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
-					}
-					break;
-					
-					// int a > b
-				case InstructionIndex.IF_ICMPGT:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						// XOR integer
+					case InstructionIndex.IXOR:
+						{
+							int b = frame.popInt(),
+								a = frame.popInt();
+							frame.pushInt(a ^ b);
+						}
+						break;
 						
-						if (a > b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
-					}
-					break;
-					
-					// int a <= b
-				case InstructionIndex.IF_ICMPLE:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						// Long to double
+					case InstructionIndex.L2D:
+						{
+							long value = frame.popLong();
+							frame.pushDouble((double)value);
+						}
+						break;
 						
-						if (a <= b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
-					}
-					break;
-					
-					// int a < b
-				case InstructionIndex.IF_ICMPLT:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						// Long to float
+					case InstructionIndex.L2F:
+						{
+							long value = frame.popLong();
+							frame.pushFloat((float)value);
+						}
+						break;
 						
-						if (a < b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
-					}
-					break;
-					
-					// int a != b
-				case InstructionIndex.IF_ICMPNE:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						// Long to integer
+					case InstructionIndex.L2I:
+						{
+							long value = frame.popLong();
+							frame.pushInt((int)value);
+						}
+						break;
 						
-						if (a != b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
-					}
-					break;
-					
-					// int a == 0
-				case InstructionIndex.IFEQ:
-					if (frame.<Integer>popFromStack(Integer.class) == 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
-					break;
-					
-					// int a >= 0
-				case InstructionIndex.IFGE:
-					if (frame.<Integer>popFromStack(Integer.class) >= 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
-					break;
-					
-					// int a > 0
-				case InstructionIndex.IFGT:
-					if (frame.<Integer>popFromStack(Integer.class) > 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
-					break;
-					
-					// int a <= 0
-				case InstructionIndex.IFLE:
-					if (frame.<Integer>popFromStack(Integer.class) <= 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
-					break;
-					
-					// int a < 0
-				case InstructionIndex.IFLT:
-					if (frame.<Integer>popFromStack(Integer.class) < 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
-					break;
-					
-					// int a != 0
-				case InstructionIndex.IFNE:
-					if (frame.<Integer>popFromStack(Integer.class) != 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
-					break;
-					
-					// If reference is not null
-				case InstructionIndex.IFNONNULL:
-					if (frame.<SpringObject>popFromStack(
-						SpringObject.class) != SpringNullObject.NULL)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
-					break;
-					
-					// If reference is null
-				case InstructionIndex.IFNULL:
-					{
-						SpringObject a = frame.<SpringObject>popFromStack(
-							SpringObject.class);
-						if (a == SpringNullObject.NULL)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
-					}
-					break;
-					
-					// Increment local variable
-				case InstructionIndex.IINC:
-				case InstructionIndex.WIDE_IINC:
-					{
-						int dx = inst.<Integer>argument(0, Integer.class);
-						frame.storeLocal(dx, frame.<Integer>loadLocal(
-							Integer.class, dx) + inst.<Integer>argument(1,
-							Integer.class));
-					}
-					break;
-					
-					// Load integer from local variable
-				case InstructionIndex.ILOAD:
-				case InstructionIndex.WIDE_ILOAD:
-					frame.loadToStack(Integer.class,
-						inst.<Integer>argument(0, Integer.class));
-					break;
-					
-					// Load integer from local variable
-				case InstructionIndex.ILOAD_0:
-				case InstructionIndex.ILOAD_1:
-				case InstructionIndex.ILOAD_2:
-				case InstructionIndex.ILOAD_3:
-					frame.loadToStack(Integer.class,
-						opid - InstructionIndex.ILOAD_0);
-					break;
-				
-					// Addly integer
-				case InstructionIndex.IADD:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a + b);
-					}
-					break;
-				
-					// AND integer
-				case InstructionIndex.IAND:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a & b);
-					}
-					break;
-				
-					// Divide integer
-				case InstructionIndex.IDIV:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a / b);
-					}
-					break;
-				
-					// Multiply integer
-				case InstructionIndex.IMUL:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a * b);
-					}
-					break;
-				
-					// Negate integer
-				case InstructionIndex.INEG:
-					{
-						int a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(-a);
-					}
-					break;
-					
-					// Is the given object an instance of the given class?
-				case InstructionIndex.INSTANCEOF:
-					{
-						// Check against this
-						SpringClass as = this.resolveClass(inst.
-							<ClassName>argument(0, ClassName.class));
-						
-						SpringClass vtype = frame.<SpringObject>popFromStack(
-							SpringObject.class).type();
-						frame.pushToStack((vtype != null &&
-							as.isAssignableFrom(vtype) ? 1 : 0));
-					}
-					break;
-					
-					// Invoke interface method
-				case InstructionIndex.INVOKEINTERFACE:
-					this.__vmInvokeInterface(inst, thread, frame);
-					
-					// Exception to be handled?
-					if (this.__checkException())
-						return;
-					break;
-					
-					// Invoke special method (constructor, superclass,
-					// or private)
-				case InstructionIndex.INVOKESPECIAL:
-					this.__vmInvokeSpecial(inst, thread, frame);
-					
-					// Exception to be handled?
-					if (this.__checkException())
-						return;
-					break;
-					
-					// Invoke static method
-				case InstructionIndex.INVOKESTATIC:
-					this.__vmInvokeStatic(inst, thread, frame);
-					
-					// Exception to be handled?
-					if (this.__checkException())
-						return;
-					break;
-					
-					// Invoke virtual method
-				case InstructionIndex.INVOKEVIRTUAL:
-					this.__vmInvokeVirtual(inst, thread, frame);
-					
-					// Exception to be handled?
-					if (this.__checkException())
-						return;
-					break;
-				
-					// OR integer
-				case InstructionIndex.IOR:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a | b);
-					}
-					break;
-				
-					// Remainder integer
-				case InstructionIndex.IREM:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a % b);
-					}
-					break;
-					
-					// Return integer
-				case InstructionIndex.IRETURN:
-					this.__vmReturn(thread,
-						frame.<Integer>popFromStack(Integer.class));
-					nextpc = Integer.MIN_VALUE;
-					break;
-				
-					// Shift left integer
-				case InstructionIndex.ISHL:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a << (b & 0x1F));
-					}
-					break;
-				
-					// Shift right integer
-				case InstructionIndex.ISHR:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a >> (b & 0x1F));
-					}
-					break;
-					
-					// Store integer to local variable
-				case InstructionIndex.ISTORE:
-				case InstructionIndex.WIDE_ISTORE:
-					frame.storeLocal(inst.<Integer>argument(0, Integer.class),
-						frame.<Integer>popFromStack(Integer.class));
-					break;
-					
-					// Store integer to local variable
-				case InstructionIndex.ISTORE_0:
-				case InstructionIndex.ISTORE_1:
-				case InstructionIndex.ISTORE_2:
-				case InstructionIndex.ISTORE_3:
-					frame.storeLocal(opid - InstructionIndex.ISTORE_0,
-						frame.<Integer>popFromStack(Integer.class));
-					break;
-				
-					// Subtract integer
-				case InstructionIndex.ISUB:
-					{
-						Integer b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a - b);
-					}
-					break;
-				
-					// Unsigned shift right integer
-				case InstructionIndex.IUSHR:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a >>> (b & 0x1F));
-					}
-					break;
-				
-					// XOR integer
-				case InstructionIndex.IXOR:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a ^ b);
-					}
-					break;
-					
-					// Long to double
-				case InstructionIndex.L2D:
-					{
-						long value = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(Double.valueOf((double)value));
-					}
-					break;
-					
-					// Long to float
-				case InstructionIndex.L2F:
-					{
-						long value = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(Float.valueOf((float)value));
-					}
-					break;
-					
-					// Long to integer
-				case InstructionIndex.L2I:
-					{
-						long value = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(Integer.valueOf((int)value));
-					}
-					break;
-					
-					// Add long
-				case InstructionIndex.LADD:
-					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a + b);
-					}
-					break;
-				
-					// And long
-				case InstructionIndex.LAND:
-					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a & b);
-					}
-					break;
-				
-					// Compare long
-				case InstructionIndex.LCMP:
-					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack((a < b ? -1 : (a > b ? 1 : 0)));
-					}
-					break;
-					
-					// Long constant
-				case InstructionIndex.LCONST_0:
-				case InstructionIndex.LCONST_1:
-					frame.pushToStack(Long.valueOf(
-						(opid - InstructionIndex.LCONST_0)));
-					break;
-					
-					// Load from constant pool, push to the stack
-				case InstructionIndex.LDC:
-				case InstructionIndex.LDC_W:
-					{
-						ConstantValue value = inst.<ConstantValue>argument(0,
-							ConstantValue.class);
+						// Add long
+					case InstructionIndex.LADD:
+						{
+							long b = frame.popLong(),
+								a = frame.popLong();
+							frame.pushLong(a + b);
+						}
+						break;
+						
+						// And long
+					case InstructionIndex.LAND:
+						{
+							long b = frame.popLong(),
+								a = frame.popLong();
+							frame.pushLong(a & b);
+						}
+						break;
+						
+						// Compare long
+					case InstructionIndex.LCMP:
+						{
+							long b = frame.popLong(),
+								a = frame.popLong();
+							frame.pushInt((a < b ? -1 : (a > b ? 1 : 0)));
+						}
+						break;
 						
+						// Load string or class from constant pool, push to the
+						// stack
+					case InstructionIndex.LDC:
 						// Pushing a string, which due to the rules of Java
 						// there must always be an equality (==) between two
 						// strings, so "foo" == "foo" must be true even if it
 						// is in different parts of the code
 						// Additionally internall class objects are adapted
 						// too as needed
-						if (value instanceof ConstantValueString ||
-							value instanceof ConstantValueClass)
-							frame.pushToStack(this.asVMObject(value));
+						frame.pushToStack(this.asVMObject(objs[idx]));
+						break;
 						
-						// This will be pre-boxed so push it to the stack
-						else
-							frame.pushToStack(value.boxedValue());
-					}
-					break;
-					
-					// Load long or double from constant pool, to the stack
-				case InstructionIndex.LDC2_W:
-					frame.pushToStack(inst.<ConstantValue>argument(0,
-						ConstantValue.class).boxedValue());
-					break;
-				
-					// Divide long
-				case InstructionIndex.LDIV:
-					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a / b);
-					}
-					break;
-					
-					// Load integer from local variable
-				case InstructionIndex.LLOAD:
-				case InstructionIndex.WIDE_LLOAD:
-					frame.loadToStack(Long.class,
-						inst.<Integer>argument(0, Integer.class));
-					break;
-					
-					// Load integer from local variable
-				case InstructionIndex.LLOAD_0:
-				case InstructionIndex.LLOAD_1:
-				case InstructionIndex.LLOAD_2:
-				case InstructionIndex.LLOAD_3:
-					frame.loadToStack(Long.class,
-						opid - InstructionIndex.LLOAD_0);
-					break;
-					
-					// Multiply long
-				case InstructionIndex.LMUL:
-					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a * b);
-					}
-					break;
-				
-					// Negate long
-				case InstructionIndex.LNEG:
-					{
-						long a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(-a);
-					}
-					break;
-					
-					// OR long
-				case InstructionIndex.LOR:
-					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a | b);
-					}
-					break;
-					
-					// Subtract long
-				case InstructionIndex.LSUB:
-					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a - b);
-					}
-					break;
-					
-					// Lookup in a jump table
-				case InstructionIndex.LOOKUPSWITCH:
-				case InstructionIndex.TABLESWITCH:
-					nextpc = inst.<IntMatchingJumpTable>argument(0,
-						IntMatchingJumpTable.class).match(
-						frame.<Integer>popFromStack(Integer.class)).target();
-					break;
-				
-					// Remainder long
-				case InstructionIndex.LREM:
-					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a % b);
-					}
-					break;
-					
-					// Return long
-				case InstructionIndex.LRETURN:
-					this.__vmReturn(thread,
-						frame.<Long>popFromStack(Long.class));
-					nextpc = Integer.MIN_VALUE;
-					break;
-				
-					// Shift left long
-				case InstructionIndex.LSHL:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class);
-						long a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a << (((long)b) & 0x3F));
-					}
-					break;
-				
-					// Shift right long
-				case InstructionIndex.LSHR:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class);
-						long a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a >> (((long)b) & 0x3F));
-					}
-					break;
-					
-					// Store long to local variable
-				case InstructionIndex.LSTORE:
-				case InstructionIndex.WIDE_LSTORE:
-					frame.storeLocal(inst.<Integer>argument(0, Integer.class),
-						frame.<Long>popFromStack(Long.class));
-					break;
-					
-					// Store long to local variable
-				case InstructionIndex.LSTORE_0:
-				case InstructionIndex.LSTORE_1:
-				case InstructionIndex.LSTORE_2:
-				case InstructionIndex.LSTORE_3:
-					frame.storeLocal(opid - InstructionIndex.LSTORE_0,
-						frame.<Long>popFromStack(Long.class));
-					break;
-				
-					// Unsigned shift right long
-				case InstructionIndex.LUSHR:
-					{
-						int b = frame.<Integer>popFromStack(Integer.class);
-						long a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a >>> (((long)b) & 0x3F));
-					}
-					break;
-					
-					// XOR long
-				case InstructionIndex.LXOR:
-					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a ^ b);
-					}
-					break;
-					
-					// Enter monitor
-				case InstructionIndex.MONITORENTER:
-					frame.<SpringObject>popFromStack(SpringObject.class).
-						monitor().enter(thread);
-					break;
-					
-					// Exit monitor
-				case InstructionIndex.MONITOREXIT:
-					frame.<SpringObject>popFromStack(SpringObject.class).
-						monitor().exit(thread, true);
-					break;
-					
-					// Allocate multi-dimensional array
-				case InstructionIndex.MULTIANEWARRAY:
-					{
-						// Determine component type and dimension count
-						SpringClass ccl = this.resolveClass(
-							inst.<ClassName>argument(0, ClassName.class));
-						int n = inst.<Integer>argument(1, Integer.class);
-						
-						// Pop values into array
-						int[] pops = new int[n];
-						for (int i = n - 1; i >= 0; i--)
-							pops[i] = frame.<Integer>popFromStack(
-								Integer.class);
-						
-						// Call method within the class library since it is
-						// easier, becuse this is one super complex
-						// instruction
-						frame.pushToStack(
-							this.invokeMethod(true, new ClassName(
-							"cc/squirreljme/runtime/cldc/lang/ArrayUtils"),
-							new MethodNameAndType("multiANewArray",
-								"(Ljava/lang/Class;I[I)Ljava/lang/Object;"),
-							this.asVMObject(ccl), 0, this.asVMObject(pops)));
+						// Push pre-boxed constant value to the stack
+					case InstructionIndex.LDC2_W:
+						frame.pushToStack(objs[idx]);
+						break;
+						
+						// Divide long
+					case InstructionIndex.LDIV:
+						{
+							long b = frame.popLong(),
+								a = frame.popLong();
+							frame.pushLong(a / b);
+						}
+						break;
+						
+						// Load integer from local variable
+					case InstructionIndex.LLOAD:
+						frame.loadToStack(Long.class, inta[idx]);
+						break;
+						
+						// Multiply long
+					case InstructionIndex.LMUL:
+						{
+							long b = frame.popLong(),
+								a = frame.popLong();
+							frame.pushLong(a * b);
+						}
+						break;
+						
+						// Negate long
+					case InstructionIndex.LNEG:
+						{
+							long a = frame.popLong();
+							frame.pushLong(-a);
+						}
+						break;
+						
+						// OR long
+					case InstructionIndex.LOR:
+						{
+							long b = frame.popLong(),
+								a = frame.popLong();
+							frame.pushLong(a | b);
+						}
+						break;
+						
+						// Subtract long
+					case InstructionIndex.LSUB:
+						{
+							long b = frame.popLong(),
+								a = frame.popLong();
+							frame.pushLong(a - b);
+						}
+						break;
+						
+						// Lookup in a jump table
+					case InstructionIndex.LOOKUPSWITCH:
+						nextidx = indexes[((IntMatchingJumpTable)objs[idx]).
+							match(frame.popInt()).
+							target()];
+						break;
+						
+						// Remainder long
+					case InstructionIndex.LREM:
+						{
+							long b = frame.popLong(),
+								a = frame.popLong();
+							frame.pushLong(a % b);
+						}
+						break;
+						
+						// Return long
+					case InstructionIndex.LRETURN:
+						this.__vmReturn(thread,
+							frame.popLong());
+						return;
+						
+						// Shift left long
+					case InstructionIndex.LSHL:
+						{
+							int b = frame.popInt();
+							long a = frame.popLong();
+							frame.pushLong(a << (((long)b) & 0x3F));
+						}
+						break;
 						
-						// Exception to be handled?
-						if (this.__checkException())
-							return;
-					}
-					break;
-					
-					// Allocate new object
-				case InstructionIndex.NEW:
-					this.__vmNew(inst, frame);
-					break;
-				
-					// Allocate new primitive array
-				case InstructionIndex.NEWARRAY:
-					frame.pushToStack(this.allocateArray(this.resolveClass(
-						ClassName.fromPrimitiveType(
-						inst.<PrimitiveType>argument(0, PrimitiveType.class))),
-						frame.<Integer>popFromStack(Integer.class)));
-					break;
-					
-					// Return from method with no return value
-				case InstructionIndex.RETURN:
-					thread.popFrame();
-					break;
-					
-					// Pop category 1 value
-				case InstructionIndex.POP:
-					{
-						// {@squirreljme.error BK2q Cannot pop category two
-						// value from stack.}
-						Object val = frame.popFromStack();
-						if (val instanceof Long || val instanceof Double)
-							throw new SpringVirtualMachineException("BK2q");
-					}
-					break;
-					
-					// Pop two cat1s or one cat2
-				case InstructionIndex.POP2:
-					{
-						// Pop one value, if it is a long or double then only
-						// pop one
-						Object val = frame.popFromStack();
-						if (!(val instanceof Long || val instanceof Double))
+						// Shift right long
+					case InstructionIndex.LSHR:
+						{
+							int b = frame.popInt();
+							long a = frame.popLong();
+							frame.pushLong(a >> (((long)b) & 0x3F));
+						}
+						break;
+						
+						// Store long to local variable
+					case InstructionIndex.LSTORE:
+						frame.storeFromStack(Long.class, inta[idx]);
+						break;
+						
+						// Unsigned shift right long
+					case InstructionIndex.LUSHR:
+						{
+							int b = frame.popInt();
+							long a = frame.popLong();
+							frame.pushLong(a >>> (((long)b) & 0x3F));
+						}
+						break;
+						
+						// XOR long
+					case InstructionIndex.LXOR:
+						{
+							long b = frame.popLong(),
+								a = frame.popLong();
+							frame.pushLong(a ^ b);
+						}
+						break;
+						
+						// Enter monitor
+					case InstructionIndex.MONITORENTER:
+						{
+							SpringObject mobj = frame.<SpringObject>
+								popFromStack(SpringObject.class);
+							SpringMonitor monitor = mobj.monitor();
+							
+							// If the monitor is owned then park and run
+							// this instruction again when it is exited
+							if (this.__canPark())
+							{
+								if (!monitor.__enterOrPark(thread, this))
+								{
+									frame.pushToStack(mobj);
+									frame.setPc(pc);
+									
+									this._parkmonitor = monitor;
+									this._parkstart = System.nanoTime();
+									this._park = SpringThreadWorker.PARK_ENTER;
+									return;
+								}
+							}
+							
+							else
+								monitor.enter(thread);
+						}
+						break;
+						
+						// Exit monitor
+					case InstructionIndex.MONITOREXIT:
+						frame.<SpringObject>popFromStack(SpringObject.class).
+							monitor().exit(thread, true);
+						break;
+						
+						// Allocate multi-dimensional array
+					case InstructionIndex.MULTIANEWARRAY:
 						{
-							// {@squirreljme.error BK2r Cannot pop a category
-							// one then category two type.}
-							val = frame.popFromStack();
+							// Determine component type and dimension count
+							SpringClass ccl = this.resolveClass(
+								(ClassName)objs[idx]);
+							int n = inta[idx];
+							
+							// Pop values into array
+							int[] pops = new int[n];
+							for (int i = n - 1; i >= 0; i--)
+								pops[i] = frame.popInt();
+							
+							// Call method within the class library since it is
+							// easier, becuse this is one super complex
+							// instruction
+							frame.pushToStack(
+								this.invokeMethod(true, new ClassName(
+								"cc/squirreljme/runtime/cldc/lang/ArrayUtils"),
+								new MethodNameAndType("multiANewArray",
+									"(Ljava/lang/Class;I[I)Ljava/lang/Object;"),
+								this.asVMObject(ccl), 0, this.asVMObject(
+									pops)));
+							
+							// Exception to be handled?
+							if (this.__checkException())
+								return;
+						}
+						break;
+						
+						// Allocate new object
+					case InstructionIndex.NEW:
+						this.__vmNew((ClassName)objs[idx], frame);
+						break;
+						
+						// Allocate new primitive array
+					case InstructionIndex.NEWARRAY:
+						frame.pushToStack(this.allocateArray(this.resolveClass(
+							(ClassName)objs[idx]),
+							frame.popInt()));
+						break;
+						
+						// Return from method with no return value
+					case InstructionIndex.RETURN:
+						thread.popFrame();
+						return;
+						
+						// Pop category 1 value
+					case InstructionIndex.POP:
+						{
+							// {@squirreljme.error BK2q Cannot pop category two
+							// value from stack.}
+							Object val = frame.popFromStack();
 							if (val instanceof Long || val instanceof Double)
 								throw new SpringVirtualMachineException(
-									"BK2r");
+									"BK2q");
 						}
-					}
-					break;
-					
-					// Put to instance field
-				case InstructionIndex.PUTFIELD:
-					{
-						// Lookup field
-						SpringField ssf = this.__lookupInstanceField(
-							inst.<FieldReference>argument(0,
-							FieldReference.class));
-						
-						// Pop the value and the object to mess with
-						Object value = frame.popFromStack();
-						SpringObject ref = frame.<SpringObject>popFromStack(
-							SpringObject.class);
-						
-						// {@squirreljme.error BK2s Cannot store value into
-						// null reference.}
-						if (ref == SpringNullObject.NULL)
-							throw new SpringNullPointerException("BK2s");
-						
-						// {@squirreljme.error BK2t Cannot store value into
-						// this instance because it not a simple object.}
-						if (!(ref instanceof SpringSimpleObject))
-							throw new SpringIncompatibleClassChangeException(
-								"BK2t");
-						SpringSimpleObject sso = (SpringSimpleObject)ref;
-						
-						// {@squirreljme.error BK2u Cannot store value into
-						// a field which belongs to another class.}
-						if (!this.loadClass(ssf.inClass()).isAssignableFrom(
-							sso.type()))
-							throw new SpringClassCastException("BK2u");
-						
-						// Set
-						sso.fieldByIndex(ssf.index()).set(value,
-							isinstanceinit);
-					}
-					break;
-				
-					// Put to static field
-				case InstructionIndex.PUTSTATIC:
-					{
-						// Lookup field
-						SpringFieldStorage ssf = this.__lookupStaticField(
-							inst.<FieldReference>argument(0,
-							FieldReference.class));
-						
-						// Set value, note that static initializers can set
-						// static field values even if they are final
-						ssf.set(frame.popFromStack(), isstaticinit);
-					}
-					break;
-					
-					// Swap top two cat1 stack entries
-				case InstructionIndex.SWAP:
-					{
-						Object v1 = frame.popFromStack(),
-							v2 = frame.popFromStack();
+						break;
+						
+						// Pop two cat1s or one cat2
+					case InstructionIndex.POP2:
+						{
+							// Pop one value, if it is a long or double then
+							// only pop one
+							Object val = frame.popFromStack();
+							if (!(val instanceof Long ||
+								val instanceof Double))
+							{
+								// {@squirreljme.error BK2r Cannot pop a
+								// category one then category two type.}
+								val = frame.popFromStack();
+								if (val instanceof Long ||
+									val instanceof Double)
+									throw new SpringVirtualMachineException(
+										"BK2r");
+							}
+						}
+						break;
 						
-						// {@squirreljme.error BK2v Cannot swap category
-						// two types.}
-						if (v1 instanceof Long || v1 instanceof Double ||
-							v2 instanceof Long || v2 instanceof Double)
-							throw new SpringClassCastException("BK2v");
+						// Put to instance field
+					case InstructionIndex.PUTFIELD:
+						this.__vmPutField(caches[idx], frame, isinstanceinit);
+						break;
 						
-						frame.pushToStack(v1);
-						frame.pushToStack(v2);
-					}
-					break;
-				
-					// {@squirreljme.error BK2w Reserved instruction. (The
-					// instruction)}
-				case InstructionIndex.BREAKPOINT:
-				case InstructionIndex.IMPDEP1:
-				case InstructionIndex.IMPDEP2:
-					throw new SpringVirtualMachineException(String.format(
-						"BK2w %s", inst));
-					
-					// {@squirreljme.error BK2x Unimplemented operation.
-					// (The instruction)}
-				default:
-					throw new SpringVirtualMachineException(String.format(
-						"BK2x %s", inst));
+						// Put to static field
+					case InstructionIndex.PUTSTATIC:
+						{
+							// Lookup field
+							SpringFieldStorage ssf = this.__lookupStaticField(
+								caches[idx]);
+							
+							// Set value, note that static initializers can set
+							// static field values even if they are final
+							ssf.set(frame.popFromStack(), isstaticinit);
+						}
+						break;
+						
+						// Swap top two cat1 stack entries
+					case InstructionIndex.SWAP:
+						{
+							Object v1 = frame.popFromStack(),
+								v2 = frame.popFromStack();
+							
+							// {@squirreljme.error BK2v Cannot swap category
+							// two types.}
+							if (v1 instanceof Long || v1 instanceof Double ||
+								v2 instanceof Long || v2 instanceof Double)
+								throw new SpringClassCastException("BK2v");
+							
+							frame.pushToStack(v1);
+							frame.pushToStack(v2);
+						}
+						break;
+						
+						// {@squirreljme.error BK2w Reserved instruction. (The
+						// instruction)}
+					case InstructionIndex.BREAKPOINT:
+					case InstructionIndex.IMPDEP1:
+					case InstructionIndex.IMPDEP2:
+						throw new SpringVirtualMachineException(String.format(
+							"BK2w %s", code.getByAddress(pc)));
+						
+						// {@squirreljme.error BK2x Unimplemented operation.
+						// (The instruction)}
+					default:
+						throw new SpringVirtualMachineException(String.format(
+							"BK2x %s", code.getByAddress(pc)));
+				}
 			}
-		}
-		
-		// Arithmetic exception, a divide by zero happened somewhere
-		catch (ArithmeticException e)
-		{
-			// PC converts?
-			nextpc = this.__handleException(
-				(SpringObject)this.asVMObject(new SpringArithmeticException(
-				e.getMessage())));
-			
-			// Do not set PC address?
-			if (nextpc < 0)
-				return;
-		}
-		
-		// Use the original exception, just add a suppression note on it since
-		// that is the simplest action
-		catch (SpringException e)
-		{
-			// Do not add causes or do anything if this was already thrown
-			if ((e instanceof SpringFatalException) ||
-				(e instanceof SpringMachineExitException))
-				throw e;
 			
-			// Now the exception is either converted or tossed for failure
-			// Is this a convertable exception on the VM?
-			if (e instanceof SpringConvertableThrowable)
+			// Arithmetic exception, a divide by zero happened somewhere
+			catch (ArithmeticException e)
 			{
 				// PC converts?
-				nextpc = this.__handleException(
-					(SpringObject)this.asVMObject(e));
+				int hpc = this.__handleException(
+					(SpringObject)this.asVMObject(new SpringArithmeticException(
+					e.getMessage())));
 				
 				// Do not set PC address?
-				if (nextpc < 0)
+				if (hpc < 0)
 					return;
+				nextidx = indexes[hpc];
 			}
 			
-			// Not a wrapped exception, kill the VM
-			else
+			// Use the original exception, just add a suppression note on it
+			// since that is the simplest action
+			catch (SpringException e)
 			{
-				// Kill the VM
-				this.machine.exitNoException(127);
-				
-				// Print the stack trace
-				thread.printStackTrace(System.err);
-				
-				// Where is this located?
-				SpringMethod inmethod = frame.method();
-				ClassName inclassname = inmethod.inClass();
-				SpringClass inclass = machine.classLoader().loadClass(
-					inclassname);
-				
-				// Location information if debugging is used, this makes it
-				// easier to see exactly where failed code happened
-				String onfile = inclass.file().sourceFile();
-				int online = code.lineOfAddress(pc);
-				
-				// {@squirreljme.error BK2y An exception was thrown in the
-				// virtual machine while executing the specified location.
-				// (The class; The method; The program counter; The file in
-				// source code, null means it is unknown; The line in source
-				// code, negative values are unknown; The instruction)}
-				e.addSuppressed(new SpringVirtualMachineException(
-					String.format("BK2y %s %s %d %s %d %s", inclassname,
-					inmethod.nameAndType(), pc, onfile, online, inst)));
-				
-				// {@squirreljme.error BK2z Fatal VM exception.}
-				throw new SpringFatalException("BK2z", e);
+				// Do not add causes or do anything if this was already thrown
+				if ((e instanceof SpringFatalException) ||
+					(e instanceof SpringMachineExitException))
+					throw e;
+				
+				// Now the exception is either converted or tossed for failure
+				// Is this a convertable exception on the VM?
+				if (e instanceof SpringConvertableThrowable)
+				{
+					// PC converts?
+					int hpc = this.__handleException(
+						(SpringObject)this.asVMObject(e));
+					
+					// Do not set PC address?
+					if (hpc < 0)
+						return;
+					nextidx = indexes[hpc];
+				}
+				
+				// Not a wrapped exception, kill the VM
+				else
+				{
+					// Kill the VM
+					this.machine.exitNoException(127);
+					
+					// Print the stack trace
+					thread.printStackTrace(System.err);
+					
+					// Where is this located?
+					SpringMethod inmethod = frame.method();
+					ClassName inclassname = inmethod.inClass();
+					SpringClass inclass = machine.classLoader().loadClass(
+						inclassname);
+					
+					// Location information if debugging is used, this makes
+					// it easier to see exactly where failed code happened
+					String onfile = inclass.file().sourceFile();
+					int online = code.lineOfAddress(pc);
+					
+					// {@squirreljme.error BK2y An exception was thrown in the
+					// virtual machine while executing the specified location.
+					// (The class; The method; The program counter; The file
+					// in source code, null means it is unknown; The line in
+					// source code, negative values are unknown; The
+					// instruction)}
+					e.addSuppressed(new SpringVirtualMachineException(
+						String.format("BK2y %s %s %d %s %d %s", inclassname,
+						inmethod.nameAndType(), pc, onfile, online,
+						code.getByAddress(pc))));
+					
+					// {@squirreljme.error BK2z Fatal VM exception.}
+					throw new SpringFatalException("BK2z", e);
+				}
+			}
+			
+			// Jumping backwards, this is where loops happen so check if the
+			// VM is exiting or if execution seems to be stuck
+			if (nextidx <= idx)
+			{
+				this.__exitCheck();
+				
+				// Frame is execution
+				int iec = frame.incrementExecCount();
+				if (iec > 0 && (iec % _EXECUTION_THRESHOLD) == 0)
+				{
+					// {@squirreljme.error BK2c Execution seems to be stuck in
+					// this method.}
+					System.err.println("BK2c");
+					this.thread.printStackTrace(System.err);
+				}
+				
+				// Give the other threads on this carrier a chance to run
+				if (--this._slice <= 0 && this.__canPark())
+				{
+					frame.setPc(addresses[nextidx]);
+					
+					this._parkstart = System.nanoTime();
+					this._park = SpringThreadWorker.PARK_YIELD;
+					return;
+				}
 			}
+			
+			// Go to the next instruction
+			idx = nextidx;
+		}
+	}
+	
+	/**
+	 * Checks if the virtual machine is exiting and if it is then the thread
+	 * will be terminated.
+	 *
+	 * @throws SpringMachineExitException If the virtual machine is exiting.
+	 * @since 2019/09/12
+	 */
+	private final void __exitCheck()
+		throws SpringMachineExitException
+	{
+		try
+		{
+			this.machine.exitCheck();
+		}
+		
+		// If the VM is exiting then clear the execution stack before we go
+		// away
+		catch (SpringMachineExitException e)
+		{
+			SpringThread thread = this.thread;
+			
+			// Thread is okay to exit!
+			thread._terminate = true;
+			
+			// Exit profiler stack
+			thread.profiler.exitAll(System.nanoTime());
+			
+			throw e;
 		}
+	}
+	
+	/**
+	 * Reads a value from an instance field and pushes it to the stack.
+	 *
+	 * @param __ic The inline cache for the field.
+	 * @param __f The current frame.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/12
+	 */
+	private final void __vmGetField(SpringInlineCache __ic,
+		SpringThread.Frame __f)
+		throws NullPointerException
+	{
+		if (__ic == null || __f == null)
+			throw new NullPointerException("NARG");
 		
-		// Set implicit next PC address, if it has not been set or the next
-		// address was actually changed
-		if (nextpc != orignextpc || pc == frame.pc())
-			frame.setPc(nextpc);
+		// Lookup field
+		SpringField ssf = this.__lookupInstanceField(__ic);
+		
+		// Pop the object to read from
+		SpringObject ref = __f.<SpringObject>popFromStack(SpringObject.class);
+		
+		// {@squirreljme.error BK2o Cannot read value from null reference.}
+		if (ref == SpringNullObject.NULL)
+			throw new SpringNullPointerException("BK2o");
+		
+		// {@squirreljme.error BK2p Cannot read value from this instance
+		// because it not a simple object.}
+		if (!(ref instanceof SpringSimpleObject))
+			throw new SpringIncompatibleClassChangeException("BK2p");
+		SpringSimpleObject sso = (SpringSimpleObject)ref;
+		
+		// Read and push to the stack
+		__f.pushToStack(this.asVMObject(
+			sso.fieldByIndex(ssf.index()).get()));
 	}
 	
 	/**
 	 * Invokes a method in an interface.
 	 *
-	 * @param __i The instruction.
+	 * @param __ic The inline cache for the method.
 	 * @param __t The current thread.
 	 * @param __f The current frame.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2018/09/19
 	 */
-	private final void __vmInvokeInterface(Instruction __i, SpringThread __t,
-		SpringThread.Frame __f)
+	private final void __vmInvokeInterface(SpringInlineCache __ic,
+		SpringThread __t, SpringThread.Frame __f)
 		throws NullPointerException
 	{
-		if (__i == null || __t == null || __f == null)
+		if (__ic == null || __t == null || __f == null)
 			throw new NullPointerException("NARG");
 		
-		MethodReference ref = __i.<MethodReference>argument(
-			0, MethodReference.class);
-		
-		// Resolve the method reference
-		SpringClass refclass = this.loadClass(ref.className());
-		SpringMethod refmethod = refclass.lookupMethod(false,
-			ref.memberNameAndType());
+		MethodReference ref = (MethodReference)__ic.reference();
 		
-		// {@squirreljme.error BK30 Could not access the target
-		// method for interface invoke. (The target method)}
-		if (!this.checkAccess(refmethod))
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK30 %s", ref));
+		// Resolve the method reference, if it has not been already
+		SpringMethod refmethod = __ic.<SpringMethod>resolved(
+			SpringMethod.class);
+		if (refmethod == null)
+		{
+			SpringClass refclass = this.loadClass(ref.className());
+			refmethod = refclass.lookupMethod(false, ref.memberNameAndType());
+			
+			// {@squirreljme.error BK30 Could not access the target
+			// method for interface invoke. (The target method)}
+			if (!this.checkAccess(refmethod))
+				throw new SpringIncompatibleClassChangeException(
+					String.format("BK30 %s", ref));
+			
+			// Only cache once the class has been initialized, otherwise
+			// other threads would not wait for initialization to finish
+			if (refclass.isInitializedFully())
+				__ic.cacheResolved(refmethod);
+		}
 		
 		// Load arguments, includes the instance it acts on
 		int nargs = refmethod.nameAndType().type().argumentCount() + 1;
 		Object[] args = new Object[nargs];
 		for (int i = nargs - 1; i >= 0; i--)
 			args[i] = __f.popFromStack();
-			
+		
 		// {@squirreljme.error BK31 Instance object for interface invoke is
 		// null.}
 		SpringObject onthis = (SpringObject)args[0];
 		if (onthis == null || onthis == SpringNullObject.NULL)
 			throw new SpringNullPointerException("BK31");
-			
-		// {@squirreljme.error BK32 Cannot invoke the method in the object
-		// because it is of the wrong type. (The reference class; The class
-		// of the target object; The first argument)}
+		
+		// Use the cached method for this class, if there is one
 		SpringClass objclass = onthis.type();
-		if (objclass == null || !refclass.isAssignableFrom(objclass))
-			throw new SpringClassCastException(
-				String.format("BK32 %s %s %s", refclass, objclass, args[0]));
+		SpringMethod target = (objclass == null ? null :
+			__ic.<SpringMethod>receiverTarget(SpringMethod.class, objclass));
+		if (target == null)
+		{
+			// {@squirreljme.error BK32 Cannot invoke the method in the object
+			// because it is of the wrong type. (The reference class; The
+			// class of the target object; The first argument)}
+			SpringClass refclass = this.loadClass(ref.className());
+			if (objclass == null || !refclass.isAssignableFrom(objclass))
+				throw new SpringClassCastException(String.format(
+					"BK32 %s %s %s", refclass, objclass, args[0]));
+			
+			// Relookup the method since we need to the right one!
+			target = objclass.lookupMethod(false, ref.memberNameAndType());
+			__ic.cacheReceiver(objclass, target);
+		}
 		
-		// Relookup the method since we need to the right one! Then invoke it
-		__t.enterFrame(objclass.lookupMethod(false, ref.memberNameAndType()),
-			args);
+		// Invoke it
+		__t.enterFrame(target, args);
 	}
 	
 	/**
@@ -4168,7 +4623,7 @@ public final class SpringThreadWorker
 									rv = this.uniqueStringId(
 										inmethod.inClass().toString());
 								break;
-
+								
 								// The method name.
 							case CallStackItem.METHOD_NAME:
 								if (inmethod == null)
@@ -4177,7 +4632,7 @@ public final class SpringThreadWorker
 									rv = this.uniqueStringId(inmethod.
 										nameAndType().name().toString());
 								break;
-
+								
 								// The method type.
 							case CallStackItem.METHOD_TYPE:
 								if (inmethod == null)
@@ -4186,7 +4641,7 @@ public final class SpringThreadWorker
 									rv = this.uniqueStringId(inmethod.
 										nameAndType().type().toString());
 								break;
-
+								
 								// The current file.
 							case CallStackItem.SOURCE_FILE:
 								if (inmethod == null)
@@ -4195,18 +4650,18 @@ public final class SpringThreadWorker
 									rv = this.uniqueStringId(
 										inmethod.inFile());
 								break;
-
+								
 								// Source line.
 							case CallStackItem.SOURCE_LINE:
 								rv = frames[curf].lastExecutedPcSourceLine();
 								break;
-
+								
 								// The PC address.
 							case CallStackItem.PC_ADDRESS:
 							case CallStackItem.JAVA_PC_ADDRESS:
 								rv = frames[curf].lastExecutedPc();
 								break;
-
+							
 							default:
 								err = SystemCallError.VALUE_OUT_OF_RANGE;
 								break;
@@ -4291,7 +4746,7 @@ public final class SpringThreadWorker
 					err = 0;
 				}
 				break;
-			
+				
 				// Current wall clock milliseconds (low).
 			case SystemCallIndex.TIME_LO_MILLI_WALL:
 				{
@@ -4299,7 +4754,7 @@ public final class SpringThreadWorker
 					err = 0;
 				}
 				break;
-
+				
 				// Current wall clock milliseconds (high).
 			case SystemCallIndex.TIME_HI_MILLI_WALL:
 				{
@@ -4307,7 +4762,7 @@ public final class SpringThreadWorker
 					err = 0;
 				}
 				break;
-
+				
 				// Current monotonic clock nanoseconds (low).
 			case SystemCallIndex.TIME_LO_NANO_MONO:
 				{
@@ -4315,7 +4770,7 @@ public final class SpringThreadWorker
 					err = 0;
 				}
 				break;
-
+				
 				// Current monotonic clock nanoseconds (high).
 			case SystemCallIndex.TIME_HI_NANO_MONO:
 				{
@@ -4323,7 +4778,7 @@ public final class SpringThreadWorker
 					err = 0;
 				}
 				break;
-			
+				
 				// VM information: Memory free bytes
 			case SystemCallIndex.VMI_MEM_FREE:
 				{
@@ -4332,7 +4787,7 @@ public final class SpringThreadWorker
 					err = 0;
 				}
 				break;
-			
+				
 				// VM information: Memory used bytes
 			case SystemCallIndex.VMI_MEM_USED:
 				{
@@ -4341,7 +4796,7 @@ public final class SpringThreadWorker
 					err = 0;
 				}
 				break;
-			
+				
 				// VM information: Memory max bytes
 			case SystemCallIndex.VMI_MEM_MAX:
 				{
@@ -4527,32 +4982,33 @@ public final class SpringThreadWorker
 	/**
 	 * Performs a special invoke.
 	 *
-	 * @param __i The instruction.
+	 * @param __ic The inline cache for the method.
 	 * @param __t The current thread.
 	 * @param __f The current frame.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2018/09/15
 	 */
-	private final void __vmInvokeSpecial(Instruction __i, SpringThread __t,
-		SpringThread.Frame __f)
+	private final void __vmInvokeSpecial(SpringInlineCache __ic,
+		SpringThread __t, SpringThread.Frame __f)
 		throws NullPointerException
 	{
-		if (__i == null || __t == null || __f == null)
+		if (__ic == null || __t == null || __f == null)
 			throw new NullPointerException("NARG");
 		
-		MethodReference ref = __i.<MethodReference>argument(
-			0, MethodReference.class);
-		
-		// Resolve the method reference
-		SpringClass refclass = this.loadClass(ref.className());
-		SpringMethod refmethod = refclass.lookupMethod(false,
-			ref.memberNameAndType());
-		
-		// {@squirreljme.error BK34 Could not access the target
-		// method for special invoke. (The target method)}
-		if (!this.checkAccess(refmethod))
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK34 %s", ref));
+		// The method to be invoked only depends on the current class and the
+		// reference, so it is only resolved once
+		SpringMethod refmethod = __ic.<SpringMethod>resolved(
+			SpringMethod.class);
+		if (refmethod == null)
+		{
+			MethodReference ref = (MethodReference)__ic.reference();
+			refmethod = this.__resolveSpecial(ref);
+			
+			// Only cache once the class has been initialized, otherwise
+			// other threads would not wait for initialization to finish
+			if (this.loadClass(ref.className()).isInitializedFully())
+				__ic.cacheResolved(refmethod);
+		}
 		
 		// Load arguments
 		int nargs = refmethod.nameAndType().type().
@@ -4561,34 +5017,12 @@ public final class SpringThreadWorker
 		for (int i = nargs - 1; i >= 0; i--)
 			args[i] = __f.popFromStack();
 		
-		// Get the class of the current method being executed, lookup depends
-		// on it
-		SpringClass currentclass = this.loadClass(
-			this.thread.currentFrame().method().inClass());
-		
 		// {@squirreljme.error BK35 Instance object for special invoke is
 		// null.}
 		SpringObject onthis = (SpringObject)args[0];
 		if (onthis == null || onthis == SpringNullObject.NULL)
 			throw new SpringNullPointerException("BK35");
 		
-		// These modify the action to be performed
-		boolean insame = (currentclass == refclass),
-			insuper = currentclass.isSuperClass(refclass),
-			isinit = refmethod.name().isInstanceInitializer(),
-			isprivate = refmethod.flags().isPrivate();
-		
-		// {@squirreljme.error BK36 Cannot call private method that is not
-		// in the same class. (The method reference)}
-		if (isprivate && !insame)
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK36 %s", ref));
-		
-		// Call superclass method instead?
-		else if (!isprivate && insuper && !isinit)
-			refmethod = currentclass.superClass().lookupMethod(false,
-				ref.memberNameAndType());
-		
 		// Invoke this method
 		__t.enterFrame(refmethod, args);
 	}
@@ -4596,32 +5030,40 @@ public final class SpringThreadWorker
 	/**
 	 * Performs a static invoke.
 	 *
-	 * @param __i The instruction.
+	 * @param __ic The inline cache for the method.
 	 * @param __t The current thread.
 	 * @param __f The current frame.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2018/09/15
 	 */
-	private final void __vmInvokeStatic(Instruction __i, SpringThread __t,
-		SpringThread.Frame __f)
+	private final void __vmInvokeStatic(SpringInlineCache __ic,
+		SpringThread __t, SpringThread.Frame __f)
 		throws NullPointerException
 	{
-		if (__i == null || __t == null || __f == null)
+		if (__ic == null || __t == null || __f == null)
 			throw new NullPointerException("NARG");
 		
-		MethodReference ref = __i.<MethodReference>argument(
-			0, MethodReference.class);
-		
-		// Resolve the method reference
-		SpringClass refclass = this.loadClass(ref.className());
-		SpringMethod refmethod = refclass.lookupMethod(true,
-			ref.memberNameAndType());
+		MethodReference ref = (MethodReference)__ic.reference();
 		
-		// {@squirreljme.error BK37 Could not access the target
-		// method for static invoke. (The target method)}
-		if (!this.checkAccess(refmethod))
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK37 %s", ref));
+		// Resolve the method reference, if it has not been already
+		SpringMethod refmethod = __ic.<SpringMethod>resolved(
+			SpringMethod.class);
+		if (refmethod == null)
+		{
+			SpringClass refclass = this.loadClass(ref.className());
+			refmethod = refclass.lookupMethod(true, ref.memberNameAndType());
+			
+			// {@squirreljme.error BK37 Could not access the target
+			// method for static invoke. (The target method)}
+			if (!this.checkAccess(refmethod))
+				throw new SpringIncompatibleClassChangeException(
+					String.format("BK37 %s", ref));
+			
+			// Only cache once the class has been initialized, otherwise
+			// other threads would not wait for initialization to finish
+			if (refclass.isInitializedFully())
+				__ic.cacheResolved(refmethod);
+		}
 		
 		// Load arguments
 		int nargs = refmethod.nameAndType().type().
@@ -4633,13 +5075,12 @@ public final class SpringThreadWorker
 		// Virtualized native call, depends on what it is
 		if (refmethod.flags().isNative())
 		{
-			// Calculate result of method
-			MethodDescriptor type = ref.memberType();
-			Object rv = this.nativeMethod(ref.className() + "::" +
-				ref.memberName() + ":" + type, args);
+			// Calculate result of method, the handler was bound when the
+			// method was loaded
+			Object rv = refmethod.nativeHandler().handle(this, args);
 			
 			// Push native object to the stack
-			if (type.hasReturnValue())
+			if (ref.memberType().hasReturnValue())
 				__f.pushToStack(this.asVMObject(rv, true));
 		}
 		
@@ -4651,32 +5092,40 @@ public final class SpringThreadWorker
 	/**
 	 * Performs a virtual invoke.
 	 *
-	 * @param __i The instruction.
+	 * @param __ic The inline cache for the method.
 	 * @param __t The current thread.
 	 * @param __f The current frame.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2018/09/16
 	 */
-	private final void __vmInvokeVirtual(Instruction __i, SpringThread __t,
-		SpringThread.Frame __f)
+	private final void __vmInvokeVirtual(SpringInlineCache __ic,
+		SpringThread __t, SpringThread.Frame __f)
 		throws NullPointerException
 	{
-		if (__i == null || __t == null || __f == null)
+		if (__ic == null || __t == null || __f == null)
 			throw new NullPointerException("NARG");
 		
-		MethodReference ref = __i.<MethodReference>argument(
-			0, MethodReference.class);
+		MethodReference ref = (MethodReference)__ic.reference();
 		
-		// Resolve the method reference
-		SpringClass refclass = this.loadClass(ref.className());
-		SpringMethod refmethod = refclass.lookupMethod(false,
-			ref.memberNameAndType());
-		
-		// {@squirreljme.error BK38 Could not access the target
-		// method for virtual invoke. (The target method)}
-		if (!this.checkAccess(refmethod))
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK38 %s", ref));
+		// Resolve the method reference, if it has not been already
+		SpringMethod refmethod = __ic.<SpringMethod>resolved(
+			SpringMethod.class);
+		if (refmethod == null)
+		{
+			SpringClass refclass = this.loadClass(ref.className());
+			refmethod = refclass.lookupMethod(false, ref.memberNameAndType());
+			
+			// {@squirreljme.error BK38 Could not access the target
+			// method for virtual invoke. (The target method)}
+			if (!this.checkAccess(refmethod))
+				throw new SpringIncompatibleClassChangeException(
+					String.format("BK38 %s", ref));
+			
+			// Only cache once the class has been initialized, otherwise
+			// other threads would not wait for initialization to finish
+			if (refclass.isInitializedFully())
+				__ic.cacheResolved(refmethod);
+		}
 		
 		// Load arguments, includes the instance it acts on
 		int nargs = refmethod.nameAndType().type().argumentCount() + 1;
@@ -4690,44 +5139,98 @@ public final class SpringThreadWorker
 		if (onthis == null || onthis == SpringNullObject.NULL)
 			throw new SpringNullPointerException("BK39");
 		
-		// Re-resolve method for this object's class
-		refmethod = onthis.type().lookupMethod(false,
-			ref.memberNameAndType());
+		// Re-resolve method for this object's class, if it was not already
+		SpringClass objclass = onthis.type();
+		SpringMethod target = __ic.<SpringMethod>receiverTarget(
+			SpringMethod.class, objclass);
+		if (target == null)
+		{
+			target = objclass.lookupMethod(false, ref.memberNameAndType());
+			__ic.cacheReceiver(objclass, target);
+		}
 		
 		// Enter frame for static method
-		__t.enterFrame(refmethod, args);
+		__t.enterFrame(target, args);
 	}
 	
 	/**
 	 * Allocates a new instance of the given object, it is not initialized just
 	 * allocated.
 	 *
-	 * @param __i The instruction.
+	 * @param __cn The class to allocate.
 	 * @param __f The current frame.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2018/09/15
 	 */
-	private final void __vmNew(Instruction __i, SpringThread.Frame __f)
+	private final void __vmNew(ClassName __cn, SpringThread.Frame __f)
 		throws NullPointerException
 	{
-		if (__i == null || __f == null)
+		if (__cn == null || __f == null)
 			throw new NullPointerException("NARG");
 		
 		// Lookup class we want to allocate
-		ClassName allocname;
-		SpringClass toalloc = this.loadClass((allocname =
-			__i.<ClassName>argument(0, ClassName.class)));
+		SpringClass toalloc = this.loadClass(__cn);
 		
 		// {@squirreljme.error BK3a Cannot allocate an instance of the given
 		// class because it cannot be accessed. (The class to allocate)}
 		if (!this.checkAccess(toalloc))
 			throw new SpringIncompatibleClassChangeException(
-				String.format("BK3a %s", allocname));
+				String.format("BK3a %s", __cn));
 		
 		// Push a new allocation to the stack
 		__f.pushToStack(this.allocateObject(toalloc));
 	}
 	
+	/**
+	 * Pops a value and an instance from the stack and stores the value into
+	 * the instance field.
+	 *
+	 * @param __ic The inline cache for the field.
+	 * @param __f The current frame.
+	 * @param __init Is this being called from an instance initializer?
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/12
+	 */
+	private final void __vmPutField(SpringInlineCache __ic,
+		SpringThread.Frame __f, boolean __init)
+		throws NullPointerException
+	{
+		if (__ic == null || __f == null)
+			throw new NullPointerException("NARG");
+		
+		// Lookup field
+		SpringField ssf = this.__lookupInstanceField(__ic);
+		
+		// Pop the value and the object to mess with
+		Object value = __f.popFromStack();
+		SpringObject ref = __f.<SpringObject>popFromStack(SpringObject.class);
+		
+		// {@squirreljme.error BK2s Cannot store value into null reference.}
+		if (ref == SpringNullObject.NULL)
+			throw new SpringNullPointerException("BK2s");
+		
+		// {@squirreljme.error BK2t Cannot store value into this instance
+		// because it not a simple object.}
+		if (!(ref instanceof SpringSimpleObject))
+			throw new SpringIncompatibleClassChangeException("BK2t");
+		SpringSimpleObject sso = (SpringSimpleObject)ref;
+		
+		// Only check the class of the object if it has not been seen before
+		SpringClass type = sso.type();
+		if (__ic.receiverTarget(SpringField.class, type) == null)
+		{
+			// {@squirreljme.error BK2u Cannot store value into a field which
+			// belongs to another class.}
+			if (!this.loadClass(ssf.inClass()).isAssignableFrom(type))
+				throw new SpringClassCastException("BK2u");
+			
+			__ic.cacheReceiver(type, ssf);
+		}
+		
+		// Set
+		sso.fieldByIndex(ssf.index()).set(value, __init);
+	}
+	
 	/**
 	 * Returns from the top-most frame then pushes the return value to the
 	 * parent frame's stack (if any).
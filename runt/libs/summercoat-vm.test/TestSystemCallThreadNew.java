@@ -0,0 +1,141 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+//     Copyright (C) Multi-Phasic Applications <multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import cc.squirreljme.jvm.SystemCallIndex;
+import cc.squirreljme.vm.summercoat.MachineState;
+import cc.squirreljme.vm.summercoat.NativeCPU;
+import cc.squirreljme.vm.summercoat.RawMemory;
+import net.multiphasicapps.tac.TestSupplier;
+
+/**
+ * Tests that a guest thread can be started with a system call and that it
+ * is given the argument which was passed to it.
+ *
+ * @since 2019/09/22
+ */
+public class TestSystemCallThreadNew
+	extends TestSupplier<Integer>
+{
+	/** The address of the thread entry code. */
+	private static final int _THREAD_ADDR =
+		0;
+	
+	/** The address of the main code. */
+	private static final int _MAIN_ADDR =
+		32;
+	
+	/** The address of the frame which the main code returns to. */
+	private static final int _BASE_ADDR =
+		96;
+	
+	/** The address the thread writes its argument to. */
+	private static final int _RESULT_ADDR =
+		128;
+	
+	/** The value passed to the thread. */
+	private static final int _VALUE =
+		0x5EED;
+	
+	/** How long to wait for the thread to end. */
+	private static final long _WAIT_MILLIS =
+		10_000L;
+	
+	/** The register the argument is in. */
+	private static final int _ARG_REGISTER =
+		8;
+	
+	/** Add an integer constant. */
+	private static final int _OP_ADD_CONST =
+		0x80;
+	
+	/** Store an integer to memory. */
+	private static final int _OP_STORE_INT =
+		0xA4;
+	
+	/** Return from the method. */
+	private static final int _OP_RETURN =
+		0xF3;
+	
+	/** System call. */
+	private static final int _OP_SYSTEM_CALL =
+		0xFB;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public Integer test()
+		throws Throwable
+	{
+		RawMemory memory = new RawMemory(0, 256);
+		
+		// Thread entry: store the argument to the result then return
+		int at = _THREAD_ADDR;
+		memory.memWriteByte(at++, _OP_STORE_INT);
+		memory.memWriteByte(at++, _ARG_REGISTER);
+		memory.memWriteByte(at++, 0);
+		memory.memWriteInt(at, _RESULT_ADDR);
+		at += 4;
+		memory.memWriteByte(at++, _OP_RETURN);
+		
+		// Main: start the thread with a single argument then return
+		at = _MAIN_ADDR;
+		at = TestSystemCallThreadNew.__addConst(memory, at,
+			SystemCallIndex.THREAD_NEW, 6);
+		at = TestSystemCallThreadNew.__addConst(memory, at,
+			_THREAD_ADDR, 7);
+		at = TestSystemCallThreadNew.__addConst(memory, at,
+			_VALUE, 10);
+		memory.memWriteByte(at++, _OP_SYSTEM_CALL);
+		memory.memWriteByte(at++, 6);
+		memory.memWriteByte(at++, 2);
+		memory.memWriteByte(at++, 7);
+		memory.memWriteByte(at++, 10);
+		memory.memWriteByte(at++, _OP_RETURN);
+		
+		// Run the main code, stopping when it returns to the base frame
+		MachineState state = new MachineState();
+		NativeCPU cpu = new NativeCPU(state, memory, state.nextCpuId(),
+			null);
+		cpu.enterFrame(_BASE_ADDR);
+		cpu.enterFrame(_MAIN_ADDR);
+		cpu.runWithoutCatch(2);
+		
+		// Wait for the started thread to end
+		long end = System.currentTimeMillis() + _WAIT_MILLIS;
+		while (state.threadCount() > 0 && System.currentTimeMillis() < end)
+			Thread.sleep(10);
+		
+		return memory.memReadInt(_RESULT_ADDR);
+	}
+	
+	/**
+	 * Writes an instruction which adds a constant to the zero register.
+	 *
+	 * @param __mem The memory to write to.
+	 * @param __at The address to write at.
+	 * @param __v The constant value.
+	 * @param __r The destination register.
+	 * @return The address after the instruction.
+	 * @since 2019/09/22
+	 */
+	private static int __addConst(RawMemory __mem, int __at, int __v,
+		int __r)
+	{
+		__mem.memWriteByte(__at++, _OP_ADD_CONST);
+		__mem.memWriteByte(__at++, 0);
+		__mem.memWriteInt(__at, __v);
+		__at += 4;
+		__mem.memWriteByte(__at++, __r);
+		return __at;
+	}
+}
+
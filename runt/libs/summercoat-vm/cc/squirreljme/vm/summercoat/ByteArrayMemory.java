@@ -28,7 +28,7 @@ public final class ByteArrayMemory
 	protected final int boff;
 	
 	/** The backing byte array. */
-	private final byte[] _bytes;
+	final byte[] _bytes;
 	
 	/**
 	 * Initializes the byte array memory.
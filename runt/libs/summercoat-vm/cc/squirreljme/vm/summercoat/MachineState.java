@@ -9,16 +9,64 @@
 
 package cc.squirreljme.vm.summercoat;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This contains the machine state.
  *
+ * Every guest thread runs on its own {@link NativeCPU} within its own host
+ * thread, all of the CPUs share the same memory.
+ *
  * @since 2019/06/19
  */
 public final class MachineState
 {
+	/** Threads which are running, the VM waits on this for them to end. */
+	final List<Thread> _threads =
+		new ArrayList<>();
+	
 	/** Was the supervisor okay? */
 	private volatile boolean _supervisorokay;
 	
+	/** The next virtual CPU ID. */
+	private int _nextcpuid;
+	
+	/**
+	 * Adds a thread which runs the given CPU.
+	 *
+	 * @param __cpu The CPU to run.
+	 * @param __start If the thread should be started now, otherwise it is
+	 * started when the virtual machine runs.
+	 * @return The thread which was created.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	public final Thread addThread(NativeCPU __cpu, boolean __start)
+		throws NullPointerException
+	{
+		if (__cpu == null)
+			throw new NullPointerException("NARG");
+		
+		Thread rv = new Thread(__cpu, "cpu-" + __cpu.vcpuid);
+		
+		List<Thread> threads = this._threads;
+		synchronized (threads)
+		{
+			threads.add(rv);
+			
+			// This is started while locked, otherwise the VM could see a
+			// thread which is not alive and think it has ended
+			if (__start)
+				rv.start();
+			
+			// Signal the VM so it knows about the new thread
+			threads.notifyAll();
+		}
+		
+		return rv;
+	}
+	
 	/**
 	 * Flags that the supervisor booted okay.
 	 *
@@ -32,6 +80,39 @@ public final class MachineState
 		}
 	}
 	
+	/**
+	 * Returns the next virtual CPU ID.
+	 *
+	 * @return The next virtual CPU ID.
+	 * @since 2019/09/22
+	 */
+	public final int nextCpuId()
+	{
+		synchronized (this)
+		{
+			return this._nextcpuid++;
+		}
+	}
+	
+	/**
+	 * Returns the number of threads which are still running.
+	 *
+	 * @return The number of running threads.
+	 * @since 2019/09/22
+	 */
+	public final int threadCount()
+	{
+		List<Thread> threads = this._threads;
+		synchronized (threads)
+		{
+			int rv = 0;
+			for (int i = 0, n = threads.size(); i < n; i++)
+				if (threads.get(i).isAlive())
+					rv++;
+			return rv;
+		}
+	}
+	
 	/**
 	 * Has the supervisor initialized correctly?
 	 *
@@ -28,6 +28,7 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import net.multiphasicapps.classfile.InstructionMnemonics;
@@ -64,6 +65,14 @@ public final class NativeCPU
 	public static final int METHOD_CACHE_SPILL =
 		1024;
 	
+	/** The size of the decoded instruction cache, must be a power of two. */
+	public static final int DECODE_CACHE_SIZE =
+		4096;
+	
+	/** The mask for decoded instruction cache indexes. */
+	public static final int DECODE_CACHE_MASK =
+		NativeCPU.DECODE_CACHE_SIZE - 1;
+	
 	/** Threshhold for too many debug points */
 	private static final int _POINT_THRESHOLD =
 		65536;
@@ -77,6 +86,9 @@ public final class NativeCPU
 	/** The profiler to use. */
 	protected final ProfiledThread profiler;
 	
+	/** The profiler snapshot, used for new CPUs. */
+	protected final ProfilerSnapshot profilersnapshot;
+	
 	/** Virtual CPU id. */
 	protected final int vcpuid;
 	
@@ -88,6 +100,14 @@ public final class NativeCPU
 	private final int[] _syscallerrors =
 		new int[SystemCallIndex.NUM_SYSCALLS];
 	
+	/** Decoded instructions, indexed by their address. */
+	private final __DecodedInstruction__[] _dcache =
+		new __DecodedInstruction__[NativeCPU.DECODE_CACHE_SIZE];
+	
+	/** Register values which are passed to invocations and system calls. */
+	private int[] _regvals =
+		new int[NativeCode.MAX_REGISTERS];
+	
 	/**
 	 * Initializes the native CPU.
 	 *
@@ -108,6 +128,7 @@ public final class NativeCPU
 		this.state = __ms;
 		this.memory = __mem;
 		this.vcpuid = __vcid;
+		this.profilersnapshot = __ps;
 		this.profiler = (__ps == null ? null :
 			__ps.measureThread("cpu-" + __vcid));
 	}
@@ -122,52 +143,7 @@ public final class NativeCPU
 	 */
 	public final Frame enterFrame(int __pc, int... __args)
 	{
-		// Old frame, to source globals from
-		LinkedList<Frame> frames = this._frames;
-		Frame lastframe = frames.peekLast();
-		
-		// Debug
-		if (ENABLE_DEBUG)
-		{
-			System.err.printf(">>>> %08x >>>>>>>>>>>>>>>>>>>>>>%n", __pc);
-			System.err.printf(" > ARG %s%n", new IntegerList(__args));
-			System.err.printf(" > WAS %s%n", (lastframe == null ? null :
-				this.trace(lastframe)));
-		}
-		
-		// Setup new frame
-		Frame rv = new Frame();
-		rv._pc = __pc;
-		rv._entrypc = __pc;
-		rv._lastpc = __pc;
-		
-		// Add to frame list
-		frames.addLast(rv);
-		
-		// Seed initial registers, if valid
-		int[] dest = rv._registers;
-		if (lastframe != null)
-		{
-			// Copy globals
-			int[] src = lastframe._registers;
-			for (int i = 0; i < NativeCode.LOCAL_REGISTER_BASE; i++)
-				dest[i] = src[i];
-			
-			// Set the pool register to the next pool register value
-			dest[NativeCode.POOL_REGISTER] =
-				src[NativeCode.NEXT_POOL_REGISTER];
-		}
-		
-		// Copy the arguments to the argument slots
-		for (int i = 0, o = NativeCode.ARGUMENT_REGISTER_BASE,
-			n = __args.length; i < n; i++, o++)
-			dest[o] = __args[i];
-		
-		// Clear zero
-		dest[0] = 0;
-		
-		// Use this frame
-		return rv;
+		return this.__enterFrame(__pc, __args, __args.length);
 	}
 	
 	/**
@@ -177,7 +153,20 @@ public final class NativeCPU
 	@Override
 	public final void run()
 	{
-		this.run(0);
+		try
+		{
+			this.run(0);
+		}
+		
+		// Let the virtual machine know this thread has ended
+		finally
+		{
+			List<Thread> threads = this.state._threads;
+			synchronized (threads)
+			{
+				threads.notifyAll();
+			}
+		}
 	}
 	
 	/**
@@ -228,8 +217,11 @@ public final class NativeCPU
 		int[] lr = null;
 		int pc = -1;
 		
-		// Per operation handling
-		final int[] args = new int[6];
+		// Decoded instructions, so arguments are only decoded once
+		final __DecodedInstruction__[] dcache = this._dcache;
+		
+		// Register values for invocations and system calls
+		int[] regvals = this._regvals;
 		
 		// Method cache to reduce tons of method reads
 		final byte[] icache = new byte[METHOD_CACHE];
@@ -270,114 +262,44 @@ public final class NativeCPU
 				reload = false;
 			}
 			
-			// For a bit faster execution of the method, cache a bunch of
-			// the code that is being executed in memory. Constantly performing
-			// the method calls to read single bytes of memory is a bit so, so
-			// this should hopefully improve performance slightly.
-			int pcdiff = pc - lasticache;
-			if (pcdiff < 0 || pcdiff >= METHOD_CACHE_SPILL)
+			// Use the already decoded instruction if there is one
+			__DecodedInstruction__ di = dcache[pc & DECODE_CACHE_MASK];
+			if (di == null || di.pc != pc)
 			{
-				memory.memReadBytes(pc, icache, 0, METHOD_CACHE);
-				lasticache = pc;
+				// For a bit faster execution of the method, cache a bunch of
+				// the code that is being executed in memory. Constantly
+				// performing the method calls to read single bytes of memory
+				// is a bit so, so this should hopefully improve performance
+				// slightly.
+				int pcdiff = pc - lasticache;
+				if (pcdiff < 0 || pcdiff >= METHOD_CACHE_SPILL)
+				{
+					memory.memReadBytes(pc, icache, 0, METHOD_CACHE);
+					lasticache = pc;
+				}
+				
+				// Decode the instruction
+				di = __DecodedInstruction__.decode(pc, icache,
+					pc - lasticache);
+				
+				// Only code which cannot be written to is remembered,
+				// otherwise it might change after it was decoded
+				if (this.__isReadOnly(pc))
+					dcache[pc & DECODE_CACHE_MASK] = di;
 			}
 			
-			// Calculate last PC base address
-			int bpc = pc - lasticache;
-			
 			// Always set PC address for debugging frames
 			nowframe._pc = pc;
-			
-			// Read operation
 			nowframe._lastpc = pc;
-			int op = icache[bpc] & 0xFF;
 			
-			// Reset all input arguments
-			for (int i = 0, n = args.length; i < n; i++)
-				args[i] = 0;
-			
-			// Register list, just one is used everywhere
-			int[] reglist = null;
-			
-			// Load arguments for this instruction
-			ArgumentFormat[] af = NativeInstruction.argumentFormat(op);
-			int rargp = bpc + 1;
-			for (int i = 0, n = af.length; i < n; i++)
-				switch (af[i])
-				{
-					// Variable sized entries, may be pool values
-					case VUINT:
-					case VUREG:
-					case VPOOL:
-					case VJUMP:
-						{
-							// Long value?
-							int base = (icache[rargp++] & 0xFF);
-							if ((base & 0x80) != 0)
-							{
-								base = ((base & 0x7F) << 8);
-								base |= (icache[rargp++] & 0xFF);
-							}
-							
-							// Set
-							if (af[i] == ArgumentFormat.VJUMP)
-								args[i] = (short)(base |
-									((base & 0x4000) << 1));
-							else
-								args[i] = base;
-							
-							// {@squirreljme.error AE03 Reference to register
-							// which is out of range of maximum number of
-							// registers. (The register index)}
-							if (af[i] == ArgumentFormat.VUREG &&
-								(base < 0 || base >= NativeCode.MAX_REGISTERS))
-								throw new VMException("AE03 " + base);
-						}
-						break;
-					
-					// Register list.
-					case REGLIST:
-						{
-							// Wide
-							int count = (icache[rargp++] & 0xFF);
-							if ((count & 0x80) != 0)
-							{
-								count = ((count & 0x7F) << 8) |
-									(icache[rargp++] & 0xFF);
-								
-								// Read values
-								reglist = new int[count];
-								for (int r = 0; r < count; r++)
-									reglist[r] =
-										((icache[rargp++] & 0xFF) << 8) |
-										(icache[rargp++] & 0xFF);
-							}
-							// Narrow
-							else
-							{
-								reglist = new int[count];
-								
-								// Read values
-								for (int r = 0; r < count; r++)
-									reglist[r] = (icache[rargp++] & 0xFF);
-							}
-						}
-						break;
-					
-					// 32-bit integer/float
-					case INT32:
-					case FLOAT32:
-						args[i] = ((icache[rargp++] & 0xFF) << 24) |
-							((icache[rargp++] & 0xFF) << 16) |
-							((icache[rargp++] & 0xFF) << 8) |
-							((icache[rargp++] & 0xFF));
-						break;
-					
-					default:
-						throw new todo.OOPS(af[i].name());
-				}
+			// Load the operation and its arguments
+			int op = di.op;
+			ArgumentFormat[] af = di.af;
+			int[] args = di.args;
+			int[] reglist = di.reglist;
 			
 			// Determine the encoding
-			int encoding = NativeInstruction.encoding(op);
+			int encoding = di.encoding;
 			
 			// Set first point flag
 			if (encoding == NativeInstructionType.DEBUG_ENTRY)
@@ -415,7 +337,7 @@ public final class NativeCPU
 			
 			// By default the next instruction is the address after all
 			// arguments have been read
-			int nextpc = lasticache + rargp;
+			int nextpc = di.nextpc;
 			
 			// Handle the operation
 			switch (encoding)
@@ -590,12 +512,15 @@ public final class NativeCPU
 					// Invoke a pointer
 				case NativeInstructionType.INVOKE:
 					{
-						// Load values into the register list
-						for (int i = 0, n = reglist.length; i < n; i++)
-							reglist[i] = lr[reglist[i]];
+						// Load values from the register list
+						int nrl = reglist.length;
+						if (nrl > regvals.length)
+							this._regvals = (regvals = new int[nrl]);
+						for (int i = 0; i < nrl; i++)
+							regvals[i] = lr[reglist[i]];
 						
 						// Enter the frame
-						this.enterFrame(lr[args[0]], reglist);
+						this.__enterFrame(lr[args[0]], regvals, nrl);
 						
 						// Entering some other frame
 						reload = true;
@@ -797,7 +722,14 @@ public final class NativeCPU
 						// {@squirreljme.error AE0m Return from the main frame
 						// without using a system call to exit.}
 						if (now == null)
+						{
+							// Threads which were started by another thread
+							// end when their entry method returns
+							if (this.vcpuid != 0)
+								return;
+							
 							throw new VMException("AE0m");
+						}
 						
 						// We are going back onto a frame so copy all
 						// the globals which were set since they are meant to
@@ -848,9 +780,14 @@ public final class NativeCPU
 						// so they must be extracted first before they can be
 						// known
 						int nrl = reglist.length;
-						int[] sargs = new int[nrl];
+						if (nrl > regvals.length)
+							this._regvals = (regvals = new int[nrl]);
 						for (int i = 0; i < nrl; i++)
-							sargs[i] = lr[reglist[i]];
+							regvals[i] = lr[reglist[i]];
+						
+						// Arguments which were not passed are zero
+						for (int i = nrl, n = regvals.length; i < n; i++)
+							regvals[i] = 0;
 						
 						// Get the system call ID
 						short syscallid = (short)lr[args[0]];
@@ -866,7 +803,7 @@ public final class NativeCPU
 						try
 						{
 							lr[NativeCode.RETURN_REGISTER] = this.__sysCall(
-								syscallid, sargs);
+								syscallid, nrl, regvals);
 						}
 						
 						// If profiling, that frame needs to exit always!
@@ -1185,6 +1122,84 @@ public final class NativeCPU
 		__f._injpc = __jpc;
 	}
 	
+	/**
+	 * Enters the given frame for the given address.
+	 *
+	 * @param __pc The address of the frame.
+	 * @param __args Arguments to the frame.
+	 * @param __n The number of arguments to use.
+	 * @return The newly created frame.
+	 * @since 2019/09/19
+	 */
+	private final Frame __enterFrame(int __pc, int[] __args, int __n)
+	{
+		// Old frame, to source globals from
+		LinkedList<Frame> frames = this._frames;
+		Frame lastframe = frames.peekLast();
+		
+		// Debug
+		if (ENABLE_DEBUG)
+		{
+			System.err.printf(">>>> %08x >>>>>>>>>>>>>>>>>>>>>>%n", __pc);
+			System.err.printf(" > ARG %s%n",
+				new IntegerList(Arrays.copyOf(__args, __n)));
+			System.err.printf(" > WAS %s%n", (lastframe == null ? null :
+				this.trace(lastframe)));
+		}
+		
+		// Setup new frame
+		Frame rv = new Frame();
+		rv._pc = __pc;
+		rv._entrypc = __pc;
+		rv._lastpc = __pc;
+		
+		// Add to frame list
+		frames.addLast(rv);
+		
+		// Seed initial registers, if valid
+		int[] dest = rv._registers;
+		if (lastframe != null)
+		{
+			// Copy globals
+			int[] src = lastframe._registers;
+			for (int i = 0; i < NativeCode.LOCAL_REGISTER_BASE; i++)
+				dest[i] = src[i];
+			
+			// Set the pool register to the next pool register value
+			dest[NativeCode.POOL_REGISTER] =
+				src[NativeCode.NEXT_POOL_REGISTER];
+		}
+		
+		// Copy the arguments to the argument slots
+		for (int i = 0, o = NativeCode.ARGUMENT_REGISTER_BASE;
+			i < __n; i++, o++)
+			dest[o] = __args[i];
+		
+		// Clear zero
+		dest[0] = 0;
+		
+		// Use this frame
+		return rv;
+	}
+	
+	/**
+	 * Checks whether the given address is in memory which cannot be
+	 * written to.
+	 *
+	 * @param __addr The address to check.
+	 * @return If the memory is read-only.
+	 * @since 2019/09/19
+	 */
+	private final boolean __isReadOnly(int __addr)
+	{
+		WritableMemory memory = this.memory;
+		if (memory instanceof VirtualMemory)
+			return ((VirtualMemory)memory).isReadOnly(__addr);
+		
+		// Everything can be written to
+		return false;
+	}
+	
 	/**
 	 * Loads a UTF string from the given memory address.
 	 *
@@ -1216,11 +1231,13 @@ public final class NativeCPU
 	 * Internal system call handling.
 	 *
 	 * @param __si System call index.
+	 * @param __n The number of arguments which were passed, the argument
+	 * array is always padded with zeros.
 	 * @param __args Arguments.
 	 * @return The result.
 	 * @since 2019/05/23
 	 */
-	private final int __sysCall(short __si, int... __args)
+	private final int __sysCall(short __si, int __n, int... __args)
 	{
 		// Error state for the last call of this type
 		int[] errors = this._syscallerrors;
@@ -1243,12 +1260,17 @@ public final class NativeCPU
 						case SystemCallIndex.ERROR_SET:
 						case SystemCallIndex.CALL_STACK_HEIGHT:
 						case SystemCallIndex.CALL_STACK_ITEM:
+						case SystemCallIndex.CALL_STACK_REGISTER:
 						case SystemCallIndex.MEM_SET:
 						case SystemCallIndex.PD_OF_STDERR:
 						case SystemCallIndex.PD_OF_STDIN:
 						case SystemCallIndex.PD_OF_STDOUT:
 						case SystemCallIndex.PD_WRITE_BYTE:
 						case SystemCallIndex.SUPERVISOR_BOOT_OKAY:
+						case SystemCallIndex.THREAD_COUNT:
+						case SystemCallIndex.THREAD_CURRENT_ID:
+						case SystemCallIndex.THREAD_NEW:
+						case SystemCallIndex.THREAD_YIELD:
 						case SystemCallIndex.TIME_HI_MILLI_WALL:
 						case SystemCallIndex.TIME_HI_NANO_MONO:
 						case SystemCallIndex.TIME_LO_MILLI_WALL:
@@ -1338,6 +1360,33 @@ public final class NativeCPU
 				}
 				break;
 				
+				// Get register in a frame on the call stack
+			case SystemCallIndex.CALL_STACK_REGISTER:
+				{
+					// Locate frame
+					int fr = __args[0];
+					LinkedList<Frame> frames = this._frames;
+					int numframes = frames.size();
+					Frame frame = ((fr < 0 || fr >= numframes) ? null :
+						frames.get((numframes - 1) - fr));
+					
+					// Register must be valid
+					int dx = __args[1];
+					if (frame == null || dx < 0 || dx >= MAX_REGISTERS)
+					{
+						rv = 0;
+						err = SystemCallError.VALUE_OUT_OF_RANGE;
+					}
+					
+					// Use the value of the register
+					else
+					{
+						rv = frame._registers[dx];
+						err = 0;
+					}
+				}
+				break;
+				
 				// Get error
 			case SystemCallIndex.ERROR_GET:
 				{
@@ -1468,7 +1517,43 @@ public final class NativeCPU
 				rv = 0;
 				err = 0;
 				break;
-
+				
+				// Number of running threads
+			case SystemCallIndex.THREAD_COUNT:
+				{
+					rv = this.state.threadCount();
+					err = 0;
+				}
+				break;
+				
+				// The current thread ID, the ID of the CPU is used
+			case SystemCallIndex.THREAD_CURRENT_ID:
+				{
+					rv = this.vcpuid + 1;
+					err = 0;
+				}
+				break;
+				
+				// Start a new thread on its own CPU
+			case SystemCallIndex.THREAD_NEW:
+				{
+					NativeCPU cpu = this.__newThread(__n, __args);
+					
+					rv = cpu.vcpuid + 1;
+					err = 0;
+				}
+				break;
+				
+				// Yield to other threads
+			case SystemCallIndex.THREAD_YIELD:
+				{
+					Thread.yield();
+					
+					rv = 0;
+					err = 0;
+				}
+				break;
+				
 				// Current wall clock milliseconds (high).
 			case SystemCallIndex.TIME_HI_MILLI_WALL:
 				{
@@ -1549,6 +1634,47 @@ public final class NativeCPU
 		return rv;
 	}
 	
+	/**
+	 * Creates and starts a new CPU which shares the memory of this one.
+	 *
+	 * @param __n The number of arguments which were passed, including the
+	 * method address.
+	 * @param __args The address of the method to run followed by its
+	 * arguments.
+	 * @return The newly started CPU.
+	 * @since 2019/09/22
+	 */
+	private final NativeCPU __newThread(int __n, int... __args)
+	{
+		MachineState state = this.state;
+		NativeCPU rv = new NativeCPU(state, this.memory, state.nextCpuId(),
+			this.profilersnapshot);
+		
+		// The arguments to the entry method follow the method address
+		int numargs = Math.max(0, __n - 1);
+		int[] args = new int[numargs];
+		System.arraycopy(__args, 1, args, 0, numargs);
+		
+		// The entry frame uses the globals of the current frame, this works
+		// just like an invocation does
+		Frame from = this._frames.peekLast();
+		Frame to = rv.__enterFrame(__args[0], args, numargs);
+		if (from != null)
+		{
+			int[] src = from._registers,
+				dest = to._registers;
+			for (int i = 1; i < NativeCode.LOCAL_REGISTER_BASE; i++)
+				dest[i] = src[i];
+			
+			dest[NativeCode.POOL_REGISTER] =
+				src[NativeCode.NEXT_POOL_REGISTER];
+		}
+		
+		// Run it
+		state.addThread(rv, true);
+		return rv;
+	}
+	
 	/**
 	 * This represents a single frame in the execution stack.
 	 *
@@ -185,35 +185,43 @@ public final class SuiteMemory
 	final void __init()
 		throws IOException
 	{
-		// Do not initialize twice!
-		if (this._didinit)
-			return;
-		this._didinit = true;
-		
-		// Load the class library
-		String libname = this.libname;
-		VMClassLibrary clib = this.suites.loadLibrary(libname);
-		
-		// Debug
-		todo.DEBUG.note("Initialize suite %s @%08d", libname, this.offset);
-		
-		// Minimize and format the JAR
-		byte[] jf = JarMinimizer.minimize((libname.equals("supervisor") ||
-			libname.equals("supervisor.jar")), clib);
-		
-		// {@squirreljme.error AE09 Suite chunk size limit was exceeded.
-		// (The chunk size)}
-		if (jf.length > SuitesMemory.SUITE_CHUNK_SIZE)
-			throw new RuntimeException("AE09 " + jf.length);
-		
-		// Set memory using this byte array
-		ReadableMemory rm;
-		this._memory = (rm = new ByteArrayMemory(this.offset, jf));
-		
-		// Load the JAR header
-		this._jarheader = MinimizedJarHeader.decode(
-			new ReadableMemoryInputStream(rm, 0,
-				MinimizedJarHeader.HEADER_SIZE_WITH_MAGIC));
+		// Multiple CPUs may access the suite at the same time, so this is
+		// locked to make sure they do not see a partially initialized suite
+		synchronized (this)
+		{
+			// Do not initialize twice!
+			if (this._didinit)
+				return;
+			
+			// Load the class library
+			String libname = this.libname;
+			VMClassLibrary clib = this.suites.loadLibrary(libname);
+			
+			// Debug
+			todo.DEBUG.note("Initialize suite %s @%08d", libname,
+				this.offset);
+			
+			// Minimize and format the JAR
+			byte[] jf = JarMinimizer.minimize((libname.equals("supervisor") ||
+				libname.equals("supervisor.jar")), clib);
+			
+			// {@squirreljme.error AE09 Suite chunk size limit was exceeded.
+			// (The chunk size)}
+			if (jf.length > SuitesMemory.SUITE_CHUNK_SIZE)
+				throw new RuntimeException("AE09 " + jf.length);
+			
+			// Set memory using this byte array
+			ReadableMemory rm;
+			this._memory = (rm = new ByteArrayMemory(this.offset, jf));
+			
+			// Load the JAR header
+			this._jarheader = MinimizedJarHeader.decode(
+				new ReadableMemoryInputStream(rm, 0,
+					MinimizedJarHeader.HEADER_SIZE_WITH_MAGIC));
+			
+			// Only flag this once the memory is set
+			this._didinit = true;
+		}
 	}
 }
 
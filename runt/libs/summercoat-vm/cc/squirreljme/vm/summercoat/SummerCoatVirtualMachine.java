@@ -11,7 +11,6 @@ package cc.squirreljme.vm.summercoat;
 
 import cc.squirreljme.vm.VirtualMachine;
 import cc.squirreljme.vm.VMException;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -23,9 +22,8 @@ import java.util.List;
 public class SummerCoatVirtualMachine
 	implements VirtualMachine
 {
-	/** Threads currently running. */
-	private final List<Thread> _threads =
-		new ArrayList<>();
+	/** Threads currently running, this is shared with the machine state. */
+	private final List<Thread> _threads;
 	
 	/**
 	 * Initializes the virtual machine.
@@ -40,8 +38,12 @@ public class SummerCoatVirtualMachine
 		if (__bootcpu == null)
 			throw new NullPointerException("NARG");
 		
+		// Other CPUs are added to the state as guest threads are started
+		MachineState state = __bootcpu.state;
+		this._threads = state._threads;
+		
 		// Add initial thread
-		this._threads.add(new Thread(__bootcpu, "BootCPU"));
+		state.addThread(__bootcpu, false);
 	}
 	
 	/**
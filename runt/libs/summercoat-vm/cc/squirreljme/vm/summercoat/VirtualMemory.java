@@ -19,11 +19,49 @@ import java.util.List;
  * This class contains the entirety of virtual memory, this includes access
  * to the various on-demand minification of suites and classes.
  *
+ * Addresses are translated with a two level page table, where each page
+ * which is entirely within a single region points to that region. Accesses
+ * to regions which are backed by arrays use those arrays directly. Pages
+ * which are shared by multiple regions or are unmapped search through all
+ * of the regions instead.
+ *
  * @since 2019/04/21
  */
 public final class VirtualMemory
 	extends AbstractWritableMemory
 {
+	/** The number of bits in a page address. */
+	public static final int PAGE_SHIFT =
+		12;
+	
+	/** The size of a page. */
+	public static final int PAGE_SIZE =
+		1 << VirtualMemory.PAGE_SHIFT;
+	
+	/** The mask for addresses within a page. */
+	public static final int PAGE_MASK =
+		VirtualMemory.PAGE_SIZE - 1;
+	
+	/** The number of bits in a page table index. */
+	public static final int TABLE_SHIFT =
+		10;
+	
+	/** The number of pages in a page table. */
+	public static final int TABLE_SIZE =
+		1 << VirtualMemory.TABLE_SHIFT;
+	
+	/** The mask for page table indexes. */
+	public static final int TABLE_MASK =
+		VirtualMemory.TABLE_SIZE - 1;
+	
+	/** The shift to get the index of the page table for an address. */
+	public static final int DIRECTORY_SHIFT =
+		VirtualMemory.PAGE_SHIFT + VirtualMemory.TABLE_SHIFT;
+	
+	/** The number of page tables. */
+	public static final int DIRECTORY_SIZE =
+		1 << (32 - VirtualMemory.DIRECTORY_SHIFT);
+	
 	/** Memory map. */
 	private final List<Memory> _memories =
 		new ArrayList<>();
@@ -32,6 +70,39 @@ public final class VirtualMemory
 	private volatile Memory[] _cache =
 		new Memory[0];
 	
+	/** Page tables, a table is {@code null} if nothing is mapped in it. */
+	private volatile __MappedRegion__[][] _pages =
+		new __MappedRegion__[VirtualMemory.DIRECTORY_SIZE][];
+	
+	/**
+	 * Checks whether the given address is in memory which cannot be
+	 * written to.
+	 *
+	 * @param __addr The address to check.
+	 * @return If the address is in read-only memory, unmapped addresses
+	 * are not read-only.
+	 * @since 2019/09/19
+	 */
+	public final boolean isReadOnly(int __addr)
+	{
+		__MappedRegion__ page = this.__page(__addr);
+		if (page != null)
+			return page.writable == null;
+		
+		Memory[] cache = this._cache;
+		for (Memory c : cache)
+		{
+			int cbase = c.memRegionOffset(),
+				csize = c.memRegionSize(),
+				vaddr = __addr - cbase;
+			
+			if (vaddr >= 0 && vaddr < csize)
+				return !(c instanceof WritableMemory);
+		}
+		
+		return false;
+	}
+	
 	/**
 	 * Maps the given region of memory.
 	 *
@@ -53,8 +124,12 @@ public final class VirtualMemory
 			memories.add(__mem);
 			
 			// Redo cache
-			this._cache = memories.<Memory>toArray(
-				new Memory[memories.size()]);
+			Memory[] cache;
+			this._cache = (cache = memories.<Memory>toArray(
+				new Memory[memories.size()]));
+			
+			// Redo the page tables
+			this._pages = VirtualMemory.__buildPages(cache);
 		}
 	}
 	
@@ -65,6 +140,15 @@ public final class VirtualMemory
 	@Override
 	public final int memReadByte(int __addr)
 	{
+		__MappedRegion__ page = this.__page(__addr);
+		if (page != null)
+		{
+			byte[] bytes = page.bytes;
+			if (bytes != null)
+				return bytes[__addr + page.delta] & 0xFF;
+			return page.readable.memReadByte(__addr - page.base);
+		}
+		
 		// Find memory to read from
 		Memory[] cache = this._cache;
 		for (Memory c : cache)
@@ -82,6 +166,89 @@ public final class VirtualMemory
 		throw new VMException(String.format("AE0i %08x", __addr));
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public final void memReadBytes(int __addr, byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Copy a page at a time
+		while (__l > 0)
+		{
+			int n = VirtualMemory.PAGE_SIZE -
+				(__addr & VirtualMemory.PAGE_MASK);
+			if (n > __l)
+				n = __l;
+			
+			__MappedRegion__ page = this.__page(__addr);
+			if (page == null)
+				for (int i = 0; i < n; i++)
+					__b[__o + i] = (byte)this.memReadByte(__addr + i);
+			else if (page.bytes != null)
+				System.arraycopy(page.bytes, __addr + page.delta, __b, __o, n);
+			else
+				page.readable.memReadBytes(__addr - page.base, __b, __o, n);
+			
+			__addr += n;
+			__o += n;
+			__l -= n;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public final int memReadInt(int __addr)
+	{
+		// Values which cross pages are read a byte at a time
+		__MappedRegion__ page = this.__page(__addr);
+		if (page == null ||
+			(__addr & VirtualMemory.PAGE_MASK) > VirtualMemory.PAGE_SIZE - 4)
+			return super.memReadInt(__addr);
+		
+		byte[] bytes = page.bytes;
+		if (bytes == null)
+			return page.readable.memReadInt(__addr - page.base);
+		
+		int rp = __addr + page.delta;
+		return ((bytes[rp++] & 0xFF) << 24) |
+			((bytes[rp++] & 0xFF) << 16) |
+			((bytes[rp++] & 0xFF) << 8) |
+			(bytes[rp] & 0xFF);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public final int memReadShort(int __addr)
+	{
+		// Values which cross pages are read a byte at a time
+		__MappedRegion__ page = this.__page(__addr);
+		if (page == null ||
+			(__addr & VirtualMemory.PAGE_MASK) > VirtualMemory.PAGE_SIZE - 2)
+			return super.memReadShort(__addr);
+		
+		// Some regions sign extend shorts, but this never does
+		byte[] bytes = page.bytes;
+		if (bytes == null)
+			return page.readable.memReadShort(__addr - page.base) & 0xFFFF;
+		
+		int rp = __addr + page.delta;
+		return ((bytes[rp++] & 0xFF) << 8) |
+			(bytes[rp] & 0xFF);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2019/04/21
@@ -109,6 +276,17 @@ public final class VirtualMemory
 	@Override
 	public final void memWriteByte(int __addr, int __v)
 	{
+		__MappedRegion__ page = this.__page(__addr);
+		if (page != null && page.writable != null)
+		{
+			byte[] bytes = page.bytes;
+			if (bytes != null)
+				bytes[__addr + page.delta] = (byte)__v;
+			else
+				page.writable.memWriteByte(__addr - page.base, __v);
+			return;
+		}
+		
 		// Find memory to write to
 		Memory[] cache = this._cache;
 		for (Memory c : cache)
@@ -131,5 +309,175 @@ public final class VirtualMemory
 		// memory! (The address; The value to write)}
 		throw new VMException(String.format("AE0j %08x %d", __addr, __v));
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public final void memWriteBytes(int __a, byte[] __b, int __o, int __l)
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Copy a page at a time
+		while (__l > 0)
+		{
+			int n = VirtualMemory.PAGE_SIZE - (__a & VirtualMemory.PAGE_MASK);
+			if (n > __l)
+				n = __l;
+			
+			__MappedRegion__ page = this.__page(__a);
+			if (page == null || page.writable == null)
+				for (int i = 0; i < n; i++)
+					this.memWriteByte(__a + i, __b[__o + i] & 0xFF);
+			else if (page.bytes != null)
+				System.arraycopy(__b, __o, page.bytes, __a + page.delta, n);
+			else
+				page.writable.memWriteBytes(__a - page.base, __b, __o, n);
+			
+			__a += n;
+			__o += n;
+			__l -= n;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public final void memWriteInt(int __addr, int __v)
+	{
+		// Values which cross pages are written a byte at a time
+		__MappedRegion__ page = this.__page(__addr);
+		if (page == null || page.writable == null ||
+			(__addr & VirtualMemory.PAGE_MASK) > VirtualMemory.PAGE_SIZE - 4)
+		{
+			super.memWriteInt(__addr, __v);
+			return;
+		}
+		
+		byte[] bytes = page.bytes;
+		if (bytes == null)
+		{
+			page.writable.memWriteInt(__addr - page.base, __v);
+			return;
+		}
+		
+		int wp = __addr + page.delta;
+		bytes[wp++] = (byte)(__v >>> 24);
+		bytes[wp++] = (byte)(__v >>> 16);
+		bytes[wp++] = (byte)(__v >>> 8);
+		bytes[wp] = (byte)__v;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public final void memWriteShort(int __addr, int __v)
+	{
+		// Values which cross pages are written a byte at a time
+		__MappedRegion__ page = this.__page(__addr);
+		if (page == null || page.writable == null ||
+			(__addr & VirtualMemory.PAGE_MASK) > VirtualMemory.PAGE_SIZE - 2)
+		{
+			super.memWriteShort(__addr, __v);
+			return;
+		}
+		
+		byte[] bytes = page.bytes;
+		if (bytes == null)
+		{
+			page.writable.memWriteShort(__addr - page.base, __v);
+			return;
+		}
+		
+		int wp = __addr + page.delta;
+		bytes[wp++] = (byte)(__v >>> 8);
+		bytes[wp] = (byte)__v;
+	}
+	
+	/**
+	 * Returns the region which the page of the given address is in.
+	 *
+	 * @param __addr The address to look up.
+	 * @return The region for the page, or {@code null} if the page is not
+	 * mapped or is shared by multiple regions.
+	 * @since 2019/09/22
+	 */
+	private final __MappedRegion__ __page(int __addr)
+	{
+		__MappedRegion__[] table =
+			this._pages[__addr >>> VirtualMemory.DIRECTORY_SHIFT];
+		if (table == null)
+			return null;
+		return table[(__addr >>> VirtualMemory.PAGE_SHIFT) &
+			VirtualMemory.TABLE_MASK];
+	}
+	
+	/**
+	 * Builds the page tables for the given regions.
+	 *
+	 * @param __mems The regions to map, earlier regions take priority.
+	 * @return The page tables.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	private static final __MappedRegion__[][] __buildPages(Memory[] __mems)
+		throws NullPointerException
+	{
+		if (__mems == null)
+			throw new NullPointerException("NARG");
+		
+		__MappedRegion__[][] rv =
+			new __MappedRegion__[VirtualMemory.DIRECTORY_SIZE][];
+		
+		// Pages which an earlier region already uses, since those regions
+		// take priority this region cannot be used for the entire page
+		boolean[] used = new boolean[VirtualMemory.DIRECTORY_SIZE *
+			VirtualMemory.TABLE_SIZE];
+		
+		for (Memory mem : __mems)
+		{
+			long base = mem.memRegionOffset() & 0xFFFFFFFFL,
+				end = base + mem.memRegionSize();
+			if (end <= base)
+				continue;
+			
+			// Only readable memory can be accessed through pages
+			__MappedRegion__ region = ((mem instanceof ReadableMemory) ?
+				new __MappedRegion__((ReadableMemory)mem) : null);
+			
+			int firstpage = (int)(base >>> VirtualMemory.PAGE_SHIFT),
+				lastpage = (int)((end - 1) >>> VirtualMemory.PAGE_SHIFT);
+			for (int p = firstpage; p <= lastpage; p++)
+			{
+				if (used[p])
+					continue;
+				used[p] = true;
+				
+				// Pages which are only partially in this region must go
+				// through the slower search
+				long pagebase = ((long)p) << VirtualMemory.PAGE_SHIFT;
+				if (region == null || pagebase < base ||
+					pagebase + VirtualMemory.PAGE_SIZE > end)
+					continue;
+				
+				int dx = p >>> VirtualMemory.TABLE_SHIFT;
+				__MappedRegion__[] table = rv[dx];
+				if (table == null)
+					rv[dx] = (table =
+						new __MappedRegion__[VirtualMemory.TABLE_SIZE]);
+				
+				table[p & VirtualMemory.TABLE_MASK] = region;
+			}
+		}
+		
+		return rv;
+	}
 }
-
@@ -0,0 +1,186 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.summercoat;
+
+import cc.squirreljme.vm.VMException;
+import dev.shadowtail.classfile.nncc.ArgumentFormat;
+import dev.shadowtail.classfile.nncc.NativeCode;
+import dev.shadowtail.classfile.nncc.NativeInstruction;
+
+/**
+ * This is a single instruction which has had all of its arguments decoded,
+ * so that when it is executed again the arguments do not need to be decoded.
+ *
+ * Decoded instructions are never modified after they are created.
+ *
+ * @since 2019/09/19
+ */
+final class __DecodedInstruction__
+{
+	/** The maximum number of arguments an instruction may have. */
+	static final int MAX_ARGUMENTS =
+		6;
+	
+	/** The address of the instruction. */
+	final int pc;
+	
+	/** The operation. */
+	final int op;
+	
+	/** The encoding of the operation. */
+	final int encoding;
+	
+	/** The address of the following instruction. */
+	final int nextpc;
+	
+	/** The format of the arguments. */
+	final ArgumentFormat[] af;
+	
+	/** The argument values, unused arguments are zero. */
+	final int[] args;
+	
+	/** The register list, if there is one. */
+	final int[] reglist;
+	
+	/**
+	 * Initializes the decoded instruction.
+	 *
+	 * @param __pc The address of the instruction.
+	 * @param __op The operation.
+	 * @param __npc The address of the following instruction.
+	 * @param __af The argument format.
+	 * @param __args The argument values.
+	 * @param __rl The register list, may be {@code null}.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/19
+	 */
+	private __DecodedInstruction__(int __pc, int __op, int __npc,
+		ArgumentFormat[] __af, int[] __args, int[] __rl)
+		throws NullPointerException
+	{
+		if (__af == null || __args == null)
+			throw new NullPointerException("NARG");
+		
+		this.pc = __pc;
+		this.op = __op;
+		this.encoding = NativeInstruction.encoding(__op);
+		this.nextpc = __npc;
+		this.af = __af;
+		this.args = __args;
+		this.reglist = __rl;
+	}
+	
+	/**
+	 * Decodes the instruction at the given address.
+	 *
+	 * @param __pc The address of the instruction.
+	 * @param __b The buffer containing the instruction.
+	 * @param __o The offset of the instruction in the buffer.
+	 * @return The decoded instruction.
+	 * @throws NullPointerException On null arguments.
+	 * @throws VMException If the instruction is not valid.
+	 * @since 2019/09/19
+	 */
+	static __DecodedInstruction__ decode(int __pc, byte[] __b, int __o)
+		throws NullPointerException, VMException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		// Read operation
+		int op = __b[__o] & 0xFF;
+		
+		// Arguments and the register list, just one is used everywhere
+		int[] args = new int[MAX_ARGUMENTS];
+		int[] reglist = null;
+		
+		// Load arguments for this instruction
+		ArgumentFormat[] af = NativeInstruction.argumentFormat(op);
+		int rargp = __o + 1;
+		for (int i = 0, n = af.length; i < n; i++)
+			switch (af[i])
+			{
+					// Variable sized entries, may be pool values
+				case VUINT:
+				case VUREG:
+				case VPOOL:
+				case VJUMP:
+					{
+						// Long value?
+						int base = (__b[rargp++] & 0xFF);
+						if ((base & 0x80) != 0)
+						{
+							base = ((base & 0x7F) << 8);
+							base |= (__b[rargp++] & 0xFF);
+						}
+						
+						// Set
+						if (af[i] == ArgumentFormat.VJUMP)
+							args[i] = (short)(base |
+								((base & 0x4000) << 1));
+						else
+							args[i] = base;
+						
+						// {@squirreljme.error AE03 Reference to register
+						// which is out of range of maximum number of
+						// registers. (The register index)}
+						if (af[i] == ArgumentFormat.VUREG &&
+							(base < 0 || base >= NativeCode.MAX_REGISTERS))
+							throw new VMException("AE03 " + base);
+					}
+					break;
+					
+					// Register list.
+				case REGLIST:
+					{
+						// Wide
+						int count = (__b[rargp++] & 0xFF);
+						if ((count & 0x80) != 0)
+						{
+							count = ((count & 0x7F) << 8) |
+								(__b[rargp++] & 0xFF);
+							
+							// Read values
+							reglist = new int[count];
+							for (int r = 0; r < count; r++)
+								reglist[r] =
+									((__b[rargp++] & 0xFF) << 8) |
+									(__b[rargp++] & 0xFF);
+						}
+						// Narrow
+						else
+						{
+							reglist = new int[count];
+							
+							// Read values
+							for (int r = 0; r < count; r++)
+								reglist[r] = (__b[rargp++] & 0xFF);
+						}
+					}
+					break;
+					
+					// 32-bit integer/float
+				case INT32:
+				case FLOAT32:
+					args[i] = ((__b[rargp++] & 0xFF) << 24) |
+						((__b[rargp++] & 0xFF) << 16) |
+						((__b[rargp++] & 0xFF) << 8) |
+						((__b[rargp++] & 0xFF));
+					break;
+				
+				default:
+					throw new todo.OOPS(af[i].name());
+			}
+		
+		// The next instruction is the address after all arguments
+		return new __DecodedInstruction__(__pc, op, __pc + (rargp - __o),
+			af, args, reglist);
+	}
+}
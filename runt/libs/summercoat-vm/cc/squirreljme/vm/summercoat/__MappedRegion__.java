@@ -0,0 +1,77 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.summercoat;
+
+/**
+ * This is a region of memory which is mapped into virtual memory, every
+ * page which is entirely within the region points to this.
+ *
+ * If the region is backed by a byte array then it is accessed directly.
+ *
+ * @since 2019/09/22
+ */
+final class __MappedRegion__
+{
+	/** The base address of the region. */
+	final int base;
+	
+	/** The memory to read from. */
+	final ReadableMemory readable;
+	
+	/** The memory to write to, {@code null} if this is read-only. */
+	final WritableMemory writable;
+	
+	/** The backing array, {@code null} if there is none. */
+	final byte[] bytes;
+	
+	/** Added to an address to get the index into the backing array. */
+	final int delta;
+	
+	/**
+	 * Initializes the mapped region.
+	 *
+	 * @param __mem The memory region.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	__MappedRegion__(ReadableMemory __mem)
+		throws NullPointerException
+	{
+		if (__mem == null)
+			throw new NullPointerException("NARG");
+		
+		int base = __mem.memRegionOffset();
+		
+		this.base = base;
+		this.readable = __mem;
+		this.writable = ((__mem instanceof WritableMemory) ?
+			(WritableMemory)__mem : null);
+		
+		// Use the array directly where possible
+		if (__mem instanceof RawMemory)
+		{
+			this.bytes = ((RawMemory)__mem).bytes;
+			this.delta = -base;
+		}
+		else if (__mem instanceof ByteArrayMemory)
+		{
+			ByteArrayMemory bam = (ByteArrayMemory)__mem;
+			
+			this.bytes = bam._bytes;
+			this.delta = bam.boff - base;
+		}
+		else
+		{
+			this.bytes = null;
+			this.delta = 0;
+		}
+	}
+}
+
@@ -64,9 +64,6 @@ public final class Minimizer
 	/** The class file to minimize. */
 	protected final ClassFile input;
 	
-	/** The Jar or ROM backed pool, is optional. */
-	protected final DualClassRuntimePoolBuilder jarpool;
-	
 	/** The local constant pool. */
 	protected final DualClassRuntimePoolBuilder localpool =
 		new DualClassRuntimePoolBuilder();
@@ -74,37 +71,29 @@ public final class Minimizer
 	/**
 	 * Initializes the minimizer.
 	 *
-	 * @param __dp The dual constant pool to use, may be null.
 	 * @param __cf The class to minimize.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2019/03/10
 	 */
-	private Minimizer(DualClassRuntimePoolBuilder __dp, ClassFile __cf)
+	private Minimizer(ClassFile __cf)
 		throws NullPointerException
 	{
 		if (__cf == null)
 			throw new NullPointerException("NARG");
 		
 		this.input = __cf;
-		
-		// This is the packing JAR/ROM pool, this may be null
-		this.jarpool = __dp;
 	}
 	
 	/**
 	 * Performs the minimization process.
 	 *
-	 * @param __os The stream to write the result to.
+	 * @return The translated class, which uses only its own pool.
 	 * @throws IOException On write errors.
-	 * @throws NullPointerException On null arguments.
 	 * @since 2019/03/10
 	 */
-	private final void __run(OutputStream __os)
-		throws IOException, NullPointerException
+	private final PendingMinimizedClass __run()
+		throws IOException
 	{
-		if (__os == null)
-			throw new NullPointerException("NARG");
-			
 		// The input class
 		ClassFile input = this.input;
 		
@@ -220,11 +209,9 @@ public final class Minimizer
 		// Where our pools are going
 		TableSectionOutputStream.Section lpd = output.addSection();
 		
-		// Encode the local pool or the local pool on top of the JAR pool
-		DualClassRuntimePoolBuilder jarpool = this.jarpool;
-		DualPoolEncodeResult der = (jarpool == null ?
-			DualPoolEncoder.encode(localpool, lpd) :
-			DualPoolEncoder.encodeLayered(localpool, jarpool, lpd));
+		// Encode the local pool, this may be layered on top of a pool which
+		// is shared by many classes later
+		DualPoolEncodeResult der = DualPoolEncoder.encode(localpool, lpd);
 		
 		// Static pool
 		header.writeSectionAddressInt(lpd, der.staticpooloff);
@@ -238,8 +225,8 @@ public final class Minimizer
 		TableSectionOutputStream.Section eofmagic = output.addSection(4);
 		eofmagic.writeInt(MinimizedClassHeader.END_MAGIC_NUMBER);
 		
-		// Write resulting file
-		output.writeTo(__os);
+		// The pool is not decoded again since it is already known
+		return new PendingMinimizedClass(output.toByteArray(), localpool);
 	}
 	
 	/**
@@ -514,7 +501,7 @@ public final class Minimizer
 										"JC4g " + i, e);
 								}
 								break;
-								
+							
 							case VJUMP:
 								{
 									// Store for later modification
@@ -598,24 +585,24 @@ public final class Minimizer
 					case INT32:
 						dos.writeInt(((Number)v).intValue());
 						break;
-					
+						
 						// 64-bit long
 					case INT64:
 						dos.writeLong(((Number)v).longValue());
 						break;
-					
+						
 						// 32-bit float
 					case FLOAT32:
 						dos.writeInt(Float.floatToRawIntBits(
 							((Number)v).floatValue()));
 						break;
-					
+						
 						// 64-bit double
 					case FLOAT64:
 						dos.writeLong(Double.doubleToRawLongBits(
 							((Number)v).doubleValue()));
 						break;
-					
+						
 						// Unknown
 					default:
 						throw new todo.OOPS(i.toString());
@@ -754,7 +741,7 @@ public final class Minimizer
 		if (__cf == null || __os == null)
 			throw new NullPointerException("NARG");
 		
-		new Minimizer(__dp, __cf).__run(__os);
+		Minimizer.translate(__cf).encode(__dp, __os);
 	}
 	
 	/**
@@ -787,6 +774,28 @@ public final class Minimizer
 		}
 	}
 	
+	/**
+	 * Translates the given class but does not merge its pool into any other
+	 * pool, this allows many classes to be translated at the same time and
+	 * then have their pools merged into a shared pool one after the other.
+	 *
+	 * @param __cf The class to translate.
+	 * @return The translated class.
+	 * @throws InvalidClassFormatException If the class is not formatted
+	 * correctly.
+	 * @throws IOException On write errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	public static final PendingMinimizedClass translate(ClassFile __cf)
+		throws InvalidClassFormatException, IOException, NullPointerException
+	{
+		if (__cf == null)
+			throw new NullPointerException("NARG");
+		
+		return new Minimizer(__cf).__run();
+	}
+	
 	/**
 	 * Writes variable size unsigned short, only 15-bits are possible to be
 	 * written.
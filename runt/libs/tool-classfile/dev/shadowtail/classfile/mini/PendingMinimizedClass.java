@@ -0,0 +1,280 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package dev.shadowtail.classfile.mini;
+
+import dev.shadowtail.classfile.pool.BasicPool;
+import dev.shadowtail.classfile.pool.BasicPoolBuilder;
+import dev.shadowtail.classfile.pool.BasicPoolEntry;
+import dev.shadowtail.classfile.pool.DualClassRuntimePool;
+import dev.shadowtail.classfile.pool.DualClassRuntimePoolBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import net.multiphasicapps.classfile.InvalidClassFormatException;
+import net.multiphasicapps.io.TableSectionOutputStream;
+
+/**
+ * This is a class which has been translated by the minimizer and which
+ * only uses its own constant pool, its pool may then be merged into a pool
+ * which is shared by many classes.
+ *
+ * Translation does not touch any shared state, so it may be performed by
+ * many threads at once. Merging the pool into a shared pool must be done by
+ * only a single thread at a time, and in a fixed order so that the output is
+ * always the same.
+ *
+ * Since the stand-alone form contains everything that is needed to merge
+ * the pool, it may be stored and decoded later to skip translation.
+ *
+ * @since 2019/09/22
+ */
+public final class PendingMinimizedClass
+{
+	/**
+	 * The position of the file size in the header, it is followed by an
+	 * unused value and then the positions and sizes of both pools.
+	 */
+	private static final int _FILE_SIZE_OFFSET =
+		MinimizedClassHeader.HEADER_SIZE_WITH_MAGIC - 24;
+	
+	/** The stand-alone minimized class. */
+	private final byte[] _data;
+	
+	/** The position of the pool in the stand-alone class. */
+	private final int _poolpos;
+	
+	/** The local pool of the class. */
+	private final DualClassRuntimePoolBuilder _localpool;
+	
+	/**
+	 * Initializes the pending class.
+	 *
+	 * @param __data The stand-alone minimized class.
+	 * @param __lp The local pool of the class.
+	 * @throws InvalidClassFormatException If the class is not valid.
+	 * @throws IOException On read errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	PendingMinimizedClass(byte[] __data, DualClassRuntimePoolBuilder __lp)
+		throws InvalidClassFormatException, IOException, NullPointerException
+	{
+		if (__data == null || __lp == null)
+			throw new NullPointerException("NARG");
+		
+		// The static pool is always placed first
+		MinimizedClassHeader header = MinimizedClassHeader.decode(
+			new ByteArrayInputStream(__data));
+		int poolpos = header.staticpooloff;
+		
+		// {@squirreljme.error JC4l The minimized class has an invalid size
+		// or pool position. (The file size; The pool position; The length
+		// of the data)}
+		if (header.filesize != __data.length ||
+			poolpos < MinimizedClassHeader.HEADER_SIZE_WITH_MAGIC ||
+			poolpos > __data.length)
+			throw new InvalidClassFormatException("JC4l " + header.filesize +
+				" " + poolpos + " " + __data.length);
+		
+		this._data = __data;
+		this._poolpos = poolpos;
+		this._localpool = __lp;
+	}
+	
+	/**
+	 * Encodes the class and returns the minimized class.
+	 *
+	 * @param __dp The pool to merge into, if {@code null} then the class
+	 * uses only its own pool.
+	 * @return The resulting minimized class as a byte array.
+	 * @throws IOException On write errors.
+	 * @since 2019/09/22
+	 */
+	public final byte[] encode(DualClassRuntimePoolBuilder __dp)
+		throws IOException
+	{
+		// Already encoded
+		if (__dp == null)
+			return this._data.clone();
+		
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream(
+			this._data.length))
+		{
+			// Output minimized code to the byte array
+			this.encode(__dp, baos);
+			
+			// The class data is in the resulting byte array
+			return baos.toByteArray();
+		}
+	}
+	
+	/**
+	 * Encodes the class and writes the minimized class.
+	 *
+	 * @param __dp The pool to merge into, if {@code null} then the class
+	 * uses only its own pool.
+	 * @param __os The stream to write the minimized class to.
+	 * @throws IOException On write errors.
+	 * @throws NullPointerException If no output stream was specified.
+	 * @since 2019/09/22
+	 */
+	public final void encode(DualClassRuntimePoolBuilder __dp,
+		OutputStream __os)
+		throws IOException, NullPointerException
+	{
+		if (__os == null)
+			throw new NullPointerException("NARG");
+		
+		byte[] data = this._data;
+		
+		// Already encoded
+		if (__dp == null)
+		{
+			__os.write(data);
+			return;
+		}
+		
+		// Everything before the pool stays the same since the pool is last,
+		// only the file size and pool positions in the header change
+		TableSectionOutputStream output = new TableSectionOutputStream();
+		TableSectionOutputStream.Section header =
+			output.addSection(MinimizedClassHeader.HEADER_SIZE_WITH_MAGIC);
+		header.write(data, 0, _FILE_SIZE_OFFSET);
+		header.writeFileSizeInt();
+		
+		// Not used anymore
+		header.writeInt(0);
+		
+		// Fields and methods
+		int headsize = MinimizedClassHeader.HEADER_SIZE_WITH_MAGIC,
+			bodysize = this._poolpos - headsize;
+		if (bodysize > 0)
+			output.addSection(TableSectionOutputStream.VARIABLE_SIZE).
+				write(data, headsize, bodysize);
+		
+		// Where our pools are going
+		TableSectionOutputStream.Section lpd = output.addSection();
+		
+		// Encode the local pool on top of the JAR pool
+		DualPoolEncodeResult der = DualPoolEncoder.encodeLayered(
+			this._localpool, __dp, lpd);
+		
+		// Static pool
+		header.writeSectionAddressInt(lpd, der.staticpooloff);
+		header.writeInt(der.staticpoolsize);
+		
+		// Run-time pool
+		header.writeSectionAddressInt(lpd, der.runtimepooloff);
+		header.writeInt(der.runtimepoolsize);
+		
+		// Write end magic number, which is at the end of the file
+		TableSectionOutputStream.Section eofmagic = output.addSection(4);
+		eofmagic.writeInt(MinimizedClassHeader.END_MAGIC_NUMBER);
+		
+		// Write resulting file
+		output.writeTo(__os);
+	}
+	
+	/**
+	 * Returns the stand-alone minimized class, which uses only its own
+	 * pool.
+	 *
+	 * @return The stand-alone minimized class.
+	 * @since 2019/09/22
+	 */
+	public final byte[] standAlone()
+	{
+		return this._data.clone();
+	}
+	
+	/**
+	 * Decodes a class which was previously translated, from its stand-alone
+	 * form.
+	 *
+	 * @param __b The stand-alone minimized class.
+	 * @return The pending class.
+	 * @throws InvalidClassFormatException If the class is not valid.
+	 * @throws IOException On read errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	public static final PendingMinimizedClass decode(byte[] __b)
+		throws InvalidClassFormatException, IOException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		// Decode the pool that is used
+		MinimizedClassHeader header = MinimizedClassHeader.decode(
+			new ByteArrayInputStream(__b));
+		DualClassRuntimePool pool = DualPoolEncoder.decode(__b,
+			header.staticpooloff, header.staticpoolsize,
+			header.runtimepooloff, header.runtimepoolsize);
+		
+		// Rebuild the local pool with the same order as before, entries
+		// only refer to earlier entries so this is always possible
+		DualClassRuntimePoolBuilder localpool =
+			new DualClassRuntimePoolBuilder();
+		PendingMinimizedClass.__rebuild(pool.classPool(),
+			localpool.classPool());
+		PendingMinimizedClass.__rebuild(pool.runtimePool(),
+			localpool.runtimePool());
+		
+		return new PendingMinimizedClass(__b.clone(), localpool);
+	}
+	
+	/**
+	 * Rebuilds the given pool.
+	 *
+	 * @param __from The pool to source entries from.
+	 * @param __to The pool to place entries in.
+	 * @throws InvalidClassFormatException If the pool is not valid.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	private static void __rebuild(BasicPool __from, BasicPoolBuilder __to)
+		throws InvalidClassFormatException, NullPointerException
+	{
+		if (__from == null || __to == null)
+			throw new NullPointerException("NARG");
+		
+		// The first entry is always null and already exists
+		for (int i = 1, n = __from.size(); i < n; i++)
+		{
+			BasicPoolEntry e = __from.byIndex(i);
+			
+			// Copy parts
+			short[] sp = e.parts();
+			int np = sp.length;
+			int[] parts = new int[np];
+			for (int j = 0; j < np; j++)
+				parts[j] = sp[j] & 0xFFFF;
+			
+			// {@squirreljme.error JC4m The pool could not be rebuilt, there
+			// is a duplicate entry or it has a different index. (The index;
+			// The entry)}
+			BasicPoolEntry r;
+			try
+			{
+				r = __to.add(e.value, parts);
+			}
+			catch (IllegalStateException f)
+			{
+				throw new InvalidClassFormatException("JC4m " + i + " " +
+					e.value, f);
+			}
+			if (r.index != i)
+				throw new InvalidClassFormatException("JC4m " + i + " " +
+					e.value);
+		}
+	}
+}
+
@@ -42,6 +42,17 @@ public final class DualClassRuntimePool
 		this.runpool = __rt;
 	}
 	
+	/**
+	 * Returns the static class pool.
+	 *
+	 * @return The pool.
+	 * @since 2019/09/22
+	 */
+	public final BasicPool classPool()
+	{
+		return this.classpool;
+	}
+	
 	/**
 	 * Loads a value from the pool by its index.
 	 *
@@ -57,5 +68,16 @@ public final class DualClassRuntimePool
 	{
 		return (__rt ? this.runpool : this.classpool).byIndex(__dx);
 	}
+	
+	/**
+	 * Returns the run-time pool.
+	 *
+	 * @return The pool.
+	 * @since 2019/09/22
+	 */
+	public final BasicPool runtimePool()
+	{
+		return this.runpool;
+	}
 }
 
@@ -19,6 +19,7 @@ import dev.shadowtail.classfile.mini.MinimizedField;
 import dev.shadowtail.classfile.mini.MinimizedMethod;
 import dev.shadowtail.classfile.mini.MinimizedPoolEntryType;
 import dev.shadowtail.classfile.mini.Minimizer;
+import dev.shadowtail.classfile.mini.PendingMinimizedClass;
 import dev.shadowtail.classfile.pool.AccessedField;
 import dev.shadowtail.classfile.pool.ClassPool;
 import dev.shadowtail.classfile.pool.DualClassRuntimePool;
@@ -65,6 +66,14 @@ public final class JarMinimizer
 	static final boolean _ENABLE_DEBUG =
 		Boolean.getBoolean("dev.shadowtail.jarfile.debug");
 	
+	/**
+	 * {@squirreljme.property dev.shadowtail.jarfile.threads=(count)
+	 * The number of threads which are used to translate classes, the default
+	 * is four.}
+	 */
+	static final int _THREADS =
+		Integer.getInteger("dev.shadowtail.jarfile.threads", 4);
+	
 	/** The size of the static field area. */
 	public static final int STATIC_FIELD_SIZE =
 		8192;
@@ -81,6 +90,9 @@ public final class JarMinimizer
 	/** Are we using our own dual pool? */
 	protected final boolean owndualpool;
 	
+	/** The cache for minimized classes, may be {@code null}. */
+	protected final MinimizedClassCache cache;
+	
 	/** Boot information for classes. */
 	private final Map<ClassName, __BootInfo__> _boots;
 	
@@ -100,18 +112,20 @@ public final class JarMinimizer
 	 * use the pack-file global one.
 	 * @param __boot Is this a boot JAR?
 	 * @param __in The input library.
+	 * @param __cache The cache for minimized classes, may be {@code null}.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2019/04/27
 	 */
 	private JarMinimizer(DualClassRuntimePoolBuilder __dp, boolean __boot,
-		VMClassLibrary __in)
+		VMClassLibrary __in, MinimizedClassCache __cache)
 		throws NullPointerException
 	{
 		if (__in == null)
 			throw new NullPointerException("NARG");
-			
+		
 		this.boot = __boot;
 		this.input = __in;
+		this.cache = __cache;
 		
 		// Use the passed pool if it was passed, but otherwise just use one
 		// in the event one was not passed through (uses our own pool)
@@ -581,7 +595,7 @@ public final class JarMinimizer
 						__init.memWriteInt(
 							wp, 0);
 						break;
-					
+						
 						// Monitor count
 					case "_moncount:I":
 						__init.memWriteInt(
@@ -915,7 +929,7 @@ public final class JarMinimizer
 					if (_ENABLE_DEBUG)
 						todo.DEBUG.note("Link: (%s) %s -> %s : %s",
 							__cl, mcfname, pcfname, mnat);
-						
+					
 					// Use this method
 					entries.set(vat, pbi._classoffset + pcf.header.imoff +
 						pm.codeoffset);
@@ -1042,7 +1056,7 @@ public final class JarMinimizer
 		// Treat as invalid for these
 		if (__cl.isPrimitive() || __cl.isArray())
 			return -1;
-			
+		
 		// {@squirreljme.error BC09 No such class exists. (The class)}
 		__BootInfo__ bi = this._boots.get(__cl);
 		if (bi == null)
@@ -1092,7 +1106,7 @@ public final class JarMinimizer
 				case LONG:
 				case DOUBLE:
 					break;
-					
+				
 				case METHOD_INDEX:
 					{
 						MethodIndex mi = (MethodIndex)pv;
@@ -1114,7 +1128,7 @@ public final class JarMinimizer
 				case INTEGER:
 					__init.memWriteInt(ep, ((Number)pv).intValue());
 					break;
-				
+					
 					// Float constant
 				case FLOAT:
 					__init.memWriteInt(ep,
@@ -1156,7 +1170,7 @@ public final class JarMinimizer
 									af.field.memberType()));
 					}
 					break;
-				
+					
 					// Class ID
 				case CLASS_NAME:
 					__init.memWriteInt(Modifier.RAM_OFFSET,
@@ -1244,46 +1258,57 @@ public final class JarMinimizer
 		int reloff = MinimizedJarHeader.HEADER_SIZE_WITH_MAGIC +
 			(numrc * MinimizedJarHeader.TOC_ENTRY_SIZE);
 		
-		// Go through and minimize/concat all resources
+		// Read in all of the resources first, the library is only ever
+		// accessed by this thread
+		byte[][] rcdata = new byte[numrc][];
+		byte[][] classdata = new byte[numrc][];
 		for (int i = 0; i < numrc; i++)
 		{
 			String rc = rcnames[i];
-			ClassName ofclass = null;
-			
-			// The resulting byte array containing data
-			byte[] bytes;
 			
-			// Open resource
-			boolean isclass = false;
-			try (InputStream in = input.resourceAsStream(rc))
+			// Copy bytes
+			byte[] buf = new byte[512];
+			try (InputStream in = input.resourceAsStream(rc);
+				ByteArrayOutputStream xbaos = new ByteArrayOutputStream(4096))
 			{
-				// Minimizing class
-				if ((isclass = rc.endsWith(".class")))
-					bytes = Minimizer.minimize(dualpool, ClassFile.decode(in));
-				
-				// Plain resource, sent straight through
-				else
+				for (;;)
 				{
-					// Copy bytes
-					byte[] buf = new byte[512];
-					try (ByteArrayOutputStream xbaos =
-						new ByteArrayOutputStream(4096))
-					{
-						for (;;)
-						{
-							int ll = in.read(buf);
-							
-							if (ll < 0)
-								break;
-							
-							xbaos.write(buf, 0, ll);
-						}
-						
-						// Use this
-						bytes = xbaos.toByteArray();
-					}
+					int ll = in.read(buf);
+					
+					if (ll < 0)
+						break;
+					
+					xbaos.write(buf, 0, ll);
 				}
+				
+				// Classes are minimized, everything else is sent straight
+				// through
+				if (rc.endsWith(".class"))
+					classdata[i] = xbaos.toByteArray();
+				else
+					rcdata[i] = xbaos.toByteArray();
 			}
+		}
+		
+		// Translate all of the classes at once, since the translation of
+		// every class is independent of every other
+		PendingMinimizedClass[] pending = new __Translator__(classdata,
+			this.cache).
+			translateAll(JarMinimizer._THREADS);
+		
+		// Go through and minimize/concat all resources
+		for (int i = 0; i < numrc; i++)
+		{
+			String rc = rcnames[i];
+			
+			// The resulting byte array containing data, the pools are merged
+			// in the same order every time so the output is always the same
+			byte[] bytes;
+			boolean isclass = (pending[i] != null);
+			if (isclass)
+				bytes = pending[i].encode(dualpool);
+			else
+				bytes = rcdata[i];
 			
 			// Round data stream to 2 bytes (so string length is aligned)
 			while ((jdos.size() & 1) != 0)
@@ -1356,7 +1381,7 @@ public final class JarMinimizer
 			// Write address to the boot table
 			int baseaddr,
 				injaraddr;
-			__dos.writeInt((hfs[hat++] = 
+			__dos.writeInt((hfs[hat++] =
 				(injaraddr = (reloff + (baseaddr = jdos.size())))));
 			
 			// Debug
@@ -1541,12 +1566,34 @@ public final class JarMinimizer
 		boolean __boot, VMClassLibrary __in, OutputStream __out,
 		MinimizedJarHeader[] __mjh)
 		throws IOException, NullPointerException
+	{
+		JarMinimizer.minimize(__dp, __boot, __in, __out, __mjh, null);
+	}
+	
+	/**
+	 * Minimizes the specified Jar file.
+	 *
+	 * @param __dp The dual-pool.
+	 * @param __boot Should pre-created boot memory be created to quickly
+	 * initialize the virtual machine?
+	 * @param __in The input JAR file.
+	 * @param __out The stream where JAR data will be placed.
+	 * @param __mjh The output JAR header.
+	 * @param __cache The cache for minimized classes, may be {@code null}.
+	 * @throws IOException On read/write errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	public static final void minimize(DualClassRuntimePoolBuilder __dp,
+		boolean __boot, VMClassLibrary __in, OutputStream __out,
+		MinimizedJarHeader[] __mjh, MinimizedClassCache __cache)
+		throws IOException, NullPointerException
 	{
 		if (__in == null || __out == null)
 			throw new NullPointerException("NARG");
 		
 		// Use helper class
-		JarMinimizer jm = new JarMinimizer(__dp, __boot, __in);
+		JarMinimizer jm = new JarMinimizer(__dp, __boot, __in, __cache);
 		jm.__process(new DataOutputStream(__out));
 		
 		// Set header that was generated
@@ -0,0 +1,49 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package dev.shadowtail.jarfile;
+
+/**
+ * This is a cache of classes which have already been minimized, so that
+ * classes which have not changed do not need to be translated again.
+ *
+ * Classes are looked up by the bytes of the input class file, the cache is
+ * responsible for making sure that cached classes were minimized with the
+ * same minimizer.
+ *
+ * Multiple threads may use the cache at the same time.
+ *
+ * @since 2019/09/22
+ */
+public interface MinimizedClassCache
+{
+	/**
+	 * Returns the cached stand-alone minimized class.
+	 *
+	 * @param __cl The bytes of the input class file.
+	 * @return The stand-alone minimized class or {@code null} if it is not
+	 * cached.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	public abstract byte[] get(byte[] __cl)
+		throws NullPointerException;
+	
+	/**
+	 * Stores the stand-alone minimized class into the cache.
+	 *
+	 * @param __cl The bytes of the input class file.
+	 * @param __mc The stand-alone minimized class.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	public abstract void put(byte[] __cl, byte[] __mc)
+		throws NullPointerException;
+}
+
@@ -0,0 +1,254 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package dev.shadowtail.jarfile;
+
+import dev.shadowtail.classfile.mini.Minimizer;
+import dev.shadowtail.classfile.mini.PendingMinimizedClass;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import net.multiphasicapps.classfile.ClassFile;
+import net.multiphasicapps.classfile.InvalidClassFormatException;
+
+/**
+ * This translates many classes at once using multiple threads, each class
+ * is translated independently of every other class. The pools of the
+ * translated classes are not merged here. Classes which are in the cache are
+ * not translated again.
+ *
+ * @since 2019/09/22
+ */
+final class __Translator__
+	implements Runnable
+{
+	/** The class file data, {@code null} entries are skipped. */
+	private final byte[][] _classes;
+	
+	/** The cache for classes, may be {@code null}. */
+	private final MinimizedClassCache _cache;
+	
+	/** The translated classes. */
+	private final PendingMinimizedClass[] _results;
+	
+	/** The next class to translate. */
+	private int _next;
+	
+	/** The number of threads which are still running. */
+	private int _running;
+	
+	/** The first failure which occurred. */
+	private Throwable _failure;
+	
+	/**
+	 * Initializes the translator.
+	 *
+	 * @param __cl The class file data, {@code null} entries are skipped.
+	 * @param __cache The cache for classes, may be {@code null}.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	__Translator__(byte[][] __cl, MinimizedClassCache __cache)
+		throws NullPointerException
+	{
+		if (__cl == null)
+			throw new NullPointerException("NARG");
+		
+		this._classes = __cl;
+		this._cache = __cache;
+		this._results = new PendingMinimizedClass[__cl.length];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/22
+	 */
+	@Override
+	public final void run()
+	{
+		byte[][] classes = this._classes;
+		MinimizedClassCache cache = this._cache;
+		PendingMinimizedClass[] results = this._results;
+		
+		try
+		{
+			for (;;)
+			{
+				// Claim the next class to translate
+				int dx = this.__claim();
+				if (dx < 0)
+					break;
+				
+				// Use the cached class if there is one
+				byte[] data = classes[dx];
+				PendingMinimizedClass pmc = (cache == null ? null :
+					__Translator__.__cached(cache, data));
+				
+				// Otherwise translate it
+				if (pmc == null)
+				{
+					try (InputStream in = new ByteArrayInputStream(data))
+					{
+						pmc = Minimizer.translate(ClassFile.decode(in));
+					}
+					
+					// Cache for later
+					if (cache != null)
+						cache.put(data, pmc.standAlone());
+				}
+				
+				// Store result, the lock makes it visible to the caller
+				synchronized (this)
+				{
+					results[dx] = pmc;
+				}
+			}
+		}
+		
+		// Record the failure, which stops all the other threads
+		catch (IOException|RuntimeException|Error e)
+		{
+			synchronized (this)
+			{
+				if (this._failure == null)
+					this._failure = e;
+			}
+		}
+		
+		// This thread is done
+		finally
+		{
+			synchronized (this)
+			{
+				this._running--;
+				this.notifyAll();
+			}
+		}
+	}
+	
+	/**
+	 * Translates all of the classes.
+	 *
+	 * @param __threads The number of threads to use, the calling thread is
+	 * counted as one of these.
+	 * @return The translated classes, entries which were skipped are
+	 * {@code null}.
+	 * @throws IOException If a class could not be read.
+	 * @since 2019/09/22
+	 */
+	final PendingMinimizedClass[] translateAll(int __threads)
+		throws IOException
+	{
+		// Always use at least the current thread
+		if (__threads < 1)
+			__threads = 1;
+		
+		// Start all of the helper threads
+		synchronized (this)
+		{
+			this._running = __threads;
+		}
+		for (int i = 1; i < __threads; i++)
+			new Thread(this, "JarMinimizer-" + i).start();
+		
+		// Translate in this thread also
+		this.run();
+		
+		// Wait for every other thread to finish
+		Throwable failure;
+		synchronized (this)
+		{
+			while (this._running > 0)
+				try
+				{
+					this.wait();
+				}
+				catch (InterruptedException e)
+				{
+				}
+			
+			failure = this._failure;
+		}
+		
+		// Forward the failure to the caller
+		if (failure instanceof IOException)
+			throw (IOException)failure;
+		else if (failure instanceof RuntimeException)
+			throw (RuntimeException)failure;
+		else if (failure instanceof Error)
+			throw (Error)failure;
+		
+		return this._results;
+	}
+	
+	/**
+	 * Returns the cached class.
+	 *
+	 * @param __cache The cache to look in.
+	 * @param __cl The class file data.
+	 * @return The cached class or {@code null} if it is not cached or the
+	 * cached class is not valid.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	private static PendingMinimizedClass __cached(MinimizedClassCache __cache,
+		byte[] __cl)
+		throws NullPointerException
+	{
+		if (__cache == null || __cl == null)
+			throw new NullPointerException("NARG");
+		
+		// Not cached
+		byte[] mc = __cache.get(__cl);
+		if (mc == null)
+			return null;
+		
+		// A damaged cache just causes the class to be translated again
+		try
+		{
+			return PendingMinimizedClass.decode(mc);
+		}
+		catch (InvalidClassFormatException|IOException e)
+		{
+			return null;
+		}
+	}
+	
+	/**
+	 * Claims the next class to be translated.
+	 *
+	 * @return The index of the class to translate or {@code -1} if there
+	 * are no more classes or a failure occurred.
+	 * @since 2019/09/22
+	 */
+	private final int __claim()
+	{
+		byte[][] classes = this._classes;
+		
+		synchronized (this)
+		{
+			// Stop early if something failed
+			if (this._failure != null)
+				return -1;
+			
+			// Find the next class which is to be translated
+			for (int n = classes.length;;)
+			{
+				int dx = this._next;
+				if (dx >= n)
+					return -1;
+				
+				this._next = dx + 1;
+				if (classes[dx] != null)
+					return dx;
+			}
+		}
+	}
+}
+
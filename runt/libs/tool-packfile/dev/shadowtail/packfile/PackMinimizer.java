@@ -15,6 +15,7 @@ import dev.shadowtail.classfile.mini.DualPoolEncoder;
 import dev.shadowtail.classfile.mini.DualPoolEncodeResult;
 import dev.shadowtail.classfile.pool.DualClassRuntimePoolBuilder;
 import dev.shadowtail.jarfile.JarMinimizer;
+import dev.shadowtail.jarfile.MinimizedClassCache;
 import dev.shadowtail.jarfile.MinimizedJarHeader;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
@@ -53,6 +54,28 @@ public class PackMinimizer
 	public static final byte[] minimize(String __boot,
 		String[] __initcp, String __mainbc, VMClassLibrary... __libs)
 		throws IOException, NullPointerException
+	{
+		return PackMinimizer.minimize((MinimizedClassCache)null, __boot,
+			__initcp, __mainbc, __libs);
+	}
+	
+	/**
+	 * Minimizes the class library.
+	 *
+	 * @param __cache The cache for minimized classes, may be {@code null}.
+	 * @param __boot The boot class used for the entry point.
+	 * @param __initcp The initial classpath, if any.
+	 * @param __mainbc Main boot class.
+	 * @param __libs The libraries to minimize.
+	 * @return The resulting minimized pack file.
+	 * @throws IOException On read/write errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	public static final byte[] minimize(MinimizedClassCache __cache,
+		String __boot, String[] __initcp, String __mainbc,
+		VMClassLibrary... __libs)
+		throws IOException, NullPointerException
 	{
 		if (__libs == null)
 			throw new NullPointerException("NARG");
@@ -61,7 +84,8 @@ public class PackMinimizer
 		try (ByteArrayOutputStream baos = new ByteArrayOutputStream(1048576))
 		{
 			// Minimize
-			PackMinimizer.minimize(baos, __boot, __initcp, __mainbc, __libs);
+			PackMinimizer.minimize(baos, __cache, __boot, __initcp, __mainbc,
+				__libs);
 			
 			// Return result
 			return baos.toByteArray();
@@ -83,6 +107,28 @@ public class PackMinimizer
 	public static final void minimize(OutputStream __os, String __boot,
 		String[] __initcp, String __mainbc, VMClassLibrary... __libs)
 		throws IOException, NullPointerException
+	{
+		PackMinimizer.minimize(__os, (MinimizedClassCache)null, __boot,
+			__initcp, __mainbc, __libs);
+	}
+	
+	/**
+	 * Minimizes the class library.
+	 *
+	 * @param __os The stream to write the minimized file to.
+	 * @param __cache The cache for minimized classes, may be {@code null}.
+	 * @param __boot The boot class used for the entry point.
+	 * @param __initcp Initial classpath.
+	 * @param __mainbc Main boot class.
+	 * @param __libs The libraries to minimize.
+	 * @throws IOException On read/write errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/22
+	 */
+	public static final void minimize(OutputStream __os,
+		MinimizedClassCache __cache, String __boot, String[] __initcp,
+		String __mainbc, VMClassLibrary... __libs)
+		throws IOException, NullPointerException
 	{
 		if (__os == null || __libs == null ||
 			(__boot != null && (__initcp == null || __mainbc == null)))
@@ -186,7 +232,7 @@ public class PackMinimizer
 				// The boot JAR is completely stand-alone, so do not use
 				// a global JAR pool for it.
 				JarMinimizer.minimize((isboot ? null : dualpool), isboot, lib,
-					jdos, mjha);
+					jdos, mjha, __cache);
 			}
 			
 			// {@squirreljme.error BI01 Could not minimize the JAR due to
@@ -235,7 +281,7 @@ public class PackMinimizer
 		if (__mainbc == null)
 			mainclassp = 0;
 		else
-		{	
+		{
 			// Round for main class
 			while (((reloff + jdos.size()) & 3) != 0)
 				jdos.write(0);
@@ -115,19 +115,19 @@ public class FileChannelBlockAccessor
 			throw new IOException("BF09");
 		
 		// Read until every byte has been read so that partial reads are not
-		// returned
+		// returned, the buffer position starts at the array offset
 		ByteBuffer buf = ByteBuffer.wrap(__b, __o, __l);
 		FileChannel channel = this.channel;
 		int n;
 		while (buf.hasRemaining())
-			if (channel.read(buf, __addr + buf.position()) < 0)
-				if ((n = buf.position()) <= 0)
+			if (channel.read(buf, __addr + (buf.position() - __o)) < 0)
+				if ((n = buf.position() - __o) <= 0)
 					return -1;
 				else
 					return n;
 		
 		// Use the read position
-		return buf.position();
+		return buf.position() - __o;
 	}
 	
 	/**
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import net.multiphasicapps.zip.IBM437CodePage;
 import net.multiphasicapps.zip.ZipException;
 
 /**
@@ -34,6 +35,10 @@ public class ZipBlockReader
 	private static final int _CENTRAL_DIRECTORY_MAGIC_NUMBER =
 		0x02014B50;
 	
+	/** The offset to the general purpose flags. */
+	private static final int _CENTRAL_DIRECTORY_FLAG_OFFSET =
+		8;
+	
 	/** The offset to the file name length. */
 	private static final int _CENTRAL_DIRECTORY_NAME_LENGTH_OFFSET =
 		28;
@@ -95,6 +100,18 @@ public class ZipBlockReader
 	/** Entries within this ZIP file. */
 	private final Reference<ZipBlockEntry>[] _entries;
 	
+	/** The raw bytes of every entry name, one after the other. */
+	private final byte[] _names;
+	
+	/** The offsets to the entry names, the last is the end. */
+	private final int[] _nameoffsets;
+	
+	/** The hash codes of the entry names, the same as the string form. */
+	private final int[] _hashes;
+	
+	/** Open addressed table of hashes to entries, entries are plus one. */
+	private final int[] _table;
+	
 	/**
 	 * Accesses the given array as a ZIP file.
 	 *
@@ -191,8 +208,17 @@ public class ZipBlockReader
 		// Setup entry list
 		this._entries = __newEntryReferenceList(numentries);
 		
-		// Initialize entry offsets
-		this._offsets = __readOffsets();
+		// Initialize entry offsets and read in the names
+		long[] offsets = new long[numentries];
+		int[] nameoffsets = new int[numentries + 1],
+			hashes = new int[numentries];
+		this._names = this.__readDirectory(offsets, nameoffsets, hashes);
+		this._offsets = offsets;
+		this._nameoffsets = nameoffsets;
+		this._hashes = hashes;
+		
+		// Build the lookup table
+		this._table = ZipBlockReader.__buildTable(hashes);
 	}
 	
 	/**
@@ -218,16 +244,10 @@ public class ZipBlockReader
 	public boolean contains(String __s)
 		throws IOException, NullPointerException
 	{
-		try
-		{
-			return get(__s) != null;
-		}
+		if (__s == null)
+			throw new NullPointerException("NARG");
 		
-		// Does not exist
-		catch (ZipEntryNotFoundException e)
-		{
-			return false;
-		}
+		return this.__find(__s) >= 0;
 	}
 	
 	/**
@@ -246,14 +266,13 @@ public class ZipBlockReader
 		if (__s == null)
 			throw new NullPointerException("NARG");
 		
-		// Use linear search since entries might be in any order
-		for (ZipBlockEntry e : this)
-			if (e.toString().equals(__s))
-				return e;
-		
 		// {@squirreljme.error BF0l Could not find the entry with the
 		// specified name. (The name of the entry)}
-		throw new ZipEntryNotFoundException(String.format("BF0l %s", __s));
+		int dx = this.__find(__s);
+		if (dx < 0)
+			throw new ZipEntryNotFoundException(String.format("BF0l %s", __s));
+		
+		return this.__entry(dx);
 	}
 	
 	/**
@@ -303,27 +322,147 @@ public class ZipBlockReader
 	}
 	
 	/**
-	 * Reads the offsets within the ZIP file for central directory items.
+	 * Returns the entry at the given index.
+	 *
+	 * @param __dx The index of the entry.
+	 * @return The entry.
+	 * @since 2019/09/15
+	 */
+	private ZipBlockEntry __entry(int __dx)
+	{
+		Reference<ZipBlockEntry>[] entries = this._entries;
+		Reference<ZipBlockEntry> ref = entries[__dx];
+		ZipBlockEntry rv;
+		
+		// Need to load the entry?
+		if (ref == null || null == (rv = ref.get()))
+			entries[__dx] = new WeakReference<>(
+				(rv = new ZipBlockEntry(this, __dx)));
+		
+		return rv;
+	}
+	
+	/**
+	 * Finds the index of the entry with the given name.
+	 *
+	 * @param __s The name of the entry to find.
+	 * @return The index of the entry or a negative value if it was not
+	 * found.
+	 * @throws IOException On read errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/15
+	 */
+	private int __find(String __s)
+		throws IOException, NullPointerException
+	{
+		if (__s == null)
+			throw new NullPointerException("NARG");
+		
+		int[] table = this._table,
+			hashes = this._hashes;
+		int mask = table.length - 1,
+			hash = __s.hashCode();
+		
+		// Probe until an empty slot is found, since entries are placed in
+		// order the first entry with the name is always found first
+		for (int at = ZipBlockReader.__spread(hash) & mask;;
+			at = (at + 1) & mask)
+		{
+			int e = table[at] - 1;
+			if (e < 0)
+				return -1;
+			
+			if (hashes[e] == hash && this.__nameEquals(e, __s))
+				return e;
+		}
+	}
+	
+	/**
+	 * Checks if the given entry has the given name.
 	 *
-	 * @return The array of offsets.
+	 * @param __dx The entry index.
+	 * @param __s The name to check.
+	 * @return If the entry has this name.
+	 * @throws IOException On read errors.
+	 * @since 2019/09/15
+	 */
+	private boolean __nameEquals(int __dx, String __s)
+		throws IOException
+	{
+		byte[] names = this._names;
+		int[] nameoffsets = this._nameoffsets;
+		int base = nameoffsets[__dx],
+			len = nameoffsets[__dx + 1] - base;
+		
+		// Names which are plain ASCII are compared directly since that is
+		// the same in every encoding
+		if (len == __s.length())
+		{
+			boolean ascii = true;
+			for (int i = 0; i < len; i++)
+			{
+				byte b = names[base + i];
+				if (b < 0)
+				{
+					ascii = false;
+					break;
+				}
+				
+				if (b != __s.charAt(i))
+					return false;
+			}
+			
+			if (ascii)
+				return true;
+		}
+		
+		// Otherwise decode the name and check that
+		else
+		{
+			boolean ascii = true;
+			for (int i = 0; i < len; i++)
+				if (names[base + i] < 0)
+				{
+					ascii = false;
+					break;
+				}
+			
+			// Plain ASCII of a different length cannot match
+			if (ascii)
+				return false;
+		}
+		
+		return this.__entry(__dx).toString().equals(__s);
+	}
+	
+	/**
+	 * Reads the central directory, storing the entry offsets, the names of
+	 * the entries, and the hash codes of the names.
+	 *
+	 * @param __offsets The output entry offsets.
+	 * @param __nameoffsets The output offsets into the name bytes.
+	 * @param __hashes The output hash codes of the names.
+	 * @return The bytes which make up every name.
 	 * @throws IOException On read errors or the ZIP is not valid.
-	 * @since 2016/12/31
+	 * @since 2019/09/15
 	 */
-	private long[] __readOffsets()
+	private byte[] __readDirectory(long[] __offsets, int[] __nameoffsets,
+		int[] __hashes)
 		throws IOException
 	{
-		// Setup return value
-		int numentries = this.numentries;
-		long[] rv = new long[numentries];
+		// Names are read into this buffer
+		byte[] names = new byte[Math.max(64, this.numentries * 32)];
+		int namesat = 0;
 		
 		// Read in every entry within the ZIP
+		int numentries = this.numentries;
 		BlockAccessor accessor = this.accessor;
 		long at = this.cdirbase;
 		byte[] cdirent = new byte[_CENTRAL_DIRECTORY_MIN_LENGTH];
 		for (int i = 0; i < numentries; i++)
 		{
 			// Entry is placed at this position
-			rv[i] = at;
+			__offsets[i] = at;
 			
 			// {@squirreljme.error BF0n Central directory extends past the end
 			// of the file. (The current entry; The current read position; The
@@ -347,11 +486,88 @@ public class ZipBlockReader
 				edl = __ArrayData__.readUnsignedShort(
 					_CENTRAL_DIRECTORY_COMMENT_LENGTH_OFFSET, cdirent);
 			
+			// Grow the name buffer if it is too small
+			if (namesat + fnl > names.length)
+				names = Arrays.copyOf(names,
+					Math.max(names.length * 2, namesat + fnl));
+			
+			// {@squirreljme.error BF1h Could not read the name of the entry.
+			// (The entry index)}
+			if (fnl != accessor.read(at + _CENTRAL_DIRECTORY_MIN_LENGTH,
+				names, namesat, fnl))
+				throw new ZipException(String.format("BF1h %d", i));
+			
+			// Calculate the hash code of the name, plain ASCII is the same in
+			// every encoding
+			int hash = 0;
+			boolean ascii = true;
+			for (int j = 0; j < fnl; j++)
+			{
+				byte b = names[namesat + j];
+				if (b < 0)
+				{
+					ascii = false;
+					break;
+				}
+				
+				hash = (hash * 31) + b;
+			}
+			
+			// Otherwise the name needs to be decoded
+			if (!ascii)
+			{
+				if ((__ArrayData__.readUnsignedShort(
+					_CENTRAL_DIRECTORY_FLAG_OFFSET, cdirent) &
+					ZipBlockEntry.GPF_ENCODING_UTF8) != 0)
+					hash = new String(names, namesat, fnl, "utf-8").hashCode();
+				else
+					hash = IBM437CodePage.toString(names, namesat, fnl).
+						hashCode();
+			}
+			
+			// Store name details
+			__nameoffsets[i] = namesat;
+			__hashes[i] = hash;
+			namesat += fnl;
+			
 			// Next entry is just after this point
 			at += fnl + cml + edl + _CENTRAL_DIRECTORY_MIN_LENGTH;
 		}
 		
+		// End of the last name
+		__nameoffsets[numentries] = namesat;
+		
 		// Done
+		return names;
+	}
+	
+	/**
+	 * Builds the hash table used to look up entries.
+	 *
+	 * @param __hashes The hash codes of every entry.
+	 * @return The open addressed hash table.
+	 * @since 2019/09/15
+	 */
+	private static int[] __buildTable(int[] __hashes)
+	{
+		// Keep the table at most half full
+		int n = __hashes.length,
+			size = 2;
+		while (size < n * 2)
+			size <<= 1;
+		
+		// Place every entry in order
+		int[] rv = new int[size];
+		int mask = size - 1;
+		for (int i = 0; i < n; i++)
+		{
+			int at = ZipBlockReader.__spread(__hashes[i]) & mask;
+			while (rv[at] != 0)
+				at = (at + 1) & mask;
+			
+			rv[at] = i + 1;
+		}
+		
 		return rv;
 	}
 	
@@ -425,6 +641,19 @@ public class ZipBlockReader
 		return (Reference<ZipBlockEntry>[])((Object)new Reference[__n]);
 	}
 	
+	/**
+	 * Spreads the bits of the hash code so that the lower bits are used
+	 * better.
+	 *
+	 * @param __h The hash code.
+	 * @return The spread hash code.
+	 * @since 2019/09/15
+	 */
+	private static int __spread(int __h)
+	{
+		return __h ^ (__h >>> 16);
+	}
+	
 	/**
 	 * Iterates over entries within the ZIP.
 	 *
@@ -468,16 +697,7 @@ public class ZipBlockReader
 			this._next = next + 1;
 			
 			// Parse and return entry
-			Reference<ZipBlockEntry>[] entries = ZipBlockReader.this._entries;
-			Reference<ZipBlockEntry> ref = entries[next];
-			ZipBlockEntry rv;
-			
-			// Need to load the entry?
-			if (ref == null || null == (rv = ref.get()))
-				entries[next] = new WeakReference<>(
-					(rv = new ZipBlockEntry(ZipBlockReader.this, next)));
-			
-			return rv;
+			return ZipBlockReader.this.__entry(next);
 		}
 		
 		/**
@@ -26,7 +26,9 @@ public class Main
 	/**
 	 * Main entry point.
 	 *
-	 * @param __args Arguments, used to filter tests.
+	 * @param __args Arguments, used to filter tests. If the first argument
+	 * is {@code -j} followed by a number then that many tests will be run
+	 * at the same time.
 	 * @since 2018/10/17
 	 */
 	public static void main(String... __args)
@@ -39,6 +41,33 @@ public class Main
 			if (s != null)
 				args.add(s);
 		
+		// Number of tests to run at the same time
+		int jobs = 1;
+		if ("-j".equals(args.peekFirst()))
+		{
+			// Remove it!
+			args.pollFirst();
+			
+			// {@squirreljme.error AI02 Expected a number of jobs to follow
+			// the job switch. (The number of jobs)}
+			String v = args.pollFirst();
+			try
+			{
+				if (v == null)
+					throw new NumberFormatException();
+				jobs = Integer.parseInt(v);
+			}
+			catch (NumberFormatException e)
+			{
+				throw new IllegalArgumentException("AI02 " + v, e);
+			}
+			
+			// {@squirreljme.error AI03 At least one job must be used. (The
+			// number of jobs)}
+			if (jobs <= 0)
+				throw new IllegalArgumentException("AI03 " + jobs);
+		}
+		
 		// Load the database
 		Database db = Database.build();
 		
@@ -99,14 +128,8 @@ public class Main
 		boolean check = (specific != null || endwild != null ||
 			startwild != null);
 		
-		// Report for tests to run
-		Report report = new Report();
-		
-		// Run each test
-		int total = 0,
-			pass = 0,
-			fail = 0;
-		boolean hasfailed = false;
+		// Tests which are to be ran
+		Deque<SingleUnit> queue = new LinkedList<>();
 		for (SingleUnit su : db)
 		{
 			String fn = su.fullName();
@@ -143,28 +166,43 @@ public class Main
 					continue;
 			}
 			
-			// Run the test
-			System.err.printf("Running %s...%n", fn);
-			long startns = System.nanoTime();
-			boolean passed = su.run();
-			
-			// Keep track
-			total++;
-			if (!passed)
-			{
-				fail++;
-				hasfailed = true;
-			}
-			else
-				pass++;
-			
-			// How long did this take?
-			long durns = System.nanoTime() - startns;
-			
-			// Send to the report for later usage
-			report.add(fn, passed, durns);
+			queue.add(su);
+		}
+		
+		// Report for tests to run
+		Report report = new Report();
+		
+		// Start extra workers so that tests run at the same time, this
+		// thread is always one of the workers
+		Thread[] threads = new Thread[jobs - 1];
+		for (int i = 0, n = threads.length; i < n; i++)
+		{
+			Thread t = new Thread(new __Worker__(queue, report),
+				"TAC-Worker-" + (i + 1));
+			threads[i] = t;
+			t.start();
 		}
 		
+		// Run tests in this thread as well
+		new __Worker__(queue, report).run();
+		
+		// Wait for all the other workers to finish
+		for (Thread t : threads)
+			for (;;)
+				try
+				{
+					t.join();
+					break;
+				}
+				catch (InterruptedException e)
+				{
+				}
+		
+		// Results of the tests
+		int total = report.testCount(),
+			pass = report.passCount(),
+			fail = report.failCount();
+		
 		// Note it
 		System.err.printf("Ran %d tests: %d passed, %d failed.%n",
 			total, pass, fail);
@@ -173,7 +211,7 @@ public class Main
 		report.generate(System.out, ReportType.JUNIT);
 		
 		// Exit with failure if there are bad tests
-		if (hasfailed)
+		if (fail > 0)
 			System.exit(1);
 	}
 }
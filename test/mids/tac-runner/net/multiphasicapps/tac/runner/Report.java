@@ -25,7 +25,7 @@ public final class Report
 	/** Nanoseconds per second. */
 	public static final double NANOS_PER_SECOND =
 		1_000_000_000D;
-		
+	
 	/** Properties to print. */
 	private static final String[] _PROPERTIES =
 		new String[]
@@ -70,16 +70,21 @@ public final class Report
 	/** The time spent running tests. */
 	private volatile long _totalns;
 	
+	/** The time tests spent executing. */
+	private volatile long _totalcpu;
+	
 	/**
 	 * Adds a single test to the report.
 	 *
 	 * @param __n The test name.
 	 * @param __p Did the test pass?
 	 * @param __ns The duration of the test.
+	 * @param __cpu The time the test spent executing, negative if this is
+	 * not known.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2019/01/23
 	 */
-	public final void add(String __n, boolean __p, long __ns)
+	public final void add(String __n, boolean __p, long __ns, long __cpu)
 		throws NullPointerException
 	{
 		if (__n == null)
@@ -96,9 +101,11 @@ public final class Report
 			
 			// Time spent in test
 			this._totalns += __ns;
+			if (__cpu > 0)
+				this._totalcpu += __cpu;
 			
 			// Add item
-			this._items.put(__n, new ReportItem(__n, __p, __ns));
+			this._items.put(__n, new ReportItem(__n, __p, __ns, __cpu));
 		}
 	}
 	
@@ -123,7 +130,7 @@ public final class Report
 			case JUNIT:
 				this.generateJUnit(__out);
 				break;
-			
+				
 				// {@squirreljme.error AI01 Unknown report type.}
 			default:
 				throw new RuntimeException("AI01 " + __t);
@@ -151,7 +158,8 @@ public final class Report
 		int numtests = this._numtests,
 			numpass = this._numpass,
 			numfail = this._numfail;
-		long totalns = this._totalns;
+		long totalns = this._totalns,
+			totalcpu = this._totalcpu;
 		
 		// Lock
 		synchronized (this)
@@ -185,6 +193,8 @@ public final class Report
 				catch (SecurityException e)
 				{
 				}
+			__out.printf("<property name=\"cpu-time\" value=\"%s\" />%n",
+				Report.doubleToString(totalcpu / NANOS_PER_SECOND));
 			__out.println("</properties>");
 			
 			// Print every item
@@ -195,6 +205,17 @@ public final class Report
 					i.name, i.name, (i.passed ? "pass" : "fail"),
 					Report.doubleToString(i.duration / NANOS_PER_SECOND));
 				
+				// The time spent executing is not the same as the time taken
+				// since other tests may be running at the same time
+				if (i.cputime >= 0)
+				{
+					__out.println("<properties>");
+					__out.printf("<property name=\"cpu-time\" " +
+						"value=\"%s\" />%n",
+						Report.doubleToString(i.cputime / NANOS_PER_SECOND));
+					__out.println("</properties>");
+				}
+				
 				// Failure gets a note attached
 				if (!i.passed)
 					__out.println("<failure message=\"Failed.\" />");
@@ -209,6 +230,39 @@ public final class Report
 		}
 	}
 	
+	/**
+	 * Returns the number of tests which failed.
+	 *
+	 * @return The number of failed tests.
+	 * @since 2019/09/20
+	 */
+	public final int failCount()
+	{
+		return this._numfail;
+	}
+	
+	/**
+	 * Returns the number of tests which passed.
+	 *
+	 * @return The number of passed tests.
+	 * @since 2019/09/20
+	 */
+	public final int passCount()
+	{
+		return this._numpass;
+	}
+	
+	/**
+	 * Returns the number of tests which were run.
+	 *
+	 * @return The number of tests run.
+	 * @since 2019/09/20
+	 */
+	public final int testCount()
+	{
+		return this._numtests;
+	}
+	
 	/**
 	 * Converts a double to a string. This is needed because at the time of
 	 * this writing doubles are not supported in {@link java.util.Formatter}.
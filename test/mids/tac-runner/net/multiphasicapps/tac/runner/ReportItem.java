@@ -26,16 +26,21 @@ public final class ReportItem
 	/** Time spent in this test. */
 	public final long duration;
 	
+	/** Time spent executing in this test, negative if not known. */
+	public final long cputime;
+	
 	/**
 	 * Initializes the report item.
 	 *
 	 * @param __n The test name.
 	 * @param __p Did the test pass?
 	 * @param __ns The duration of the test.
+	 * @param __cpu The time the test spent executing, negative if not
+	 * known.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2019/01/23
 	 */
-	public ReportItem(String __n, boolean __p, long __ns)
+	public ReportItem(String __n, boolean __p, long __ns, long __cpu)
 		throws NullPointerException
 	{
 		if (__n == null)
@@ -44,6 +49,7 @@ public final class ReportItem
 		this.name = __n;
 		this.passed = __p;
 		this.duration = __ns;
+		this.cputime = __cpu;
 	}
 }
 
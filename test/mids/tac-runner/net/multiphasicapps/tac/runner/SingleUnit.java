@@ -10,9 +10,11 @@
 
 package net.multiphasicapps.tac.runner;
 
+import cc.squirreljme.runtime.swm.ExtendedTaskManager;
 import javax.microedition.swm.Suite;
 import javax.microedition.swm.ManagerFactory;
 import javax.microedition.swm.Task;
+import javax.microedition.swm.TaskListener;
 import javax.microedition.swm.TaskManager;
 import javax.microedition.swm.TaskStatus;
 
@@ -29,9 +31,17 @@ public final class SingleUnit
 	/** The suite for this unit. */
 	protected final Suite suite;
 	
+	/** The milliseconds to wait before checking the status anyway. */
+	private static final long _STATUS_TIMEOUT =
+		1000L;
+	
 	/** The midlet for this unit. */
 	protected final String midlet;
 	
+	/** Time the test spent executing. */
+	private volatile long _cputime =
+		-1;
+	
 	/**
 	 * Initializes the unit.
 	 *
@@ -74,6 +84,19 @@ public final class SingleUnit
 		return this.fullname;
 	}
 	
+	/**
+	 * Returns the amount of time the test spent executing, this does not
+	 * include time spent sleeping or waiting.
+	 *
+	 * @return The execution time in nanoseconds, this will be negative if
+	 * the test was not run or the time is not known.
+	 * @since 2019/09/20
+	 */
+	public final long cpuTime()
+	{
+		return this._cputime;
+	}
+	
 	/**
 	 * Runs the test.
 	 *
@@ -82,42 +105,53 @@ public final class SingleUnit
 	 */
 	public final boolean run()
 	{
-		// Start task
-		Task task = ManagerFactory.getTaskManager().startTask(
-			this.suite, this.midlet);
+		TaskManager tm = ManagerFactory.getTaskManager();
 		
-		// Run the task task until it terminates
-		for (long mswait = 10;; mswait += Math.min(10, 250))
+		// The task manager tells us when the status of a task changes, so
+		// this just waits for that to happen rather than checking
+		__StatusWaiter__ waiter = new __StatusWaiter__();
+		tm.addTaskListener(waiter);
+		try
 		{
-			// Check status
-			TaskStatus status = task.getStatus();
+			// Start task
+			Task task = tm.startTask(this.suite, this.midlet);
 			
-			// Depends on the status
-			switch (status)
+			// Run the task task until it terminates
+			TaskStatus status;
+			synchronized (waiter)
 			{
-					// Success
-				case EXITED_REGULAR:
-					return true;
-					
-					// Failure
-				case EXITED_FATAL:
-				case EXITED_TERMINATED:
-				case START_FAILED:
-					return false;
+				for (;;)
+				{
+					// Stop when it is no longer running
+					status = task.getStatus();
+					if (status != TaskStatus.RUNNING &&
+						status != TaskStatus.STARTING)
+						break;
 					
-					// Unhandled
-				default:
-					break;
+					// Wait for a task to change status, this has a timeout
+					// in the event the notification is never made
+					try
+					{
+						waiter.wait(SingleUnit._STATUS_TIMEOUT);
+					}
+					catch (InterruptedException e)
+					{
+					}
+				}
 			}
 			
-			// Wait for the task to do things before checking again
-			try
-			{
-				Thread.sleep(mswait);
-			}
-			catch (InterruptedException e)
-			{
-			}
+			// Record how long the task was executing for
+			if (tm instanceof ExtendedTaskManager)
+				this._cputime = ((ExtendedTaskManager)tm).taskCpuTime(task);
+			
+			// Only regular exits are a success
+			return (status == TaskStatus.EXITED_REGULAR);
+		}
+		
+		// No longer need to know about tasks
+		finally
+		{
+			tm.removeTaskListener(waiter);
 		}
 	}
 	
@@ -160,5 +194,28 @@ public final class SingleUnit
 		
 		return rv.toString();
 	}
+	
+	/**
+	 * This is notified when any task changes its status and wakes up the
+	 * thread waiting for its test to finish.
+	 *
+	 * @since 2019/09/20
+	 */
+	private static final class __StatusWaiter__
+		implements TaskListener
+	{
+		/**
+		 * {@inheritDoc}
+		 * @since 2019/09/20
+		 */
+		@Override
+		public void notifyStatusUpdate(Task __t, TaskStatus __status)
+		{
+			synchronized (this)
+			{
+				this.notifyAll();
+			}
+		}
+	}
 }
 
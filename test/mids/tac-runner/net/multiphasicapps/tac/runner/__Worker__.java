@@ -0,0 +1,84 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// Multi-Phasic Applications: SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package net.multiphasicapps.tac.runner;
+
+import java.util.Deque;
+
+/**
+ * This takes tests from a shared queue and runs them one after the other
+ * until there are no tests left, multiple workers may run at once.
+ *
+ * @since 2019/09/20
+ */
+final class __Worker__
+	implements Runnable
+{
+	/** The tests to be ran. */
+	protected final Deque<SingleUnit> queue;
+	
+	/** The report to place results in. */
+	protected final Report report;
+	
+	/**
+	 * Initializes the worker.
+	 *
+	 * @param __q The test queue.
+	 * @param __r The report for results.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/09/20
+	 */
+	__Worker__(Deque<SingleUnit> __q, Report __r)
+		throws NullPointerException
+	{
+		if (__q == null || __r == null)
+			throw new NullPointerException("NARG");
+		
+		this.queue = __q;
+		this.report = __r;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/09/20
+	 */
+	@Override
+	public void run()
+	{
+		Deque<SingleUnit> queue = this.queue;
+		Report report = this.report;
+		
+		for (;;)
+		{
+			// Take the next test
+			SingleUnit su;
+			synchronized (queue)
+			{
+				su = queue.pollFirst();
+			}
+			
+			// No more tests to run
+			if (su == null)
+				return;
+			
+			// Run the test
+			String fn = su.fullName();
+			System.err.printf("Running %s...%n", fn);
+			long startns = System.nanoTime();
+			boolean passed = su.run();
+			
+			// How long did this take?
+			long durns = System.nanoTime() - startns;
+			
+			// Send to the report for later usage
+			report.add(fn, passed, durns, su.cpuTime());
+		}
+	}
+}
+